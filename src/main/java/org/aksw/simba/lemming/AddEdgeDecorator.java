@@ -4,7 +4,9 @@
 package org.aksw.simba.lemming;
 
 import org.aksw.simba.lemming.grph.DiameterAlgorithm;
+import org.aksw.simba.lemming.grph.DiameterAlgorithm.Diameter;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
+import org.aksw.simba.lemming.util.NeighbourArrays;
 import org.apache.commons.lang3.ArrayUtils;
 import grph.Grph.DIRECTION;
 import grph.path.ArrayListPath;
@@ -20,11 +22,6 @@ import it.unimi.dsi.fastutil.ints.IntSet;
  *
  */
 public class AddEdgeDecorator extends ColouredGraphDecorator {
-    /**
-     * Instance of Diameter algorithm that will run on the decorator handling edge
-     * addition
-     */
-    protected DiameterAlgorithm diameterAlgorithm;
 
     /**
      * Class Constructor
@@ -75,15 +72,8 @@ public class AddEdgeDecorator extends ColouredGraphDecorator {
      */
     @Override
     public double getMaxInEdgeDegrees() {
-        int[] vertices = super.getVertices().toIntArray();
-        double maxValue = 0.0;
-        for (int i = 0; i < vertices.length; i++) {
-            int nodeDegree = getInEdgeDegree(vertices[i]);
-            if (nodeDegree > maxValue) {
-                maxValue = nodeDegree;
-            }
-        }
-        return maxValue;
+        // only the head of the new edge gets a higher in degree
+        return Math.max(super.getMaxInEdgeDegrees(), super.getInEdgeDegree(this.triple.headId) + 1);
     }
 
     /**
@@ -93,15 +83,8 @@ public class AddEdgeDecorator extends ColouredGraphDecorator {
      */
     @Override
     public double getMaxOutEdgeDegrees() {
-        int[] vertices = super.getVertices().toIntArray();
-        double maxValue = 0.0;
-        for (int i = 0; i < vertices.length; i++) {
-            int nodeDegree = getOutEdgeDegree(vertices[i]);
-            if (nodeDegree > maxValue) {
-                maxValue = nodeDegree;
-            }
-        }
-        return maxValue;
+        // only the tail of the new edge gets a higher out degree
+        return Math.max(super.getMaxOutEdgeDegrees(), super.getOutEdgeDegree(this.triple.tailId) + 1);
     }
 
     /**
@@ -136,6 +119,65 @@ public class AddEdgeDecorator extends ColouredGraphDecorator {
         return outDegrees;
     }
 
+    /**
+     * Get number of vertices with the given in edge degree after given edge has
+     * been added
+     * 
+     * @param degree - in edge degree
+     * @return int - number of vertices
+     */
+    @Override
+    public int getNumberOfVerticesWithInDegree(int degree) {
+        return changeCount(super.getNumberOfVerticesWithInDegree(degree), degree,
+                super.getInEdgeDegree(this.triple.headId));
+    }
+
+    /**
+     * Get number of vertices with the given out edge degree after given edge has
+     * been added
+     * 
+     * @param degree - out edge degree
+     * @return int - number of vertices
+     */
+    @Override
+    public int getNumberOfVerticesWithOutDegree(int degree) {
+        return changeCount(super.getNumberOfVerticesWithOutDegree(degree), degree,
+                super.getOutEdgeDegree(this.triple.tailId));
+    }
+
+    private int changeCount(int count, int degree, int oldDegree) {
+        if (degree == oldDegree) {
+            count--;
+        } else if (degree == oldDegree + 1) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Get standard deviation of the in edge degrees after given edge has been
+     * added
+     * 
+     * @return double
+     */
+    @Override
+    public double getStdDevInEdgeDegrees() {
+        return computeStdDevAfterChange(super.getStdDevInEdgeDegrees(), super.getNumberOfVertices(),
+                super.getNumberOfEdges(), super.getInEdgeDegree(this.triple.headId), 1);
+    }
+
+    /**
+     * Get standard deviation of the out edge degrees after given edge has been
+     * added
+     * 
+     * @return double
+     */
+    @Override
+    public double getStdDevOutEdgeDegrees() {
+        return computeStdDevAfterChange(super.getStdDevOutEdgeDegrees(), super.getNumberOfVertices(),
+                super.getNumberOfEdges(), super.getOutEdgeDegree(this.triple.tailId), 1);
+    }
+
     /**
      * Get number of edges in the graph after adding an edge
      * 
@@ -181,8 +223,10 @@ public class AddEdgeDecorator extends ColouredGraphDecorator {
      */
     private IntSet addNeighbor(IntSet neighbors, int vertexId) {
         if (vertexId == this.triple.tailId && !neighbors.contains(this.triple.headId)) {
+            neighbors = copyNeighbors(neighbors);
             neighbors.add(this.triple.headId);
         } else if (vertexId == this.triple.headId && !neighbors.contains(this.triple.tailId)) {
+            neighbors = copyNeighbors(neighbors);
             neighbors.add(this.triple.tailId);
         }
         return neighbors;
@@ -199,6 +243,28 @@ public class AddEdgeDecorator extends ColouredGraphDecorator {
         return super.getNumberOfEdgesBetweenVertices(tailId, headId) + 1;
     }
 
+    /**
+     * Get number of common neighbors of two vertices after given edge has been
+     * added
+     * 
+     * @return int - number of common neighbors
+     */
+    @Override
+    public int getNumberOfCommonNeighbours(int v1, int v2) {
+        return super.getNumberOfCommonNeighbours(v1, v2) + (int) getChangeOfCommonNeighbours(v1, v2, 1, false);
+    }
+
+    /**
+     * Get number of edge pairs connecting two vertices via a common neighbor after
+     * given edge has been added
+     * 
+     * @return long - number of edge pairs
+     */
+    @Override
+    public long getNumberOfCommonNeighbourEdgePairs(int v1, int v2) {
+        return super.getNumberOfCommonNeighbourEdgePairs(v1, v2) + getChangeOfCommonNeighbours(v1, v2, 1, true);
+    }
+
     /**
      * Get all neighbors of all nodes in given direction after a pre-selected edge
      * is added to the graph. Used to compute the diameter of given graph
@@ -210,25 +276,72 @@ public class AddEdgeDecorator extends ColouredGraphDecorator {
      */
     @Override
     public int[][] getNeighbors(DIRECTION direction) {
-        int[][] neighbors = super.getNeighbors(direction);
-        neighbors[triple.tailId] = ArrayUtils.add(neighbors[triple.tailId], triple.headId);
+        // copy-on-write: the arrays of the decorated graph are shared with other
+        // decorators and must not be changed
+        int[][] neighbors = super.getNeighbors(direction).clone();
+        if (direction != DIRECTION.in) {
+            neighbors[triple.tailId] = ArrayUtils.add(neighbors[triple.tailId], triple.headId);
+        }
+        if (direction != DIRECTION.out) {
+            neighbors[triple.headId] = ArrayUtils.add(neighbors[triple.headId], triple.tailId);
+        }
+        return neighbors;
+    }
+
+    /**
+     * Get all neighbors of all nodes in given direction after a pre-selected edge
+     * is added to the graph. Only the neighbors of the tail and the head of the
+     * edge are replaced, the neighbors of all other nodes are read from the
+     * decorated graph.
+     * 
+     * @param direction - Direction of edge to consider for neighbors. In-neighbors
+     *                  or Out-neighbors depending on the direction.
+     * @return NeighbourArrays - read-only view of the neighbors of all nodes in
+     *         the given direction.
+     */
+    @Override
+    public NeighbourArrays getNeighbourArrays(DIRECTION direction) {
+        NeighbourArrays neighbors = super.getNeighbourArrays(direction);
+        if (direction != DIRECTION.in) {
+            neighbors = NeighbourArrays.replace(neighbors, triple.tailId,
+                    ArrayUtils.add(neighbors.get(triple.tailId), triple.headId));
+        }
+        if (direction != DIRECTION.out) {
+            neighbors = NeighbourArrays.replace(neighbors, triple.headId,
+                    ArrayUtils.add(neighbors.get(triple.headId), triple.tailId));
+        }
         return neighbors;
     }
 
+    /**
+     * The graph simulates that the pre-selected edge is added to the decorated
+     * graph.
+     * 
+     * @return boolean - always true
+     */
+    @Override
+    public boolean isSimulatingChange() {
+        return true;
+    }
+
     @Override
     public int computeShorterDiameter(TripleBaseSingleID triple, ArrayListPath path) {
-        this.diameterAlgorithm = new DiameterAlgorithm();
-        return diameterAlgorithm.computeShorterDiameter(this, triple, path);
+        return new DiameterAlgorithm().computeShorterDiameter(this, triple, path);
     }
 
     @Override
     public double getDiameter() {
-        return this.diameterAlgorithm.performSearch(this, this.getVertices());
+        return new DiameterAlgorithm().performSearch(this, this.getVertices());
     }
 
     @Override
     public ArrayListPath getDiameterPath() {
-        return this.diameterAlgorithm.getDiameterPath();
+        return computeDiameter().getPath();
+    }
+
+    @Override
+    public Diameter computeDiameter() {
+        return new DiameterAlgorithm().searchDiameter(this, this.getVertices());
     }
 
 }
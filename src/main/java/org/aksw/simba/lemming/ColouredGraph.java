@@ -10,10 +10,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.aksw.simba.lemming.colour.ColourIndex;
 import org.aksw.simba.lemming.colour.ColourPalette;
+import org.aksw.simba.lemming.colour.InMemoryPalette;
 import org.aksw.simba.lemming.grph.DiameterAlgorithm;
+import org.aksw.simba.lemming.grph.DiameterAlgorithm.Diameter;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
 import org.aksw.simba.lemming.util.Constants;
+import org.aksw.simba.lemming.util.DegreeHistogram;
+import org.aksw.simba.lemming.util.NeighbourArrays;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood;
 import org.apache.jena.vocabulary.RDF;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,8 +29,9 @@ import com.carrotsearch.hppc.ObjectArrayList;
 
 import grph.DefaultIntSet;
 import grph.Grph;
-import grph.algo.MultiThreadProcessing;
 import grph.in_memory.InMemoryGrph;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
 public class ColouredGraph implements IColouredGraph {
@@ -32,10 +39,22 @@ public class ColouredGraph implements IColouredGraph {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ColouredGraph.class);
 
     protected Grph graph;
-    protected ObjectArrayList<BitSet> vertexColours = new ObjectArrayList<BitSet>();
-    protected ObjectArrayList<BitSet> edgeColours = new ObjectArrayList<BitSet>();
+    /**
+     * IDs of the vertex and edge colours. The colours themselves are interned
+     * by {@link #vertexColourTable} and {@link #edgeColourTable}. Removed edges
+     * have the ID {@link ColourPalette#NO_COLOUR_ID}.
+     */
+    protected IntArrayList vertexColourIds = new IntArrayList();
+    protected IntArrayList edgeColourIds = new IntArrayList();
     protected ColourPalette vertexPalette;
     protected ColourPalette edgePalette;
+    /**
+     * Palettes interning the colours of this graph. These are the vertex and
+     * edge palettes or, if a palette has not been set, an empty palette owned by
+     * this graph.
+     */
+    protected ColourPalette vertexColourTable = new InMemoryPalette();
+    protected ColourPalette edgeColourTable = new InMemoryPalette();
     protected ColourPalette dtEdgePalette;
 
     /**
@@ -51,6 +70,40 @@ public class ColouredGraph implements IColouredGraph {
 
     protected DiameterAlgorithm diameterAlgorithm;
 
+    /**
+     * Histograms of the in and out degrees. They are created lazily and kept up
+     * to date by {@link #addVertex(BitSet)}, {@link #addEdge(int, int, BitSet)}
+     * and {@link #removeEdge(int)}.
+     */
+    protected volatile DegreeHistogram inDegreeHistogram;
+    protected volatile DegreeHistogram outDegreeHistogram;
+
+    /**
+     * Indexes from a colour to the vertices and edges having this colour. They
+     * are created lazily and kept up to date by the methods adding, removing
+     * or colouring vertices and edges.
+     */
+    protected volatile ColourIndex vertexColourIndex;
+    protected volatile ColourIndex edgeColourIndex;
+
+    /**
+     * Sorted undirected neighbourhood of every vertex. It is created lazily and
+     * kept up to date by {@link #addVertex(BitSet)},
+     * {@link #addEdge(int, int, BitSet)} and {@link #removeEdge(int)}.
+     */
+    protected volatile UndirectedNeighbourhood neighbourhood;
+
+    /**
+     * Read-only CSR snapshot of this graph (see {@link #freeze()}). It is
+     * dropped by all methods that change the graph.
+     */
+    protected volatile ColouredGraphSnapshot snapshot;
+
+    /**
+     * Number of changes of this graph (see {@link #getModificationCount()}).
+     */
+    protected volatile long modificationCount;
+
     public ColouredGraph() {
         this(null, null);
     }
@@ -61,8 +114,8 @@ public class ColouredGraph implements IColouredGraph {
 
     public ColouredGraph(Grph graph, ColourPalette vertexPalette, ColourPalette edgePalette) {
         setGraph(graph);
-        this.vertexPalette = vertexPalette;
-        this.edgePalette = edgePalette;
+        setVertexPalette(vertexPalette);
+        setEdgePalette(edgePalette);
 
         mapVertexIdAndLiterals = new HashMap<>();
         mapLiteralTypes = new HashMap<>();
@@ -75,8 +128,8 @@ public class ColouredGraph implements IColouredGraph {
     public ColouredGraph(Grph graph, ColourPalette vertexPalette, ColourPalette edgePalette,
             ColourPalette datatypedEdgePalette) {
         setGraph(graph);
-        this.vertexPalette = vertexPalette;
-        this.edgePalette = edgePalette;
+        setVertexPalette(vertexPalette);
+        setEdgePalette(edgePalette);
         this.dtEdgePalette = datatypedEdgePalette;
 
         mapVertexIdAndLiterals = new HashMap<Integer, Map<BitSet, List<String>>>();
@@ -89,16 +142,66 @@ public class ColouredGraph implements IColouredGraph {
 
     protected void setGraph(Grph graph) {
         this.graph = graph;
+        inDegreeHistogram = null;
+        outDegreeHistogram = null;
+        vertexColourIndex = null;
+        edgeColourIndex = null;
+        neighbourhood = null;
+        markModified();
         diameterAlgorithm = new DiameterAlgorithm();
         diameterAlgorithm.cacheResultForGraph(graph);
     }
 
+    /**
+     * @return a new list containing the colours of the vertices indexed by the
+     *         vertex IDs
+     */
     public ObjectArrayList<BitSet> getVertexColours() {
-        return vertexColours;
+        return toColours(vertexColourIds, vertexColourTable);
     }
 
+    /**
+     * @return a new list containing the colours of the edges indexed by the
+     *         edge IDs
+     */
     public ObjectArrayList<BitSet> getEdgeColours() {
-        return edgeColours;
+        return toColours(edgeColourIds, edgeColourTable);
+    }
+
+    /**
+     * @return the IDs of the vertex colours indexed by the vertex IDs. The
+     *         returned list must not be changed.
+     */
+    public IntArrayList getVertexColourIds() {
+        return vertexColourIds;
+    }
+
+    /**
+     * @return the IDs of the edge colours indexed by the edge IDs. The returned
+     *         list must not be changed.
+     */
+    public IntArrayList getEdgeColourIds() {
+        return edgeColourIds;
+    }
+
+    private static ObjectArrayList<BitSet> toColours(IntArrayList colourIds, ColourPalette colourTable) {
+        int size = colourIds.size();
+        int[] ids = colourIds.elements();
+        ObjectArrayList<BitSet> colours = new ObjectArrayList<BitSet>(size);
+        for (int i = 0; i < size; ++i) {
+            colours.add(colourTable.getColourById(ids[i]));
+        }
+        return colours;
+    }
+
+    private static IntArrayList toColourIds(ObjectArrayList<BitSet> colours, ColourPalette colourTable) {
+        int size = colours.elementsCount;
+        Object[] buffer = colours.buffer;
+        IntArrayList colourIds = new IntArrayList(size);
+        for (int i = 0; i < size; ++i) {
+            colourIds.add(colourTable.internColour((BitSet) buffer[i]));
+        }
+        return colourIds;
     }
 
     public int addVertex() {
@@ -106,8 +209,30 @@ public class ColouredGraph implements IColouredGraph {
     }
 
     public int addVertex(BitSet colour) {
+        markModified();
+        boolean updateHistograms = keepDegreeHistograms();
+        ColourIndex colourIndex = keepVertexColourIndex();
+        UndirectedNeighbourhood neighbourhood = keepNeighbourhood();
+        int colourId = vertexColourTable.internColour(colour);
         int id = graph.addVertex();
-        vertexColours.add(colour);
+        while (vertexColourIds.size() < id) {
+            vertexColourIds.add(ColourPalette.NO_COLOUR_ID);
+        }
+        if (id < vertexColourIds.size()) {
+            vertexColourIds.set(id, colourId);
+        } else {
+            vertexColourIds.add(colourId);
+        }
+        if (updateHistograms) {
+            inDegreeHistogram.addVertex(id);
+            outDegreeHistogram.addVertex(id);
+        }
+        if (colourIndex != null) {
+            colourIndex.add(colourId, id);
+        }
+        if (neighbourhood != null) {
+            neighbourhood.addVertex(id);
+        }
         return id;
     }
 
@@ -117,47 +242,104 @@ public class ColouredGraph implements IColouredGraph {
 
     public void removeEdge(int edgeId) {
         // Since we are using an array list, we can not simply remove the edge as this
-        // would move all the other edge colours. Therefore, we set the colour to null
-        // to indicate that the edge does not exist.
-        edgeColours.set(edgeId, null);
+        // would move all the other edge colours. Therefore, we set the colour ID to
+        // NO_COLOUR_ID to indicate that the edge does not exist.
+        markModified();
+        ColourIndex colourIndex = keepEdgeColourIndex();
+        if (edgeId < edgeColourIds.size()) {
+            if (colourIndex != null) {
+                colourIndex.remove(edgeColourIds.getInt(edgeId), edgeId);
+            }
+            edgeColourIds.set(edgeId, ColourPalette.NO_COLOUR_ID);
+        }
+        if (keepDegreeHistograms()) {
+            inDegreeHistogram.decrement(graph.getDirectedSimpleEdgeHead(edgeId));
+            outDegreeHistogram.decrement(graph.getDirectedSimpleEdgeTail(edgeId));
+        }
+        UndirectedNeighbourhood neighbourhood = keepNeighbourhood();
+        if (neighbourhood != null) {
+            neighbourhood.removeEdge(graph.getDirectedSimpleEdgeTail(edgeId), graph.getDirectedSimpleEdgeHead(edgeId));
+        }
         graph.removeEdge(edgeId);
     }
 
     public int addEdge(int tail, int head, BitSet colour) {
+        markModified();
+        boolean updateHistograms = keepDegreeHistograms();
+        ColourIndex colourIndex = keepEdgeColourIndex();
+        UndirectedNeighbourhood neighbourhood = keepNeighbourhood();
+        int colourId = edgeColourTable.internColour(colour);
         int edgeId = graph.addDirectedSimpleEdge(tail, head);
+        if (updateHistograms) {
+            inDegreeHistogram.increment(head);
+            outDegreeHistogram.increment(tail);
+        }
+        if (neighbourhood != null) {
+            neighbourhood.addEdge(tail, head);
+        }
 
-        if (edgeColours.elementsCount > edgeId) {
-            edgeColours.set(edgeId, colour);
+        while (edgeColourIds.size() < edgeId) {
+            edgeColourIds.add(ColourPalette.NO_COLOUR_ID);
+        }
+        if (edgeColourIds.size() > edgeId) {
+            edgeColourIds.set(edgeId, colourId);
         } else {
-            edgeColours.add(colour);
+            edgeColourIds.add(colourId);
+        }
+        if (colourIndex != null) {
+            colourIndex.add(colourId, edgeId);
         }
 
         return edgeId;
     }
 
     public void setVertexColour(int vertexId, BitSet colour) {
-        if (vertexId < vertexColours.elementsCount) {
-            ((Object[]) vertexColours.buffer)[vertexId] = colour;
+        if (vertexId < vertexColourIds.size()) {
+            markModified();
+            int colourId = vertexColourTable.internColour(colour);
+            ColourIndex colourIndex = keepVertexColourIndex();
+            if (colourIndex != null) {
+                colourIndex.remove(vertexColourIds.getInt(vertexId), vertexId);
+                colourIndex.add(colourId, vertexId);
+            }
+            vertexColourIds.set(vertexId, colourId);
         }
     }
 
     public void setEdgeColour(int edgeId, BitSet colour) {
-        if (edgeId < edgeColours.elementsCount) {
-            ((Object[]) edgeColours.buffer)[edgeId] = colour;
+        if (edgeId < edgeColourIds.size()) {
+            markModified();
+            int colourId = edgeColourTable.internColour(colour);
+            ColourIndex colourIndex = keepEdgeColourIndex();
+            if (colourIndex != null) {
+                colourIndex.remove(edgeColourIds.getInt(edgeId), edgeId);
+                colourIndex.add(colourId, edgeId);
+            }
+            edgeColourIds.set(edgeId, colourId);
         }
     }
 
+    /**
+     * @param vertexId the ID of a vertex
+     * @return the interned colour of the vertex. It is shared and must not be
+     *         changed.
+     */
     public BitSet getVertexColour(int vertexId) {
-        if (vertexId < vertexColours.elementsCount) {
-            return (BitSet) ((Object[]) vertexColours.buffer)[vertexId];
+        if (vertexId < vertexColourIds.size()) {
+            return vertexColourTable.getColourById(vertexColourIds.getInt(vertexId));
         } else {
             return new BitSet();
         }
     }
 
+    /**
+     * @param edgeId the ID of an edge
+     * @return the interned colour of the edge or null if the edge does not
+     *         exist. The colour is shared and must not be changed.
+     */
     public BitSet getEdgeColour(int edgeId) {
-        if (edgeId < edgeColours.elementsCount) {
-            return (BitSet) ((Object[]) edgeColours.buffer)[edgeId];
+        if (edgeId < edgeColourIds.size()) {
+            return edgeColourTable.getColourById(edgeColourIds.getInt(edgeId));
         } else {
             // return new BitSet();
             return null;
@@ -184,11 +366,27 @@ public class ColouredGraph implements IColouredGraph {
         return graph.getOutNeighborhoods();
     }
 
+    /**
+     * @return the in neighbours of the given vertex. If the graph is frozen, the
+     *         returned set is a read-only view.
+     */
     public IntSet getInNeighbors(int v) {
+        ColouredGraphSnapshot current = getSnapshot();
+        if (current != null) {
+            return current.getInNeighbors(v);
+        }
         return graph.getInNeighbors(v);
     }
 
+    /**
+     * @return the out neighbours of the given vertex. If the graph is frozen,
+     *         the returned set is a read-only view.
+     */
     public IntSet getOutNeighbors(int v) {
+        ColouredGraphSnapshot current = getSnapshot();
+        if (current != null) {
+            return current.getOutNeighbors(v);
+        }
         return graph.getOutNeighbors(v);
     }
 
@@ -205,10 +403,18 @@ public class ColouredGraph implements IColouredGraph {
     }
 
     public IntSet getOutEdges(int vertexId) {
+        ColouredGraphSnapshot current = getSnapshot();
+        if (current != null) {
+            return current.getOutEdges(vertexId);
+        }
         return graph.getOutEdges(vertexId);
     }
 
     public IntSet getInEdges(int vertexId) {
+        ColouredGraphSnapshot current = getSnapshot();
+        if (current != null) {
+            return current.getInEdges(vertexId);
+        }
         return graph.getInEdges(vertexId);
     }
 
@@ -245,7 +451,9 @@ public class ColouredGraph implements IColouredGraph {
      * @param inVertexColours
      */
     public void setVertexColours(ObjectArrayList<BitSet> inVertexColours) {
-        vertexColours = new ObjectArrayList<>(inVertexColours);
+        vertexColourIds = toColourIds(inVertexColours, vertexColourTable);
+        vertexColourIndex = null;
+        markModified();
     }
 
     /**
@@ -254,7 +462,9 @@ public class ColouredGraph implements IColouredGraph {
      * @param inEdgeColours
      */
     public void setEdgeColours(ObjectArrayList<BitSet> inEdgeColours) {
-        edgeColours = new ObjectArrayList<>(inEdgeColours);
+        edgeColourIds = toColourIds(inEdgeColours, edgeColourTable);
+        edgeColourIndex = null;
+        markModified();
     }
     
     /**
@@ -263,10 +473,12 @@ public class ColouredGraph implements IColouredGraph {
      * @param inVertexColours
      */
     public void setVertexColours(Map<Integer, BitSet> inVertexColours) {
-        vertexColours = new ObjectArrayList<>();
+        vertexColourIds = new IntArrayList(inVertexColours.size());
         for (int i = 0; i < inVertexColours.size(); ++i) {
-            vertexColours.add(inVertexColours.get(i));
+            vertexColourIds.add(vertexColourTable.internColour(inVertexColours.get(i)));
         }
+        vertexColourIndex = null;
+        markModified();
     }
 
     /**
@@ -275,10 +487,12 @@ public class ColouredGraph implements IColouredGraph {
      * @param inEdgeColours
      */
     public void setEdgeColours(Map<Integer, BitSet> inEdgeColours) {
-        edgeColours = new ObjectArrayList<>();
+        edgeColourIds = new IntArrayList(inEdgeColours.size());
         for (int i = 0; i < inEdgeColours.size(); ++i) {
-            edgeColours.add(inEdgeColours.get(i));
+            edgeColourIds.add(edgeColourTable.internColour(inEdgeColours.get(i)));
         }
+        edgeColourIndex = null;
+        markModified();
     }
 
     /**
@@ -286,31 +500,49 @@ public class ColouredGraph implements IColouredGraph {
      */
     @Override
     public ColouredGraph clone() {
+        ColouredGraphSnapshot current = getSnapshot();
         Grph rawClonedGrph = new InMemoryGrph();
         rawClonedGrph.addVertices(graph.getVertices());
-        new MultiThreadProcessing(graph.getEdges()) {
-
-            @Override
-            protected void run(int threadID, int edgeID) {
-                synchronized (rawClonedGrph) {
-                    IntSet vertexIDs = graph.getVerticesIncidentToEdge(edgeID);
-                    int[] arrVertIDs = vertexIDs.toIntArray();
-                    if (arrVertIDs.length == 2) {
-                        rawClonedGrph.addDirectedSimpleEdge(arrVertIDs[0], edgeID, arrVertIDs[1]);
-                    } else {
-                        if (arrVertIDs.length == 1) {
-                            rawClonedGrph.addDirectedSimpleEdge(arrVertIDs[0], edgeID, arrVertIDs[0]);
-                        } else {
-                            System.out.println(" -- edge id : " + edgeID + " has only " + arrVertIDs.length + "");
-                        }
-                    }
-                }
+        // InMemoryGrph keeps its incidences in private structures that can only
+        // be filled edge by edge. Hence, the edges are copied together with their
+        // IDs in a single pass, from the arrays of the snapshot if the graph is
+        // frozen. Neither needs a lock nor a temporary set per edge.
+        if (current != null) {
+            current.copyEdgesTo(rawClonedGrph);
+        } else {
+            IntIterator edgeIterator = graph.getEdges().iterator();
+            int edgeId;
+            while (edgeIterator.hasNext()) {
+                edgeId = edgeIterator.nextInt();
+                rawClonedGrph.addDirectedSimpleEdge(graph.getDirectedSimpleEdgeTail(edgeId), edgeId,
+                        graph.getDirectedSimpleEdgeHead(edgeId));
             }
-        };
+        }
 
         ColouredGraph cloneGrph = new ColouredGraph(rawClonedGrph, vertexPalette, edgePalette, dtEdgePalette);
-        cloneGrph.setVertexColours(vertexColours);
-        cloneGrph.setEdgeColours(edgeColours);
+        if (cloneGrph.vertexColourTable == vertexColourTable) {
+            // the palettes are shared, i.e., the colour IDs can be copied
+            cloneGrph.vertexColourIds = new IntArrayList(vertexColourIds);
+        } else {
+            cloneGrph.setVertexColours(getVertexColours());
+        }
+        if (cloneGrph.edgeColourTable == edgeColourTable) {
+            cloneGrph.edgeColourIds = new IntArrayList(edgeColourIds);
+        } else {
+            cloneGrph.setEdgeColours(getEdgeColours());
+        }
+        if (isDegreeHistogramValid()) {
+            cloneGrph.outDegreeHistogram = new DegreeHistogram(outDegreeHistogram);
+            cloneGrph.inDegreeHistogram = new DegreeHistogram(inDegreeHistogram);
+        }
+        if (isNeighbourhoodValid(neighbourhood)) {
+            cloneGrph.neighbourhood = new UndirectedNeighbourhood(neighbourhood);
+        }
+        if ((current != null) && (cloneGrph.vertexColourTable == vertexColourTable)
+                && (cloneGrph.edgeColourTable == edgeColourTable)) {
+            // the snapshot is immutable and describes the clone as well
+            cloneGrph.snapshot = current;
+        }
 
         // --------------------------------------------------------
         // TODO set literal of the old graph to the new graph here
@@ -339,25 +571,31 @@ public class ColouredGraph implements IColouredGraph {
      * 
      * @param vertexColour
      *            the colour whoes vertex IDs we want to get
-     * @return
+     * @return a new set containing the IDs of the vertices having the given colour
      */
     public IntSet getVertices(BitSet vertexColour) {
-        IntSet setVertices = new DefaultIntSet(Constants.DEFAULT_SIZE);
-     
-        new MultiThreadProcessing(this.getVertices()) {
-
-            @Override
-            protected void run(int threadID, int vertId) {
-                BitSet vertColo = getVertexColour(vertId);
-                if (vertexColour.equals(vertColo)) {
-                    synchronized (setVertices) {
-                        setVertices.add(vertId);
-                    }
-                }
-            }
-        };
+        int colourId = vertexColourTable.getColourId(vertexColour);
+        if ((vertexColour != null) && (colourId == ColourPalette.NO_COLOUR_ID)) {
+            // this colour has never been used
+            return new IntOpenHashSet();
+        }
+        return getVertexColourIndex().getIds(colourId);
+    }
 
-        return setVertices;
+    /**
+     * Get list of edge ID's based on a colour
+     * 
+     * @param edgeColour
+     *            the colour whose edge IDs we want to get
+     * @return a new set containing the IDs of the edges having the given colour
+     */
+    public IntSet getEdges(BitSet edgeColour) {
+        int colourId = edgeColourTable.getColourId(edgeColour);
+        if ((edgeColour != null) && (colourId == ColourPalette.NO_COLOUR_ID)) {
+            // this colour has never been used
+            return new IntOpenHashSet();
+        }
+        return getEdgeColourIndex().getIds(colourId);
     }
 
     /**
@@ -616,12 +854,53 @@ public class ColouredGraph implements IColouredGraph {
         return res;
     }
 
+    /**
+     * Sets the edge palette. The colours of the edges are interned in the new
+     * palette.
+     */
     public void setEdgePalette(ColourPalette newEdgePalette) {
+        ColourPalette newColourTable = newEdgePalette;
+        if (newColourTable == null) {
+            // keep the palette owned by this graph
+            newColourTable = (edgePalette == null) ? edgeColourTable : new InMemoryPalette();
+        }
         edgePalette = newEdgePalette;
+        if (newColourTable != edgeColourTable) {
+            edgeColourIds = reinternColours(edgeColourIds, edgeColourTable, newColourTable);
+            edgeColourTable = newColourTable;
+            edgeColourIndex = null;
+            markModified();
+        }
     }
 
+    /**
+     * Sets the vertex palette. The colours of the vertices are interned in the
+     * new palette.
+     */
     public void setVertexPalette(ColourPalette newVertexPalette) {
+        ColourPalette newColourTable = newVertexPalette;
+        if (newColourTable == null) {
+            // keep the palette owned by this graph
+            newColourTable = (vertexPalette == null) ? vertexColourTable : new InMemoryPalette();
+        }
         vertexPalette = newVertexPalette;
+        if (newColourTable != vertexColourTable) {
+            vertexColourIds = reinternColours(vertexColourIds, vertexColourTable, newColourTable);
+            vertexColourTable = newColourTable;
+            vertexColourIndex = null;
+            markModified();
+        }
+    }
+
+    private static IntArrayList reinternColours(IntArrayList colourIds, ColourPalette oldColourTable,
+            ColourPalette newColourTable) {
+        int size = colourIds.size();
+        int[] ids = colourIds.elements();
+        IntArrayList newColourIds = new IntArrayList(size);
+        for (int i = 0; i < size; ++i) {
+            newColourIds.add(newColourTable.internColour(oldColourTable.getColourById(ids[i])));
+        }
+        return newColourIds;
     }
 
     public void setDataTypeEdgePalette(ColourPalette newDTEdgePalette) {
@@ -670,11 +949,7 @@ public class ColouredGraph implements IColouredGraph {
 		} else if (!dtEdgePalette.equals(other.dtEdgePalette)) {
 			return false;
 		}
-		if (edgeColours == null) {
-			if (other.edgeColours != null) {
-				return false;
-			}
-		} else if (!edgeColours.equals(other.edgeColours)) {
+		if (!getEdgeColours().equals(other.getEdgeColours())) {
 			return false;
 		}
 		if (edgePalette == null) {
@@ -691,11 +966,7 @@ public class ColouredGraph implements IColouredGraph {
 		} else if (!graph.equals(other.graph)) {
 			return false;
 		}
-		if (vertexColours == null) {
-			if (other.vertexColours != null) {
-				return false;
-			}
-		} else if (!vertexColours.equals(other.vertexColours)) {
+		if (!getVertexColours().equals(other.getVertexColours())) {
 			return false;
 		}
 		if (vertexPalette == null) {
@@ -716,6 +987,10 @@ public class ColouredGraph implements IColouredGraph {
      * @return IntSet - set of edge IDs
      */
     public IntSet getEdgesIncidentTo(int verticeId) {
+        ColouredGraphSnapshot current = getSnapshot();
+        if (current != null) {
+            return current.getEdgesIncidentTo(verticeId);
+        }
         return graph.getEdgesIncidentTo(verticeId);
     }
 
@@ -727,6 +1002,10 @@ public class ColouredGraph implements IColouredGraph {
      */
     @Override
     public int getInEdgeDegree(int vertexId) {
+        ColouredGraphSnapshot current = getSnapshot();
+        if (current != null) {
+            return current.getInEdgeDegree(vertexId);
+        }
         return graph.getInEdgeDegree(vertexId);
     }
 
@@ -738,6 +1017,10 @@ public class ColouredGraph implements IColouredGraph {
      */
     @Override
     public int getOutEdgeDegree(int vertexId) {
+        ColouredGraphSnapshot current = getSnapshot();
+        if (current != null) {
+            return current.getOutEdgeDegree(vertexId);
+        }
         return graph.getOutEdgeDegree(vertexId);
     }
 
@@ -748,7 +1031,7 @@ public class ColouredGraph implements IColouredGraph {
      */
     @Override
     public double getMaxInEdgeDegrees() {
-        return graph.getMaxInEdgeDegrees();
+        return getDegreeHistogram(DIRECTION.in).getMaxDegree();
     }
 
     /**
@@ -758,7 +1041,7 @@ public class ColouredGraph implements IColouredGraph {
      */
     @Override
     public double getMaxOutEdgeDegrees() {
-        return graph.getMaxOutEdgeDegrees();
+        return getDegreeHistogram(DIRECTION.out).getMaxDegree();
     }
 
     /**
@@ -781,6 +1064,246 @@ public class ColouredGraph implements IColouredGraph {
         return graph.getAllOutEdgeDegrees();
     }
 
+    @Override
+    public int getNumberOfVerticesWithInDegree(int degree) {
+        return getDegreeHistogram(DIRECTION.in).getNumberOfVerticesWithDegree(degree);
+    }
+
+    @Override
+    public int getNumberOfVerticesWithOutDegree(int degree) {
+        return getDegreeHistogram(DIRECTION.out).getNumberOfVerticesWithDegree(degree);
+    }
+
+    @Override
+    public double getStdDevInEdgeDegrees() {
+        return getDegreeHistogram(DIRECTION.in).getStdDev();
+    }
+
+    @Override
+    public double getStdDevOutEdgeDegrees() {
+        return getDegreeHistogram(DIRECTION.out).getStdDev();
+    }
+
+    /**
+     * Returns the histogram of the in or out degrees. The histograms are
+     * (re)created if they do not exist or if the underlying {@link Grph} has
+     * been changed without using the methods of this class.
+     * 
+     * @param direction - {@link DIRECTION#in} for in degrees, any other value
+     *                  for out degrees
+     * @return the degree histogram
+     */
+    public DegreeHistogram getDegreeHistogram(DIRECTION direction) {
+        if (!isDegreeHistogramValid()) {
+            synchronized (this) {
+                if (!isDegreeHistogramValid()) {
+                    outDegreeHistogram = DegreeHistogram.create(graph, DIRECTION.out);
+                    inDegreeHistogram = DegreeHistogram.create(graph, DIRECTION.in);
+                }
+            }
+        }
+        return (direction == DIRECTION.in) ? inDegreeHistogram : outDegreeHistogram;
+    }
+
+    /**
+     * Checks whether the degree histograms can be updated incrementally before
+     * the graph is changed. Outdated histograms are dropped.
+     */
+    private boolean keepDegreeHistograms() {
+        if (inDegreeHistogram == null) {
+            return false;
+        }
+        if (isDegreeHistogramValid()) {
+            return true;
+        }
+        inDegreeHistogram = null;
+        outDegreeHistogram = null;
+        return false;
+    }
+
+    /**
+     * Returns the index from vertex colours to vertex IDs. The index is
+     * (re)created if it does not exist or if vertices have been added to the
+     * underlying {@link Grph} without using the methods of this class.
+     * 
+     * @return the vertex colour index
+     */
+    protected ColourIndex getVertexColourIndex() {
+        ColourIndex index = vertexColourIndex;
+        if ((index == null) || (index.size() != graph.getNumberOfVertices())) {
+            synchronized (this) {
+                index = vertexColourIndex;
+                if ((index == null) || (index.size() != graph.getNumberOfVertices())) {
+                    index = ColourIndex.create(vertexColourIds, graph.getVertices());
+                    vertexColourIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index from edge colours to edge IDs. The index is
+     * (re)created if it does not exist or if edges have been added to or
+     * removed from the underlying {@link Grph} without using the methods of
+     * this class.
+     * 
+     * @return the edge colour index
+     */
+    protected ColourIndex getEdgeColourIndex() {
+        ColourIndex index = edgeColourIndex;
+        if ((index == null) || (index.size() != graph.getNumberOfEdges())) {
+            synchronized (this) {
+                index = edgeColourIndex;
+                if ((index == null) || (index.size() != graph.getNumberOfEdges())) {
+                    index = ColourIndex.create(edgeColourIds, graph.getEdges());
+                    edgeColourIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the vertex colour index if it can be updated incrementally before
+     * the graph is changed. An outdated index is dropped.
+     */
+    private ColourIndex keepVertexColourIndex() {
+        ColourIndex index = vertexColourIndex;
+        if ((index != null) && (index.size() != graph.getNumberOfVertices())) {
+            vertexColourIndex = null;
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the edge colour index if it can be updated incrementally before
+     * the graph is changed. An outdated index is dropped.
+     */
+    private ColourIndex keepEdgeColourIndex() {
+        ColourIndex index = edgeColourIndex;
+        if ((index != null) && (index.size() != graph.getNumberOfEdges())) {
+            edgeColourIndex = null;
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Returns the sorted undirected neighbourhood of the vertices. It is
+     * (re)created if it does not exist or if the underlying {@link Grph} has
+     * been changed without using the methods of this class.
+     * 
+     * @return the neighbourhood of the vertices
+     */
+    @Override
+    public UndirectedNeighbourhood getNeighbourhood() {
+        UndirectedNeighbourhood current = neighbourhood;
+        if (!isNeighbourhoodValid(current)) {
+            synchronized (this) {
+                current = neighbourhood;
+                if (!isNeighbourhoodValid(current)) {
+                    current = UndirectedNeighbourhood.create(graph);
+                    neighbourhood = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns the neighbourhood if it can be updated incrementally before the
+     * graph is changed. An outdated neighbourhood is dropped.
+     */
+    private UndirectedNeighbourhood keepNeighbourhood() {
+        UndirectedNeighbourhood current = neighbourhood;
+        if ((current != null) && !isNeighbourhoodValid(current)) {
+            neighbourhood = null;
+            return null;
+        }
+        return current;
+    }
+
+    /**
+     * Creates an immutable CSR snapshot of the current state of this graph.
+     * Until the graph is changed, the neighbours and edges of a vertex are read
+     * from the snapshot and returned as read-only views instead of new sets.
+     * Changing the graph drops the snapshot, i.e., the graph has to be frozen
+     * again afterwards.
+     * 
+     * @return the snapshot of this graph
+     */
+    public ColouredGraphSnapshot freeze() {
+        ColouredGraphSnapshot current = getSnapshot();
+        if (current == null) {
+            synchronized (this) {
+                current = getSnapshot();
+                if (current == null) {
+                    current = new ColouredGraphSnapshot(this);
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Returns the number of changes that have been made through the methods of
+     * this graph, e.g., adding or removing an edge or changing a colour. It can
+     * be used to check whether a structure derived from the graph is outdated
+     * without freezing the graph. Changes made directly on the underlying
+     * {@link Grph} object are not counted.
+     * 
+     * @return the modification counter of this graph
+     */
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Drops the snapshot and increments the modification counter. It has to be
+     * called by all methods that change the graph.
+     */
+    protected void markModified() {
+        snapshot = null;
+        modificationCount++;
+    }
+
+    /**
+     * @return true if the graph has been frozen and has not been changed since
+     */
+    public boolean isFrozen() {
+        return getSnapshot() != null;
+    }
+
+    /**
+     * Returns the snapshot created by {@link #freeze()} or null if the graph
+     * has not been frozen or has been changed afterwards (changes made directly
+     * on the underlying {@link Grph} object are detected as well).
+     * 
+     * @return the snapshot or null
+     */
+    public ColouredGraphSnapshot getSnapshot() {
+        ColouredGraphSnapshot current = snapshot;
+        if ((current != null) && ((current.getNumberOfVertices() != graph.getNumberOfVertices())
+                || (current.getNumberOfEdges() != graph.getNumberOfEdges()))) {
+            return null;
+        }
+        return current;
+    }
+
+    private boolean isNeighbourhoodValid(UndirectedNeighbourhood current) {
+        return (current != null) && current.isUpToDate(graph);
+    }
+
+    private boolean isDegreeHistogramValid() {
+        DegreeHistogram histogram = inDegreeHistogram;
+        return (histogram != null) && (outDegreeHistogram != null)
+                && (histogram.getNumberOfVertices() == graph.getNumberOfVertices())
+                && (histogram.getSumOfDegrees() == graph.getNumberOfEdges());
+    }
+
     /**
      * Get number of edges in the graph
      * 
@@ -803,6 +1326,9 @@ public class ColouredGraph implements IColouredGraph {
 
     @Override
     public int getNumberOfEdgesBetweenVertices(int headId, int tailId) {
+        if (headId != tailId) {
+            return getNeighbourhood().getMultiplicity(headId, tailId);
+        }
         int counter = 0;
         for (int edgeId : getEdgesIncidentTo(tailId)) {
             if (getEdgesIncidentTo(headId).contains(edgeId)) {
@@ -812,9 +1338,24 @@ public class ColouredGraph implements IColouredGraph {
         return counter;
     }
 
+    @Override
+    public int getNumberOfCommonNeighbours(int v1, int v2) {
+        return getNeighbourhood().countCommonNeighbours(v1, v2);
+    }
+
+    @Override
+    public long getNumberOfCommonNeighbourEdgePairs(int v1, int v2) {
+        return getNeighbourhood().countCommonNeighbourEdgePairs(v1, v2);
+    }
+
     @Override
     public ArrayListPath getDiameterPath() {
-        return diameterAlgorithm.getDiameterPath();
+        return computeDiameter().getPath();
+    }
+
+    @Override
+    public Diameter computeDiameter() {
+        return diameterAlgorithm.computeDiameter(this);
     }
 
     /**
@@ -831,6 +1372,19 @@ public class ColouredGraph implements IColouredGraph {
         return this.graph.getNeighbors(direction);
     }
 
+    /**
+     * If the graph is frozen, the in and out neighbors are read from the
+     * snapshot, i.e., they are created only once instead of once per call.
+     */
+    @Override
+    public NeighbourArrays getNeighbourArrays(DIRECTION direction) {
+        ColouredGraphSnapshot current = getSnapshot();
+        if ((current != null) && (direction != DIRECTION.in_out)) {
+            return current.getNeighbourArrays(direction);
+        }
+        return NeighbourArrays.wrap(getNeighbors(direction));
+    }
+
     @Override
     public int computeShorterDiameter(TripleBaseSingleID triple, ArrayListPath oldPath) {
         return diameterAlgorithm.computeShorterDiameter(this, triple, oldPath);
@@ -4,9 +4,15 @@
 package org.aksw.simba.lemming;
 
 import org.aksw.simba.lemming.colour.ColourPalette;
+import org.aksw.simba.lemming.grph.DiameterAlgorithm.Diameter;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
+import org.aksw.simba.lemming.util.Constants;
+import org.aksw.simba.lemming.util.NeighbourArrays;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood;
+
 import com.carrotsearch.hppc.BitSet;
 
+import grph.DefaultIntSet;
 import grph.Grph.DIRECTION;
 import grph.Grph;
 import grph.path.ArrayListPath;
@@ -82,6 +88,20 @@ public class ColouredGraphDecorator implements IColouredGraph {
         return this.triple;
     }
 
+    /**
+     * Copies the given set of neighbors before a decorator changes it. The sets
+     * returned by the decorated graph may be shared with other decorators that
+     * are used at the same time.
+     * 
+     * @param neighbors - set of neighbors returned by the decorated graph
+     * @return IntSet - a copy of the given set
+     */
+    protected static IntSet copyNeighbors(IntSet neighbors) {
+        IntSet copy = new DefaultIntSet(Math.max(neighbors.size() + 1, Constants.DEFAULT_SIZE));
+        copy.addAll(neighbors);
+        return copy;
+    }
+
     /**
      * Get list of all Edge IDs connecting to vertex
      *
@@ -155,6 +175,70 @@ public class ColouredGraphDecorator implements IColouredGraph {
         return this.decoratedGraph.getAllOutEdgeDegrees();
     }
 
+    /**
+     * Get number of vertices with the given in edge degree
+     * 
+     * @param degree - in edge degree
+     * @return int - number of vertices
+     */
+    @Override
+    public int getNumberOfVerticesWithInDegree(int degree) {
+        return this.decoratedGraph.getNumberOfVerticesWithInDegree(degree);
+    }
+
+    /**
+     * Get number of vertices with the given out edge degree
+     * 
+     * @param degree - out edge degree
+     * @return int - number of vertices
+     */
+    @Override
+    public int getNumberOfVerticesWithOutDegree(int degree) {
+        return this.decoratedGraph.getNumberOfVerticesWithOutDegree(degree);
+    }
+
+    /**
+     * Get standard deviation of the in edge degrees of all the vertices
+     * 
+     * @return double
+     */
+    @Override
+    public double getStdDevInEdgeDegrees() {
+        return this.decoratedGraph.getStdDevInEdgeDegrees();
+    }
+
+    /**
+     * Get standard deviation of the out edge degrees of all the vertices
+     * 
+     * @return double
+     */
+    @Override
+    public double getStdDevOutEdgeDegrees() {
+        return this.decoratedGraph.getStdDevOutEdgeDegrees();
+    }
+
+    /**
+     * Computes the standard deviation of the degrees after the degree of a single
+     * vertex has been changed by one
+     * 
+     * @param stdDev           - standard deviation before the change
+     * @param numberOfVertices - number of vertices
+     * @param sumOfDegrees     - sum of all degrees before the change, i.e., the
+     *                         number of edges
+     * @param oldDegree        - degree of the changed vertex before the change
+     * @param change           - +1 or -1
+     * @return double - standard deviation after the change
+     */
+    protected static double computeStdDevAfterChange(double stdDev, double numberOfVertices, double sumOfDegrees,
+            int oldDegree, int change) {
+        double mean = sumOfDegrees / numberOfVertices;
+        double newMean = (sumOfDegrees + change) / numberOfVertices;
+        // (d + c)^2 - d^2 = 2dc + 1 for c = +-1
+        double variance = (stdDev * stdDev) + (mean * mean) + ((2.0 * oldDegree * change) + 1) / numberOfVertices
+                - (newMean * newMean);
+        return Math.sqrt(Math.max(variance, 0));
+    }
+
     /**
      * Get number of edges in the graph
      * 
@@ -304,6 +388,61 @@ public class ColouredGraphDecorator implements IColouredGraph {
         return this.decoratedGraph.getNumberOfEdgesBetweenVertices(headId, tailId);
     }
 
+    @Override
+    public int getNumberOfCommonNeighbours(int v1, int v2) {
+        return this.decoratedGraph.getNumberOfCommonNeighbours(v1, v2);
+    }
+
+    @Override
+    public long getNumberOfCommonNeighbourEdgePairs(int v1, int v2) {
+        return this.decoratedGraph.getNumberOfCommonNeighbourEdgePairs(v1, v2);
+    }
+
+    @Override
+    public UndirectedNeighbourhood getNeighbourhood() {
+        return this.decoratedGraph.getNeighbourhood();
+    }
+
+    /**
+     * Computes how the common neighbors of two vertices change if the edge of the
+     * triple is added to or removed from the decorated graph. The edge changes
+     * them only if it connects one of the two vertices with a third vertex.
+     * 
+     * @param v1             - the first vertex
+     * @param v2             - the second vertex
+     * @param change         - 1 if the edge is added, -1 if it is removed
+     * @param countEdgePairs - true if the change of the number of edge pairs
+     *                       should be returned instead of the change of the
+     *                       number of common neighbors
+     * @return long - the change caused by the edge of the triple
+     */
+    protected long getChangeOfCommonNeighbours(int v1, int v2, int change, boolean countEdgePairs) {
+        int tailId = this.triple.tailId;
+        int headId = this.triple.headId;
+        boolean v1IsEndpoint = (v1 == tailId) || (v1 == headId);
+        boolean v2IsEndpoint = (v2 == tailId) || (v2 == headId);
+        if ((tailId == headId) || (v1IsEndpoint == v2IsEndpoint)) {
+            return 0;
+        }
+        int vertex = v1IsEndpoint ? v1 : v2;
+        int other = v1IsEndpoint ? v2 : v1;
+        int neighbour = (vertex == tailId) ? headId : tailId;
+        int edgesOfOther = this.decoratedGraph.getNumberOfEdgesBetweenVertices(other, neighbour);
+        if (edgesOfOther == 0) {
+            return 0;
+        }
+        if (countEdgePairs) {
+            return change * edgesOfOther;
+        }
+        // the neighbour only becomes a common neighbour with its first edge to the
+        // vertex and it is only lost with the last one
+        int edgesOfVertex = this.decoratedGraph.getNumberOfEdgesBetweenVertices(vertex, neighbour);
+        if (change > 0) {
+            return (edgesOfVertex == 0) ? 1 : 0;
+        }
+        return (edgesOfVertex == 1) ? -1 : 0;
+    }
+
     @Override
     public double getDiameter() {
         return this.decoratedGraph.getDiameter();
@@ -339,9 +478,24 @@ public class ColouredGraphDecorator implements IColouredGraph {
         return this.decoratedGraph.getDiameterPath();
     }
 
+    @Override
+    public Diameter computeDiameter() {
+        return this.decoratedGraph.computeDiameter();
+    }
+
     @Override
     public int[][] getNeighbors(DIRECTION direction) {
         return this.decoratedGraph.getNeighbors(direction);
     }
 
+    @Override
+    public NeighbourArrays getNeighbourArrays(DIRECTION direction) {
+        return this.decoratedGraph.getNeighbourArrays(direction);
+    }
+
+    @Override
+    public boolean isSimulatingChange() {
+        return this.decoratedGraph.isSimulatingChange();
+    }
+
 }
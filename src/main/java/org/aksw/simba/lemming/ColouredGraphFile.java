@@ -0,0 +1,450 @@
+package org.aksw.simba.lemming;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.aksw.simba.lemming.colour.ColourPalette;
+import org.aksw.simba.lemming.colour.InMemoryPalette;
+
+import com.carrotsearch.hppc.BitSet;
+
+import grph.Grph;
+import grph.in_memory.InMemoryGrph;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Compact binary file format of a {@link ColouredGraph}. A file consists of
+ * <ol>
+ * <li>a header with a magic number and the version of the format,</li>
+ * <li>the vertex, edge and data typed edge palettes (URIs and colours),</li>
+ * <li>the dictionaries of the vertex and edge colours used by the graph,</li>
+ * <li>the colour IDs of the vertices and the vertex IDs,</li>
+ * <li>the colour IDs of the edges and the edges in compressed-sparse-row order
+ * of their tails, i.e., the offsets of every tail followed by the edge IDs and
+ * the heads, and</li>
+ * <li>the literals and their types.</li>
+ * </ol>
+ * All numbers are stored as big-endian integers. The file is read through
+ * memory-mapped chunks of a {@link FileChannel} (see {@link MappedFileReader}),
+ * i.e., files larger than 2 GB are supported, and the arrays are copied in
+ * bulk. The Grph object is the only part that has to be created edge by edge.
+ */
+public class ColouredGraphFile {
+
+    /**
+     * "LMCG"
+     */
+    public static final int MAGIC_NUMBER = 0x4C4D4347;
+    public static final int VERSION = 1;
+
+    /**
+     * Maximum number of bytes that are mapped at once while a file is read
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 30;
+
+    /**
+     * Writes the given graph to the given file.
+     *
+     * @param graph
+     *            the graph that should be written
+     * @param file
+     *            the file the graph is written to
+     * @throws IOException
+     *             if the file can not be written
+     */
+    public static void write(ColouredGraph graph, File file) throws IOException {
+        ColouredGraphSnapshot snapshot = graph.getSnapshot();
+        if (snapshot == null) {
+            snapshot = new ColouredGraphSnapshot(graph);
+        }
+        int[] vertices = graph.getGraph().getVertices().toIntArray();
+        Arrays.sort(vertices);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(VERSION);
+
+            writePalette(out, graph.getVertexPalette());
+            writePalette(out, graph.getEdgePalette());
+            writePalette(out, graph.getDataTypedEdgePalette());
+
+            // vertices
+            int[] vertexColourIds = graph.getVertexColourIds().toIntArray();
+            writeColourDictionary(out, vertexColourIds, graph.vertexColourTable);
+            out.writeInt(vertexColourIds.length);
+            writeInts(out, vertexColourIds, vertexColourIds.length);
+            out.writeInt(vertices.length);
+            writeInts(out, vertices, vertices.length);
+
+            // edges
+            int[] edgeColourIds = graph.getEdgeColourIds().toIntArray();
+            writeColourDictionary(out, edgeColourIds, graph.edgeColourTable);
+            out.writeInt(edgeColourIds.length);
+            writeInts(out, edgeColourIds, edgeColourIds.length);
+            int vertexIdRange = (vertices.length == 0) ? 0 : vertices[vertices.length - 1] + 1;
+            int numberOfEdges = snapshot.getNumberOfEdges();
+            out.writeInt(vertexIdRange);
+            out.writeInt(numberOfEdges);
+            for (int v = 0; v <= vertexIdRange; ++v) {
+                out.writeInt((v < vertexIdRange) ? snapshot.getFirstOutEdge(v) : numberOfEdges);
+            }
+            for (int v = 0; v < vertexIdRange; ++v) {
+                for (int i = snapshot.getFirstOutEdge(v); i < snapshot.getEndOfOutEdges(v); ++i) {
+                    out.writeInt(snapshot.getOutEdgeId(i));
+                }
+            }
+            for (int v = 0; v < vertexIdRange; ++v) {
+                for (int i = snapshot.getFirstOutEdge(v); i < snapshot.getEndOfOutEdges(v); ++i) {
+                    out.writeInt(snapshot.getOutTarget(i));
+                }
+            }
+
+            // literals
+            out.writeInt(graph.mapLiteralTypes.size());
+            for (Entry<BitSet, String> entry : graph.mapLiteralTypes.entrySet()) {
+                writeColour(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+            out.writeInt(graph.mapVertexIdAndLiterals.size());
+            for (Entry<Integer, Map<BitSet, List<String>>> vertexEntry : graph.mapVertexIdAndLiterals.entrySet()) {
+                out.writeInt(vertexEntry.getKey());
+                out.writeInt(vertexEntry.getValue().size());
+                for (Entry<BitSet, List<String>> entry : vertexEntry.getValue().entrySet()) {
+                    writeColour(out, entry.getKey());
+                    out.writeInt(entry.getValue().size());
+                    for (String literal : entry.getValue()) {
+                        writeString(out, literal);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the given file starts with the magic number of this
+     * format.
+     */
+    public static boolean isColouredGraphFile(File file) throws IOException {
+        if (file.length() < 4) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            while (buffer.hasRemaining() && (channel.read(buffer) >= 0)) {
+                // read the complete magic number
+            }
+            buffer.flip();
+            return (buffer.remaining() == 4) && (buffer.getInt() == MAGIC_NUMBER);
+        }
+    }
+
+    /**
+     * Reads the graph from the given file.
+     *
+     * @param file
+     *            the file that has been written by
+     *            {@link #write(ColouredGraph, File)}
+     * @return the graph
+     * @throws IOException
+     *             if the file can not be read or has an unknown format
+     */
+    public static ColouredGraph read(File file) throws IOException {
+        return read(file, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Reads the graph from the given file mapping at most the given number of
+     * bytes at once.
+     */
+    static ColouredGraph read(File file, int chunkSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedFileReader buffer = new MappedFileReader(channel, chunkSize);
+            if (buffer.getInt() != MAGIC_NUMBER) {
+                throw new IOException("The file " + file + " does not contain a coloured graph.");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version + " of the coloured graph file " + file + ".");
+            }
+            ColourPalette vertexPalette = readPalette(buffer);
+            ColourPalette edgePalette = readPalette(buffer);
+            ColourPalette dtEdgePalette = readPalette(buffer);
+
+            // vertices
+            BitSet[] vertexColours = readColourDictionary(buffer);
+            int[] vertexColourIds = readInts(buffer, buffer.getInt());
+            int[] vertices = readInts(buffer, buffer.getInt());
+
+            // edges
+            BitSet[] edgeColours = readColourDictionary(buffer);
+            int[] edgeColourIds = readInts(buffer, buffer.getInt());
+            int vertexIdRange = buffer.getInt();
+            int numberOfEdges = buffer.getInt();
+            int[] offsets = readInts(buffer, vertexIdRange + 1);
+            int[] edgeIds = readInts(buffer, numberOfEdges);
+            int[] heads = readInts(buffer, numberOfEdges);
+
+            Grph grph = new InMemoryGrph();
+            for (int vertex : vertices) {
+                grph.addVertex(vertex);
+            }
+            for (int v = 0; v < vertexIdRange; ++v) {
+                for (int i = offsets[v]; i < offsets[v + 1]; ++i) {
+                    grph.addDirectedSimpleEdge(v, edgeIds[i], heads[i]);
+                }
+            }
+            ColouredGraph graph = new ColouredGraph(grph, vertexPalette, edgePalette, dtEdgePalette);
+            graph.vertexColourIds = internColours(vertexColours, graph.vertexColourTable, vertexColourIds);
+            graph.edgeColourIds = internColours(edgeColours, graph.edgeColourTable, edgeColourIds);
+
+            // literals
+            int size = buffer.getInt();
+            for (int i = 0; i < size; ++i) {
+                graph.mapLiteralTypes.put(readColour(buffer), readString(buffer));
+            }
+            size = buffer.getInt();
+            int vertexId, numberOfColours, numberOfLiterals;
+            for (int i = 0; i < size; ++i) {
+                vertexId = buffer.getInt();
+                numberOfColours = buffer.getInt();
+                Map<BitSet, List<String>> literals = new HashMap<BitSet, List<String>>();
+                for (int j = 0; j < numberOfColours; ++j) {
+                    BitSet colour = readColour(buffer);
+                    numberOfLiterals = buffer.getInt();
+                    List<String> values = new ArrayList<String>(numberOfLiterals);
+                    for (int k = 0; k < numberOfLiterals; ++k) {
+                        values.add(readString(buffer));
+                    }
+                    literals.put(colour, values);
+                }
+                graph.mapVertexIdAndLiterals.put(vertexId, literals);
+            }
+            return graph;
+        }
+    }
+
+    /**
+     * Interns the colours of the dictionary in the colour table of the graph
+     * and replaces the positions in the dictionary by the interned IDs.
+     */
+    private static IntArrayList internColours(BitSet[] dictionary, ColourPalette colourTable, int[] colourIds) {
+        int[] internedIds = new int[dictionary.length];
+        for (int i = 0; i < dictionary.length; ++i) {
+            internedIds[i] = colourTable.internColour(dictionary[i]);
+        }
+        for (int i = 0; i < colourIds.length; ++i) {
+            if (colourIds[i] != ColourPalette.NO_COLOUR_ID) {
+                colourIds[i] = internedIds[colourIds[i]];
+            }
+        }
+        return IntArrayList.wrap(colourIds);
+    }
+
+    private static void writePalette(DataOutputStream out, ColourPalette palette) throws IOException {
+        if (palette == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(palette.getHighestColourId());
+        Map<String, BitSet> colours = palette.getMapOfURIAndColour();
+        out.writeInt(colours.size());
+        for (Entry<String, BitSet> entry : colours.entrySet()) {
+            writeString(out, entry.getKey());
+            writeColour(out, entry.getValue());
+        }
+    }
+
+    private static ColourPalette readPalette(MappedFileReader buffer) throws IOException {
+        int highestColourId = buffer.getInt();
+        if (highestColourId < 0) {
+            return null;
+        }
+        int size = buffer.getInt();
+        Map<String, BitSet> colours = new HashMap<String, BitSet>(2 * size);
+        for (int i = 0; i < size; ++i) {
+            String uri = readString(buffer);
+            colours.put(uri, readColour(buffer));
+        }
+        ColourPalette palette = new InMemoryPalette();
+        palette.setHighestColourId(highestColourId);
+        palette.setUriColourMap(colours);
+        return palette;
+    }
+
+    /**
+     * Writes the colours used by the given colour IDs and replaces the IDs by
+     * the positions of their colours in the written dictionary.
+     */
+    private static void writeColourDictionary(DataOutputStream out, int[] colourIds, ColourPalette colourTable)
+            throws IOException {
+        int maxId = -1;
+        for (int colourId : colourIds) {
+            maxId = Math.max(maxId, colourId);
+        }
+        int[] dictionaryIds = new int[maxId + 1];
+        Arrays.fill(dictionaryIds, -1);
+        List<BitSet> dictionary = new ArrayList<BitSet>();
+        for (int i = 0; i < colourIds.length; ++i) {
+            if (colourIds[i] != ColourPalette.NO_COLOUR_ID) {
+                if (dictionaryIds[colourIds[i]] < 0) {
+                    dictionaryIds[colourIds[i]] = dictionary.size();
+                    dictionary.add(colourTable.getColourById(colourIds[i]));
+                }
+                colourIds[i] = dictionaryIds[colourIds[i]];
+            }
+        }
+        out.writeInt(dictionary.size());
+        for (BitSet colour : dictionary) {
+            writeColour(out, colour);
+        }
+    }
+
+    private static BitSet[] readColourDictionary(MappedFileReader buffer) throws IOException {
+        BitSet[] dictionary = new BitSet[buffer.getInt()];
+        for (int i = 0; i < dictionary.length; ++i) {
+            dictionary[i] = readColour(buffer);
+        }
+        return dictionary;
+    }
+
+    private static void writeColour(DataOutputStream out, BitSet colour) throws IOException {
+        out.writeInt(colour.wlen);
+        for (int i = 0; i < colour.wlen; ++i) {
+            out.writeLong(colour.bits[i]);
+        }
+    }
+
+    private static BitSet readColour(MappedFileReader buffer) throws IOException {
+        int length = buffer.getInt();
+        long[] bits = new long[length];
+        buffer.getLongs(bits);
+        return new BitSet(bits, length);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(MappedFileReader buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.getBytes(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values, int length) throws IOException {
+        for (int i = 0; i < length; ++i) {
+            out.writeInt(values[i]);
+        }
+    }
+
+    private static int[] readInts(MappedFileReader buffer, int length) throws IOException {
+        int[] values = new int[length];
+        buffer.getInts(values);
+        return values;
+    }
+
+    /**
+     * Reads a file through memory-mapped chunks. A single
+     * {@link MappedByteBuffer} can not map more than 2 GB. Hence, the next
+     * chunk is mapped at the current position if a value does not fit into
+     * the rest of the current chunk. Arrays are copied in bulk chunk by chunk.
+     */
+    static class MappedFileReader {
+
+        private final FileChannel channel;
+        private final long size;
+        private final int chunkSize;
+        /**
+         * Position of the current chunk in the file
+         */
+        private long chunkStart;
+        private MappedByteBuffer buffer;
+
+        MappedFileReader(FileChannel channel, int chunkSize) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.chunkSize = Math.max(chunkSize, Long.BYTES);
+            map(0);
+        }
+
+        private void map(long position) throws IOException {
+            chunkStart = position;
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, size - position));
+        }
+
+        /**
+         * Makes sure that the given number of bytes can be read from the
+         * current chunk.
+         */
+        private void ensureRemaining(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                long position = chunkStart + buffer.position();
+                if (size - position < bytes) {
+                    throw new EOFException("Unexpected end of the coloured graph file.");
+                }
+                map(position);
+            }
+        }
+
+        int getInt() throws IOException {
+            ensureRemaining(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        void getInts(int[] values) throws IOException {
+            int offset = 0;
+            while (offset < values.length) {
+                ensureRemaining(Integer.BYTES);
+                int count = Math.min(values.length - offset, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().get(values, offset, count);
+                buffer.position(buffer.position() + (count * Integer.BYTES));
+                offset += count;
+            }
+        }
+
+        void getLongs(long[] values) throws IOException {
+            int offset = 0;
+            while (offset < values.length) {
+                ensureRemaining(Long.BYTES);
+                int count = Math.min(values.length - offset, buffer.remaining() / Long.BYTES);
+                buffer.asLongBuffer().get(values, offset, count);
+                buffer.position(buffer.position() + (count * Long.BYTES));
+                offset += count;
+            }
+        }
+
+        void getBytes(byte[] values) throws IOException {
+            int offset = 0;
+            while (offset < values.length) {
+                ensureRemaining(1);
+                int count = Math.min(values.length - offset, buffer.remaining());
+                buffer.get(values, offset, count);
+                offset += count;
+            }
+        }
+    }
+}
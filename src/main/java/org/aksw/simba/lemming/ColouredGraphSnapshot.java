@@ -0,0 +1,409 @@
+package org.aksw.simba.lemming;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import org.aksw.simba.lemming.colour.ColourPalette;
+import org.aksw.simba.lemming.util.IntArraySliceSet;
+import org.aksw.simba.lemming.util.NeighbourArrays;
+
+import grph.Grph;
+import it.unimi.dsi.fastutil.ints.AbstractIntIterator;
+import it.unimi.dsi.fastutil.ints.AbstractIntSet;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Immutable compressed-sparse-row (CSR) snapshot of a {@link ColouredGraph}.
+ * For both directions, it stores the edges of every vertex as a slice of one
+ * large array: the out edges of vertex v are at the positions
+ * {@link #getFirstOutEdge(int)} to {@link #getEndOfOutEdges(int)} (exclusive)
+ * of the out arrays that contain the edge IDs (in ascending order), the heads
+ * of the edges and the colour IDs of the edges. The distinct neighbours of
+ * every vertex are stored in the same way in ascending order.
+ *
+ * All sets returned by this class are read-only views of these slices, i.e.,
+ * reading the neighbours or the edges of a vertex does not copy anything.
+ * Vertex and edge IDs are used as array indexes, i.e., the snapshot is meant
+ * for the dense ID spaces of the graphs created by this project.
+ */
+public class ColouredGraphSnapshot {
+
+    private final int numberOfVertices;
+    private final int numberOfEdges;
+
+    private final int[] vertexColourIds;
+
+    /**
+     * Tail and head of every edge indexed by the edge ID (-1 if the edge does
+     * not exist).
+     */
+    private final int[] tails;
+    private final int[] heads;
+
+    private final int[] outOffsets;
+    private final int[] outEdgeIds;
+    private final int[] outTargets;
+    private final int[] outEdgeColourIds;
+
+    private final int[] inOffsets;
+    private final int[] inEdgeIds;
+    private final int[] inTargets;
+    private final int[] inEdgeColourIds;
+
+    private final int[] outNeighbourOffsets;
+    private final int[] outNeighbours;
+    private final int[] inNeighbourOffsets;
+    private final int[] inNeighbours;
+
+    /**
+     * Number of self loops of every vertex
+     */
+    private final int[] selfLoops;
+
+    /**
+     * Neighbours of every vertex as separate arrays, created on demand by
+     * {@link #getNeighbourArrays(Grph.DIRECTION)}.
+     */
+    private volatile NeighbourArrays outNeighbourArrays;
+    private volatile NeighbourArrays inNeighbourArrays;
+
+    /**
+     * Creates the snapshot of the current state of the given graph.
+     *
+     * @param graph the graph that should be copied
+     */
+    public ColouredGraphSnapshot(ColouredGraph graph) {
+        Grph grph = graph.getGraph();
+        int[] vertices = grph.getVertices().toIntArray();
+        int[] edges = grph.getEdges().toIntArray();
+        Arrays.sort(edges);
+        numberOfVertices = vertices.length;
+        numberOfEdges = edges.length;
+
+        int vertexIdRange = 0;
+        for (int vertex : vertices) {
+            vertexIdRange = Math.max(vertexIdRange, vertex + 1);
+        }
+        int edgeIdRange = (edges.length == 0) ? 0 : edges[edges.length - 1] + 1;
+
+        vertexColourIds = new int[vertexIdRange];
+        Arrays.fill(vertexColourIds, ColourPalette.NO_COLOUR_ID);
+        IntArrayList colourIds = graph.getVertexColourIds();
+        for (int vertex : vertices) {
+            if (vertex < colourIds.size()) {
+                vertexColourIds[vertex] = colourIds.getInt(vertex);
+            }
+        }
+
+        tails = new int[edgeIdRange];
+        heads = new int[edgeIdRange];
+        Arrays.fill(tails, -1);
+        Arrays.fill(heads, -1);
+        outOffsets = new int[vertexIdRange + 1];
+        inOffsets = new int[vertexIdRange + 1];
+        selfLoops = new int[vertexIdRange];
+        for (int edgeId : edges) {
+            tails[edgeId] = grph.getDirectedSimpleEdgeTail(edgeId);
+            heads[edgeId] = grph.getDirectedSimpleEdgeHead(edgeId);
+            outOffsets[tails[edgeId] + 1]++;
+            inOffsets[heads[edgeId] + 1]++;
+            if (tails[edgeId] == heads[edgeId]) {
+                selfLoops[tails[edgeId]]++;
+            }
+        }
+        for (int v = 0; v < vertexIdRange; ++v) {
+            outOffsets[v + 1] += outOffsets[v];
+            inOffsets[v + 1] += inOffsets[v];
+        }
+
+        // the edges are distributed in ascending order, i.e., every slice is sorted
+        IntArrayList edgeColourIds = graph.getEdgeColourIds();
+        outEdgeIds = new int[edges.length];
+        outTargets = new int[edges.length];
+        outEdgeColourIds = new int[edges.length];
+        inEdgeIds = new int[edges.length];
+        inTargets = new int[edges.length];
+        inEdgeColourIds = new int[edges.length];
+        int[] outPositions = Arrays.copyOf(outOffsets, vertexIdRange);
+        int[] inPositions = Arrays.copyOf(inOffsets, vertexIdRange);
+        int colourId, pos;
+        for (int edgeId : edges) {
+            colourId = (edgeId < edgeColourIds.size()) ? edgeColourIds.getInt(edgeId) : ColourPalette.NO_COLOUR_ID;
+            pos = outPositions[tails[edgeId]]++;
+            outEdgeIds[pos] = edgeId;
+            outTargets[pos] = heads[edgeId];
+            outEdgeColourIds[pos] = colourId;
+            pos = inPositions[heads[edgeId]]++;
+            inEdgeIds[pos] = edgeId;
+            inTargets[pos] = tails[edgeId];
+            inEdgeColourIds[pos] = colourId;
+        }
+
+        outNeighbourOffsets = new int[vertexIdRange + 1];
+        outNeighbours = createNeighbours(outOffsets, outTargets, outNeighbourOffsets);
+        inNeighbourOffsets = new int[vertexIdRange + 1];
+        inNeighbours = createNeighbours(inOffsets, inTargets, inNeighbourOffsets);
+    }
+
+    /**
+     * Creates the sorted, distinct neighbours of every vertex from the targets
+     * of its edges.
+     */
+    private static int[] createNeighbours(int[] offsets, int[] targets, int[] neighbourOffsets) {
+        int[] neighbours = new int[targets.length];
+        int size = 0;
+        int start;
+        for (int v = 0; v < neighbourOffsets.length - 1; ++v) {
+            start = size;
+            System.arraycopy(targets, offsets[v], neighbours, start, offsets[v + 1] - offsets[v]);
+            Arrays.sort(neighbours, start, start + offsets[v + 1] - offsets[v]);
+            for (int i = start; i < start + offsets[v + 1] - offsets[v]; ++i) {
+                if ((size == start) || (neighbours[size - 1] != neighbours[i])) {
+                    neighbours[size++] = neighbours[i];
+                }
+            }
+            neighbourOffsets[v + 1] = size;
+        }
+        return (size == neighbours.length) ? neighbours : Arrays.copyOf(neighbours, size);
+    }
+
+    /**
+     * Adds all edges of this snapshot to the given graph. The edges keep their
+     * IDs and are added in ascending order of their IDs.
+     *
+     * @param grph the graph the edges should be added to
+     */
+    public void copyEdgesTo(Grph grph) {
+        for (int edgeId = 0; edgeId < tails.length; ++edgeId) {
+            if (tails[edgeId] >= 0) {
+                grph.addDirectedSimpleEdge(tails[edgeId], edgeId, heads[edgeId]);
+            }
+        }
+    }
+
+    public int getNumberOfVertices() {
+        return numberOfVertices;
+    }
+
+    public int getNumberOfEdges() {
+        return numberOfEdges;
+    }
+
+    public int getVertexColourId(int vertexId) {
+        return vertexColourIds[vertexId];
+    }
+
+    public int getTail(int edgeId) {
+        return tails[edgeId];
+    }
+
+    public int getHead(int edgeId) {
+        return heads[edgeId];
+    }
+
+    public boolean containsEdge(int edgeId) {
+        return (edgeId >= 0) && (edgeId < tails.length) && (tails[edgeId] >= 0);
+    }
+
+    public int getOutEdgeDegree(int vertexId) {
+        return outOffsets[vertexId + 1] - outOffsets[vertexId];
+    }
+
+    public int getInEdgeDegree(int vertexId) {
+        return inOffsets[vertexId + 1] - inOffsets[vertexId];
+    }
+
+    public int getFirstOutEdge(int vertexId) {
+        return outOffsets[vertexId];
+    }
+
+    public int getEndOfOutEdges(int vertexId) {
+        return outOffsets[vertexId + 1];
+    }
+
+    public int getFirstInEdge(int vertexId) {
+        return inOffsets[vertexId];
+    }
+
+    public int getEndOfInEdges(int vertexId) {
+        return inOffsets[vertexId + 1];
+    }
+
+    public int getOutEdgeId(int position) {
+        return outEdgeIds[position];
+    }
+
+    /**
+     * @return the head of the out edge at the given position
+     */
+    public int getOutTarget(int position) {
+        return outTargets[position];
+    }
+
+    public int getOutEdgeColourId(int position) {
+        return outEdgeColourIds[position];
+    }
+
+    public int getInEdgeId(int position) {
+        return inEdgeIds[position];
+    }
+
+    /**
+     * @return the tail of the in edge at the given position
+     */
+    public int getInTarget(int position) {
+        return inTargets[position];
+    }
+
+    public int getInEdgeColourId(int position) {
+        return inEdgeColourIds[position];
+    }
+
+    public IntSet getOutEdges(int vertexId) {
+        return new IntArraySliceSet(outEdgeIds, outOffsets[vertexId], outOffsets[vertexId + 1]);
+    }
+
+    public IntSet getInEdges(int vertexId) {
+        return new IntArraySliceSet(inEdgeIds, inOffsets[vertexId], inOffsets[vertexId + 1]);
+    }
+
+    /**
+     * @return the in and out edges of the given vertex. Self loops are
+     *         contained only once.
+     */
+    public IntSet getEdgesIncidentTo(int vertexId) {
+        return new IncidentEdgeSet(vertexId);
+    }
+
+    public IntSet getOutNeighbors(int vertexId) {
+        return new IntArraySliceSet(outNeighbours, outNeighbourOffsets[vertexId],
+                outNeighbourOffsets[vertexId + 1]);
+    }
+
+    public IntSet getInNeighbors(int vertexId) {
+        return new IntArraySliceSet(inNeighbours, inNeighbourOffsets[vertexId], inNeighbourOffsets[vertexId + 1]);
+    }
+
+    /**
+     * Returns the distinct neighbours of all vertices in the given direction.
+     * The arrays are created once per direction and shared by all callers.
+     *
+     * @param direction {@link Grph.DIRECTION#in} or {@link Grph.DIRECTION#out}
+     * @return the neighbours of all vertices indexed by the vertex IDs
+     */
+    public NeighbourArrays getNeighbourArrays(Grph.DIRECTION direction) {
+        NeighbourArrays neighbourArrays;
+        switch (direction) {
+        case out:
+            neighbourArrays = outNeighbourArrays;
+            if (neighbourArrays == null) {
+                neighbourArrays = createNeighbourArrays(outNeighbourOffsets, outNeighbours);
+                outNeighbourArrays = neighbourArrays;
+            }
+            return neighbourArrays;
+        case in:
+            neighbourArrays = inNeighbourArrays;
+            if (neighbourArrays == null) {
+                neighbourArrays = createNeighbourArrays(inNeighbourOffsets, inNeighbours);
+                inNeighbourArrays = neighbourArrays;
+            }
+            return neighbourArrays;
+        default:
+            throw new IllegalArgumentException("Unsupported direction " + direction);
+        }
+    }
+
+    private static NeighbourArrays createNeighbourArrays(int[] offsets, int[] neighbours) {
+        int[][] neighbourArrays = new int[offsets.length - 1][];
+        for (int v = 0; v < neighbourArrays.length; ++v) {
+            neighbourArrays[v] = Arrays.copyOfRange(neighbours, offsets[v], offsets[v + 1]);
+        }
+        return NeighbourArrays.wrap(neighbourArrays);
+    }
+
+    /**
+     * Union of the sorted out and in edge slices of a vertex.
+     */
+    protected class IncidentEdgeSet extends AbstractIntSet {
+
+        private final int vertexId;
+
+        public IncidentEdgeSet(int vertexId) {
+            this.vertexId = vertexId;
+        }
+
+        @Override
+        public boolean contains(int k) {
+            return containsEdge(k) && ((tails[k] == vertexId) || (heads[k] == vertexId));
+        }
+
+        @Override
+        public int size() {
+            return getOutEdgeDegree(vertexId) + getInEdgeDegree(vertexId) - selfLoops[vertexId];
+        }
+
+        @Override
+        public boolean add(int k) {
+            throw new UnsupportedOperationException("The set is read-only.");
+        }
+
+        @Override
+        public boolean remove(int k) {
+            throw new UnsupportedOperationException("The set is read-only.");
+        }
+
+        @Override
+        public boolean rem(int k) {
+            throw new UnsupportedOperationException("The set is read-only.");
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException("The set is read-only.");
+        }
+
+        @Override
+        public IntIterator iterator() {
+            return new AbstractIntIterator() {
+                private int nextOut = outOffsets[vertexId];
+                private final int endOut = outOffsets[vertexId + 1];
+                private int nextIn = inOffsets[vertexId];
+                private final int endIn = inOffsets[vertexId + 1];
+
+                @Override
+                public boolean hasNext() {
+                    return (nextOut < endOut) || (nextIn < endIn);
+                }
+
+                @Override
+                public int nextInt() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    // merge both sorted slices, a self loop is part of both
+                    if (nextIn == endIn) {
+                        return outEdgeIds[nextOut++];
+                    }
+                    if (nextOut == endOut) {
+                        return inEdgeIds[nextIn++];
+                    }
+                    int outEdge = outEdgeIds[nextOut];
+                    int inEdge = inEdgeIds[nextIn];
+                    if (outEdge < inEdge) {
+                        ++nextOut;
+                        return outEdge;
+                    }
+                    if (inEdge < outEdge) {
+                        ++nextIn;
+                        return inEdge;
+                    }
+                    ++nextOut;
+                    ++nextIn;
+                    return outEdge;
+                }
+            };
+        }
+    }
+}
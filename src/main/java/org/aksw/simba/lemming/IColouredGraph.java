@@ -4,7 +4,10 @@
 package org.aksw.simba.lemming;
 
 import org.aksw.simba.lemming.colour.ColourPalette;
+import org.aksw.simba.lemming.grph.DiameterAlgorithm.Diameter;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
+import org.aksw.simba.lemming.util.NeighbourArrays;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood;
 
 import com.carrotsearch.hppc.BitSet;
 
@@ -77,6 +80,36 @@ public interface IColouredGraph {
      */
     IntArrayList getAllOutEdgeDegrees();
 
+    /**
+     * Get number of vertices with the given in edge degree
+     * 
+     * @param degree - in edge degree
+     * @return int - number of vertices
+     */
+    int getNumberOfVerticesWithInDegree(int degree);
+
+    /**
+     * Get number of vertices with the given out edge degree
+     * 
+     * @param degree - out edge degree
+     * @return int - number of vertices
+     */
+    int getNumberOfVerticesWithOutDegree(int degree);
+
+    /**
+     * Get standard deviation of the in edge degrees of all the vertices
+     * 
+     * @return double
+     */
+    double getStdDevInEdgeDegrees();
+
+    /**
+     * Get standard deviation of the out edge degrees of all the vertices
+     * 
+     * @return double
+     */
+    double getStdDevOutEdgeDegrees();
+
     /**
      * Get number of edges in the graph
      * 
@@ -209,6 +242,48 @@ public interface IColouredGraph {
      */
     int getNumberOfEdgesBetweenVertices(int headId, int tailId);
 
+    /**
+     * Get number of vertices that are neighbors of both given vertices (ignoring
+     * the direction of the edges). The two given vertices are not counted.
+     * 
+     * @param v1 - the first vertex
+     * @param v2 - the second vertex
+     * @return int - number of common neighbors
+     */
+    int getNumberOfCommonNeighbours(int v1, int v2);
+
+    /**
+     * Get number of edge pairs connecting the two given vertices via a common
+     * neighbor, i.e., the sum of m(v1, w) * m(v2, w) over all common neighbors w
+     * with m(x, y) being the number of edges between x and y.
+     * 
+     * @param v1 - the first vertex
+     * @param v2 - the second vertex
+     * @return long - number of edge pairs which will be used in the edge triangle
+     *         metric computation
+     */
+    long getNumberOfCommonNeighbourEdgePairs(int v1, int v2);
+
+    /**
+     * Get the sorted undirected neighbourhood of the vertices of the underlying
+     * graph. Decorators simulating the addition or removal of an edge return the
+     * neighbourhood without this change.
+     * 
+     * @return UndirectedNeighbourhood - the neighbourhood of the vertices
+     */
+    UndirectedNeighbourhood getNeighbourhood();
+
+    /**
+     * Check whether the graph simulates the addition or removal of an edge, i.e.,
+     * whether it differs from the graph returned by {@link #getGraph()} and its
+     * {@link #getNeighbourhood()}.
+     * 
+     * @return boolean - true if the graph simulates a change
+     */
+    default boolean isSimulatingChange() {
+        return false;
+    }
+
     /**
      * Copy {@link ColouredGraph} object
      * 
@@ -237,6 +312,15 @@ public interface IColouredGraph {
      */
     ArrayListPath getDiameterPath();
 
+    /**
+     * Compute the diameter together with the nodes and edges forming it. In
+     * contrast to calling {@link #getDiameter()} and {@link #getDiameterPath()},
+     * the length and the path are the result of the same search.
+     * 
+     * @return Diameter - length and path of the diameter.
+     */
+    Diameter computeDiameter();
+
     /**
      * Get all neighbors of all the nodes in the given direction.
      * 
@@ -247,6 +331,20 @@ public interface IColouredGraph {
      */
     int[][] getNeighbors(DIRECTION direction);
 
+    /**
+     * Get all neighbors of all the nodes in the given direction. In contrast to
+     * {@link #getNeighbors(DIRECTION)}, a decorator only replaces the neighbors
+     * of the nodes it changes instead of copying the neighbors of all nodes.
+     * 
+     * @param direction - Direction of edge to consider for neighbors. In-neighbors
+     *                  or Out-neighbors depending on the direction.
+     * @return NeighbourArrays - read-only view of the neighbors of all nodes in
+     *         the given direction.
+     */
+    default NeighbourArrays getNeighbourArrays(DIRECTION direction) {
+        return NeighbourArrays.wrap(getNeighbors(direction));
+    }
+
     /**
      * Method to check if addition of selected edge shortens the diameter.
      * 
@@ -0,0 +1,58 @@
+package org.aksw.simba.lemming;
+
+import com.carrotsearch.hppc.BitSet;
+
+/**
+ * Decorator that gives read-only access to an {@link IColouredGraph}. It is
+ * used to share the current state of a graph with several threads that
+ * evaluate hypothetical edge modifications, i.e., none of them is allowed to
+ * change the graph.
+ * 
+ * The decorator does not copy or freeze the decorated graph, i.e., the
+ * threads read the live graph. If it is a {@link ColouredGraph}, its
+ * modification counter is recorded when the decorator is created. Whether the
+ * graph has been changed afterwards can be checked with {@link #isUpToDate()}.
+ */
+public class ReadOnlyColouredGraphDecorator extends ColouredGraphDecorator {
+
+    /**
+     * The modification counter of the decorated graph or -1 if it is not a
+     * {@link ColouredGraph}
+     */
+    private final long modificationCount;
+
+    /**
+     * Class constructor
+     * 
+     * @param graph - the IColouredGraph graph object that should not be changed
+     */
+    public ReadOnlyColouredGraphDecorator(IColouredGraph graph) {
+        super(graph);
+        modificationCount = (graph instanceof ColouredGraph) ? ((ColouredGraph) graph).getModificationCount() : -1;
+    }
+
+    /**
+     * @return false if the decorated graph has been changed since this
+     *         decorator has been created. Changes of graphs that are not a
+     *         {@link ColouredGraph} are not detected.
+     */
+    public boolean isUpToDate() {
+        return (modificationCount < 0)
+                || (((ColouredGraph) decoratedGraph).getModificationCount() == modificationCount);
+    }
+
+    @Override
+    public int addEdge(int tailId, int headId, BitSet edgeColour) {
+        throw new UnsupportedOperationException("The graph is read-only.");
+    }
+
+    @Override
+    public void removeEdge(int edgeId) {
+        throw new UnsupportedOperationException("The graph is read-only.");
+    }
+
+    @Override
+    public void setGraph(IColouredGraph graph) {
+        throw new UnsupportedOperationException("The graph is read-only.");
+    }
+}
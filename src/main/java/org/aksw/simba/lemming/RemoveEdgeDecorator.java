@@ -4,6 +4,8 @@
 package org.aksw.simba.lemming;
 
 import org.aksw.simba.lemming.grph.DiameterAlgorithm;
+import org.aksw.simba.lemming.grph.DiameterAlgorithm.Diameter;
+import org.aksw.simba.lemming.util.NeighbourArrays;
 import org.apache.commons.lang3.ArrayUtils;
 
 import grph.Grph.DIRECTION;
@@ -21,12 +23,6 @@ import it.unimi.dsi.fastutil.ints.IntSet;
  */
 public class RemoveEdgeDecorator extends ColouredGraphDecorator {
 
-    /**
-     * Instance of Diameter algorithm that will run on the decorator handling edge
-     * removal
-     */
-    protected DiameterAlgorithm diameterAlgorithm;
-
     /**
      * Class Constructor
      * 
@@ -76,15 +72,8 @@ public class RemoveEdgeDecorator extends ColouredGraphDecorator {
      */
     @Override
     public double getMaxInEdgeDegrees() {
-        int[] vertices = super.getVertices().toIntArray();
-        double maxValue = 0.0;
-        for (int i = 0; i < vertices.length; i++) {
-            int nodeDegree = getInEdgeDegree(vertices[i]);
-            if (nodeDegree > maxValue) {
-                maxValue = nodeDegree;
-            }
-        }
-        return maxValue;
+        return getMaxDegreeAfterRemoval(super.getMaxInEdgeDegrees(), super.getInEdgeDegree(this.triple.headId),
+                super.getNumberOfVerticesWithInDegree((int) super.getMaxInEdgeDegrees()));
     }
 
     /**
@@ -94,15 +83,19 @@ public class RemoveEdgeDecorator extends ColouredGraphDecorator {
      */
     @Override
     public double getMaxOutEdgeDegrees() {
-        int[] vertices = super.getVertices().toIntArray();
-        double maxValue = 0.0;
-        for (int i = 0; i < vertices.length; i++) {
-            int nodeDegree = getOutEdgeDegree(vertices[i]);
-            if (nodeDegree > maxValue) {
-                maxValue = nodeDegree;
-            }
+        return getMaxDegreeAfterRemoval(super.getMaxOutEdgeDegrees(), super.getOutEdgeDegree(this.triple.tailId),
+                super.getNumberOfVerticesWithOutDegree((int) super.getMaxOutEdgeDegrees()));
+    }
+
+    /**
+     * The maximum only decreases if the changed vertex is the only one with the
+     * maximum degree. In that case, the vertex itself has the new maximum.
+     */
+    private double getMaxDegreeAfterRemoval(double maxDegree, int oldDegree, int numberOfVerticesWithMaxDegree) {
+        if ((oldDegree == maxDegree) && (numberOfVerticesWithMaxDegree == 1)) {
+            return maxDegree - 1;
         }
-        return maxValue;
+        return maxDegree;
     }
 
     /**
@@ -137,6 +130,65 @@ public class RemoveEdgeDecorator extends ColouredGraphDecorator {
         return outDegrees;
     }
 
+    /**
+     * Get number of vertices with the given in edge degree after given edge has
+     * been removed
+     * 
+     * @param degree - in edge degree
+     * @return int - number of vertices
+     */
+    @Override
+    public int getNumberOfVerticesWithInDegree(int degree) {
+        return changeCount(super.getNumberOfVerticesWithInDegree(degree), degree,
+                super.getInEdgeDegree(this.triple.headId));
+    }
+
+    /**
+     * Get number of vertices with the given out edge degree after given edge has
+     * been removed
+     * 
+     * @param degree - out edge degree
+     * @return int - number of vertices
+     */
+    @Override
+    public int getNumberOfVerticesWithOutDegree(int degree) {
+        return changeCount(super.getNumberOfVerticesWithOutDegree(degree), degree,
+                super.getOutEdgeDegree(this.triple.tailId));
+    }
+
+    private int changeCount(int count, int degree, int oldDegree) {
+        if (degree == oldDegree) {
+            count--;
+        } else if (degree == oldDegree - 1) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Get standard deviation of the in edge degrees after given edge has been
+     * removed
+     * 
+     * @return double
+     */
+    @Override
+    public double getStdDevInEdgeDegrees() {
+        return computeStdDevAfterChange(super.getStdDevInEdgeDegrees(), super.getNumberOfVertices(),
+                super.getNumberOfEdges(), super.getInEdgeDegree(this.triple.headId), -1);
+    }
+
+    /**
+     * Get standard deviation of the out edge degrees after given edge has been
+     * removed
+     * 
+     * @return double
+     */
+    @Override
+    public double getStdDevOutEdgeDegrees() {
+        return computeStdDevAfterChange(super.getStdDevOutEdgeDegrees(), super.getNumberOfVertices(),
+                super.getNumberOfEdges(), super.getOutEdgeDegree(this.triple.tailId), -1);
+    }
+
     /**
      * Get number of edges in the graph after removing an edge
      * 
@@ -182,8 +234,10 @@ public class RemoveEdgeDecorator extends ColouredGraphDecorator {
      */
     private IntSet removeNeighbor(IntSet neighbors, int vertexId) {
         if (vertexId == this.triple.tailId && neighbors.contains(this.triple.headId)) {
+            neighbors = copyNeighbors(neighbors);
             neighbors.remove(this.triple.headId);
         } else if (vertexId == this.triple.headId && neighbors.contains(this.triple.tailId)) {
+            neighbors = copyNeighbors(neighbors);
             neighbors.remove(this.triple.tailId);
         }
         return neighbors;
@@ -200,6 +254,28 @@ public class RemoveEdgeDecorator extends ColouredGraphDecorator {
         return super.getNumberOfEdgesBetweenVertices(tailId, headId) - 1;
     }
 
+    /**
+     * Get number of common neighbors of two vertices after given edge has been
+     * removed
+     * 
+     * @return int - number of common neighbors
+     */
+    @Override
+    public int getNumberOfCommonNeighbours(int v1, int v2) {
+        return super.getNumberOfCommonNeighbours(v1, v2) + (int) getChangeOfCommonNeighbours(v1, v2, -1, false);
+    }
+
+    /**
+     * Get number of edge pairs connecting two vertices via a common neighbor after
+     * given edge has been removed
+     * 
+     * @return long - number of edge pairs
+     */
+    @Override
+    public long getNumberOfCommonNeighbourEdgePairs(int v1, int v2) {
+        return super.getNumberOfCommonNeighbourEdgePairs(v1, v2) + getChangeOfCommonNeighbours(v1, v2, -1, true);
+    }
+
     /**
      * Get all neighbors of all nodes in given direction after a pre-selected edge
      * is removed from the graph. Used to compute the diameter of given graph
@@ -211,20 +287,67 @@ public class RemoveEdgeDecorator extends ColouredGraphDecorator {
      */
     @Override
     public int[][] getNeighbors(DIRECTION direction) {
-        int[][] neighbors = super.getNeighbors(direction);
-        neighbors[triple.tailId] = ArrayUtils.removeElements(neighbors[triple.tailId], triple.headId);
+        // copy-on-write: the arrays of the decorated graph are shared with other
+        // decorators and must not be changed
+        int[][] neighbors = super.getNeighbors(direction).clone();
+        if (direction != DIRECTION.in) {
+            neighbors[triple.tailId] = ArrayUtils.removeElements(neighbors[triple.tailId], triple.headId);
+        }
+        if (direction != DIRECTION.out) {
+            neighbors[triple.headId] = ArrayUtils.removeElements(neighbors[triple.headId], triple.tailId);
+        }
+        return neighbors;
+    }
+
+    /**
+     * Get all neighbors of all nodes in given direction after a pre-selected edge
+     * is removed from the graph. Only the neighbors of the tail and the head of the
+     * edge are replaced, the neighbors of all other nodes are read from the
+     * decorated graph.
+     * 
+     * @param direction - Direction of edge to consider for neighbors. In-neighbors
+     *                  or Out-neighbors depending on the direction.
+     * @return NeighbourArrays - read-only view of the neighbors of all nodes in
+     *         the given direction.
+     */
+    @Override
+    public NeighbourArrays getNeighbourArrays(DIRECTION direction) {
+        NeighbourArrays neighbors = super.getNeighbourArrays(direction);
+        if (direction != DIRECTION.in) {
+            neighbors = NeighbourArrays.replace(neighbors, triple.tailId,
+                    ArrayUtils.removeElements(neighbors.get(triple.tailId), triple.headId));
+        }
+        if (direction != DIRECTION.out) {
+            neighbors = NeighbourArrays.replace(neighbors, triple.headId,
+                    ArrayUtils.removeElements(neighbors.get(triple.headId), triple.tailId));
+        }
         return neighbors;
     }
 
+    /**
+     * The graph simulates that the pre-selected edge is removed from the
+     * decorated graph.
+     * 
+     * @return boolean - always true
+     */
+    @Override
+    public boolean isSimulatingChange() {
+        return true;
+    }
+
     @Override
     public double getDiameter() {
-        this.diameterAlgorithm = new DiameterAlgorithm();
-        return this.diameterAlgorithm.performSearch(this, this.getVertices());
+        return new DiameterAlgorithm().performSearch(this, this.getVertices());
     }
 
     @Override
     public ArrayListPath getDiameterPath() {
-        return this.diameterAlgorithm.getDiameterPath();
+        return computeDiameter().getPath();
+    }
+
+    @Override
+    public Diameter computeDiameter() {
+        return new DiameterAlgorithm().searchDiameter(this, this.getVertices());
     }
 
 }
@@ -0,0 +1,234 @@
+package org.aksw.simba.lemming.algo.expression;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
+import com.carrotsearch.hppc.ObjectIntOpenHashMap;
+
+/**
+ * A set of {@link Expression} instances compiled into flat postfix programs.
+ * Every metric that is used by one of the expressions gets a slot, i.e., the
+ * values of the metrics are given as an array that is indexed by the slot of
+ * the metric (see {@link #getMetricSlot(String)}). The evaluation of a
+ * compiled expression neither walks the expression tree nor looks up metric
+ * names and does not allocate memory, since the caller provides the stack.
+ *
+ * Instances are immutable and can be shared between threads as long as every
+ * thread uses its own stack.
+ */
+public class CompiledExpressions {
+
+    private static final int LOAD_METRIC = 0;
+    private static final int LOAD_CONSTANT = 1;
+    private static final int PLUS = 2;
+    private static final int MINUS = 3;
+    private static final int TIMES = 4;
+    private static final int DIV = 5;
+    /**
+     * An operation with an unknown operator. It is evaluated to NaN like in
+     * {@link Operation}.
+     */
+    private static final int UNKNOWN = 6;
+
+    private final Expression[] expressions;
+
+    /**
+     * The program of the expression i is opcodes[programOffsets[i]] to
+     * opcodes[programOffsets[i+1] - 1]. The operand of a load instruction is
+     * either the slot of a metric or the index of a constant.
+     */
+    private final int[] programOffsets;
+    private final int[] opcodes;
+    private final int[] operands;
+    private final double[] constants;
+
+    private final String[] metricNames;
+    private final ObjectIntOpenHashMap<String> metricSlots;
+
+    private final int stackSize;
+
+    public CompiledExpressions(Collection<Expression> expressions) {
+        this.expressions = expressions.toArray(new Expression[expressions.size()]);
+        programOffsets = new int[this.expressions.length + 1];
+        IntArrayList opcodeList = new IntArrayList();
+        IntArrayList operandList = new IntArrayList();
+        DoubleArrayList constantList = new DoubleArrayList();
+        List<String> names = new ArrayList<String>();
+        metricSlots = new ObjectIntOpenHashMap<String>();
+        int maxDepth = 0;
+        for (int i = 0; i < this.expressions.length; ++i) {
+            maxDepth = Math.max(maxDepth,
+                    compile(this.expressions[i], opcodeList, operandList, constantList, names));
+            programOffsets[i + 1] = opcodeList.size();
+        }
+        opcodes = opcodeList.toArray();
+        operands = operandList.toArray();
+        constants = constantList.toArray();
+        metricNames = names.toArray(new String[names.size()]);
+        stackSize = Math.max(1, maxDepth);
+    }
+
+    /**
+     * Appends the postfix program of the given expression.
+     *
+     * @return the stack depth that is needed to evaluate the expression
+     */
+    private int compile(Expression expr, IntArrayList opcodeList, IntArrayList operandList,
+            DoubleArrayList constantList, List<String> names) {
+        if (expr.isOperation()) {
+            int leftDepth = compile(expr.getLeft(), opcodeList, operandList, constantList, names);
+            int rightDepth = compile(expr.getRight(), opcodeList, operandList, constantList, names);
+            int opcode;
+            if (expr.getOperator() == null) {
+                opcode = UNKNOWN;
+            } else {
+                switch (expr.getOperator()) {
+                case PLUS:
+                    opcode = PLUS;
+                    break;
+                case MINUS:
+                    opcode = MINUS;
+                    break;
+                case TIMES:
+                    opcode = TIMES;
+                    break;
+                case DIV:
+                    opcode = DIV;
+                    break;
+                default:
+                    opcode = UNKNOWN;
+                }
+            }
+            opcodeList.add(opcode);
+            operandList.add(0);
+            // the left value stays on the stack while the right side is evaluated
+            return Math.max(leftDepth, rightDepth + 1);
+        }
+        if (expr.isAtomic()) {
+            String metricName = expr.toString();
+            int slot;
+            if (metricSlots.containsKey(metricName)) {
+                slot = metricSlots.get(metricName);
+            } else {
+                slot = names.size();
+                names.add(metricName);
+                metricSlots.put(metricName, slot);
+            }
+            opcodeList.add(LOAD_METRIC);
+            operandList.add(slot);
+        } else {
+            opcodeList.add(LOAD_CONSTANT);
+            operandList.add(constantList.size());
+            constantList.add(expr.isConstant() ? expr.getConstantValue() : Double.NaN);
+        }
+        return 1;
+    }
+
+    public int getNumberOfExpressions() {
+        return expressions.length;
+    }
+
+    public Expression getExpression(int exprId) {
+        return expressions[exprId];
+    }
+
+    public int getNumberOfMetrics() {
+        return metricNames.length;
+    }
+
+    public String getMetricName(int slot) {
+        return metricNames[slot];
+    }
+
+    /**
+     * @return the slot of the given metric or -1 if the metric is not used by
+     *         any of the expressions
+     */
+    public int getMetricSlot(String metricName) {
+        if (metricSlots.containsKey(metricName)) {
+            return metricSlots.get(metricName);
+        }
+        return -1;
+    }
+
+    /**
+     * @return the minimum length of the stack that has to be given to
+     *         {@link #evaluate(int, double[], double[])}
+     */
+    public int getStackSize() {
+        return stackSize;
+    }
+
+    /**
+     * Copies the values of the metrics from the given map to the given array of
+     * metric values. Metrics that are not contained in the map get the value
+     * NaN (like in {@link AtomicVariable#getValue(ObjectDoubleOpenHashMap)}).
+     *
+     * @param graphMetrics
+     *            the values of the metrics
+     * @param metricValues
+     *            the array of metric values that is filled (its length has to
+     *            be at least {@link #getNumberOfMetrics()})
+     */
+    public void fillMetricValues(ObjectDoubleOpenHashMap<String> graphMetrics, double[] metricValues) {
+        for (int slot = 0; slot < metricNames.length; ++slot) {
+            if (graphMetrics.containsKey(metricNames[slot])) {
+                metricValues[slot] = graphMetrics.get(metricNames[slot]);
+            } else {
+                metricValues[slot] = Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the given expression.
+     *
+     * @param exprId
+     *            the index of the expression
+     * @param metricValues
+     *            the values of the metrics indexed by their slots
+     * @param stack
+     *            the stack used for the evaluation (its length has to be at
+     *            least {@link #getStackSize()})
+     * @return the value of the expression
+     */
+    public double evaluate(int exprId, double[] metricValues, double[] stack) {
+        int top = -1;
+        int end = programOffsets[exprId + 1];
+        for (int pc = programOffsets[exprId]; pc < end; ++pc) {
+            switch (opcodes[pc]) {
+            case LOAD_METRIC:
+                stack[++top] = metricValues[operands[pc]];
+                break;
+            case LOAD_CONSTANT:
+                stack[++top] = constants[operands[pc]];
+                break;
+            case PLUS:
+                --top;
+                stack[top] = stack[top] + stack[top + 1];
+                break;
+            case MINUS:
+                --top;
+                stack[top] = stack[top] - stack[top + 1];
+                break;
+            case TIMES:
+                --top;
+                stack[top] = stack[top] * stack[top + 1];
+                break;
+            case DIV:
+                --top;
+                stack[top] = stack[top] / stack[top + 1];
+                break;
+            default:
+                --top;
+                stack[top] = Double.NaN;
+                break;
+            }
+        }
+        return stack[0];
+    }
+}
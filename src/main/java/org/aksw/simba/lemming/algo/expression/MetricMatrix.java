@@ -0,0 +1,217 @@
+package org.aksw.simba.lemming.algo.expression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
+import com.carrotsearch.hppc.ObjectIntOpenHashMap;
+
+/**
+ * The values of the metrics of several graphs stored column-major, i.e., as a
+ * <code>double[metric][graph]</code> matrix. An {@link Expression} is
+ * evaluated for all graphs at once (see {@link #evaluate(Expression)}) by
+ * applying every operation to whole rows of values. Compared to
+ * {@link Expression#getValue(ObjectDoubleOpenHashMap)}, the names of the
+ * metrics are looked up only once per variable instead of once per variable
+ * and graph and the operations are executed in simple loops over arrays.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public class MetricMatrix {
+
+    private final String[] metricNames;
+    private final ObjectIntOpenHashMap<String> metricIndexes;
+    /**
+     * values[metric][graph]
+     */
+    private final double[][] values;
+    private final int numberOfGraphs;
+    /**
+     * Row returned for metrics that are unknown.
+     */
+    private final double[] undefinedRow;
+
+    /**
+     * Creates the matrix from the given metric vectors. Metrics that are
+     * missing in the vector of a graph get the value NaN for this graph (like
+     * in {@link AtomicVariable#getValue(ObjectDoubleOpenHashMap)}).
+     *
+     * @param graphVectors
+     *            the values of the metrics of the single graphs
+     */
+    public MetricMatrix(ObjectDoubleOpenHashMap<String>[] graphVectors) {
+        numberOfGraphs = graphVectors.length;
+        List<String> names = new ArrayList<String>();
+        metricIndexes = new ObjectIntOpenHashMap<String>();
+        String key;
+        for (int g = 0; g < graphVectors.length; ++g) {
+            for (int i = 0; i < graphVectors[g].allocated.length; ++i) {
+                if (graphVectors[g].allocated[i]) {
+                    key = (String) ((Object[]) graphVectors[g].keys)[i];
+                    if (!metricIndexes.containsKey(key)) {
+                        metricIndexes.put(key, names.size());
+                        names.add(key);
+                    }
+                }
+            }
+        }
+        metricNames = names.toArray(new String[names.size()]);
+        values = new double[metricNames.length][numberOfGraphs];
+        for (int m = 0; m < metricNames.length; ++m) {
+            for (int g = 0; g < numberOfGraphs; ++g) {
+                if (graphVectors[g].containsKey(metricNames[m])) {
+                    values[m][g] = graphVectors[g].get(metricNames[m]);
+                } else {
+                    values[m][g] = Double.NaN;
+                }
+            }
+        }
+        undefinedRow = new double[numberOfGraphs];
+        Arrays.fill(undefinedRow, Double.NaN);
+    }
+
+    public int getNumberOfGraphs() {
+        return numberOfGraphs;
+    }
+
+    public int getNumberOfMetrics() {
+        return metricNames.length;
+    }
+
+    public String getMetricName(int metricId) {
+        return metricNames[metricId];
+    }
+
+    /**
+     * @return the index of the given metric or -1 if the metric is not known
+     */
+    public int getMetricIndex(String metricName) {
+        if (metricIndexes.containsKey(metricName)) {
+            return metricIndexes.get(metricName);
+        }
+        return -1;
+    }
+
+    /**
+     * @return a copy of the values of the given metric for all graphs
+     */
+    public double[] getValues(int metricId) {
+        return values[metricId].clone();
+    }
+
+    /**
+     * Evaluates the given expression for all graphs.
+     *
+     * @param expression
+     *            the expression that should be evaluated
+     * @return the values of the expression indexed by the graphs
+     */
+    public double[] evaluate(Expression expression) {
+        double[] result = new double[numberOfGraphs];
+        evaluate(expression, result);
+        return result;
+    }
+
+    /**
+     * Writes the values of the given expression to the given array.
+     */
+    private void evaluate(Expression expression, double[] result) {
+        if (expression.isOperation()) {
+            evaluate(expression.getLeft(), result);
+            Expression right = expression.getRight();
+            if (right.isConstant()) {
+                apply(expression.getOperator(), result, right.getConstantValue());
+            } else {
+                double[] rightValues;
+                if (right.isAtomic()) {
+                    // the row can be used directly since it is only read
+                    rightValues = getRow(right);
+                } else {
+                    rightValues = new double[numberOfGraphs];
+                    evaluate(right, rightValues);
+                }
+                apply(expression.getOperator(), result, rightValues);
+            }
+        } else if (expression.isAtomic()) {
+            System.arraycopy(getRow(expression), 0, result, 0, numberOfGraphs);
+        } else {
+            Arrays.fill(result, expression.isConstant() ? expression.getConstantValue() : Double.NaN);
+        }
+    }
+
+    private double[] getRow(Expression variable) {
+        int metricId = getMetricIndex(variable.toString());
+        return (metricId < 0) ? undefinedRow : values[metricId];
+    }
+
+    /**
+     * Applies the operator to the values of the left side (that are replaced
+     * by the result) and the values of the right side.
+     */
+    private static void apply(Operator operator, double[] left, double[] right) {
+        if (operator == null) {
+            Arrays.fill(left, Double.NaN);
+            return;
+        }
+        switch (operator) {
+        case PLUS:
+            for (int i = 0; i < left.length; ++i) {
+                left[i] += right[i];
+            }
+            break;
+        case MINUS:
+            for (int i = 0; i < left.length; ++i) {
+                left[i] -= right[i];
+            }
+            break;
+        case TIMES:
+            for (int i = 0; i < left.length; ++i) {
+                left[i] *= right[i];
+            }
+            break;
+        case DIV:
+            for (int i = 0; i < left.length; ++i) {
+                left[i] /= right[i];
+            }
+            break;
+        default:
+            Arrays.fill(left, Double.NaN);
+        }
+    }
+
+    /**
+     * Applies the operator to the values of the left side (that are replaced
+     * by the result) and a constant right side.
+     */
+    private static void apply(Operator operator, double[] left, double right) {
+        if (operator == null) {
+            Arrays.fill(left, Double.NaN);
+            return;
+        }
+        switch (operator) {
+        case PLUS:
+            for (int i = 0; i < left.length; ++i) {
+                left[i] += right;
+            }
+            break;
+        case MINUS:
+            for (int i = 0; i < left.length; ++i) {
+                left[i] -= right;
+            }
+            break;
+        case TIMES:
+            for (int i = 0; i < left.length; ++i) {
+                left[i] *= right;
+            }
+            break;
+        case DIV:
+            for (int i = 0; i < left.length; ++i) {
+                left[i] /= right;
+            }
+            break;
+        default:
+            Arrays.fill(left, Double.NaN);
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package org.aksw.simba.lemming.algo.refinement;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.algo.expression.AtomicVariable;
 import org.aksw.simba.lemming.algo.expression.Expression;
+import org.aksw.simba.lemming.algo.expression.MetricMatrix;
 import org.aksw.simba.lemming.algo.refinement.fitness.FitnessFunction;
 import org.aksw.simba.lemming.algo.refinement.operator.RefinementOperator;
 import org.aksw.simba.lemming.metrics.MetricUtils;
@@ -60,6 +65,15 @@ public class CharacteristicExpressionSearcher {
      */
     private int maxIterations;
 
+    /**
+     * The number of threads used to refine and score the nodes.
+     */
+    private int parallelism = 1;
+    /**
+     * The number of nodes that are refined per iteration.
+     */
+    private int beamWidth = 1;
+
     private boolean debug = false;
 
     /**
@@ -106,57 +120,8 @@ public class CharacteristicExpressionSearcher {
      *         hitting the {@link #maxIterations} limit.
      */
     public SortedSet<RefinementNode> findExpression(ColouredGraph graphs[], int k) {
-        SortedSet<RefinementNode> bestNodes = new TreeSet<RefinementNode>();
         // precalculate the metrics values
-        ObjectDoubleOpenHashMap<String> graphVectors[] = MetricUtils.calculateGraphMetrics(graphs, metrics);
-        if (debug) {
-            LOGGER.warn("Refinement Tree:\n{}\n", printGraphMetrics(graphVectors));
-        }
-        // initialize the tree
-        Set<RefinementNode> nodes = generateMetricNodes();
-        RefinementTree tree = new RefinementTree(nodes);
-        // initialize the queue
-        SortedSet<RefinementNode> queue = new TreeSet<RefinementNode>();
-        for (RefinementNode node : nodes) {
-            node.setFitness(fitnessFunc.getFitness(node.getExpression(), graphVectors));
-            if (Double.isNaN(node.getFitness())) {
-                LOGGER.warn("Got a node with an undefined fitness: " + node.toString());
-            } else {
-                queue.add(node);
-                addToBestNodes(bestNodes, node, k);
-            }
-        }
-        // start refinement
-        RefinementNode nextNode = queue.last();
-        queue.remove(nextNode);
-        bestNodes.add(nextNode);
-        int iteration = 0;
-        // While we haven't reached the maximum number of iterations and the
-        // fitness of the worst best node is not good enough, refine the
-        // expression
-        while ((iteration < maxIterations) && (bestNodes.first().getFitness() < minFitness)) {
-            // refine the best node
-            nodes = refine(nextNode, tree);
-            // calculate the fitness of all new nodes and add them to the queue
-            for (RefinementNode node : nodes) {
-                node.setFitness(fitnessFunc.getFitness(node.getExpression(), graphVectors));
-                if (Double.isNaN(node.getFitness())) {
-                    LOGGER.warn("Got a node with an undefined fitness: " + node.toString());
-                } else {
-                    queue.add(node);
-                    addToBestNodes(bestNodes, node, k);
-                }
-            }
-            // pick a new best node
-            nextNode = queue.last();
-            queue.remove(nextNode);
-            addToBestNodes(bestNodes, nextNode, k);
-            ++iteration;
-        }
-        // if (debug) {
-        // LOGGER.warn("Refinement Tree:\n{}\n", printTree(tree));
-        // }
-        return bestNodes;
+        return findExpression(MetricUtils.calculateGraphMetrics(graphs, metrics), k);
     }
 
     /**
@@ -205,30 +170,45 @@ public class CharacteristicExpressionSearcher {
     }
 
     /**
-     * Refines the given node and adds the generated refinements to the tree and
-     * the queue if they are not already existing.
+     * Refines the given nodes and adds the generated refinements to the tree if
+     * they are not already existing. Expressions that have been generated
+     * before are skipped without reducing them again since their reduced form
+     * is already part of the tree or has been rejected by the factory.
      * 
-     * @param node
-     *            the node that should be refined
+     * @param parents
+     *            the nodes that should be refined
      * @param tree
      *            the tree containing all nodes created so far
-     * @param queue
-     *            queue containing nodes that could be visited in the future
+     * @param knownExpressions
+     *            the expressions that have been generated so far
+     * @param pool
+     *            the pool used to refine the nodes or null if they should be
+     *            refined in the current thread
+     * @return the new nodes in the order of their generation
      */
-    private Set<RefinementNode> refine(RefinementNode node, RefinementTree tree) {
-        Set<Expression> newExpressions = refineOperator.refine(node.getExpression());
-        RefinementNode newNode;
-        Set<RefinementNode> newNodes = new HashSet<RefinementNode>();
-        for (Expression newExp : newExpressions) {
-            newNode = factory.createNode(newExp);
-            // if this node is not already inside the tree
-            if ((newNode != null) && !tree.getNodes().contains(newNode)) {
-                // add the node to the tree
-                tree.getNodes().add(newNode);
-                // connect the new node and its parent
-                node.children.add(newNode);
-                newNode.setParent(node);
-                newNodes.add(newNode);
+    private List<RefinementNode> refine(List<RefinementNode> parents, RefinementTree tree,
+            Set<Expression> knownExpressions, ForkJoinPool pool) {
+        @SuppressWarnings("unchecked")
+        Set<Expression> refinements[] = new Set[parents.size()];
+        run(pool, refinements.length, i -> refinements[i] = refineOperator.refine(parents.get(i).getExpression()));
+        List<RefinementNode> newNodes = new ArrayList<RefinementNode>();
+        RefinementNode parent, newNode;
+        for (int i = 0; i < refinements.length; ++i) {
+            parent = parents.get(i);
+            for (Expression newExp : refinements[i]) {
+                if (!knownExpressions.add(newExp)) {
+                    continue;
+                }
+                // The factory is called in this thread since its reduced
+                // expressions have to be comparable with each other
+                newNode = factory.createNode(newExp);
+                // if this node is not already inside the tree
+                if ((newNode != null) && tree.getNodes().add(newNode)) {
+                    // connect the new node and its parent
+                    parent.children.add(newNode);
+                    newNode.setParent(parent);
+                    newNodes.add(newNode);
+                }
             }
         }
         return newNodes;
@@ -290,20 +270,111 @@ public class CharacteristicExpressionSearcher {
         this.debug = debug;
     }
 
-    
+    /**
+     * Sets the number of threads that are used to refine and score the nodes.
+     * A value &gt; 1 enables the parallel search in which the refinements of
+     * the expanded nodes and the fitness scores of the new nodes are computed
+     * on a {@link ForkJoinPool}. The default is 1, i.e., the search runs
+     * completely in the calling thread.
+     * 
+     * @param parallelism
+     *            the number of threads
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Sets the number of nodes that are taken from the queue and refined in a
+     * single iteration. The default is 1, i.e., only the best node is refined.
+     * 
+     * @param beamWidth
+     *            the number of nodes expanded per iteration
+     */
+    public void setBeamWidth(int beamWidth) {
+        this.beamWidth = Math.max(1, beamWidth);
+    }
+
+    /**
+     * Finds the k {@link Expression}s with the highest fitness for the graphs
+     * represented by the given metric vectors.
+     * 
+     * @param graphVectors
+     *            the metric values of the graphs for which the best expression
+     *            is searched.
+     * @param k
+     *            the (minimum) number of {@link Expression}s that should be
+     *            returned.
+     * @return a {@link SortedSet} of {@link RefinementNode}s encapsulating
+     *         expression that have fitness values <code>&lt; 
+     *         {@link #minFitness}</code> or had the best fitness values before
+     *         hitting the {@link #maxIterations} limit.
+     */
     public SortedSet<RefinementNode> findExpression(ObjectDoubleOpenHashMap<String> graphVectors[], int k) {
         SortedSet<RefinementNode> bestNodes = new TreeSet<RefinementNode>();
-        // precalculate the metrics values
         if (debug) {
             LOGGER.warn("Refinement Tree:\n{}\n", printGraphMetrics(graphVectors));
         }
-        // initialize the tree
-        Set<RefinementNode> nodes = generateMetricNodes();
-        RefinementTree tree = new RefinementTree(nodes);
-        // initialize the queue
-        SortedSet<RefinementNode> queue = new TreeSet<RefinementNode>();
+        // the metric values are transformed once for the evaluation of all
+        // expressions
+        MetricMatrix graphMatrix = new MetricMatrix(graphVectors);
+        ForkJoinPool pool = (parallelism > 1) ? new ForkJoinPool(parallelism) : null;
+        try {
+            // initialize the tree
+            Set<RefinementNode> nodes = generateMetricNodes();
+            RefinementTree tree = new RefinementTree(nodes);
+            Set<Expression> knownExpressions = new HashSet<Expression>();
+            for (RefinementNode node : nodes) {
+                knownExpressions.add(node.getExpression());
+            }
+            // initialize the queue
+            SortedSet<RefinementNode> queue = new TreeSet<RefinementNode>();
+            addToQueue(new ArrayList<RefinementNode>(nodes), graphMatrix, queue, bestNodes, k, pool);
+            // start refinement
+            List<RefinementNode> nextNodes = pollBestNodes(queue);
+            bestNodes.addAll(nextNodes);
+            int iteration = 0;
+            // While we haven't reached the maximum number of iterations and the
+            // fitness of the worst best node is not good enough, refine the
+            // expression
+            while ((iteration < maxIterations) && !nextNodes.isEmpty()
+                    && (bestNodes.first().getFitness() < minFitness)) {
+                // refine the best nodes
+                List<RefinementNode> newNodes = refine(nextNodes, tree, knownExpressions, pool);
+                // calculate the fitness of all new nodes and add them to the
+                // queue
+                addToQueue(newNodes, graphMatrix, queue, bestNodes, k, pool);
+                // pick the new best nodes
+                nextNodes = pollBestNodes(queue);
+                for (RefinementNode node : nextNodes) {
+                    addToBestNodes(bestNodes, node, k);
+                }
+                ++iteration;
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        // if (debug) {
+        // LOGGER.warn("Refinement Tree:\n{}\n", printTree(tree));
+        // }
+        return bestNodes;
+    }
+
+    /**
+     * Calculates the fitness of the given nodes and adds them to the queue and
+     * the set of best nodes. The nodes are added in the given order, i.e., the
+     * result does not depend on the order in which the fitness values have
+     * been calculated.
+     */
+    private void addToQueue(List<RefinementNode> nodes, MetricMatrix graphMatrix,
+            SortedSet<RefinementNode> queue, SortedSet<RefinementNode> bestNodes, int k, ForkJoinPool pool) {
+        run(pool, nodes.size(), i -> {
+            RefinementNode node = nodes.get(i);
+            node.setFitness(fitnessFunc.getFitness(node.getExpression(), graphMatrix));
+        });
         for (RefinementNode node : nodes) {
-            node.setFitness(fitnessFunc.getFitness(node.getExpression(), graphVectors));
             if (Double.isNaN(node.getFitness())) {
                 LOGGER.warn("Got a node with an undefined fitness: " + node.toString());
             } else {
@@ -311,36 +382,33 @@ public class CharacteristicExpressionSearcher {
                 addToBestNodes(bestNodes, node, k);
             }
         }
-        // start refinement
-        RefinementNode nextNode = queue.last();
-        queue.remove(nextNode);
-        bestNodes.add(nextNode);
-        int iteration = 0;
-        // While we haven't reached the maximum number of iterations and the
-        // fitness of the worst best node is not good enough, refine the
-        // expression
-        while ((iteration < maxIterations) && (bestNodes.first().getFitness() < minFitness)) {
-            // refine the best node
-            nodes = refine(nextNode, tree);
-            // calculate the fitness of all new nodes and add them to the queue
-            for (RefinementNode node : nodes) {
-                node.setFitness(fitnessFunc.getFitness(node.getExpression(), graphVectors));
-                if (Double.isNaN(node.getFitness())) {
-                    LOGGER.warn("Got a node with an undefined fitness: " + node.toString());
-                } else {
-                    queue.add(node);
-                    addToBestNodes(bestNodes, node, k);
-                }
+    }
+
+    /**
+     * Removes the {@link #beamWidth} nodes with the highest fitness from the
+     * given queue.
+     */
+    private List<RefinementNode> pollBestNodes(SortedSet<RefinementNode> queue) {
+        List<RefinementNode> nodes = new ArrayList<RefinementNode>(beamWidth);
+        while ((nodes.size() < beamWidth) && !queue.isEmpty()) {
+            RefinementNode node = queue.last();
+            queue.remove(node);
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    /**
+     * Executes the given task for all indexes in <code>[0, size)</code>. If a
+     * pool is given, the task is executed in parallel using the pool.
+     */
+    private static void run(ForkJoinPool pool, int size, IntConsumer task) {
+        if (pool == null) {
+            for (int i = 0; i < size; ++i) {
+                task.accept(i);
             }
-            // pick a new best node
-            nextNode = queue.last();
-            queue.remove(nextNode);
-            addToBestNodes(bestNodes, nextNode, k);
-            ++iteration;
+        } else {
+            pool.submit(() -> IntStream.range(0, size).parallel().forEach(task)).join();
         }
-        // if (debug) {
-        // LOGGER.warn("Refinement Tree:\n{}\n", printTree(tree));
-        // }
-        return bestNodes;
     }
 }
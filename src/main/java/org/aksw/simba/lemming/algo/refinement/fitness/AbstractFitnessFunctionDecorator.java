@@ -1,8 +1,7 @@
 package org.aksw.simba.lemming.algo.refinement.fitness;
 
 import org.aksw.simba.lemming.algo.expression.Expression;
-
-import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
+import org.aksw.simba.lemming.algo.expression.MetricMatrix;
 
 /**
  * Abstract class implementing the basic functionality of a {@link FitnessFunctionDecorator}. 
@@ -19,8 +18,8 @@ public class AbstractFitnessFunctionDecorator implements FitnessFunctionDecorato
     }
 
     @Override
-    public double getFitness(Expression expression, ObjectDoubleOpenHashMap<String>[] graphVectors) {
-        return decorated.getFitness(expression, graphVectors);
+    public double getFitness(Expression expression, MetricMatrix graphMatrix) {
+        return decorated.getFitness(expression, graphMatrix);
     }
 
     @Override
@@ -6,6 +6,7 @@
 package org.aksw.simba.lemming.algo.refinement.fitness;
 
 import org.aksw.simba.lemming.algo.expression.Expression;
+import org.aksw.simba.lemming.algo.expression.MetricMatrix;
 
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
 
@@ -21,5 +22,20 @@ public interface FitnessFunction {
      * @param graphVectors
      * @return
      */
-    public double getFitness(Expression expression, ObjectDoubleOpenHashMap<String>[] graphVectors);
+    public default double getFitness(Expression expression, ObjectDoubleOpenHashMap<String>[] graphVectors) {
+        return getFitness(expression, new MetricMatrix(graphVectors));
+    }
+
+    /**
+     * Computes the fitness function for a given node using the metric values
+     * of the graphs in column-major order. Callers that score many expressions
+     * for the same graphs should create the {@link MetricMatrix} once and use
+     * this method.
+     * 
+     * @param expression
+     * @param graphMatrix
+     *            the metric values of the graphs
+     * @return
+     */
+    public double getFitness(Expression expression, MetricMatrix graphMatrix);
 }
@@ -5,8 +5,8 @@
  */
 package org.aksw.simba.lemming.algo.refinement.fitness;
 
-import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
 import org.aksw.simba.lemming.algo.expression.Expression;
+import org.aksw.simba.lemming.algo.expression.MetricMatrix;
 
 /**
  * Extension of min squared error fitness
@@ -16,8 +16,9 @@ import org.aksw.simba.lemming.algo.expression.Expression;
 public class LengthAwareMinSquaredError extends MinSquaredError {
     public static double FACTOR = 0.1;
 
-    public double getFitness(Expression expression, ObjectDoubleOpenHashMap<String>[] graphVectors) {
-        double value = super.getFitness(expression, graphVectors);
+    @Override
+    public double getFitness(Expression expression, MetricMatrix graphMatrix) {
+        double value = super.getFitness(expression, graphMatrix);
         return value - expression.getSize() * FACTOR;
     }
 }
@@ -6,8 +6,7 @@
 package org.aksw.simba.lemming.algo.refinement.fitness;
 
 import org.aksw.simba.lemming.algo.expression.Expression;
-
-import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
+import org.aksw.simba.lemming.algo.expression.MetricMatrix;
 
 /**
  * Implements a fitness based on mean squared error
@@ -21,14 +20,15 @@ public class MinSquaredError implements FitnessFunction {
      * 
      * @param expression
      *            Expression
-     * @param graphVectors
+     * @param graphMatrix
      *            Values for given graphs
      * @return Fitness of expression
      */
-    public double getFitness(Expression expression, ObjectDoubleOpenHashMap<String>[] graphVectors) {
-        double values[] = new double[graphVectors.length];
-        for (int i = 0; i < graphVectors.length; i++) {
-            values[i] = Math.abs(expression.getValue(graphVectors[i]));
+    @Override
+    public double getFitness(Expression expression, MetricMatrix graphMatrix) {
+        double values[] = graphMatrix.evaluate(expression);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.abs(values[i]);
         }
 
         double max = getMax(values);
@@ -1,23 +1,29 @@
 package org.aksw.simba.lemming.algo.refinement.fitness;
 
 import org.aksw.simba.lemming.algo.expression.Expression;
+import org.aksw.simba.lemming.algo.expression.MetricMatrix;
 
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
 
 public class ReferenceGraphBasedFitnessDecorator extends AbstractFitnessFunctionDecorator {
 
     protected ObjectDoubleOpenHashMap<String>[] referenceGraphVectors;
+    /**
+     * The values of the reference graphs that are used for the evaluation
+     */
+    protected MetricMatrix referenceGraphMatrix;
 
     public ReferenceGraphBasedFitnessDecorator(FitnessFunction decorated,
             ObjectDoubleOpenHashMap<String>[] referenceGraphVectors) {
         super(decorated);
         this.referenceGraphVectors = referenceGraphVectors;
+        this.referenceGraphMatrix = new MetricMatrix(referenceGraphVectors);
     }
 
     @Override
-    public double getFitness(Expression expression, ObjectDoubleOpenHashMap<String>[] graphVectors) {
-        double fitness = decorated.getFitness(expression, graphVectors);
-        double comparedFitness = 1 - decorated.getFitness(expression, referenceGraphVectors);
+    public double getFitness(Expression expression, MetricMatrix graphMatrix) {
+        double fitness = decorated.getFitness(expression, graphMatrix);
+        double comparedFitness = 1 - decorated.getFitness(expression, referenceGraphMatrix);
 //        double comparedFitness = fitness / decorated.getFitness(expression, referenceGraphVectors);
         // Messages needed for debugging
 //        System.out.print(expression.toString());
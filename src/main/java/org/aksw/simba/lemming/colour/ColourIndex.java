@@ -0,0 +1,89 @@
+package org.aksw.simba.lemming.colour;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Index from a colour ID to the IDs of the vertices (or edges) that have this
+ * colour. Adding and removing an ID takes constant time and a lookup takes
+ * time proportional to the number of IDs having the colour. IDs without a
+ * colour are indexed with {@link ColourPalette#NO_COLOUR_ID}.
+ */
+public class ColourIndex {
+
+    protected Int2ObjectOpenHashMap<IntSet> colourToIds = new Int2ObjectOpenHashMap<IntSet>();
+    protected int numberOfIds = 0;
+
+    /**
+     * Creates the index for the given IDs.
+     *
+     * @param colourIds the colour IDs of the IDs indexed by the IDs
+     * @param ids       the IDs that should be indexed, e.g., the vertices of a
+     *                  graph
+     * @return the index
+     */
+    public static ColourIndex create(IntArrayList colourIds, IntSet ids) {
+        ColourIndex index = new ColourIndex();
+        int[] colours = colourIds.elements();
+        int size = colourIds.size();
+        IntIterator iterator = ids.iterator();
+        int id;
+        while (iterator.hasNext()) {
+            id = iterator.nextInt();
+            index.add((id < size) ? colours[id] : ColourPalette.NO_COLOUR_ID, id);
+        }
+        return index;
+    }
+
+    public void add(int colourId, int id) {
+        IntSet ids = colourToIds.get(colourId);
+        if (ids == null) {
+            ids = new IntOpenHashSet();
+            colourToIds.put(colourId, ids);
+        }
+        if (ids.add(id)) {
+            numberOfIds++;
+        }
+    }
+
+    public void remove(int colourId, int id) {
+        IntSet ids = colourToIds.get(colourId);
+        if ((ids != null) && ids.remove(id)) {
+            numberOfIds--;
+            if (ids.isEmpty()) {
+                colourToIds.remove(colourId);
+            }
+        }
+    }
+
+    /**
+     * @param colourId the colour ID
+     * @return a copy of the set of IDs having the given colour
+     */
+    public IntSet getIds(int colourId) {
+        IntSet ids = colourToIds.get(colourId);
+        if (ids == null) {
+            return new IntOpenHashSet();
+        }
+        return new IntOpenHashSet(ids);
+    }
+
+    /**
+     * @param colourId the colour ID
+     * @return the number of IDs having the given colour
+     */
+    public int getNumberOfIds(int colourId) {
+        IntSet ids = colourToIds.get(colourId);
+        return (ids == null) ? 0 : ids.size();
+    }
+
+    /**
+     * @return the number of all indexed IDs
+     */
+    public int size() {
+        return numberOfIds;
+    }
+}
@@ -127,5 +127,44 @@ public interface ColourPalette {
     public void setHighestColourId(int highestColourId);
 
     public void setUriColourMap(Map<String, BitSet> uriColourMap);
+
+    /**
+     * Returns the ID of the given colour. If the colour has not been seen
+     * before, a copy of it is added to the interning table of this palette and
+     * gets the next free ID. The IDs are dense, i.e., they start with 0 and are
+     * not related to the bits of the colour.
+     * 
+     * @param colour
+     *            the colour that should be interned
+     * @return the ID of the colour or {@link #NO_COLOUR_ID} if the given colour
+     *         is null
+     */
+    public int internColour(BitSet colour);
+
+    /**
+     * Returns the ID of the given colour without adding it to the interning
+     * table.
+     * 
+     * @param colour
+     *            the colour whose ID should be returned
+     * @return the ID of the colour or {@link #NO_COLOUR_ID} if the colour is
+     *         null or has not been interned
+     */
+    public int getColourId(BitSet colour);
+
+    /**
+     * Returns the interned colour with the given ID. The returned colour is
+     * shared and must not be changed.
+     * 
+     * @param colourId
+     *            the ID of an interned colour
+     * @return the colour or null if the ID is {@link #NO_COLOUR_ID}
+     */
+    public BitSet getColourById(int colourId);
+
+    /**
+     * ID used for vertices and edges without colour.
+     */
+    public static final int NO_COLOUR_ID = -1;
     
 }
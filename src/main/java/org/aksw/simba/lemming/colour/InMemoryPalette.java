@@ -1,9 +1,11 @@
 package org.aksw.simba.lemming.colour;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.jena.vocabulary.RDF;
 
@@ -14,6 +16,13 @@ public class InMemoryPalette implements ColourPalette {
 	protected Map<String, BitSet> uriColourMap = new HashMap<String, BitSet>();
 	protected int highestColourId = 0;
 
+    /**
+     * Interning table mapping colours to their dense IDs and vice versa. New
+     * colours are added while holding the lock of the palette.
+     */
+    protected Map<BitSet, Integer> colourIds = new ConcurrentHashMap<BitSet, Integer>();
+    protected volatile BitSet[] internedColours = new BitSet[16];
+
     @Override
     public void addColour(String uri) {
         if (!uriColourMap.containsKey(uri)) {
@@ -157,6 +166,56 @@ public class InMemoryPalette implements ColourPalette {
 		this.highestColourId = highestColourId;
 	}
 	
+    @Override
+    public int internColour(BitSet colour) {
+        if (colour == null) {
+            return NO_COLOUR_ID;
+        }
+        // colours that have already been interned are looked up without a lock
+        Integer colourId = colourIds.get(colour);
+        if (colourId != null) {
+            return colourId;
+        }
+        return internNewColour(colour);
+    }
+
+    private synchronized int internNewColour(BitSet colour) {
+        Integer colourId = colourIds.get(colour);
+        if (colourId != null) {
+            return colourId;
+        }
+        int newId = colourIds.size();
+        BitSet[] colours = internedColours;
+        if (newId >= colours.length) {
+            colours = Arrays.copyOf(colours, colours.length << 1);
+        }
+        // store a copy since the given colour might be changed by its owner
+        BitSet copy = (BitSet) colour.clone();
+        colours[newId] = copy;
+        // the volatile write publishes the new colour before its ID can be
+        // read from the table
+        internedColours = colours;
+        colourIds.put(copy, newId);
+        return newId;
+    }
+
+    @Override
+    public int getColourId(BitSet colour) {
+        if (colour == null) {
+            return NO_COLOUR_ID;
+        }
+        Integer colourId = colourIds.get(colour);
+        return (colourId == null) ? NO_COLOUR_ID : colourId;
+    }
+
+    @Override
+    public BitSet getColourById(int colourId) {
+        if (colourId == NO_COLOUR_ID) {
+            return null;
+        }
+        return internedColours[colourId];
+    }
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj)
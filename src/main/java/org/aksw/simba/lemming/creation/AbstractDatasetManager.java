@@ -2,24 +2,30 @@ package org.aksw.simba.lemming.creation;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Writer;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
 import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.ColouredGraphFile;
 import org.aksw.simba.lemming.ColouredGraphWrapper;
 import org.aksw.simba.lemming.colour.ColourPalette;
-import org.aksw.simba.lemming.colour.ColourPaletteWrapper;
+import org.aksw.simba.lemming.util.ArtifactCache;
 import org.aksw.simba.lemming.util.PersHelper;
 import org.aksw.simba.lemming.util.SerializationParser;
+import org.apache.jena.ontology.OntModel;
 import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.ModelFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,11 +35,186 @@ import com.carrotsearch.hppc.ObjectArrayList;
 public class AbstractDatasetManager implements IDatasetManager{
 	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractDatasetManager.class);
 	protected String mDatasetName;
+	/**
+	 * Maximum number of threads used to load the versions of the dataset. It
+	 * is also the maximum number of versions that are loaded ahead of the
+	 * version whose graph is created (see {@link #createGraphs(List, GraphCreator)}).
+	 */
+	protected int mNumberOfThreads = Runtime.getRuntime().availableProcessors();
+	/**
+	 * Folder in which the compiled ontologies are stored
+	 */
+	protected File mOntologyCacheFolder = new File("cache");
 	
 	public AbstractDatasetManager(String datasetName){
 		mDatasetName = datasetName;
 	}
 	
+	public int getNumberOfThreads() {
+		return mNumberOfThreads;
+	}
+	
+	public void setNumberOfThreads(int numberOfThreads) {
+		mNumberOfThreads = numberOfThreads;
+	}
+	
+	/**
+	 * Creates the bounded pool of threads that load the versions of the dataset.
+	 * 
+	 * @param numberOfVersions the number of versions that will be loaded
+	 * @return the thread pool that has to be shut down by the caller
+	 */
+	protected ExecutorService createLoadingPool(int numberOfVersions) {
+		return Executors.newFixedThreadPool(Math.max(1, Math.min(mNumberOfThreads, numberOfVersions)));
+	}
+	
+	/**
+	 * Transforms the models of the versions into coloured graphs. The models
+	 * can be loaded concurrently but since all graphs share the palettes of the
+	 * given creator, they are transformed one after the other in the order of the
+	 * given list, i.e., the colours are the same as if the versions would have
+	 * been loaded sequentially. A version whose model is null is skipped.
+	 * 
+	 * The loading of a version is started by calling its supplier. The
+	 * suppliers are called in the order of the list and at most
+	 * {@link #mNumberOfThreads} versions are loaded ahead of the version whose
+	 * graph is created, i.e., only a bounded number of models is kept in memory.
+	 * A model is released as soon as its graph has been created.
+	 * 
+	 * @param versions the suppliers that start loading the models of the
+	 *                 versions in their chronological order
+	 * @param creator  the creator of the graphs
+	 * @return the graphs of the versions
+	 */
+	protected ColouredGraph[] createGraphs(List<Supplier<CompletableFuture<Model>>> versions,
+			GraphCreator creator) {
+		List<ColouredGraph> graphs = new ArrayList<ColouredGraph>();
+		int window = Math.max(1, mNumberOfThreads);
+		List<CompletableFuture<Model>> loadingVersions = new ArrayList<CompletableFuture<Model>>(versions.size());
+		for (int i = 0; (i < window) && (i < versions.size()); ++i) {
+			loadingVersions.add(versions.get(i).get());
+		}
+		Model model;
+		ColouredGraph graph;
+		for (int i = 0; i < versions.size(); ++i) {
+			try {
+				model = loadingVersions.get(i).join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			}
+			// the model is not needed after the transformation
+			loadingVersions.set(i, null);
+			versions.set(i, null);
+			if (model != null) {
+				graph = creator.processModel(model);
+				if (graph != null) {
+					LOGGER.info("Generated graph of " + model.size() + " triples");
+					graphs.add(graph);
+				} else {
+					LOGGER.error("Couldn't generate coloured graph.");
+				}
+				model = null;
+			}
+			// start loading the next version of the window
+			if (i + window < versions.size()) {
+				loadingVersions.add(versions.get(i + window).get());
+			}
+		}
+		return graphs.toArray(new ColouredGraph[graphs.size()]);
+	}
+	
+	/**
+	 * Returns the files and folders the graphs of the dataset are derived
+	 * from, i.e., the data and the ontologies. They are hashed to create the
+	 * key of the {@link ArtifactCache}.
+	 * 
+	 * @param dataFolderPath the folder containing the versions of the dataset
+	 * @return the input files of the dataset
+	 */
+	protected List<File> getInputFiles(String dataFolderPath) {
+		List<File> inputs = new ArrayList<File>();
+		inputs.add(new File(dataFolderPath));
+		return inputs;
+	}
+	
+	/**
+	 * Returns the file of the given name in the working directory or, if it
+	 * does not exist there, the file of the resource with this name on the class
+	 * path. This is the order in which the ontologies are located by Jena.
+	 * 
+	 * @param name the name of the file
+	 * @return the file
+	 */
+	protected static File getResourceFile(String name) {
+		File file = new File(name);
+		if (!file.exists()) {
+			URL url = AbstractDatasetManager.class.getClassLoader().getResource(name);
+			if ((url != null) && "file".equals(url.getProtocol())) {
+				try {
+					file = new File(url.toURI());
+				} catch (URISyntaxException e) {
+					LOGGER.warn("Could not locate the resource " + name + ": " + e.getMessage());
+				}
+			}
+		}
+		return file;
+	}
+	
+	/**
+	 * Loads the compiled version of the ontology that is read from the given
+	 * files. The compiled ontology is stored in {@link #mOntologyCacheFolder}
+	 * under the hash of the files, i.e., the ontology model is only read and
+	 * compiled again if one of the files changes.
+	 * 
+	 * @param ontologyFiles the files and folders the ontology is read from
+	 * @param ontology      reads the ontology model if it has to be compiled
+	 * @return the compiled ontology
+	 */
+	protected CompiledOntology loadOntology(List<File> ontologyFiles, Supplier<OntModel> ontology) {
+		String key;
+		try {
+			key = ArtifactCache.createKey(ontologyFiles);
+		} catch (IOException e) {
+			LOGGER.warn("Could not hash the ontology files. The compiled ontology is not cached: " + e.getMessage());
+			return CompiledOntology.compile(ontology.get());
+		}
+		mOntologyCacheFolder.mkdirs();
+		return CompiledOntology.loadOrCompile(new File(mOntologyCacheFolder, mDatasetName + "_" + key + ".ontology"),
+				ontology);
+	}
+	
+	@Override
+	public ArtifactCache createArtifactCache(String dataFolderPath, File cacheFolder) {
+		// the compiled ontologies are stored next to the other artifacts
+		mOntologyCacheFolder = cacheFolder;
+		try {
+			String key = ArtifactCache.createKey(getInputFiles(dataFolderPath), getClass().getName(),
+					Integer.toString(ColouredGraphFile.VERSION));
+			return new ArtifactCache(cacheFolder, mDatasetName, key);
+		} catch (IOException e) {
+			LOGGER.warn("Could not hash the input files. The cache is not used: " + e.getMessage());
+			return null;
+		}
+	}
+	
+	@Override
+	public ColouredGraph[] readGraphsFromFiles(String dataFolderPath, ArtifactCache cache) {
+		if (cache == null) {
+			return readGraphsFromFiles(dataFolderPath);
+		}
+		ColouredGraph[] graphs = cache.readGraphs();
+		if (graphs == null) {
+			graphs = readGraphsFromFiles(dataFolderPath);
+			if (graphs != null) {
+				cache.writeGraphs(graphs);
+			}
+		}
+		return graphs;
+	}
+	
 	public String getDatasetName(){
 		return mDatasetName;
 	}
@@ -44,7 +225,6 @@ public class AbstractDatasetManager implements IDatasetManager{
 	
 	@Override
 	public String writeGraphsToFile(ColouredGraph grph) {
-		Model datasetModel = ModelFactory.createDefaultModel();
 		String fileName= "";
 		
 		
@@ -72,13 +252,8 @@ public class AbstractDatasetManager implements IDatasetManager{
 			LOGGER.warn("Output file: " + path.toString());
 			
 			fileName = f.getName();
-			// graph reverter: generate a new model from a coloured graph
-			GraphReverter reverter = new GraphReverter(grph, datasetModel);
-			Model newModel = reverter.processGraph();
-
-			Writer writerforOutModel = new FileWriter(f);
-			newModel.write(writerforOutModel, "TURTLE");
-			writerforOutModel.close();
+			// the triples are streamed to the file without creating a model
+			new StreamingGraphWriter(grph).write(f);
 		} catch (Exception ex) {
 			LOGGER.error("Failed to write to file: " + ex.getMessage());
 			ex.printStackTrace();
@@ -95,23 +270,9 @@ public class AbstractDatasetManager implements IDatasetManager{
 	@Override
 	public void persistIntResults(ColouredGraph curMimicGraph, String filePath) {
 		try {
-			FileOutputStream fileOut = new FileOutputStream(filePath);
-			ObjectOutputStream out = new ObjectOutputStream(fileOut);
-
-			List<java.util.BitSet> serVertexColours = SerializationParser.parseBitSetArrayList(curMimicGraph.getVertexColours());
-			List<java.util.BitSet> serEdgeColours = SerializationParser.parseBitSetArrayList(curMimicGraph.getEdgeColours());
-
-			ColourPaletteWrapper vertexPaletteWrapper = PersHelper.convertCP(curMimicGraph.getVertexPalette());
-			ColourPaletteWrapper edgePaletteWrapper = PersHelper.convertCP(curMimicGraph.getEdgePalette());
-			ColourPaletteWrapper dtPaletteWrapper = PersHelper.convertCP(curMimicGraph.getDataTypedEdgePalette());
-			
-			ColouredGraphWrapper colouredGraphWrapper = new ColouredGraphWrapper(curMimicGraph.getGraph(),
-					serVertexColours, serEdgeColours, vertexPaletteWrapper, edgePaletteWrapper, dtPaletteWrapper);
-
-			out.writeObject(colouredGraphWrapper);
-			out.close();
-			fileOut.close();
+			ColouredGraphFile.write(curMimicGraph, new File(filePath));
 		} catch (IOException e) {
+			LOGGER.error("Could not write the file: " + e.getMessage());
 			e.printStackTrace();
 		}
 	}
@@ -122,7 +283,10 @@ public class AbstractDatasetManager implements IDatasetManager{
 		try {
 			Path path = Paths.get(filePath);
 
-			if (Files.exists(path)) {
+			if (Files.exists(path) && ColouredGraphFile.isColouredGraphFile(path.toFile())) {
+				colouredGraph = ColouredGraphFile.read(path.toFile());
+			} else if (Files.exists(path)) {
+				// file written with the Java serialization of older versions
 				FileInputStream fileIn = new FileInputStream(filePath);
 				ObjectInputStream in = new ObjectInputStream(fileIn);
 				ColouredGraphWrapper colouredGraphWrapper = (ColouredGraphWrapper) in.readObject();
@@ -0,0 +1,155 @@
+package org.aksw.simba.lemming.creation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+
+/**
+ * Applies the inference of {@link Inferer#process(Model)} with the tables of a
+ * {@link CompiledOntology}, i.e., without an ontology model. The steps are
+ * carried out in the same order as by the {@link Inferer}:
+ * <ol>
+ * <li>the source model is copied and the copy is materialized,</li>
+ * <li>the predicates of the statements of the source model are replaced by
+ * their representatives and the types are inferred from their domains and
+ * ranges, i.e., the statements derived by the materialization are not used for
+ * the type inference,</li>
+ * <li>the classes are replaced by their representatives in all statements.</li>
+ * </ol>
+ * The returned model is renamed and typed, i.e., it can be used as the source
+ * model of the next version of a dataset.
+ */
+public class CompiledInferer {
+
+	private static final String RDF_CONTAINER_MEMBERSHIP_PREFIX = RDF.getURI() + "_";
+
+	protected CompiledOntology ontology;
+	/**
+	 * The materializer or null if the models are not materialized
+	 */
+	protected GraphMaterializer materializer;
+	/**
+	 * The nodes of the representative classes and properties
+	 */
+	protected Node[] classNodes;
+	protected Node[] propertyNodes;
+
+	public CompiledInferer(boolean isMat, CompiledOntology ontology) {
+		this.ontology = ontology;
+		if (isMat) {
+			materializer = new GraphMaterializer(ontology);
+		}
+		classNodes = new Node[ontology.getNumberOfClasses()];
+		for (int i = 0; i < classNodes.length; ++i) {
+			classNodes[i] = NodeFactory.createURI(ontology.getClassUri(ontology.getClassRepresentative(i)));
+		}
+		propertyNodes = new Node[ontology.getNumberOfProperties()];
+		for (int i = 0; i < propertyNodes.length; ++i) {
+			propertyNodes[i] = NodeFactory.createURI(ontology.getPropertyUri(ontology.getPropertyRepresentative(i)));
+		}
+	}
+
+	/**
+	 * Creates a new model with all the statements of the source model and adds
+	 * the materialized and inferred statements. The source model is not changed
+	 * and the method can be called by several threads at the same time.
+	 *
+	 * @param sourceModel RDF Model where we want the inference to take place
+	 * @return The new model with the same triples as the sourceModel plus the
+	 *         inferred triples.
+	 */
+	public Model process(Model sourceModel) {
+		Model newModel = ModelFactory.createDefaultModel();
+		newModel.add(sourceModel);
+		if (materializer != null) {
+			materializer.materialize(newModel);
+		}
+		Graph newGraph = newModel.getGraph();
+
+		// uniform the names of properties and infer type statements
+		for (Triple triple : sourceModel.getGraph().find(Node.ANY, Node.ANY, Node.ANY).toList()) {
+			inferTypes(triple, newGraph);
+		}
+		// uniform the names of the classes
+		renameClasses(newGraph);
+		return newModel;
+	}
+
+	private void inferTypes(Triple triple, Graph graph) {
+		Node subject = triple.getSubject();
+		Node predicate = triple.getPredicate();
+		Node object = triple.getObject();
+
+		int propertyId = ontology.getPropertyId(predicate.getURI());
+		if (propertyId >= 0) {
+			Node representative = propertyNodes[propertyId];
+			if (!representative.equals(predicate)) {
+				graph.delete(triple);
+				graph.add(Triple.create(subject, representative, object));
+			}
+			for (int domain : ontology.getDomains(propertyId)) {
+				graph.add(Triple.create(subject, RDF.type.asNode(), classNodes[domain]));
+			}
+			if (!object.isLiteral()) {
+				for (int range : ontology.getRanges(propertyId)) {
+					graph.add(Triple.create(object, RDF.type.asNode(), classNodes[range]));
+				}
+			}
+		}
+		if (isContainerMembershipProperty(predicate)) {
+			graph.delete(triple);
+			graph.add(Triple.create(subject, RDFS.member.asNode(), object));
+		}
+	}
+
+	/**
+	 * Replaces the classes in the subject and object position of all statements
+	 * by their representatives.
+	 */
+	private void renameClasses(Graph graph) {
+		List<Triple> renamedTriples = new ArrayList<Triple>();
+		for (Triple triple : graph.find(Node.ANY, Node.ANY, Node.ANY).toList()) {
+			Node subject = renameClass(triple.getSubject());
+			Node object = renameClass(triple.getObject());
+			if ((subject != triple.getSubject()) || (object != triple.getObject())) {
+				graph.delete(triple);
+				renamedTriples.add(Triple.create(subject, triple.getPredicate(), object));
+			}
+		}
+		for (Triple triple : renamedTriples) {
+			graph.add(triple);
+		}
+	}
+
+	private Node renameClass(Node node) {
+		if (node.isURI()) {
+			int classId = ontology.getClassId(node.getURI());
+			if ((classId >= 0) && (ontology.getClassRepresentative(classId) != classId)) {
+				return classNodes[classId];
+			}
+		}
+		return node;
+	}
+
+	private static boolean isContainerMembershipProperty(Node predicate) {
+		String uri = predicate.getURI();
+		if (!uri.startsWith(RDF_CONTAINER_MEMBERSHIP_PREFIX)
+				|| (uri.length() == RDF_CONTAINER_MEMBERSHIP_PREFIX.length())) {
+			return false;
+		}
+		for (int i = RDF_CONTAINER_MEMBERSHIP_PREFIX.length(); i < uri.length(); ++i) {
+			if (!Character.isDigit(uri.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,483 @@
+package org.aksw.simba.lemming.creation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.apache.jena.ontology.ConversionException;
+import org.apache.jena.ontology.OntClass;
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntProperty;
+import org.apache.jena.ontology.OntResource;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.ObjectIntOpenHashMap;
+
+/**
+ * The information of an ontology that is needed to infer the types of
+ * resources, compiled into lookup tables. Classes and properties are identified
+ * by dense IDs. Every ID is mapped to the ID of the representative of its
+ * equivalence set (the set is determined with a union-find) and every
+ * representative property is mapped to the IDs of its domains and ranges.
+ *
+ * In addition, the symmetric, transitive and inverse properties are kept for
+ * the materialization of a model (see {@link GraphMaterializer}).
+ *
+ * In contrast to the {@link Inferer}, the tables do not need the ontology model
+ * after they have been created. They can be stored in a small binary file (see
+ * {@link #loadOrCompile(File, Supplier)}) so that the ontology does not have to
+ * be read and analysed again. The inference itself is applied to a triple
+ * stream by a {@link TypeInferenceStream} or to a model by a
+ * {@link CompiledInferer}.
+ */
+public class CompiledOntology {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(CompiledOntology.class);
+
+	private static final int FILE_FORMAT_VERSION = 2;
+
+	private static final int[] NO_IDS = new int[0];
+
+	protected String[] classUris;
+	protected int[] classRepresentatives;
+
+	protected String[] propertyUris;
+	protected int[] propertyRepresentatives;
+	/**
+	 * The domain and range class IDs of every representative property (empty
+	 * for all other properties)
+	 */
+	protected int[][] domains;
+	protected int[][] ranges;
+	/**
+	 * The IDs of the symmetric and transitive properties and the IDs of the
+	 * inverse properties of every property
+	 */
+	protected int[] symmetricProperties;
+	protected int[] transitiveProperties;
+	protected int[][] inverses;
+
+	protected ObjectIntOpenHashMap<String> classIds;
+	protected ObjectIntOpenHashMap<String> propertyIds;
+
+	protected CompiledOntology(String[] classUris, int[] classRepresentatives, String[] propertyUris,
+			int[] propertyRepresentatives, int[][] domains, int[][] ranges, int[] symmetricProperties,
+			int[] transitiveProperties, int[][] inverses) {
+		this.classUris = classUris;
+		this.classRepresentatives = classRepresentatives;
+		this.propertyUris = propertyUris;
+		this.propertyRepresentatives = propertyRepresentatives;
+		this.domains = domains;
+		this.ranges = ranges;
+		this.symmetricProperties = symmetricProperties;
+		this.transitiveProperties = transitiveProperties;
+		this.inverses = inverses;
+		classIds = createIdMap(classUris);
+		propertyIds = createIdMap(propertyUris);
+	}
+
+	private static ObjectIntOpenHashMap<String> createIdMap(String[] uris) {
+		ObjectIntOpenHashMap<String> ids = new ObjectIntOpenHashMap<String>(uris.length);
+		for (int i = 0; i < uris.length; ++i) {
+			ids.put(uris[i], i);
+		}
+		return ids;
+	}
+
+	/**
+	 * Compiles the classes, properties, equivalences, domains and ranges as well
+	 * as the symmetric, transitive and inverse properties of the given ontology. Resources without URI are ignored. Like in the
+	 * {@link Inferer}, the lexicographically largest URI of an equivalence set is
+	 * its representative and the representative property has the domains and
+	 * ranges of all properties of its set.
+	 *
+	 * @param ontModel the ontology
+	 * @return the compiled ontology
+	 */
+	public static CompiledOntology compile(OntModel ontModel) {
+		UriTable classes = new UriTable();
+		UriTable properties = new UriTable();
+		IntArrayList classEquivalences = new IntArrayList();
+		IntArrayList propertyEquivalences = new IntArrayList();
+		// domains and ranges as pairs of property and class IDs
+		IntArrayList domainPairs = new IntArrayList();
+		IntArrayList rangePairs = new IntArrayList();
+		IntArrayList symmetricProperties = new IntArrayList();
+		IntArrayList transitiveProperties = new IntArrayList();
+		// inverse properties as pairs of property IDs (in both directions)
+		IntArrayList inversePairs = new IntArrayList();
+
+		for (OntClass clazz : ontModel.listClasses().toList()) {
+			if (clazz.getURI() != null) {
+				int classId = classes.getId(clazz.getURI());
+				for (OntClass equivalent : listEquivalents(clazz)) {
+					if (equivalent.getURI() != null) {
+						classEquivalences.add(classId, classes.getId(equivalent.getURI()));
+					}
+				}
+			}
+		}
+		for (OntProperty property : ontModel.listAllOntProperties().toList()) {
+			if (property.getURI() != null) {
+				int propertyId = properties.getId(property.getURI());
+				for (OntProperty equivalent : listEquivalents(property)) {
+					if (equivalent.getURI() != null) {
+						propertyEquivalences.add(propertyId, properties.getId(equivalent.getURI()));
+					}
+				}
+				for (OntResource domain : property.listDomain().toList()) {
+					if (domain.getURI() != null) {
+						domainPairs.add(propertyId, classes.getId(domain.getURI()));
+					}
+				}
+				for (OntResource range : property.listRange().toList()) {
+					if (range.getURI() != null) {
+						rangePairs.add(propertyId, classes.getId(range.getURI()));
+					}
+				}
+				if (property.isSymmetricProperty()) {
+					symmetricProperties.add(propertyId);
+				}
+				if (property.isTransitiveProperty()) {
+					transitiveProperties.add(propertyId);
+				}
+				for (OntProperty inverse : property.listInverseOf().toList()) {
+					if (inverse.getURI() != null) {
+						int inverseId = properties.getId(inverse.getURI());
+						inversePairs.add(propertyId, inverseId);
+						inversePairs.add(inverseId, propertyId);
+					}
+				}
+			}
+		}
+
+		String[] classUris = classes.toArray();
+		String[] propertyUris = properties.toArray();
+		int[] classRepresentatives = findRepresentatives(classUris, classEquivalences);
+		int[] propertyRepresentatives = findRepresentatives(propertyUris, propertyEquivalences);
+		// the domains and ranges of a set of equivalent properties belong to its representative
+		int[][] domains = collectClasses(domainPairs, propertyRepresentatives);
+		int[][] ranges = collectClasses(rangePairs, propertyRepresentatives);
+		int[] identity = new int[propertyUris.length];
+		for (int i = 0; i < identity.length; ++i) {
+			identity[i] = i;
+		}
+		int[][] inverses = collectClasses(inversePairs, identity);
+		return new CompiledOntology(classUris, classRepresentatives, propertyUris, propertyRepresentatives, domains,
+				ranges, symmetricProperties.toArray(), transitiveProperties.toArray(), inverses);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T extends OntResource> List<T> listEquivalents(T resource) {
+		try {
+			ExtendedIterator<? extends OntResource> iterator = null;
+			if (resource.isProperty()) {
+				iterator = resource.asProperty().listEquivalentProperties();
+			} else if (resource.isClass()) {
+				iterator = resource.asClass().listEquivalentClasses();
+			}
+			if (iterator != null) {
+				return (List<T>) iterator.toList();
+			}
+		} catch (ConversionException e) {
+			LOGGER.warn(
+					"Cannot convert the equivalents. The ontology does not have any further info on the equivalents of {}.",
+					resource);
+		}
+		return new ArrayList<T>();
+	}
+
+	/**
+	 * Merges the equivalent IDs with a union-find and determines the ID with the
+	 * largest URI of every set.
+	 */
+	private static int[] findRepresentatives(String[] uris, IntArrayList equivalences) {
+		int[] parents = new int[uris.length];
+		for (int i = 0; i < parents.length; ++i) {
+			parents[i] = i;
+		}
+		int root1, root2;
+		for (int i = 0; i < equivalences.size(); i += 2) {
+			root1 = findRoot(parents, equivalences.get(i));
+			root2 = findRoot(parents, equivalences.get(i + 1));
+			if (root1 != root2) {
+				// keep the larger URI as root
+				if (uris[root1].compareTo(uris[root2]) < 0) {
+					parents[root1] = root2;
+				} else {
+					parents[root2] = root1;
+				}
+			}
+		}
+		int[] representatives = new int[uris.length];
+		for (int i = 0; i < uris.length; ++i) {
+			representatives[i] = findRoot(parents, i);
+		}
+		return representatives;
+	}
+
+	private static int findRoot(int[] parents, int id) {
+		int root = id;
+		while (parents[root] != root) {
+			root = parents[root];
+		}
+		// path compression
+		int next;
+		while (parents[id] != root) {
+			next = parents[id];
+			parents[id] = root;
+			id = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Groups the given pairs of property and class (or property) IDs by the
+	 * representatives of the properties and removes duplicates.
+	 */
+	private static int[][] collectClasses(IntArrayList pairs, int[] propertyRepresentatives) {
+		int[] counts = new int[propertyRepresentatives.length];
+		for (int i = 0; i < pairs.size(); i += 2) {
+			counts[propertyRepresentatives[pairs.get(i)]]++;
+		}
+		int[][] classes = new int[propertyRepresentatives.length][];
+		for (int i = 0; i < classes.length; ++i) {
+			classes[i] = (counts[i] == 0) ? NO_IDS : new int[counts[i]];
+			counts[i] = 0;
+		}
+		int propertyId;
+		for (int i = 0; i < pairs.size(); i += 2) {
+			propertyId = propertyRepresentatives[pairs.get(i)];
+			classes[propertyId][counts[propertyId]++] = pairs.get(i + 1);
+		}
+		// remove duplicates
+		for (int i = 0; i < classes.length; ++i) {
+			if (classes[i].length > 1) {
+				Arrays.sort(classes[i]);
+				int size = 1;
+				for (int j = 1; j < classes[i].length; ++j) {
+					if (classes[i][j] != classes[i][size - 1]) {
+						classes[i][size++] = classes[i][j];
+					}
+				}
+				classes[i] = Arrays.copyOf(classes[i], size);
+			}
+		}
+		return classes;
+	}
+
+	/**
+	 * Loads the compiled ontology from the given file. If the file does not
+	 * exist or can not be read, the ontology is compiled and written to the file.
+	 *
+	 * @param cacheFile the file of this ontology
+	 * @param ontology  supplies the ontology model if it has to be compiled
+	 * @return the compiled ontology
+	 */
+	public static CompiledOntology loadOrCompile(File cacheFile, Supplier<OntModel> ontology) {
+		if (cacheFile.exists()) {
+			try {
+				return readFromFile(cacheFile);
+			} catch (IOException e) {
+				LOGGER.warn("Couldn't read the compiled ontology from " + cacheFile + ". It will be compiled again.",
+						e);
+			}
+		}
+		CompiledOntology compiled = compile(ontology.get());
+		try {
+			compiled.writeToFile(cacheFile);
+		} catch (IOException e) {
+			LOGGER.warn("Couldn't write the compiled ontology to " + cacheFile + ".", e);
+		}
+		return compiled;
+	}
+
+	public void writeToFile(File file) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(FILE_FORMAT_VERSION);
+			writeUris(out, classUris);
+			writeIds(out, classRepresentatives);
+			writeUris(out, propertyUris);
+			writeIds(out, propertyRepresentatives);
+			for (int i = 0; i < propertyUris.length; ++i) {
+				writeIds(out, domains[i]);
+				writeIds(out, ranges[i]);
+				writeIds(out, inverses[i]);
+			}
+			writeIds(out, symmetricProperties);
+			writeIds(out, transitiveProperties);
+		}
+	}
+
+	public static CompiledOntology readFromFile(File file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			int version = in.readInt();
+			if (version != FILE_FORMAT_VERSION) {
+				throw new IOException("Unsupported version " + version + " of the compiled ontology file.");
+			}
+			String[] classUris = readUris(in);
+			int[] classRepresentatives = readIds(in);
+			String[] propertyUris = readUris(in);
+			int[] propertyRepresentatives = readIds(in);
+			int[][] domains = new int[propertyUris.length][];
+			int[][] ranges = new int[propertyUris.length][];
+			int[][] inverses = new int[propertyUris.length][];
+			for (int i = 0; i < propertyUris.length; ++i) {
+				domains[i] = readIds(in);
+				ranges[i] = readIds(in);
+				inverses[i] = readIds(in);
+			}
+			int[] symmetricProperties = readIds(in);
+			int[] transitiveProperties = readIds(in);
+			return new CompiledOntology(classUris, classRepresentatives, propertyUris, propertyRepresentatives,
+					domains, ranges, symmetricProperties, transitiveProperties, inverses);
+		}
+	}
+
+	private static void writeUris(DataOutputStream out, String[] uris) throws IOException {
+		out.writeInt(uris.length);
+		for (String uri : uris) {
+			out.writeUTF(uri);
+		}
+	}
+
+	private static String[] readUris(DataInputStream in) throws IOException {
+		String[] uris = new String[in.readInt()];
+		for (int i = 0; i < uris.length; ++i) {
+			uris[i] = in.readUTF();
+		}
+		return uris;
+	}
+
+	private static void writeIds(DataOutputStream out, int[] ids) throws IOException {
+		out.writeInt(ids.length);
+		for (int id : ids) {
+			out.writeInt(id);
+		}
+	}
+
+	private static int[] readIds(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length == 0) {
+			return NO_IDS;
+		}
+		int[] ids = new int[length];
+		for (int i = 0; i < length; ++i) {
+			ids[i] = in.readInt();
+		}
+		return ids;
+	}
+
+	/**
+	 * @return the ID of the given class or -1 if the class is not known
+	 */
+	public int getClassId(String uri) {
+		return classIds.containsKey(uri) ? classIds.get(uri) : -1;
+	}
+
+	/**
+	 * @return the ID of the given property or -1 if the property is not known
+	 */
+	public int getPropertyId(String uri) {
+		return propertyIds.containsKey(uri) ? propertyIds.get(uri) : -1;
+	}
+
+	public int getNumberOfClasses() {
+		return classUris.length;
+	}
+
+	public int getNumberOfProperties() {
+		return propertyUris.length;
+	}
+
+	public String getClassUri(int classId) {
+		return classUris[classId];
+	}
+
+	public String getPropertyUri(int propertyId) {
+		return propertyUris[propertyId];
+	}
+
+	public int getClassRepresentative(int classId) {
+		return classRepresentatives[classId];
+	}
+
+	public int getPropertyRepresentative(int propertyId) {
+		return propertyRepresentatives[propertyId];
+	}
+
+	/**
+	 * @return the domain class IDs of the representative of the given property.
+	 *         The array must not be changed.
+	 */
+	public int[] getDomains(int propertyId) {
+		return domains[propertyRepresentatives[propertyId]];
+	}
+
+	/**
+	 * @return the range class IDs of the representative of the given property.
+	 *         The array must not be changed.
+	 */
+	public int[] getRanges(int propertyId) {
+		return ranges[propertyRepresentatives[propertyId]];
+	}
+
+	/**
+	 * @return the IDs of the symmetric properties. The array must not be
+	 *         changed.
+	 */
+	public int[] getSymmetricProperties() {
+		return symmetricProperties;
+	}
+
+	/**
+	 * @return the IDs of the transitive properties. The array must not be
+	 *         changed.
+	 */
+	public int[] getTransitiveProperties() {
+		return transitiveProperties;
+	}
+
+	/**
+	 * @return the IDs of the properties that are inverse to the given property.
+	 *         The array must not be changed.
+	 */
+	public int[] getInverses(int propertyId) {
+		return inverses[propertyId];
+	}
+
+	/**
+	 * Assigns dense IDs to URIs.
+	 */
+	private static class UriTable {
+		private ObjectIntOpenHashMap<String> ids = new ObjectIntOpenHashMap<String>();
+		private List<String> uris = new ArrayList<String>();
+
+		public int getId(String uri) {
+			if (ids.containsKey(uri)) {
+				return ids.get(uri);
+			}
+			int id = uris.size();
+			ids.put(uri, id);
+			uris.add(uri);
+			return id;
+		}
+
+		public String[] toArray() {
+			return uris.toArray(new String[uris.size()]);
+		}
+	}
+}
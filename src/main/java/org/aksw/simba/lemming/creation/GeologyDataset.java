@@ -5,6 +5,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.apache.jena.ontology.OntModel;
@@ -20,9 +23,16 @@ public class GeologyDataset extends AbstractDatasetManager implements IDatasetMa
 		super("Geology");
 	}
 
+	@Override
+	protected List<File> getInputFiles(String dataFolderPath) {
+		List<File> inputs = super.getInputFiles(dataFolderPath);
+		inputs.add(new File("geology"));
+		return inputs;
+	}
+
 	@Override
 	public ColouredGraph[] readGraphsFromFiles(String dataFolderPath) {
-		List<ColouredGraph> graphs = new ArrayList<ColouredGraph>();
+		ColouredGraph[] graphs = new ColouredGraph[0];
 		GraphCreator creator = new GraphCreator();
 
 		File folder = new File(dataFolderPath);
@@ -41,25 +51,32 @@ public class GeologyDataset extends AbstractDatasetManager implements IDatasetMa
 			Collections.sort(lstSortedFilesByName);
 
 			Inferer inferer = new Inferer(true, ontModel);
-			for (String fileName : lstSortedFilesByName) {
-				File file = new File(dataFolderPath + "/" + fileName);
-				Model geologyModel = ModelFactory.createDefaultModel();
-				geologyModel.read(file.getAbsolutePath(), "TTL");
-				LOGGER.info("Read data to model - " + geologyModel.size() + " triples " + file.getName());
-				// returns a new model with the added triples
-				geologyModel = inferer.process(geologyModel);
-				ColouredGraph graph = creator.processModel(geologyModel);
-				if (graph != null) {
-					LOGGER.info("Generated graph of " + geologyModel.size() + " triples");
-					graphs.add(graph);
+			// the versions are read and inferred concurrently
+			List<Supplier<CompletableFuture<Model>>> versions = new ArrayList<Supplier<CompletableFuture<Model>>>();
+			ExecutorService executor = createLoadingPool(lstSortedFilesByName.size());
+			try {
+				for (String fileName : lstSortedFilesByName) {
+					File file = new File(dataFolderPath + "/" + fileName);
+					versions.add(() -> CompletableFuture.supplyAsync(() -> readVersion(file, inferer), executor));
 				}
+				graphs = createGraphs(versions, creator);
+			} finally {
+				executor.shutdownNow();
 			}
 		} else {
 			LOGGER.error("Find no files in \"" + folder.getAbsolutePath() + "\". Aborting.");
 			System.exit(1);
 		}
 
-		return graphs.toArray(new ColouredGraph[graphs.size()]);
+		return graphs;
+	}
+
+	private static Model readVersion(File file, Inferer inferer) {
+		Model geologyModel = ModelFactory.createDefaultModel();
+		geologyModel.read(file.getAbsolutePath(), "TTL");
+		LOGGER.info("Read data to model - " + geologyModel.size() + " triples " + file.getName());
+		// returns a new model with the added triples
+		return inferer.process(geologyModel);
 	}
 
 //	public static void main(String[] args) {
@@ -0,0 +1,295 @@
+package org.aksw.simba.lemming.creation;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.colour.ColourPalette;
+import org.apache.jena.datatypes.RDFDatatype;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.riot.system.StreamRDFBase;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongIntOpenHashMap;
+import com.carrotsearch.hppc.ObjectArrayList;
+import com.carrotsearch.hppc.ObjectIntOpenHashMap;
+
+/**
+ * Builds a {@link ColouredGraph} from a stream of triples in a single pass. The
+ * vertices and edges are added while the triples are read. Since the colours
+ * depend on the class and property hierarchies, which may appear anywhere in
+ * the data, the builder only remembers the property of every edge and the
+ * classes of the typed vertices as IDs and sets the colours in
+ * {@link #build()}.
+ *
+ * The builder can be used as sink of the streaming parsers of Jena (see
+ * {@link GraphCreator#processStream(java.io.InputStream, org.apache.jena.riot.Lang)}).
+ */
+public class GraphBuilder extends StreamRDFBase {
+
+	/**
+	 * a trick for semantic web dog food
+	 */
+	private static final String DEFAULT_DATA_TYPE = "http://www.w3.org/2001/XMLSchema#string";
+
+	protected GraphCreator creator;
+	protected ColouredGraph graph;
+	/**
+	 * Flag indicating whether duplicate triples have to be ignored. A model does
+	 * not contain duplicates but a file might.
+	 */
+	protected boolean removeDuplicates;
+	/**
+	 * Empty model used to wrap nodes into resources and literals.
+	 */
+	protected Model nodeFactory = ModelFactory.createDefaultModel();
+
+	protected ObjectIntOpenHashMap<Node> vertexIds = new ObjectIntOpenHashMap<Node>();
+
+	protected ObjectIntOpenHashMap<String> propertyIds = new ObjectIntOpenHashMap<String>();
+	protected ObjectArrayList<String> propertyUris = new ObjectArrayList<String>();
+	/**
+	 * The property ID of every edge indexed by the edge ID
+	 */
+	protected IntArrayList edgeProperties = new IntArrayList();
+
+	protected ObjectIntOpenHashMap<Node> classIds = new ObjectIntOpenHashMap<Node>();
+	protected ObjectArrayList<String> classUris = new ObjectArrayList<String>();
+	/**
+	 * The i-th rdf:type statement gives the vertex typedVertices[i] the class
+	 * vertexClasses[i].
+	 */
+	protected IntArrayList typedVertices = new IntArrayList();
+	protected IntArrayList vertexClasses = new IntArrayList();
+
+	protected Set<Resource> typeClasses = new LinkedHashSet<Resource>();
+	/**
+	 * The hierarchy statements are kept in sets since a stream might contain
+	 * them several times.
+	 */
+	protected Set<Statement> subClassOfStatements = new LinkedHashSet<Statement>();
+	protected Set<Statement> subPropertyOfStatements = new LinkedHashSet<Statement>();
+
+	/**
+	 * The edges connecting the same tail and head are chained to find duplicate
+	 * triples. The map contains the last edge of every chain.
+	 */
+	protected LongIntOpenHashMap lastEdgeOfVertexPair;
+	protected IntArrayList previousEdgeOfVertexPair;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param creator          the creator whose palettes and hierarchies are
+	 *                         used and extended
+	 * @param removeDuplicates whether duplicate triples have to be ignored
+	 */
+	public GraphBuilder(GraphCreator creator, boolean removeDuplicates) {
+		this.creator = creator;
+		this.removeDuplicates = removeDuplicates;
+		graph = new ColouredGraph(creator.vertexPalette, creator.edgePalette);
+		if (removeDuplicates) {
+			lastEdgeOfVertexPair = new LongIntOpenHashMap();
+			previousEdgeOfVertexPair = new IntArrayList();
+		}
+	}
+
+	@Override
+	public void triple(Triple triple) {
+		Node subject = triple.getSubject();
+		Node predicate = triple.getPredicate();
+		Node object = triple.getObject();
+		// Add the subject if it is not existing
+		int subjectId = getVertexId(subject);
+		if (predicate.equals(RDFS.subClassOf.asNode())) {
+			subClassOfStatements.add(createStatement(triple));
+		} else if (predicate.equals(RDFS.subPropertyOf.asNode())) {
+			subPropertyOfStatements.add(createStatement(triple));
+		}
+		// if this statement has a resource as object
+		if (!object.isLiteral()) {
+			int objectId = getVertexId(object);
+			int propertyId = getPropertyId(predicate.getURI());
+			if (removeDuplicates && containsEdge(subjectId, objectId, propertyId)) {
+				return;
+			}
+			int edgeId = graph.addEdge(subjectId, objectId);
+			setEdgeProperty(edgeId, propertyId);
+			if (removeDuplicates) {
+				addToVertexPair(subjectId, objectId, edgeId);
+			}
+			// if this triple defines the class of the subject
+			if (predicate.equals(RDF.type.asNode())) {
+				typedVertices.add(subjectId);
+				vertexClasses.add(getClassId(object));
+			}
+		} else {
+			addLiteral(subjectId, predicate.getURI(), nodeFactory.asRDFNode(object).asLiteral());
+		}
+	}
+
+	@Override
+	public void quad(Quad quad) {
+		triple(quad.asTriple());
+	}
+
+	/**
+	 * Defines the colours of the palettes with the hierarchies that have been
+	 * read and colours the vertices and edges of the graph.
+	 *
+	 * @return the created graph
+	 */
+	public ColouredGraph build() {
+		ColourPalette vertexPalette = creator.createVertexPalette(typeClasses, subClassOfStatements);
+		ColourPalette edgePalette = creator.createEdgePalette(subPropertyOfStatements);
+
+		// Set the colours of the edges
+		BitSet[] propertyColours = new BitSet[propertyUris.size()];
+		String propertyUri;
+		for (int i = 0; i < propertyColours.length; ++i) {
+			propertyUri = propertyUris.get(i);
+			if (!edgePalette.containsUri(propertyUri)) {
+				edgePalette.addColour(propertyUri);
+			}
+			propertyColours[i] = edgePalette.getColour(propertyUri);
+		}
+		for (int edgeId = 0; edgeId < edgeProperties.size(); ++edgeId) {
+			if (edgeProperties.get(edgeId) >= 0) {
+				graph.setEdgeColour(edgeId, propertyColours[edgeProperties.get(edgeId)]);
+			}
+		}
+
+		// Set the colours of the typed vertices
+		BitSet[] vertexColours = new BitSet[vertexIds.size()];
+		int vertexId;
+		for (int i = 0; i < typedVertices.size(); ++i) {
+			vertexId = typedVertices.get(i);
+			if (vertexColours[vertexId] == null) {
+				vertexColours[vertexId] = new BitSet();
+			}
+			vertexPalette.addToColour(vertexColours[vertexId], classUris.get(vertexClasses.get(i)));
+		}
+		for (int i = 0; i < vertexColours.length; ++i) {
+			if (vertexColours[i] != null) {
+				graph.setVertexColour(i, vertexColours[i]);
+			}
+		}
+
+		// set the datatypedEdgePalette to the graph
+		graph.setDataTypeEdgePalette(creator.datatypedEdgePalette);
+		// the input graphs are only read from now on
+		graph.freeze();
+		return graph;
+	}
+
+	protected int getVertexId(Node node) {
+		if (vertexIds.containsKey(node)) {
+			return vertexIds.get(node);
+		}
+		int vertexId = graph.addVertex();
+		vertexIds.put(node, vertexId);
+		return vertexId;
+	}
+
+	protected int getPropertyId(String propertyUri) {
+		if (propertyIds.containsKey(propertyUri)) {
+			return propertyIds.get(propertyUri);
+		}
+		int propertyId = propertyUris.size();
+		propertyUris.add(propertyUri);
+		propertyIds.put(propertyUri, propertyId);
+		return propertyId;
+	}
+
+	protected int getClassId(Node node) {
+		if (classIds.containsKey(node)) {
+			return classIds.get(node);
+		}
+		int classId = classUris.size();
+		Resource resource = nodeFactory.wrapAsResource(node);
+		classUris.add(resource.getURI());
+		classIds.put(node, classId);
+		typeClasses.add(resource);
+		return classId;
+	}
+
+	protected void setEdgeProperty(int edgeId, int propertyId) {
+		while (edgeProperties.size() < edgeId) {
+			edgeProperties.add(-1);
+		}
+		if (edgeId < edgeProperties.size()) {
+			edgeProperties.set(edgeId, propertyId);
+		} else {
+			edgeProperties.add(propertyId);
+		}
+	}
+
+	protected boolean containsEdge(int tail, int head, int propertyId) {
+		long pair = (((long) tail) << 32) | (head & 0xFFFFFFFFL);
+		if (!lastEdgeOfVertexPair.containsKey(pair)) {
+			return false;
+		}
+		int edgeId = lastEdgeOfVertexPair.get(pair);
+		while (edgeId >= 0) {
+			if (edgeProperties.get(edgeId) == propertyId) {
+				return true;
+			}
+			edgeId = previousEdgeOfVertexPair.get(edgeId);
+		}
+		return false;
+	}
+
+	protected void addToVertexPair(int tail, int head, int edgeId) {
+		long pair = (((long) tail) << 32) | (head & 0xFFFFFFFFL);
+		int previousEdgeId = lastEdgeOfVertexPair.containsKey(pair) ? lastEdgeOfVertexPair.get(pair) : -1;
+		while (previousEdgeOfVertexPair.size() <= edgeId) {
+			previousEdgeOfVertexPair.add(-1);
+		}
+		previousEdgeOfVertexPair.set(edgeId, previousEdgeId);
+		lastEdgeOfVertexPair.put(pair, edgeId);
+	}
+
+	protected void addLiteral(int subjectId, String propertyUri, Literal literal) {
+		RDFDatatype litType = literal.getDatatype();
+		String datatype = litType != null ? litType.getURI() : "";
+
+		// put datatype property to the palette
+		ColourPalette datatypedEdgePalette = creator.datatypedEdgePalette;
+		if (!datatypedEdgePalette.containsUri(propertyUri)) {
+			datatypedEdgePalette.addColour(propertyUri);
+		}
+		BitSet datatypedEdgeColour = datatypedEdgePalette.getColour(propertyUri);
+		if (propertyUri.contains("label")) {
+			datatype = DEFAULT_DATA_TYPE;
+		}
+		String value = literal.toString();
+		if (removeDuplicates) {
+			Map<BitSet, List<String>> literals = graph.getMapDTEdgeColoursToLiterals(subjectId);
+			if ((literals != null) && literals.containsKey(datatypedEdgeColour)
+					&& literals.get(datatypedEdgeColour).contains(value)) {
+				return;
+			}
+		}
+		// add to the coloured graph
+		graph.addLiterals(value, subjectId, datatypedEdgeColour, datatype);
+	}
+
+	protected Statement createStatement(Triple triple) {
+		return ResourceFactory.createStatement(nodeFactory.wrapAsResource(triple.getSubject()),
+				ResourceFactory.createProperty(triple.getPredicate().getURI()),
+				nodeFactory.asRDFNode(triple.getObject()));
+	}
+}
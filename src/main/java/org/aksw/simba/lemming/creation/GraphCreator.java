@@ -1,6 +1,8 @@
 package org.aksw.simba.lemming.creation;
 
+import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -11,20 +13,19 @@ import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.colour.ColourPalette;
 import org.aksw.simba.lemming.colour.InMemoryPalette;
 import org.apache.jena.datatypes.RDFDatatype;
-import org.apache.jena.rdf.model.Literal;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Model;
-import org.apache.jena.rdf.model.NodeIterator;
-import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
-import org.apache.jena.rdf.model.StmtIterator;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.util.iterator.ExtendedIterator;
 import org.apache.jena.vocabulary.OWL;
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
 
-import com.carrotsearch.hppc.BitSet;
-import com.carrotsearch.hppc.ObjectIntOpenHashMap;
 import com.carrotsearch.hppc.ObjectObjectOpenHashMap;
 
 public class GraphCreator {
@@ -60,115 +61,78 @@ public class GraphCreator {
 		datatypedEdgePalette = new InMemoryPalette();
 	}
 
+	/**
+	 * Creates the coloured graph of the given model. The statements of the model
+	 * are read in a single pass.
+	 *
+	 * @param model the model that should be transformed into a graph
+	 * @return the coloured graph of the model
+	 */
 	public ColouredGraph processModel(Model model) {
-		ColourPalette vertexPalette = createVertexPalette(model);
-		ColourPalette edgePalette = createEdgePalette(model);
-		ColouredGraph graph = new ColouredGraph(vertexPalette, edgePalette);
-		ObjectIntOpenHashMap<Resource> resourceIdMapping = new ObjectIntOpenHashMap<Resource>();
-		StmtIterator iterator = model.listStatements();
-		Statement statement;
-		Resource subject, object;
-		Property property;
-		int subjectId, propertyId, objectId;
-		String propertyUri;
-		// Iterator over all statements
-		while (iterator.hasNext()) {
-			statement = iterator.next();
-			subject = statement.getSubject();
-			// Add the subject if it is not existing
-			if (resourceIdMapping.containsKey(subject)) {
-				subjectId = resourceIdMapping.get(subject);
-			} else {
-				subjectId = graph.addVertex();
-				resourceIdMapping.put(subject, subjectId);
-			}
-			// if this statement has a resource as object
-			if (statement.getObject().isResource()) {
-				// Add the object if it is not existing
-				object = statement.getObject().asResource();
-				if (resourceIdMapping.containsKey(object)) {
-					objectId = resourceIdMapping.get(object);
-				} else {
-					objectId = graph.addVertex();
-					resourceIdMapping.put(object, objectId);
-				}
-				// Add the property if it is not existing
-				property = statement.getPredicate();
-				propertyId = graph.addEdge(subjectId, objectId);
-				// Set the colour of the edge
-				propertyUri = property.getURI();
-				if (!edgePalette.containsUri(propertyUri)) {
-					edgePalette.addColour(propertyUri);
-				}
-				graph.setEdgeColour(propertyId, edgePalette.getColour(propertyUri));
-
-				// if this triple defines the class of the subject
-				if (property.equals(RDF.type)) {
-					graph.setVertexColour(subjectId,
-							vertexPalette.addToColour(graph.getVertexColour(subjectId), object.getURI()));
-				}
-				//Below statement needs to be removed
-				//System.out.println(propertyId + ": " + propertyUri);
+		// a model does not contain duplicate statements
+		GraphBuilder builder = new GraphBuilder(this, false);
+		ExtendedIterator<Triple> iterator = model.getGraph().find(Node.ANY, Node.ANY, Node.ANY);
+		try {
+			while (iterator.hasNext()) {
+				builder.triple(iterator.next());
 			}
+		} finally {
+			iterator.close();
+		}
+		return builder.build();
+	}
 
-			/*
-			 *if this statement has an object as a literal
-			 */
-			else {
-
-				// data typed property
-				property = statement.getPredicate();
-				propertyUri = property.getURI();
-
-				if (statement.getObject().isLiteral()) {
-					// literal
-					Literal literal = statement.getObject().asLiteral();
-					RDFDatatype litType = literal.getDatatype();
-
-					String datatype = litType != null ? litType.getURI() : "";
-
-					// put datatype property to the palette
-					if (!datatypedEdgePalette.containsUri(propertyUri)) {
-						datatypedEdgePalette.addColour(propertyUri);
-					}
-					BitSet datatypedEdgeColour = datatypedEdgePalette.getColour(propertyUri);
-					/*
-					 * a trick for semantic web dog food
-					 */
-					String defaultDataType = "http://www.w3.org/2001/XMLSchema#string";
-					if (propertyUri.contains("label"))
-						datatype = defaultDataType;
+	/**
+	 * Creates the coloured graph of the RDF data read from the given stream
+	 * without loading it into a {@link Model}. The triples are handed from the
+	 * streaming parser to a {@link GraphBuilder}, i.e., only the graph, the IDs
+	 * of the resources and the class and property hierarchies are kept in
+	 * memory.
+	 *
+	 * @param is   the stream the data is read from
+	 * @param lang the serialization of the data
+	 * @return the coloured graph of the data
+	 */
+	public ColouredGraph processStream(InputStream is, Lang lang) {
+		GraphBuilder builder = new GraphBuilder(this, true);
+		RDFDataMgr.parse(builder, is, lang);
+		return builder.build();
+	}
 
-					// add to the coloured graph
-					graph.addLiterals(literal.toString(), subjectId, datatypedEdgeColour, datatype);
-				}
-			}
-		}
-		//System.out.println(resourceIdMapping);//remove this statement later adding to check mapping
-		// set the datatypedEdgePalette to the graph
-		graph.setDataTypeEdgePalette(datatypedEdgePalette);
-		return graph;
+	/**
+	 * Creates the coloured graph of the RDF data read from the given stream and
+	 * adds the types inferred with the given compiled ontology while the triples
+	 * are read (see {@link TypeInferenceStream}).
+	 *
+	 * @param is       the stream the data is read from
+	 * @param lang     the serialization of the data
+	 * @param ontology the compiled ontology used for the type inference
+	 * @return the coloured graph of the data
+	 */
+	public ColouredGraph processStream(InputStream is, Lang lang, CompiledOntology ontology) {
+		GraphBuilder builder = new GraphBuilder(this, true);
+		RDFDataMgr.parse(new TypeInferenceStream(builder, ontology), is, lang);
+		return builder.build();
 	}
 
-	protected ColourPalette createVertexPalette(Model model) {
-		//list all classes, put them into classes hierarchyNode map
-		NodeIterator nIterator = model.listObjectsOfProperty(RDF.type);
+	/**
+	 * Adds the given classes and class hierarchy to the known classes and
+	 * defines the colours of the vertex palette.
+	 *
+	 * @param typeClasses          the distinct objects of the rdf:type statements
+	 * @param subClassOfStatements the rdfs:subClassOf statements
+	 * @return the vertex palette
+	 */
+	protected ColourPalette createVertexPalette(Collection<Resource> typeClasses, Collection<Statement> subClassOfStatements) {
+		//put all classes into classes hierarchyNode map
 		RDFNode node;
 		Resource resource1, resource2;
-		while (nIterator.hasNext()) {
-			node = nIterator.next();
-			if (node.isResource()) {
-				resource1 = node.asResource();
-				classes.put(resource1, null);
-			}
+		for (Resource typeClass : typeClasses) {
+			classes.put(typeClass, null);
 		}
-		//list all statements with property RDFS.subClassOf
-		StmtIterator sIterator = model.listStatements(null, RDFS.subClassOf, (RDFNode) null);
-		Statement statement;
 		HierarchyNode hNode1, hNode2;
 		// Iterate over the class hierarchy triples
-		while (sIterator.hasNext()) {
-			statement = sIterator.next();
+		for (Statement statement : subClassOfStatements) {
 			resource1 = statement.getSubject();
 			node = statement.getObject();
 			if (node.isResource()) {
@@ -250,15 +214,19 @@ public class GraphCreator {
 		return vertexPalette;
 	}
 
-	protected ColourPalette createEdgePalette(Model model) {
+	/**
+	 * Adds the given property hierarchy to the known properties and defines the
+	 * colours of the edge palette.
+	 *
+	 * @param subPropertyOfStatements the rdfs:subPropertyOf statements
+	 * @return the edge palette
+	 */
+	protected ColourPalette createEdgePalette(Collection<Statement> subPropertyOfStatements) {
 		RDFNode node;
 		Resource resource1, resource2;
-		StmtIterator sIterator = model.listStatements(null, RDFS.subPropertyOf, (RDFNode) null);
-		Statement statement;
 		HierarchyNode hNode1, hNode2;
 		// Iterate over the class hierarchy triples
-		while (sIterator.hasNext()) {
-			statement = sIterator.next();
+		for (Statement statement : subPropertyOfStatements) {
 			resource1 = statement.getSubject();
 			node = statement.getObject();
 			if (node.isResource()) {
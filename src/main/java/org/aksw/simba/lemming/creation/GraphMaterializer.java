@@ -13,6 +13,7 @@ import org.apache.jena.query.QueryFactory;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.ResultSet;
 import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.ResourceFactory;
 import org.apache.jena.rdf.model.Statement;
@@ -32,23 +33,71 @@ public class GraphMaterializer {
 	/**
 	 * Set of symmetric properties
 	 */
-	private Set<OntProperty> symmetricProperties;
+	private Set<Property> symmetricProperties;
 	/**
 	 * Set of transitive properties
 	 */
-	private Set<OntProperty> transitiveProperties;
+	private Set<Property> transitiveProperties;
 	/**
 	 * Map containing the inverse properties in both directions
 	 */
-	private SetMultimap<OntProperty, OntProperty> inverseProperties;
+	private SetMultimap<Property, Property> inverseProperties;
 
 	public GraphMaterializer(Set<OntProperty> ontProperties) {
-		this.symmetricProperties = new HashSet<OntProperty>();
-		this.transitiveProperties = new HashSet<OntProperty>();
+		this.symmetricProperties = new HashSet<Property>();
+		this.transitiveProperties = new HashSet<Property>();
 		this.inverseProperties = HashMultimap.create();
 		identifyProperties(ontProperties);
 	}
 
+	/**
+	 * Creates a materializer with the symmetric, transitive and inverse
+	 * properties of the given compiled ontology, i.e., without an ontology
+	 * model.
+	 * 
+	 * @param ontology the compiled ontology
+	 */
+	public GraphMaterializer(CompiledOntology ontology) {
+		this.symmetricProperties = new HashSet<Property>();
+		this.transitiveProperties = new HashSet<Property>();
+		this.inverseProperties = HashMultimap.create();
+		for (int propertyId : ontology.getSymmetricProperties()) {
+			symmetricProperties.add(ResourceFactory.createProperty(ontology.getPropertyUri(propertyId)));
+		}
+		for (int propertyId : ontology.getTransitiveProperties()) {
+			transitiveProperties.add(ResourceFactory.createProperty(ontology.getPropertyUri(propertyId)));
+		}
+		for (int propertyId = 0; propertyId < ontology.getNumberOfProperties(); ++propertyId) {
+			for (int inverseId : ontology.getInverses(propertyId)) {
+				inverseProperties.put(ResourceFactory.createProperty(ontology.getPropertyUri(propertyId)),
+						ResourceFactory.createProperty(ontology.getPropertyUri(inverseId)));
+			}
+		}
+	}
+
+	/**
+	 * Adds the statements derived from the symmetric, transitive and inverse
+	 * properties to the given graph until it does not grow anymore.
+	 * 
+	 * @param graph the graph that is materialized
+	 */
+	public void materialize(Model graph) {
+		long curSize;
+		do {
+			curSize = graph.size();
+
+			List<Statement> symmetricStmts = deriveSymmetricStatements(graph);
+			List<Statement> transitiveStmts = deriveTransitiveStatements(graph);
+			List<Statement> inverseStmts = deriveInverseStatements(graph);
+
+			graph.add(symmetricStmts);
+			graph.add(transitiveStmts);
+			graph.add(inverseStmts);
+
+			// if the graph doesn't grow, terminate the loop
+		} while (curSize != graph.size());
+	}
+
 	/**
 	 * Generates new statements based on the identified symmetric properties. If
 	 * prop is Symmetric and (a prop b .) , then (b prop a .)
@@ -59,7 +108,7 @@ public class GraphMaterializer {
 	 */
 	public List<Statement> deriveSymmetricStatements(Model graph) {
 		List<Statement> stmts = new ArrayList<Statement>();
-		for (OntProperty curProperty : symmetricProperties) {
+		for (Property curProperty : symmetricProperties) {
 			StmtIterator iterator = graph.listStatements(null, curProperty, (RDFNode) null);
 			while (iterator.hasNext()) {
 				Statement curStmt = iterator.next();
@@ -81,7 +130,7 @@ public class GraphMaterializer {
 	 */
 	public List<Statement> deriveTransitiveStatements(Model graph) {
 		List<Statement> stmts = new ArrayList<Statement>();
-		for (OntProperty curProperty : transitiveProperties) {
+		for (Property curProperty : transitiveProperties) {
 			StringBuilder builder = new StringBuilder("select * where { ?a <");
 			builder.append(curProperty.getURI()).append("> ?b . ?b <").append(curProperty.getURI()).append("> ?c . }");
 			List<QuerySolution> results = queryModel(builder.toString(), graph);
@@ -107,11 +156,11 @@ public class GraphMaterializer {
 	public List<Statement> deriveInverseStatements(Model graph) {
 		List<Statement> stmts = new ArrayList<Statement>();
 		inverseProperties.keySet().forEach(key -> {
-			Set<OntProperty> inverses = inverseProperties.get(key);
+			Set<Property> inverses = inverseProperties.get(key);
 			StmtIterator iter = graph.listStatements(null, key, (RDFNode) null);
 			while (iter.hasNext()) {
 				Statement curStmt = iter.next();
-				for (OntProperty inverse : inverses) {
+				for (Property inverse : inverses) {
 					if (curStmt.getObject().isResource())
 						stmts.add(ResourceFactory.createStatement(curStmt.getObject().asResource(), inverse,
 								curStmt.getSubject()));
@@ -175,27 +224,27 @@ public class GraphMaterializer {
 		}
 	}
 	
-	public Set<OntProperty> getSymmetricProperties() {
+	public Set<Property> getSymmetricProperties() {
 		return symmetricProperties;
 	}
 
-	public void setSymmetricProperties(Set<OntProperty> symmetricProperties) {
+	public void setSymmetricProperties(Set<Property> symmetricProperties) {
 		this.symmetricProperties = symmetricProperties;
 	}
 
-	public Set<OntProperty> getTransitiveProperties() {
+	public Set<Property> getTransitiveProperties() {
 		return transitiveProperties;
 	}
 
-	public void setTransitiveProperties(Set<OntProperty> transitiveProperties) {
+	public void setTransitiveProperties(Set<Property> transitiveProperties) {
 		this.transitiveProperties = transitiveProperties;
 	}
 
-	public SetMultimap<OntProperty, OntProperty> getInverseProperties() {
+	public SetMultimap<Property, Property> getInverseProperties() {
 		return inverseProperties;
 	}
 
-	public void setInverseProperties(SetMultimap<OntProperty, OntProperty> inverseProperties) {
+	public void setInverseProperties(SetMultimap<Property, Property> inverseProperties) {
 		this.inverseProperties = inverseProperties;
 	}
 
@@ -1,9 +1,30 @@
 package org.aksw.simba.lemming.creation;
 
+import java.io.File;
+
 import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.util.ArtifactCache;
 
 public interface IDatasetManager {
 	public ColouredGraph[] readGraphsFromFiles(String dataFolderPath);
+	
+	/**
+	 * Reads the graphs from the given cache. If they are not cached, they are
+	 * read from the files and added to the cache.
+	 * @param dataFolderPath the folder containing the versions of the dataset
+	 * @param cache the cache of the dataset or null if no cache should be used
+	 * @return the graphs of the versions
+	 */
+	public ColouredGraph[] readGraphsFromFiles(String dataFolderPath, ArtifactCache cache);
+	
+	/**
+	 * Creates the cache of the given data whose key depends on the content of
+	 * the input files of the dataset.
+	 * @param dataFolderPath the folder containing the versions of the dataset
+	 * @param cacheFolder the root folder of the cache
+	 * @return the cache or null if the input files can not be hashed
+	 */
+	public ArtifactCache createArtifactCache(String dataFolderPath, File cacheFolder);
 	public String writeGraphsToFile(ColouredGraph grph);
 	
 	/**
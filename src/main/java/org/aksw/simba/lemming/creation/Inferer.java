@@ -53,6 +53,18 @@ public class Inferer {
 
 	private Set<OntProperty> ontProperties;
 
+	/**
+	 * The domains and ranges of the representative properties. They are
+	 * collected from the ontology when the inferer is created, i.e., the
+	 * inference does not have to read the ontology model and can be carried out
+	 * by several threads at the same time.
+	 */
+	private Map<OntProperty, List<OntResource>> domains;
+
+	private Map<OntProperty, List<OntResource>> ranges;
+
+	private GraphMaterializer materializer;
+
 	public Inferer(boolean isMat, @Nonnull OntModel ontModel) {
 		this.isMat = isMat;
 		this.ontModel = ontModel;
@@ -65,6 +77,7 @@ public class Inferer {
 		this.ontProperties = ontModel.listAllOntProperties().toSet();
 		Map<OntProperty, Set<OntProperty>> propertiesEquiSetMap = searchEquivalents(this.ontProperties);
 		propertyEquiMap = findRepresentationAndDR(propertiesEquiSetMap);
+		createIndex();
 	}
 
 	public Inferer(boolean isMat, @Nonnull String filePath, @Nullable String fileType, Map<String, String> rdfsFilesMap) {
@@ -82,6 +95,29 @@ public class Inferer {
 		this.ontProperties = ontModel.listAllOntProperties().toSet();
 		Map<OntProperty, Set<OntProperty>> propertiesEquiSetMap = searchEquivalents(this.ontProperties);
 		propertyEquiMap = findRepresentationAndDR(propertiesEquiSetMap);
+		createIndex();
+	}
+
+	/**
+	 * Collects the domains and ranges of the representative properties and
+	 * identifies the properties used for the materialization.
+	 */
+	private void createIndex() {
+		domains = new HashMap<>();
+		ranges = new HashMap<>();
+		for (OntProperty representation : new HashSet<>(propertyEquiMap.values())) {
+			List<OntResource> propertyDomains = new ArrayList<>();
+			for (OntResource domain : representation.listDomain().toList()) {
+				if (!domain.isAnon()) {
+					propertyDomains.add(domain);
+				}
+			}
+			domains.put(representation, propertyDomains);
+			ranges.put(representation, new ArrayList<OntResource>(representation.listRange().toList()));
+		}
+		if (isMat) {
+			materializer = new GraphMaterializer(this.ontProperties);
+		}
 	}
 
 	public Map<OntClass, OntClass> getClassEquiMap(){
@@ -93,7 +129,9 @@ public class Inferer {
 
 	/**
 	 * This method creates a new model with all the statements as sourceModel and
-	 * goes on to populate it further with inferred triples
+	 * goes on to populate it further with inferred triples. The source model is
+	 * not changed and the method can be called by several threads at the same
+	 * time.
 	 * 
 	 * @param sourceModel RDF Model where we want the inference to take place
 	 * @return The new model with the same triples as the sourceModel plus the
@@ -105,24 +143,7 @@ public class Inferer {
 		Set<Resource> set = extractUniqueResources(newModel);
 
 		if(isMat) {
-			GraphMaterializer materializer = new GraphMaterializer(this.ontProperties);
-			long curSize;
-			long newSize;
-			do{
-				curSize = newModel.size();
-
-				List<Statement> symmetricStmts = materializer.deriveSymmetricStatements(newModel);
-				List<Statement> transitiveStmts = materializer.deriveTransitiveStatements(newModel);
-				List<Statement> inverseStmts = materializer.deriveInverseStatements(newModel);
-					
-				newModel.add(symmetricStmts);
-				newModel.add(transitiveStmts);
-				newModel.add(inverseStmts);
-
-				newSize = newModel.size();
-
-			//if the model doesn't grow, terminate the loop
-			}while(curSize != newSize);
+			materializer.materialize(newModel);
 		}
 
 		// uniform the names of properties and infer type statements
@@ -227,14 +248,11 @@ public class Inferer {
 				ModelUtil.replaceStatement(model, statement,
 						ResourceFactory.createStatement(subject, newPredicate, object));
 			}
-			for (OntResource domain : representation.listDomain().toList()) {
-				Statement subjNewStmt = ResourceFactory.createStatement(subject, RDF.type, domain);
-				if (!domain.isAnon()) {
-					newStmts.add(subjNewStmt);
-				}
+			for (OntResource domain : domains.get(representation)) {
+				newStmts.add(ResourceFactory.createStatement(subject, RDF.type, domain));
 			}
 			if (object.isResource()) {
-				for (OntResource range : representation.listRange().toList()) {
+				for (OntResource range : ranges.get(representation)) {
 					Statement objNewStmt = ResourceFactory.createStatement(object.asResource(), RDF.type, range);
 					newStmts.add(objNewStmt);
 				}
@@ -5,6 +5,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.apache.jena.ontology.OntModel;
@@ -17,13 +20,50 @@ public class LinkedGeoDataset extends AbstractDatasetManager implements IDataset
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(LinkedGeoDataset.class);
 
+	private static final String[] ONTOLOGY_FILES = { "lgeo/foaf.ttl", "lgeo/skos.ttl", "lgeo/purl_dcterms.ttl",
+			"lgeo/owl.ttl", "lgeo/terms.ttl", "lgeo/wgs84_pos.ttl", "lgeo/2014-09-09-ontology.sorted.nt",
+			"lgeo/geosparql.ttl", "lgeo/geovocab_geometry.ttl", "lgeo/geovocab_spatial.ttl",
+			"lgeo/LGD-Dump-110406-Ontology.nt", "lgeo/rdfs-ns-void.rdf", "lgeo/custom_ontology.nt" };
+
 	public LinkedGeoDataset() {
 		super("LinkedGeo");
 	}
 
+	@Override
+	protected List<File> getInputFiles(String dataFolderPath) {
+		List<File> inputs = super.getInputFiles(dataFolderPath);
+		// the ontologies are part of the inputs, too
+		inputs.addAll(getOntologyFiles());
+		return inputs;
+	}
+
+	/**
+	 * @return the files the ontology is read from
+	 */
+	private static List<File> getOntologyFiles() {
+		List<File> files = new ArrayList<File>();
+		files.add(getResourceFile("22-rdf-syntax-ns"));
+		files.add(getResourceFile("rdf-schema"));
+		for (String fileName : ONTOLOGY_FILES) {
+			files.add(getResourceFile(fileName));
+		}
+		return files;
+	}
+
+	private static OntModel readOntology() {
+		OntModel ontModel = ModelFactory.createOntologyModel();
+		ontModel.getDocumentManager().setProcessImports(false);
+		ontModel.read("22-rdf-syntax-ns", "TTL");
+		ontModel.read("rdf-schema", "TTL");
+		for (String fileName : ONTOLOGY_FILES) {
+			ontModel.read(fileName);
+		}
+		return ontModel;
+	}
+
 	@Override
 	public ColouredGraph[] readGraphsFromFiles(String dataFolderPath) {
-		List<ColouredGraph> graphs = new ArrayList<ColouredGraph>();
+		ColouredGraph[] graphs = new ColouredGraph[0];
 		GraphCreator creator = new GraphCreator();
 
 		File folder = new File(dataFolderPath);
@@ -32,45 +72,23 @@ public class LinkedGeoDataset extends AbstractDatasetManager implements IDataset
 			// sort ascendently
 			Collections.sort(lstSortedFilesByName);
 
-			OntModel ontModel = ModelFactory.createOntologyModel();
-			ontModel.getDocumentManager().setProcessImports(false);
-			ontModel.read("22-rdf-syntax-ns", "TTL");
-			ontModel.read("rdf-schema", "TTL");
-			ontModel.read("lgeo/foaf.ttl");
-			ontModel.read("lgeo/skos.ttl");
-			ontModel.read("lgeo/purl_dcterms.ttl");
-			ontModel.read("lgeo/owl.ttl");
-			ontModel.read("lgeo/terms.ttl");
-			ontModel.read("lgeo/wgs84_pos.ttl");
-			ontModel.read("lgeo/2014-09-09-ontology.sorted.nt");
-			ontModel.read("lgeo/geosparql.ttl");
-			ontModel.read("lgeo/geovocab_geometry.ttl");
-			ontModel.read("lgeo/geovocab_spatial.ttl");
-			ontModel.read("lgeo/LGD-Dump-110406-Ontology.nt");
-			ontModel.read("lgeo/rdfs-ns-void.rdf");
-			ontModel.read("lgeo/custom_ontology.nt");
-
-			Inferer inferer = new Inferer(true, ontModel);
-			for (String fileName : lstSortedFilesByName) {
-				File file = new File(dataFolderPath + "/" + fileName);
-
-				if (file != null && file.isDirectory() && file.getTotalSpace() > 0) {
-					Model geoModel = ModelFactory.createDefaultModel();
-					for (File subFile : file.listFiles()) {
-						// read file to model
-						geoModel.read(subFile.getAbsolutePath(), "TTL");
-					}
-					LOGGER.info("Read data to model - " + geoModel.size() + " triples");
-
-					// returns a new model with the added triples
-					geoModel = inferer.process(geoModel);
-					ColouredGraph graph = creator.processModel(geoModel);
-					if (graph != null) {
-						LOGGER.info("Generated graph of " + geoModel.size() + " triples");
-						graphs.add(graph);
-						//break;
+			// the ontology is only read if its compiled version is not available
+			CompiledOntology ontology = loadOntology(getOntologyFiles(), LinkedGeoDataset::readOntology);
+			CompiledInferer inferer = new CompiledInferer(true, ontology);
+			// the versions are read and inferred concurrently
+			List<Supplier<CompletableFuture<Model>>> versions = new ArrayList<Supplier<CompletableFuture<Model>>>();
+			ExecutorService executor = createLoadingPool(lstSortedFilesByName.size());
+			try {
+				for (String fileName : lstSortedFilesByName) {
+					File file = new File(dataFolderPath + "/" + fileName);
+
+					if (file != null && file.isDirectory() && file.getTotalSpace() > 0) {
+						versions.add(() -> CompletableFuture.supplyAsync(() -> readVersion(file, inferer), executor));
 					}
 				}
+				graphs = createGraphs(versions, creator);
+			} finally {
+				executor.shutdownNow();
 			}
 			
 		} else {
@@ -78,7 +96,19 @@ public class LinkedGeoDataset extends AbstractDatasetManager implements IDataset
 			System.exit(1);
 		}
 
-		return graphs.toArray(new ColouredGraph[graphs.size()]);
+		return graphs;
+	}
+
+	private static Model readVersion(File file, CompiledInferer inferer) {
+		Model geoModel = ModelFactory.createDefaultModel();
+		for (File subFile : file.listFiles()) {
+			// read file to model
+			geoModel.read(subFile.getAbsolutePath(), "TTL");
+		}
+		LOGGER.info("Read data to model - " + geoModel.size() + " triples");
+
+		// returns a new model with the added triples
+		return inferer.process(geoModel);
 	}
 	
 //	public static void main(String[] args) {
@@ -7,6 +7,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.apache.jena.ontology.OntModel;
@@ -24,10 +27,35 @@ public class PersonGraphDataset extends AbstractDatasetManager implements IDatas
 		super("PersonGraph");
 	}
 	
+	/**
+	 * @return the map from the file names of the versions to the full paths of
+	 *         their ontologies
+	 */
+	private static Map<String, String> createModelOntMap() {
+		//key needs only the file name, whereas value needs the full path to the corresponding Ontology
+		Map<String, String> modelOntMap = new HashMap<>();
+		modelOntMap.put("outputfile_2015-2004.ttl", "dbpedia_2015-04.owl");
+		modelOntMap.put("outputfile_2015-2010.ttl", "dbpedia_2015-10.owl");
+		modelOntMap.put("outputfile_2016-2004.ttl", "dbpedia_2016-04.owl");
+		modelOntMap.put("outputfile_2016-2010.ttl", "dbpedia_2016-10.owl");
+		return modelOntMap;
+	}
+	
+	@Override
+	protected List<File> getInputFiles(String dataFolderPath) {
+		List<File> inputs = super.getInputFiles(dataFolderPath);
+		List<String> ontologyFiles = new ArrayList<String>(createModelOntMap().values());
+		Collections.sort(ontologyFiles);
+		for (String ontologyFile : ontologyFiles) {
+			inputs.add(new File(ontologyFile));
+		}
+		return inputs;
+	}
+	
 	@Override
 	public ColouredGraph[] readGraphsFromFiles(String dataFolderPath) {
 		
-		 List<ColouredGraph> graphs = new ArrayList<ColouredGraph>();
+		 ColouredGraph[] graphs = new ColouredGraph[0];
 		 GraphCreator creator = new GraphCreator();		
 		 
 		 File folder = new File(dataFolderPath);
@@ -36,44 +64,47 @@ public class PersonGraphDataset extends AbstractDatasetManager implements IDatas
 			 //sort ascendently
 			 Collections.sort(lstSortedFilesByName);
 			 
-			 //key needs only the file name, whereas value needs the full path to the corresponding Ontology
-			 Map<String, String> modelOntMap = new HashMap<>();	
-			 modelOntMap.put("outputfile_2015-2004.ttl", "dbpedia_2015-04.owl");
-			 modelOntMap.put("outputfile_2015-2010.ttl", "dbpedia_2015-10.owl");
-			 modelOntMap.put("outputfile_2016-2004.ttl", "dbpedia_2016-04.owl");
-			 modelOntMap.put("outputfile_2016-2010.ttl", "dbpedia_2016-10.owl");
+			 Map<String, String> modelOntMap = createModelOntMap();
 
-			 for (String fileName : lstSortedFilesByName) {
-				 File file = new File(dataFolderPath+"/"+fileName);
-				 
-				 if(file != null && file.isFile() && file.getTotalSpace() > 0){
-					 Model personModel = ModelFactory.createDefaultModel();
-					 //read file to model
-					 personModel.read(file.getAbsolutePath(), "TTL");
-					 LOGGER.info("Read data to model - "+ personModel.size() + " triples");			 
-
-					 OntModel ontModel = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
-					 ontModel.getDocumentManager().setProcessImports(false);
-					 ontModel.read(modelOntMap.get(fileName));
-					 ontModel.read("22-rdf-syntax-ns", "TTL");
-					 ontModel.read("rdf-schema", "TTL");
-					 Inferer inferer = new Inferer(true, ontModel);
-					 //returns a new model with the added triples
-					 personModel = inferer.process(personModel);
+			 // the versions are read and inferred concurrently
+			 List<Supplier<CompletableFuture<Model>>> versions = new ArrayList<Supplier<CompletableFuture<Model>>>();
+			 ExecutorService executor = createLoadingPool(lstSortedFilesByName.size());
+			 try {
+				 for (String fileName : lstSortedFilesByName) {
+					 File file = new File(dataFolderPath+"/"+fileName);
 					 
-					 ColouredGraph graph = creator.processModel(personModel);
-					 if (graph != null) {
-						LOGGER.info("Generated graph of " + personModel.size() + " triples");
-						graphs.add(graph);
+					 if(file != null && file.isFile() && file.getTotalSpace() > 0){
+						 String ontologyFile = modelOntMap.get(fileName);
+						 versions.add(() -> CompletableFuture.supplyAsync(() -> readVersion(file, ontologyFile), executor));
 					 }
 				 }
+				 graphs = createGraphs(versions, creator);
+			 } finally {
+				 executor.shutdownNow();
 			 }
 		 }else{
 			 LOGGER.error("Find no files in \"" + folder.getAbsolutePath() + "\". Aborting.");
              System.exit(1);
 		 }
 		 
-		 return graphs.toArray(new ColouredGraph[graphs.size()]);
+		 return graphs;
+	}
+	
+	private static Model readVersion(File file, String ontologyFile) {
+		Model personModel = ModelFactory.createDefaultModel();
+		//read file to model
+		personModel.read(file.getAbsolutePath(), "TTL");
+		LOGGER.info("Read data to model - "+ personModel.size() + " triples");
+
+		// every version has its own ontology
+		OntModel ontModel = ModelFactory.createOntologyModel(OntModelSpec.OWL_MEM);
+		ontModel.getDocumentManager().setProcessImports(false);
+		ontModel.read(ontologyFile);
+		ontModel.read("22-rdf-syntax-ns", "TTL");
+		ontModel.read("rdf-schema", "TTL");
+		Inferer inferer = new Inferer(true, ontModel);
+		//returns a new model with the added triples
+		return inferer.process(personModel);
 	}
 	
 	
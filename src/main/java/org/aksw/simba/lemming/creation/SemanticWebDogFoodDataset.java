@@ -3,11 +3,16 @@ package org.aksw.simba.lemming.creation;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.apache.jena.ontology.OntModel;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.StmtIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,15 +28,25 @@ public class SemanticWebDogFoodDataset extends AbstractDatasetManager implements
 	}
     
     @Override
-    public ColouredGraph[] readGraphsFromFiles(String dataFolderPath) {
-        Model dogFoodModel = ModelFactory.createDefaultModel();
-        
-        List<ColouredGraph> graphs = new ArrayList<ColouredGraph>();
-        ColouredGraph graph;
-        GraphCreator creator = new GraphCreator();
-        long oldModelSize;
-        File folder;
+    protected List<File> getInputFiles(String dataFolderPath) {
+        List<File> inputs = super.getInputFiles(dataFolderPath);
+        // the ontologies are part of the inputs, too
+        inputs.addAll(getOntologyFiles());
+        return inputs;
+    }
+
+    /**
+     * @return the files and folders the ontology is read from
+     */
+    private static List<File> getOntologyFiles() {
+        List<File> files = new ArrayList<File>();
+        files.add(getResourceFile("22-rdf-syntax-ns"));
+        files.add(getResourceFile("rdf-schema"));
+        files.add(new File("swdf-owls"));
+        return files;
+    }
 
+    private static OntModel readOntology() {
     	//start by loading the common ontologies to all models
         OntModel ontModel = ModelFactory.createOntologyModel();
         ontModel.getDocumentManager().setProcessImports(false);
@@ -41,53 +56,107 @@ public class SemanticWebDogFoodDataset extends AbstractDatasetManager implements
     	for (File file : ontFolder.listFiles()) {
     		ontModel.read(file.getAbsolutePath(), "TTL");
     	}
-        Inferer inferer = new Inferer(true, ontModel);
+        return ontModel;
+    }
+
+    @Override
+    public ColouredGraph[] readGraphsFromFiles(String dataFolderPath) {
+        GraphCreator creator = new GraphCreator();
+        File folder;
 
-        for (int y = START_YEAR; y <= END_YEAR; ++y) {
-        	
-            LOGGER.info("Adding year {}...", y);
-            folder = new File(dataFolderPath + Integer.toString(y));
-            if (folder.exists()) {
-                oldModelSize = dogFoodModel.size();
-                addToModel(folder, dogFoodModel);
-                if (oldModelSize < dogFoodModel.size()) {
-                    LOGGER.info("Read data. Model has {} triples. Creating graph...", dogFoodModel.size());
+        // the ontology is only read if its compiled version is not available
+        CompiledOntology ontology = loadOntology(getOntologyFiles(), SemanticWebDogFoodDataset::readOntology);
+        CompiledInferer inferer = new CompiledInferer(true, ontology);
 
-    				 //returns a new model with the added triples
-    				dogFoodModel = inferer.process(dogFoodModel);
-    				graph = creator.processModel(dogFoodModel);
-                    if (graph != null) {
-                        LOGGER.info("Generated graph." + dogFoodModel.size());
-                        graphs.add(graph);
-                    } else {
-                        LOGGER.error("Couldn't generate coloured graph.");
-                    }
-                    //break; // added for testing purposes, remove later
+        /*
+         * The files of the years are read concurrently. Every version contains
+         * the inferred model of the previous version and the files of its year,
+         * i.e., the inference runs one year after the other while the files of
+         * the next years are still read and the graphs of the previous years are
+         * created. Since every version is a copy of the previous one, only a
+         * window of years is loaded ahead of the graph creation (see
+         * createGraphs). The years are started in their order, i.e., the model
+         * of the previous year is always known when a year is started.
+         */
+        List<Supplier<CompletableFuture<Model>>> versions = new ArrayList<Supplier<CompletableFuture<Model>>>();
+        ExecutorService executor = createLoadingPool(END_YEAR - START_YEAR + 1);
+        try {
+            AtomicReference<CompletableFuture<Model>> previous = new AtomicReference<CompletableFuture<Model>>(
+                    CompletableFuture.completedFuture(ModelFactory.createDefaultModel()));
+            for (int y = START_YEAR; y <= END_YEAR; ++y) {
+                folder = new File(dataFolderPath + Integer.toString(y));
+                if (folder.exists()) {
+                    File yearFolder = folder;
+                    int year = y;
+                    versions.add(() -> {
+                        CompletableFuture<Model> previousModel = previous.get();
+                        CompletableFuture<Model> yearModel = CompletableFuture
+                                .supplyAsync(() -> readFolder(yearFolder), executor);
+                        CompletableFuture<Model> dogFoodModel = previousModel.thenCombineAsync(yearModel,
+                                (oldModel, additions) -> addYear(year, oldModel, additions, inferer), executor);
+                        previous.set(dogFoodModel);
+                        // a year that does not add anything does not create a new version
+                        return dogFoodModel.thenCombine(previousModel,
+                                (newModel, oldModel) -> (newModel == oldModel) ? null : newModel);
+                    });
                 } else {
-                    LOGGER.error("The model hasn't been grown after reading additional files.");
+                    LOGGER.error("The folder {} does not exist.", folder.toString());
                 }
-            } else {
-                LOGGER.error("The folder {} does not exist.", folder.toString());
             }
-            
-           
+            return createGraphs(versions, creator);
+        } finally {
+            executor.shutdownNow();
         }
         // try-and-error analysis of data typed literals in the current dataset.
         //LiteralDatatypeAnalyser literalAnalyser = new LiteralDatatypeAnalyser(SemanticWebDogFoodReader.class.getName());
         //literalAnalyser.analyzeDatatype(dogFoodModel);
-        
-        return graphs.toArray(new ColouredGraph[graphs.size()]);
     }
 
-    private static void addToModel(File folder, Model dogFoodModel) {
+    /**
+     * Adds the statements of a year to the model of the previous year and
+     * infers the new statements.
+     * 
+     * @return the new model or the given old model if the year does not add new
+     *         statements
+     */
+    private static Model addYear(int year, Model oldModel, Model additions, CompiledInferer inferer) {
+        LOGGER.info("Adding year {}...", year);
+        if (!containsNewStatements(oldModel, additions)) {
+            LOGGER.error("The model hasn't been grown after reading additional files.");
+            return oldModel;
+        }
+        // the old model is still read while its graph is created, i.e., it must not be changed
+        Model dogFoodModel = ModelFactory.createUnion(oldModel, additions);
+        LOGGER.info("Read data. Model has {} triples. Creating graph...", dogFoodModel.size());
+        //returns a new model with the added triples
+        return inferer.process(dogFoodModel);
+    }
+
+    private static boolean containsNewStatements(Model model, Model additions) {
+        StmtIterator iterator = additions.listStatements();
+        try {
+            while (iterator.hasNext()) {
+                if (!model.contains(iterator.next())) {
+                    return true;
+                }
+            }
+        } finally {
+            iterator.close();
+        }
+        return false;
+    }
+
+    private static Model readFolder(File folder) {
+        Model model = ModelFactory.createDefaultModel();
         for (File file : folder.listFiles()) {
             try {
-                dogFoodModel.read(file.getAbsolutePath());
+                model.read(file.getAbsolutePath());
             } catch (Exception e) {
                 LOGGER.error("Exception while reading file \"" + file.toString() + "\". Aborting.", e);
                 System.exit(1);
             }
         }
+        return model;
     }
 
 //    public static void main(String[] args) {
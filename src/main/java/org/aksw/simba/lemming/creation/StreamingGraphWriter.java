@@ -0,0 +1,364 @@
+package org.aksw.simba.lemming.creation;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.colour.ColourPalette;
+import org.aksw.simba.lemming.util.Constants;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWriter;
+import org.apache.jena.vocabulary.RDF;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.ObjectIntOpenHashMap;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Writes a {@link ColouredGraph} as RDF without creating a Jena Model. The
+ * resources get the same URIs as with the {@link GraphReverter}, i.e., the
+ * heads of rdf:type edges get the classes of their tails and all other
+ * vertices get dummy URIs. The triples are written vertex by vertex to a
+ * streaming N-Triples or Turtle writer, i.e., apart from the graph, the
+ * writer needs only an URI index per vertex and the caches of the property
+ * URIs per colour.
+ *
+ * The output can be compressed with gzip and can be split into several files
+ * that are written in parallel. Duplicate triples are written only once, like
+ * in a Jena Model. Several vertices can get the same class URI. Hence, the
+ * vertices are written grouped by their URIs, the duplicates are detected
+ * across all vertices of a group and a group is never split between two files.
+ */
+public class StreamingGraphWriter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(StreamingGraphWriter.class);
+
+	private static final String BLANK_PROPERTY_URI = "http://org.apache.jena.rdfxml/blankProp#";
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * URI index of a vertex that has a dummy URI.
+	 */
+	private static final int DUMMY_URI = -1;
+
+	protected ColouredGraph graph;
+	protected RDFFormat format = RDFFormat.TURTLE_BLOCKS;
+	protected boolean compressed = false;
+	protected int numberOfChunks = 1;
+
+	/**
+	 * The vertices in the order in which they are written, i.e., the vertices
+	 * with the same URI are next to each other
+	 */
+	protected int[] vertices;
+	/**
+	 * The index of the class URI of every vertex or {@link #DUMMY_URI}
+	 */
+	protected int[] vertexUriIds;
+	protected List<String> classUris = new ArrayList<String>();
+	/**
+	 * The URIs of the properties indexed by the IDs of the edge colours
+	 */
+	protected String[] propertyUris;
+
+	public StreamingGraphWriter(ColouredGraph graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * @param format
+	 *            the streaming format, e.g., {@link RDFFormat#NTRIPLES} or
+	 *            {@link RDFFormat#TURTLE_BLOCKS} (default)
+	 */
+	public void setFormat(RDFFormat format) {
+		this.format = format;
+	}
+
+	/**
+	 * @param compressed
+	 *            whether the files are compressed with gzip
+	 */
+	public void setCompressed(boolean compressed) {
+		this.compressed = compressed;
+	}
+
+	/**
+	 * @param numberOfChunks
+	 *            the number of files the triples are distributed to. The files
+	 *            are written in parallel.
+	 */
+	public void setNumberOfChunks(int numberOfChunks) {
+		this.numberOfChunks = Math.max(1, numberOfChunks);
+	}
+
+	/**
+	 * Writes the graph to the given file. If the graph is split into several
+	 * chunks, the number of the chunk is added to the name of every file, e.g.,
+	 * {@code graph.ttl} is written as {@code graph-0.ttl}, {@code graph-1.ttl}
+	 * and so on. If the output is compressed, {@code .gz} is appended to the
+	 * names.
+	 *
+	 * @param file
+	 *            the file the graph is written to
+	 * @return the files that have been written
+	 * @throws IOException
+	 *             if one of the files can not be written
+	 */
+	public List<File> write(File file) throws IOException {
+		assignUris();
+		List<File> files = new ArrayList<File>();
+		if (numberOfChunks == 1) {
+			files.add(getChunkFile(file, -1));
+			writeChunk(files.get(0), 0, vertices.length);
+			return files;
+		}
+		int chunkSize = (vertices.length + numberOfChunks - 1) / numberOfChunks;
+		List<CompletableFuture<Void>> chunks = new ArrayList<CompletableFuture<Void>>();
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfChunks);
+		try {
+			int nextStart = 0;
+			for (int i = 0; i < numberOfChunks; ++i) {
+				File chunkFile = getChunkFile(file, i);
+				int start = nextStart;
+				int end = getGroupEnd(Math.max(start, Math.min(vertices.length, (i + 1) * chunkSize)));
+				nextStart = end;
+				files.add(chunkFile);
+				chunks.add(CompletableFuture.runAsync(() -> {
+					try {
+						writeChunk(chunkFile, start, end);
+					} catch (IOException e) {
+						throw new CompletionException(e);
+					}
+				}, executor));
+			}
+			for (CompletableFuture<Void> chunk : chunks) {
+				chunk.join();
+			}
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			throw e;
+		} finally {
+			executor.shutdownNow();
+		}
+		return files;
+	}
+
+	/**
+	 * Moves the given end of a chunk behind the last vertex of the group of
+	 * vertices with the same URI that the end would split.
+	 */
+	protected int getGroupEnd(int end) {
+		while ((end > 0) && (end < vertices.length) && (vertexUriIds[vertices[end]] != DUMMY_URI)
+				&& (vertexUriIds[vertices[end]] == vertexUriIds[vertices[end - 1]])) {
+			++end;
+		}
+		return end;
+	}
+
+	protected File getChunkFile(File file, int chunkId) {
+		String name = file.getName();
+		if (chunkId >= 0) {
+			int index = name.lastIndexOf('.');
+			if (index > 0) {
+				name = name.substring(0, index) + "-" + chunkId + name.substring(index);
+			} else {
+				name = name + "-" + chunkId;
+			}
+		}
+		if (compressed) {
+			name = name + ".gz";
+		}
+		return new File(file.getAbsoluteFile().getParentFile(), name);
+	}
+
+	/**
+	 * Assigns the URIs to the vertices in the same order as the
+	 * {@link GraphReverter}. The head of an rdf:type edge gets one of the
+	 * classes of its tail that has not been used for another rdf:type edge of
+	 * the tail. All other vertices keep their dummy URIs. Afterwards, the
+	 * vertices are sorted by their URIs.
+	 */
+	protected void assignUris() {
+		vertices = graph.getVertices().toIntArray();
+		int vertexIdRange = 0;
+		for (int vertex : vertices) {
+			vertexIdRange = Math.max(vertexIdRange, vertex + 1);
+		}
+		vertexUriIds = new int[vertexIdRange];
+		Arrays.fill(vertexUriIds, DUMMY_URI);
+		boolean[] assigned = new boolean[vertexIdRange];
+		createPropertyUris();
+
+		ObjectIntOpenHashMap<String> classUriIds = new ObjectIntOpenHashMap<String>();
+		IntArrayList edgeColourIds = graph.getEdgeColourIds();
+		String typeUri = RDF.type.getURI();
+		for (int tId : vertices) {
+			int[] outEdges = graph.getOutEdges(tId).toIntArray();
+			Set<String> setOfClassURIs = null;
+			for (int oeId : outEdges) {
+				int hId = graph.getHeadOfTheEdge(oeId);
+				if (!assigned[hId] && typeUri.equals(getPropertyUri(edgeColourIds.getInt(oeId)))) {
+					if (setOfClassURIs == null) {
+						setOfClassURIs = new HashSet<String>(graph.getResourceClass(graph.getVertexColour(tId)));
+					}
+					if (setOfClassURIs.size() > 0) {
+						String classUri = setOfClassURIs.iterator().next();
+						setOfClassURIs.remove(classUri);
+						if (!classUriIds.containsKey(classUri)) {
+							classUriIds.put(classUri, classUris.size());
+							classUris.add(classUri);
+						}
+						// the tail of a self loop keeps its dummy URI
+						if (hId != tId) {
+							vertexUriIds[hId] = classUriIds.get(classUri);
+						}
+					}
+				}
+				assigned[tId] = true;
+				assigned[hId] = true;
+			}
+		}
+		groupVerticesByUri();
+	}
+
+	/**
+	 * Sorts the vertices stably by the IDs of their URIs with a counting sort,
+	 * i.e., the vertices with dummy URIs come first and keep their order.
+	 */
+	protected void groupVerticesByUri() {
+		int[] offsets = new int[classUris.size() + 2];
+		for (int vertex : vertices) {
+			++offsets[vertexUriIds[vertex] + 2];
+		}
+		for (int i = 1; i < offsets.length; ++i) {
+			offsets[i] += offsets[i - 1];
+		}
+		int[] groupedVertices = new int[vertices.length];
+		for (int vertex : vertices) {
+			groupedVertices[offsets[vertexUriIds[vertex] + 1]++] = vertex;
+		}
+		vertices = groupedVertices;
+	}
+
+	protected void createPropertyUris() {
+		IntArrayList edgeColourIds = graph.getEdgeColourIds();
+		int maxColourId = -1;
+		for (int i = 0; i < edgeColourIds.size(); ++i) {
+			maxColourId = Math.max(maxColourId, edgeColourIds.getInt(i));
+		}
+		propertyUris = new String[maxColourId + 1];
+		for (int i = 0; i < edgeColourIds.size(); ++i) {
+			int colourId = edgeColourIds.getInt(i);
+			if ((colourId != ColourPalette.NO_COLOUR_ID) && (propertyUris[colourId] == null)) {
+				String propURI = graph.getPropertyURI(graph.getEdgeColour(i));
+				if (propURI == null || propURI.isEmpty()) {
+					propURI = BLANK_PROPERTY_URI;
+					LOGGER.warn("the property's URI is null or empty!");
+				}
+				propertyUris[colourId] = propURI;
+			}
+		}
+	}
+
+	protected String getPropertyUri(int colourId) {
+		return (colourId == ColourPalette.NO_COLOUR_ID) ? BLANK_PROPERTY_URI : propertyUris[colourId];
+	}
+
+	protected Node getVertexNode(int vId) {
+		String uri = (vertexUriIds[vId] == DUMMY_URI) ? graph.getResourceDummyURI(vId)
+				: classUris.get(vertexUriIds[vId]);
+		if (uri == null || uri.isEmpty()) {
+			uri = Constants.SIMULATED_BLANK_OBJECT_RESOURCE;
+			LOGGER.warn("the object's URI is null or empty!");
+		}
+		return NodeFactory.createURI(uri);
+	}
+
+	/**
+	 * Writes the triples of the vertices in the given range of
+	 * {@link #vertices} to the given file. The written triples of a subject are
+	 * kept until the next vertex has a different URI.
+	 */
+	protected void writeChunk(File file, int start, int end) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+				OutputStream out = createOutputStream(channel)) {
+			StreamRDF writer = StreamRDFWriter.getWriterStream(out, format);
+			writer.start();
+			IntArrayList edgeColourIds = graph.getEdgeColourIds();
+			Set<Triple> subjectTriples = new HashSet<Triple>();
+			Node[] propertyNodes = new Node[propertyUris.length];
+			Node lastSubject = null;
+			for (int i = start; i < end; ++i) {
+				int tId = vertices[i];
+				Node subject = getVertexNode(tId);
+				if (!subject.equals(lastSubject)) {
+					subjectTriples.clear();
+					lastSubject = subject;
+				}
+				for (int oeId : graph.getOutEdges(tId).toIntArray()) {
+					int colourId = edgeColourIds.getInt(oeId);
+					Node property;
+					if (colourId == ColourPalette.NO_COLOUR_ID) {
+						property = NodeFactory.createURI(BLANK_PROPERTY_URI);
+					} else {
+						if (propertyNodes[colourId] == null) {
+							propertyNodes[colourId] = NodeFactory.createURI(propertyUris[colourId]);
+						}
+						property = propertyNodes[colourId];
+					}
+					Triple triple = Triple.create(subject, property, getVertexNode(graph.getHeadOfTheEdge(oeId)));
+					if (subjectTriples.add(triple)) {
+						writer.triple(triple);
+					}
+				}
+				Map<BitSet, List<String>> mapDTEColoursToLiterals = graph.getMapDTEdgeColoursToLiterals(tId);
+				if (mapDTEColoursToLiterals != null) {
+					for (Map.Entry<BitSet, List<String>> entry : mapDTEColoursToLiterals.entrySet()) {
+						Node property = NodeFactory.createURI(graph.getDataTypedPropertyURI(entry.getKey()));
+						for (String literal : entry.getValue()) {
+							Triple triple = Triple.create(subject, property, NodeFactory.createLiteral(literal));
+							if (subjectTriples.add(triple)) {
+								writer.triple(triple);
+							}
+						}
+					}
+				}
+			}
+			writer.finish();
+		}
+	}
+
+	protected OutputStream createOutputStream(FileChannel channel) throws IOException {
+		OutputStream out = Channels.newOutputStream(channel);
+		if (compressed) {
+			return new GZIPOutputStream(out, BUFFER_SIZE);
+		}
+		return new BufferedOutputStream(out, BUFFER_SIZE);
+	}
+}
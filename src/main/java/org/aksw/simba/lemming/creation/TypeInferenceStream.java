@@ -0,0 +1,127 @@
+package org.aksw.simba.lemming.creation;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.riot.system.StreamRDFWrapper;
+import org.apache.jena.sparql.core.Quad;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+
+import com.carrotsearch.hppc.LongOpenHashSet;
+import com.carrotsearch.hppc.ObjectIntOpenHashMap;
+
+/**
+ * Applies the type inference of the {@link Inferer} with the tables of a
+ * {@link CompiledOntology} to a stream of triples in a single pass. Every
+ * triple is forwarded to the wrapped stream after its predicate and its
+ * classes have been replaced by their representatives. In addition, the types
+ * derived from the domains and ranges of the predicate are forwarded. Every
+ * inferred type triple is forwarded only once. To this end, the typed resources
+ * get dense IDs and the inferred types are kept as pairs of resource and class
+ * ID packed into a long.
+ *
+ * The materialization of symmetric, transitive and inverse properties needs
+ * the complete graph and is not supported by the stream.
+ */
+public class TypeInferenceStream extends StreamRDFWrapper {
+
+	private static final String RDF_CONTAINER_MEMBERSHIP_PREFIX = RDF.getURI() + "_";
+
+	protected CompiledOntology ontology;
+	/**
+	 * The nodes of the representative classes and properties
+	 */
+	protected Node[] classNodes;
+	protected Node[] propertyNodes;
+	/**
+	 * The IDs of the resources that got an inferred type
+	 */
+	protected ObjectIntOpenHashMap<Node> resourceIds = new ObjectIntOpenHashMap<Node>();
+	/**
+	 * The inferred types as (resource ID &lt;&lt; 32) | class ID
+	 */
+	protected LongOpenHashSet inferredTypes = new LongOpenHashSet();
+
+	public TypeInferenceStream(StreamRDF sink, CompiledOntology ontology) {
+		super(sink);
+		this.ontology = ontology;
+		classNodes = new Node[ontology.getNumberOfClasses()];
+		for (int i = 0; i < classNodes.length; ++i) {
+			classNodes[i] = NodeFactory.createURI(ontology.getClassUri(ontology.getClassRepresentative(i)));
+		}
+		propertyNodes = new Node[ontology.getNumberOfProperties()];
+		for (int i = 0; i < propertyNodes.length; ++i) {
+			propertyNodes[i] = NodeFactory.createURI(ontology.getPropertyUri(ontology.getPropertyRepresentative(i)));
+		}
+	}
+
+	@Override
+	public void triple(Triple triple) {
+		Node subject = renameClass(triple.getSubject());
+		Node predicate = triple.getPredicate();
+		Node object = renameClass(triple.getObject());
+
+		if (isContainerMembershipProperty(predicate)) {
+			predicate = RDFS.member.asNode();
+		}
+		int propertyId = ontology.getPropertyId(predicate.getURI());
+		if (propertyId >= 0) {
+			predicate = propertyNodes[propertyId];
+			for (int domain : ontology.getDomains(propertyId)) {
+				addType(subject, domain);
+			}
+			if (!object.isLiteral()) {
+				for (int range : ontology.getRanges(propertyId)) {
+					addType(object, range);
+				}
+			}
+		}
+		super.triple(Triple.create(subject, predicate, object));
+	}
+
+	@Override
+	public void quad(Quad quad) {
+		triple(quad.asTriple());
+	}
+
+	protected void addType(Node resource, int classId) {
+		int resourceId;
+		if (resourceIds.containsKey(resource)) {
+			resourceId = resourceIds.lget();
+		} else {
+			resourceId = resourceIds.size();
+			resourceIds.put(resource, resourceId);
+		}
+		// equivalent classes share their node and are inferred only once
+		int representative = ontology.getClassRepresentative(classId);
+		if (inferredTypes.add((((long) resourceId) << 32) | representative)) {
+			super.triple(Triple.create(resource, RDF.type.asNode(), classNodes[representative]));
+		}
+	}
+
+	protected Node renameClass(Node node) {
+		if (node.isURI()) {
+			int classId = ontology.getClassId(node.getURI());
+			if (classId >= 0) {
+				return classNodes[classId];
+			}
+		}
+		return node;
+	}
+
+	private static boolean isContainerMembershipProperty(Node predicate) {
+		String uri = predicate.getURI();
+		if (!uri.startsWith(RDF_CONTAINER_MEMBERSHIP_PREFIX)
+				|| (uri.length() == RDF_CONTAINER_MEMBERSHIP_PREFIX.length())) {
+			return false;
+		}
+		for (int i = RDF_CONTAINER_MEMBERSHIP_PREFIX.length(); i < uri.length(); ++i) {
+			if (!Character.isDigit(uri.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
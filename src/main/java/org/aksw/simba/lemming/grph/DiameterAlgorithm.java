@@ -1,10 +1,11 @@
 package org.aksw.simba.lemming.grph;
 
-import java.util.Collections;
+import java.util.Arrays;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.IColouredGraph;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
+import org.aksw.simba.lemming.util.NeighbourArrays;
 
 import grph.Grph;
 import grph.GrphAlgorithm;
@@ -30,11 +31,6 @@ public class DiameterAlgorithm extends GrphAlgorithm<Integer> {
 
     private static final long serialVersionUID = 1L;
 
-    /**
-     * The path between the end nodes of the diameter
-     */
-    private ArrayListPath diameterPath = null;
-
     @Override
     public Integer compute(Grph graph) {
         if (graph.isNull()) {
@@ -65,43 +61,261 @@ public class DiameterAlgorithm extends GrphAlgorithm<Integer> {
     }
 
     public int performSearch(final IColouredGraph g, IntSet sources) {
-        return performSearch(g, Grph.DIRECTION.out, sources);
+        return searchDiameter(g, sources).getLength();
+    }
+
+    /**
+     * Computes the diameter of the given graph together with its path. In
+     * contrast to {@link #compute(Grph)}, the result is not cached.
+     * 
+     * @param g
+     *            the graph
+     * @return the diameter and its path
+     * @throws IllegalStateException
+     *             if the graph is null or not connected
+     */
+    public Diameter computeDiameter(ColouredGraph g) {
+        Grph graph = g.getGraph();
+        if (graph.isNull()) {
+            throw new IllegalStateException("cannot compute the diameter of a null graph");
+        }
+        if (graph.isTrivial()) {
+            return new Diameter(0, null);
+        }
+        if (!graph.isConnected()) {
+            throw new IllegalStateException("cannot compute the diameter of a non-connected graph");
+        }
+        // computes and cache the neighbourhoods before the threads are started
+        g.getOutNeighborhoodsArray();
+        return searchDiameter(g, g.getVertices());
+    }
+
+    /**
+     * Searches the longest shortest path starting at one of the given sources.
+     * If all vertices are sources and the graph is strongly connected, the
+     * search is pruned (see {@link #performBoundedSearch(IColouredGraph)}).
+     * 
+     * @return the diameter and its path
+     */
+    public Diameter searchDiameter(final IColouredGraph g, IntSet sources) {
+        if (sources.size() == g.getVertices().size()) {
+            // the search from all vertices can be pruned if the graph is strongly
+            // connected
+            Diameter diameter = performBoundedSearch(g);
+            if (diameter != null) {
+                return diameter;
+            }
+        }
+        return searchDiameter(g, Grph.DIRECTION.out, sources);
     }
 
-    protected int performSearch(final IColouredGraph g, final Grph.DIRECTION d, IntSet sources) {
-        final ArrayListPath[] paths = new ArrayListPath[Collections.max(sources) + 1];
-        new MultiThreadProcessing(g.getVertices()) {
+    /**
+     * Searches from all given sources and returns the largest distance found.
+     * The buffers of the breadth-first searches are reused by every thread and
+     * the path is only created for the source with the largest eccentricity.
+     */
+    protected Diameter searchDiameter(final IColouredGraph g, final Grph.DIRECTION d, IntSet sources) {
+        final NeighbourArrays adj = g.getNeighbourArrays(d);
+        final int[] eccentricities = new int[adj.size()];
+        final ThreadLocal<BreadthFirstSearch> searches = ThreadLocal
+                .withInitial(() -> new BreadthFirstSearch(adj.size()));
+        new MultiThreadProcessing(sources) {
 
             @Override
             protected void run(int threadID, int source) {
-                paths[source] = performSearchInThread(g, source, d, null);
+                eccentricities[source] = searches.get().search(adj, source);
             }
         };
 
         int max = 0;
-        for (int i = 0; i < paths.length; ++i) {
-            int len = 0;
-            try {
-                len = paths[i].getLength();
-            } catch (NullPointerException e) {
-                // The nodes with no in-degree will not have any path terminating in them. Their
-                // path will be null and will raise this exception
+        int bestSource = -1;
+        for (int i = 0; i < eccentricities.length; ++i) {
+            if (eccentricities[i] > max) {
+                max = eccentricities[i];
+                bestSource = i;
+            }
+        }
+        return new Diameter(max, (bestSource >= 0) ? performSearchInThread(g, bestSource, d, null) : null);
+    }
+
+    /**
+     * Computes the diameter of a strongly connected graph with the DiFUB
+     * algorithm of Crescenzi et al. ("On computing the diameter of real-world
+     * directed (and undirected) graphs", 2013). The eccentricities of the
+     * vertices are computed level by level starting with the vertices that are
+     * farthest from a central vertex u. Since the distance of two vertices is at
+     * most the sum of their distances to and from u, the search terminates as
+     * soon as the lower bound exceeds twice the distance of the remaining
+     * levels.
+     * 
+     * @param g
+     *            the graph
+     * @return the diameter or null if the graph is not strongly connected
+     */
+    public Diameter performBoundedSearch(IColouredGraph g) {
+        return performBoundedSearch(g, null);
+    }
+
+    /**
+     * Computes the diameter of a strongly connected graph with the DiFUB
+     * algorithm (see {@link #performBoundedSearch(IColouredGraph)}) starting
+     * with the given lower bound, e.g., a path that has been found by a single
+     * search. A higher lower bound lets the search terminate earlier.
+     * 
+     * @param g
+     *            the graph
+     * @param knownPath
+     *            a shortest path of the graph or null
+     * @return the diameter or null if the graph is not strongly connected
+     */
+    public Diameter performBoundedSearch(IColouredGraph g, Diameter knownPath) {
+        NeighbourArrays out = g.getNeighbourArrays(Grph.DIRECTION.out);
+        NeighbourArrays in = g.getNeighbourArrays(Grph.DIRECTION.in);
+        int numberOfVertices = g.getVertices().size();
+        if (numberOfVertices == 0) {
+            return null;
+        }
+        BreadthFirstSearch forward = new BreadthFirstSearch(out.size());
+        BreadthFirstSearch backward = new BreadthFirstSearch(in.size());
+        int u = getVertexWithHighestDegree(out);
+        int forwardEcc = forward.search(out, u);
+        if (forward.getNumberOfVisitedVertices() != numberOfVertices) {
+            return null;
+        }
+        int[] forwardOrder = forward.getVisitOrder();
+        int[] forwardLevels = forward.getLevelOffsets(forwardEcc);
+        int backwardEcc = backward.search(in, u);
+        if (backward.getNumberOfVisitedVertices() != numberOfVertices) {
+            return null;
+        }
+        int[] backwardOrder = backward.getVisitOrder();
+        int[] backwardLevels = backward.getLevelOffsets(backwardEcc);
+
+        int level = Math.max(forwardEcc, backwardEcc);
+        int lowerBound = level;
+        int bestSource = (forwardEcc >= backwardEcc) ? u : backward.getFarthestVertex();
+        if ((knownPath != null) && (knownPath.getLength() > lowerBound)) {
+            lowerBound = knownPath.getLength();
+            // the known path is the result as long as no longer path is found
+            bestSource = -1;
+        }
+        int upperBound = 2 * level;
+        int ecc;
+        while (upperBound > lowerBound) {
+            // vertices at distance i from u: their distances from the other vertices
+            if (level <= forwardEcc) {
+                for (int i = forwardLevels[level]; i < forwardLevels[level + 1]; ++i) {
+                    ecc = backward.search(in, forwardOrder[i]);
+                    if (ecc > lowerBound) {
+                        lowerBound = ecc;
+                        bestSource = backward.getFarthestVertex();
+                    }
+                }
+            }
+            // vertices at distance i to u: their distances to the other vertices
+            if (level <= backwardEcc) {
+                for (int i = backwardLevels[level]; i < backwardLevels[level + 1]; ++i) {
+                    ecc = forward.search(out, backwardOrder[i]);
+                    if (ecc > lowerBound) {
+                        lowerBound = ecc;
+                        bestSource = backwardOrder[i];
+                    }
+                }
+            }
+            if (lowerBound > 2 * (level - 1)) {
+                break;
+            }
+            upperBound = 2 * (level - 1);
+            --level;
+        }
+        if (bestSource < 0) {
+            return knownPath;
+        }
+        return new Diameter(lowerBound,
+                (lowerBound > 0) ? performSearchInThread(g, bestSource, Grph.DIRECTION.out, null) : null);
+    }
+
+    /**
+     * Computes a lower bound of the diameter with a fixed number of directed
+     * double sweeps. Every sweep searches forward from the current vertex and
+     * backward from the farthest vertex found. The vertex with the largest
+     * distance to it is the start of the next sweep. In contrast to
+     * {@link #performSearch(IColouredGraph, IntSet)}, the graph does not have to
+     * be connected.
+     * 
+     * @param g
+     *            the graph
+     * @param numberOfSweeps
+     *            the maximum number of sweeps
+     * @return a lower bound of the diameter, i.e., the longest shortest path
+     *         found
+     */
+    public Diameter computeLowerBound(IColouredGraph g, int numberOfSweeps) {
+        NeighbourArrays out = g.getNeighbourArrays(Grph.DIRECTION.out);
+        NeighbourArrays in = g.getNeighbourArrays(Grph.DIRECTION.in);
+        if (g.getVertices().size() == 0) {
+            return new Diameter(0, null);
+        }
+        BreadthFirstSearch forward = new BreadthFirstSearch(out.size());
+        BreadthFirstSearch backward = new BreadthFirstSearch(in.size());
+        int u = getVertexWithHighestDegree(out);
+        int lowerBound = 0;
+        int bestSource = u;
+        int ecc;
+        for (int i = 0; i < numberOfSweeps; ++i) {
+            ecc = forward.search(out, u);
+            if (ecc > lowerBound) {
+                lowerBound = ecc;
+                bestSource = u;
+            }
+            ecc = backward.search(in, forward.getFarthestVertex());
+            int next = backward.getFarthestVertex();
+            if (ecc > lowerBound) {
+                lowerBound = ecc;
+                bestSource = next;
             }
-            if (len > max) {
-                max = len;
-                this.diameterPath = paths[i];
+            if (next == u) {
+                break;
             }
+            u = next;
         }
+        return new Diameter(lowerBound,
+                (lowerBound > 0) ? performSearchInThread(g, bestSource, Grph.DIRECTION.out, null) : null);
+    }
+
+    /**
+     * Computes the longest shortest path starting at the given vertex.
+     * 
+     * @param g
+     *            the graph
+     * @param source
+     *            the vertex the search starts from
+     * @return the path or null if no other vertex can be reached
+     */
+    public ArrayListPath computeLongestPath(IColouredGraph g, int source) {
+        return performSearchInThread(g, source, Grph.DIRECTION.out, null);
+    }
 
-        return max;
+    private static int getVertexWithHighestDegree(NeighbourArrays adj) {
+        int vertex = 0;
+        int maxDegree = ((adj.size() == 0) || (adj.get(0) == null)) ? -1 : adj.get(0).length;
+        int[] neighbours;
+        for (int v = 1; v < adj.size(); ++v) {
+            neighbours = adj.get(v);
+            if ((neighbours != null) && (neighbours.length > maxDegree)) {
+                vertex = v;
+                maxDegree = neighbours.length;
+            }
+        }
+        return vertex;
     }
 
     protected ArrayListPath performSearchInThread(IColouredGraph graph, int source, Grph.DIRECTION direction,
             GraphSearchListener listener) {
         assert graph != null;
         assert graph.getVertices().contains(source);
-        int[][] adj = graph.getNeighbors(direction);
-        int n = (int) graph.getNumberOfVertices();
+        NeighbourArrays adj = graph.getNeighbourArrays(direction);
+        int n = adj.size();
         ArrayListPath path = null;
         SearchResult r = new SearchResult(n);
         // r.source = source;
@@ -125,7 +339,7 @@ public class DiameterAlgorithm extends GrphAlgorithm<Integer> {
                 }
             }
 
-            for (int neighbor : adj[v]) {
+            for (int neighbor : adj.get(v)) {
                 // if this vertex was not yet visited
                 if (r.distances[neighbor] == -1) {
                     r.predecessors[neighbor] = v;
@@ -226,8 +440,122 @@ public class DiameterAlgorithm extends GrphAlgorithm<Integer> {
                 : path.getLength();
     }
 
-    public ArrayListPath getDiameterPath() {
-        return this.diameterPath;
+    /**
+     * The length of a diameter together with the path between its end nodes.
+     * The path is stored in reverse, i.e., its destination is the vertex the
+     * path starts from. Instances are immutable and can be shared between
+     * threads.
+     */
+    public static class Diameter {
+
+        private final int length;
+        private final ArrayListPath path;
+
+        public Diameter(int length, ArrayListPath path) {
+            this.length = length;
+            this.path = path;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * @return the path or null if the diameter is 0
+         */
+        public ArrayListPath getPath() {
+            return path;
+        }
+    }
+
+    /**
+     * A breadth-first search whose buffers are reused for all searches of a
+     * thread. Instead of resetting the distances before every search, the
+     * visited vertices are marked with the number of the current search.
+     */
+    protected static class BreadthFirstSearch {
+
+        private final int[] distances;
+        private final int[] queue;
+        private final int[] marks;
+        private int searchId = 0;
+        private int numberOfVisitedVertices = 0;
+
+        public BreadthFirstSearch(int vertexIdRange) {
+            distances = new int[vertexIdRange];
+            queue = new int[vertexIdRange];
+            marks = new int[vertexIdRange];
+        }
+
+        /**
+         * @return the eccentricity of the source, i.e., the largest distance of
+         *         a vertex that can be reached from it
+         */
+        public int search(NeighbourArrays adj, int source) {
+            if (searchId == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                searchId = 0;
+            }
+            ++searchId;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = source;
+            marks[source] = searchId;
+            distances[source] = 0;
+            int v, d;
+            int[] neighbours;
+            while (head < tail) {
+                v = queue[head++];
+                neighbours = adj.get(v);
+                if (neighbours == null) {
+                    continue;
+                }
+                d = distances[v] + 1;
+                for (int w : neighbours) {
+                    if (marks[w] != searchId) {
+                        marks[w] = searchId;
+                        distances[w] = d;
+                        queue[tail++] = w;
+                    }
+                }
+            }
+            numberOfVisitedVertices = tail;
+            return distances[queue[tail - 1]];
+        }
+
+        /**
+         * @return the last vertex visited by the last search, i.e., a vertex
+         *         with the largest distance
+         */
+        public int getFarthestVertex() {
+            return queue[numberOfVisitedVertices - 1];
+        }
+
+        public int getNumberOfVisitedVertices() {
+            return numberOfVisitedVertices;
+        }
+
+        /**
+         * @return the vertices visited by the last search sorted by their
+         *         distance
+         */
+        public int[] getVisitOrder() {
+            return Arrays.copyOf(queue, numberOfVisitedVertices);
+        }
+
+        /**
+         * @return the offsets of the distances 0 to eccentricity in the visit
+         *         order of the last search
+         */
+        public int[] getLevelOffsets(int eccentricity) {
+            int[] offsets = new int[eccentricity + 2];
+            for (int i = 0; i < numberOfVisitedVertices; ++i) {
+                offsets[distances[queue[i]] + 1]++;
+            }
+            for (int i = 0; i <= eccentricity; ++i) {
+                offsets[i + 1] += offsets[i];
+            }
+            return offsets;
+        }
     }
-    
 }
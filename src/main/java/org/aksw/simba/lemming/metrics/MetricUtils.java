@@ -65,11 +65,10 @@ public class MetricUtils {
      * @return a set of common neighbour-vertices of the two given vertices.
      */
     public static IntSet getVerticesInCommon(IColouredGraph graph, int v1, int v2) {
-        IntSet v1Neighbours = graph.getInNeighbors(v1);
-        v1Neighbours.addAll(graph.getOutNeighbors(v1));
+        // the returned neighbour sets may be read-only views
+        IntSet v1Neighbours = IntSetUtil.union(graph.getInNeighbors(v1), graph.getOutNeighbors(v1));
 
-        IntSet v2Neighbours = graph.getInNeighbors(v2);
-        v2Neighbours.addAll(graph.getOutNeighbors(v2));
+        IntSet v2Neighbours = IntSetUtil.union(graph.getInNeighbors(v2), graph.getOutNeighbors(v2));
 
         IntSet intersection = IntSetUtil.intersection(v1Neighbours, v2Neighbours);
 
@@ -1,11 +1,39 @@
 package org.aksw.simba.lemming.metrics.metricselection;
 
-import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.IColouredGraph;
 import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
 
 /**
  * @author DANISH AHMED on 8/27/2018
  */
 public interface ComplexityAwareMetric {
+
+    /**
+     * Estimates the costs of applying the metric to a graph with the given
+     * numbers of edges and vertices. The costs are the expected number of
+     * elementary steps, e.g., reading an element of a neighbourhood or looking
+     * it up in a set, including the steps for reading the graph. Hence, the
+     * complexities of exact and approximate metrics are comparable with each
+     * other and with a budget.
+     *
+     * @param edges
+     *            the number of edges of the graph
+     * @param vertices
+     *            the number of vertices of the graph
+     * @return the estimated number of steps
+     */
     public double calculateComplexity(int edges, int vertices);
+
+    /**
+     * Estimates the costs of applying the metric to the given graph on the same
+     * scale as {@link #calculateComplexity(int, int)}. By default, only the
+     * numbers of edges and vertices of the graph are taken into account.
+     *
+     * @param graph
+     *            the graph the metric would be applied to
+     * @return the estimated number of steps
+     */
+    public default double calculateComplexity(IColouredGraph graph) {
+        return calculateComplexity((int) graph.getNumberOfEdges(), (int) graph.getNumberOfVertices());
+    }
 }
@@ -8,6 +8,7 @@ import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
 import org.aksw.simba.lemming.metrics.single.TriangleMetric;
 import org.aksw.simba.lemming.metrics.single.edgetriangles.EdgeIteratorMetric;
 import org.aksw.simba.lemming.metrics.single.edgetriangles.EdgeNumberOfSimpleTrianglesMetric;
+import org.aksw.simba.lemming.metrics.single.edgetriangles.HybridIntersectionMetric;
 import org.aksw.simba.lemming.metrics.single.edgetriangles.MultiThreadedNodeNeighborsCommonEdgesMetric;
 import org.aksw.simba.lemming.metrics.single.edgetriangles.NodeIteratorMetric;
 import org.aksw.simba.lemming.metrics.single.edgetriangles.forward.ForwardEdgeTriangleMetric;
@@ -17,28 +18,62 @@ import org.aksw.simba.lemming.metrics.single.edgetriangles.forward.ForwardEdgeTr
  */
 public class EdgeTriangleMetricSelection {
 
-    public SingleValueMetric getMinComplexityMetric(IColouredGraph graph) {
-        int edges = (int) graph.getNumberOfEdges();
-        int vertices = (int) graph.getNumberOfVertices();
+    /**
+     * The complexity up to which an exact metric is chosen.
+     */
+    protected double complexityBudget = Double.POSITIVE_INFINITY;
+    /**
+     * The metric that estimates the edge triangles if no exact metric fits into
+     * the budget or null if approximate results are not accepted.
+     */
+    protected TriangleMetric approximateMetric = null;
+
+    /**
+     * Creates a selection that always chooses an exact metric.
+     */
+    public EdgeTriangleMetricSelection() {
+    }
 
+    /**
+     * Creates a selection that chooses the given approximate metric if the
+     * complexity of all exact metrics exceeds the given budget.
+     *
+     * @param complexityBudget
+     *            the maximum complexity (see
+     *            {@link ComplexityAwareMetric#calculateComplexity(IColouredGraph)})
+     *            of an exact metric
+     * @param approximateMetric
+     *            the metric estimating the edge triangles or null if only exact
+     *            results are accepted
+     */
+    public EdgeTriangleMetricSelection(double complexityBudget, TriangleMetric approximateMetric) {
+        this.complexityBudget = complexityBudget;
+        this.approximateMetric = approximateMetric;
+    }
+
+    public SingleValueMetric getMinComplexityMetric(IColouredGraph graph) {
         List<TriangleMetric> edgeTriangleMetrics = new ArrayList<>();
         edgeTriangleMetrics.add(new ForwardEdgeTriangleMetric());
         edgeTriangleMetrics.add(new EdgeIteratorMetric());
         edgeTriangleMetrics.add(new EdgeNumberOfSimpleTrianglesMetric());
         edgeTriangleMetrics.add(new NodeIteratorMetric());
         edgeTriangleMetrics.add(new MultiThreadedNodeNeighborsCommonEdgesMetric());
+        edgeTriangleMetrics.add(new HybridIntersectionMetric());
 
-        double minComplexity = Integer.MAX_VALUE;
+        double minComplexity = Double.POSITIVE_INFINITY;
         TriangleMetric minEdgeMetric = null;
 
         for (TriangleMetric metric : edgeTriangleMetrics) {
-            double complexity = metric.calculateComplexity(edges, vertices);
+            double complexity = metric.calculateComplexity(graph);
             if (complexity < minComplexity) {
                 minComplexity = complexity;
                 minEdgeMetric = null;
                 minEdgeMetric = metric;
             }
         }
+        if ((approximateMetric != null) && (minComplexity > complexityBudget)) {
+            return approximateMetric;
+        }
         return minEdgeMetric;
     }
 }
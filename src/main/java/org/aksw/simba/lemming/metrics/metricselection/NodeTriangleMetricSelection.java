@@ -7,6 +7,7 @@ import org.aksw.simba.lemming.IColouredGraph;
 import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
 import org.aksw.simba.lemming.metrics.single.TriangleMetric;
 import org.aksw.simba.lemming.metrics.single.nodetriangles.EdgeIteratorMetric;
+import org.aksw.simba.lemming.metrics.single.nodetriangles.HybridIntersectionMetric;
 import org.aksw.simba.lemming.metrics.single.nodetriangles.MultiThreadedNodeNeighborTrianglesMetric;
 import org.aksw.simba.lemming.metrics.single.nodetriangles.NodeIteratorCoreMetric;
 import org.aksw.simba.lemming.metrics.single.nodetriangles.NodeIteratorMetric;
@@ -17,28 +18,62 @@ import org.aksw.simba.lemming.metrics.single.nodetriangles.forward.ForwardNodeTr
  */
 public class NodeTriangleMetricSelection {
 
-    public SingleValueMetric getMinComplexityMetric(IColouredGraph graph) {
-        int edges = (int) graph.getNumberOfEdges();
-        int vertices = (int) graph.getNumberOfVertices();
+    /**
+     * The complexity up to which an exact metric is chosen.
+     */
+    protected double complexityBudget = Double.POSITIVE_INFINITY;
+    /**
+     * The metric that estimates the node triangles if no exact metric fits into
+     * the budget or null if approximate results are not accepted.
+     */
+    protected TriangleMetric approximateMetric = null;
+
+    /**
+     * Creates a selection that always chooses an exact metric.
+     */
+    public NodeTriangleMetricSelection() {
+    }
 
+    /**
+     * Creates a selection that chooses the given approximate metric if the
+     * complexity of all exact metrics exceeds the given budget.
+     *
+     * @param complexityBudget
+     *            the maximum complexity (see
+     *            {@link ComplexityAwareMetric#calculateComplexity(IColouredGraph)})
+     *            of an exact metric
+     * @param approximateMetric
+     *            the metric estimating the node triangles or null if only exact
+     *            results are accepted
+     */
+    public NodeTriangleMetricSelection(double complexityBudget, TriangleMetric approximateMetric) {
+        this.complexityBudget = complexityBudget;
+        this.approximateMetric = approximateMetric;
+    }
+
+    public SingleValueMetric getMinComplexityMetric(IColouredGraph graph) {
         List<TriangleMetric> nodeTriangleMetrics = new ArrayList<>();
         nodeTriangleMetrics.add(new ForwardNodeTriangleMetric());
         nodeTriangleMetrics.add(new EdgeIteratorMetric());
         nodeTriangleMetrics.add(new NodeIteratorMetric());
         nodeTriangleMetrics.add(new NodeIteratorCoreMetric());
         nodeTriangleMetrics.add(new MultiThreadedNodeNeighborTrianglesMetric());
+        nodeTriangleMetrics.add(new HybridIntersectionMetric());
 
-        double minComplexity = Integer.MAX_VALUE;
+        double minComplexity = Double.POSITIVE_INFINITY;
         TriangleMetric minNodeMetric = null;
 
         for (TriangleMetric metric : nodeTriangleMetrics) {
-            double complexity = metric.calculateComplexity(edges, vertices);
+            double complexity = metric.calculateComplexity(graph);
             if (complexity < minComplexity) {
                 minComplexity = complexity;
                 minNodeMetric = null;
                 minNodeMetric = metric;
             }
         }
+        if ((approximateMetric != null) && (minComplexity > complexityBudget)) {
+            return approximateMetric;
+        }
         return minNodeMetric;
     }
 }
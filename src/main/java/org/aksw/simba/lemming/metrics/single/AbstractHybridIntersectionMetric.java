@@ -0,0 +1,345 @@
+package org.aksw.simba.lemming.metrics.single;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.aksw.simba.lemming.IColouredGraph;
+import org.aksw.simba.lemming.metrics.AbstractMetric;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood;
+
+/**
+ * Counts triangles by intersecting the neighbourhoods of connected vertices
+ * using a hybrid representation of the neighbourhoods.
+ *
+ * The vertices are ranked by their (distinct) degree and every edge is
+ * oriented from the vertex with the lower rank to the vertex with the higher
+ * rank. The forward neighbours of a vertex are stored as sorted array of ranks.
+ * Vertices with at least {@link #degreeThreshold} forward neighbours (e.g.,
+ * hubs within a dense cluster) additionally get a word-packed bitset of their
+ * forward neighbours if this bitset does not need more words than the array
+ * has elements. A triangle u &lt; v &lt; w is counted once while intersecting
+ * the forward neighbours of u and v. For every intersection the cheapest of
+ * the following strategies is used:
+ * <ul>
+ * <li>merging the two sorted arrays,</li>
+ * <li>probing the elements of one array in the bitset of the other vertex
+ * or</li>
+ * <li>a word-wise AND of the two bitsets counted with
+ * {@link Long#bitCount(long)}.</li>
+ * </ul>
+ *
+ * The vertices are processed in parallel. If edges are counted, the triangles
+ * are weighted with the product of the numbers of edges between their
+ * vertices. In this case, bitsets are only created for vertices that have a
+ * single edge to each of their forward neighbours.
+ */
+public abstract class AbstractHybridIntersectionMetric extends AbstractMetric implements TriangleMetric {
+
+    public static final int DEFAULT_DEGREE_THRESHOLD = 64;
+
+    /**
+     * The minimum number of forward neighbours a vertex needs to get a bitset.
+     */
+    protected int degreeThreshold;
+    /**
+     * Flag whether edge triangles (true) or node triangles (false) are counted.
+     */
+    protected boolean countEdges;
+
+    public AbstractHybridIntersectionMetric(String name, boolean countEdges, int degreeThreshold) {
+        super(name);
+        this.countEdges = countEdges;
+        this.degreeThreshold = degreeThreshold;
+    }
+
+    @Override
+    public double apply(IColouredGraph graph) {
+        return new HybridNeighbourhood(graph.getNeighbourhood(), graph.getGraph().getVertices().toIntArray())
+                .countTriangles();
+    }
+
+    /**
+     * Without the degrees of the vertices, the forward neighbourhoods are
+     * bounded by sqrt(m) and an intersection with hubs is bounded by their
+     * bitsets, i.e., by the average degree and the words of the rank space.
+     */
+    @Override
+    public double calculateComplexity(int edges, int vertices) {
+        double words = (vertices + 63) / 64;
+        return vertices + (2.0 * edges)
+                + (edges * Math.min(Math.sqrt(edges), (edges / (double) vertices) + words));
+    }
+
+    /**
+     * Estimates the costs of the intersections from the degree statistics of
+     * the graph, i.e., without reading the neighbourhood. The edges are
+     * oriented like in {@link HybridNeighbourhood}, i.e., a vertex keeps about
+     * half of its neighbours as forward neighbours but never more than
+     * sqrt(2m). The intersections of an edge cost about the forward degrees of
+     * its vertices, i.e., the sum of the squared forward degrees, which is
+     * derived from the mean and the standard deviations of the in and out
+     * degrees. If the hubs can get bitsets, an intersection is additionally
+     * bounded by the average degree and the words of the rank space. In
+     * addition, the neighbourhood is read and the forward neighbours are
+     * sorted.
+     */
+    @Override
+    public double calculateComplexity(IColouredGraph graph) {
+        double vertices = graph.getNumberOfVertices();
+        double edges = graph.getNumberOfEdges();
+        if (vertices == 0) {
+            return 0;
+        }
+        // the undirected degree is the sum of the in and the out degree
+        double meanDegree = 2 * edges / vertices;
+        double stdDevDegree = graph.getStdDevInEdgeDegrees() + graph.getStdDevOutEdgeDegrees();
+        double maxForwardDegree = Math.sqrt(2 * edges);
+        double squaredForwardDegrees = Math.min(
+                vertices * ((stdDevDegree * stdDevDegree) + (meanDegree * meanDegree)) / 4,
+                edges * maxForwardDegree);
+        // on average, half of the forward neighbours follow a neighbour
+        double intersections = 1.5 * squaredForwardDegrees;
+        double words = Math.ceil(vertices / 64);
+        double maxDegree = graph.getMaxInEdgeDegrees() + graph.getMaxOutEdgeDegrees();
+        if (Math.min(maxDegree, maxForwardDegree) >= Math.max(degreeThreshold, words)) {
+            intersections = Math.min(intersections, edges * ((edges / vertices) + words));
+        }
+        double sorting = edges * Math.log((meanDegree / 2) + 1) / Math.log(2);
+        return vertices + (2 * edges) + sorting + edges + intersections;
+    }
+
+    public int getDegreeThreshold() {
+        return degreeThreshold;
+    }
+
+    /**
+     * The forward neighbourhoods of all vertices in rank space.
+     */
+    protected class HybridNeighbourhood {
+
+        /**
+         * The sorted ranks of the forward neighbours of the vertices indexed by
+         * their rank.
+         */
+        protected int[][] neighbours;
+        /**
+         * The numbers of edges to the forward neighbours or null if node
+         * triangles are counted.
+         */
+        protected int[][] multiplicities;
+        /**
+         * The bitsets of the vertices with many forward neighbours (or null).
+         * The first word of a bitset is the word {@link #offsets} of the rank
+         * space.
+         */
+        protected long[][] bitsets;
+        protected int[] offsets;
+
+        public HybridNeighbourhood(UndirectedNeighbourhood neighbourhood, int[] vertices) {
+            int numberOfVertices = vertices.length;
+            // rank the vertices by their degree (ties are broken by their id)
+            int[] order = vertices.clone();
+            Arrays.sort(order);
+            int maxDegree = 0;
+            int maxId = -1;
+            for (int vertex : order) {
+                maxDegree = Math.max(maxDegree, neighbourhood.getDegree(vertex));
+                maxId = Math.max(maxId, vertex);
+            }
+            int[] counts = new int[maxDegree + 2];
+            for (int vertex : order) {
+                counts[neighbourhood.getDegree(vertex) + 1]++;
+            }
+            for (int d = 1; d < counts.length; ++d) {
+                counts[d] += counts[d - 1];
+            }
+            int[] sorted = new int[numberOfVertices];
+            for (int vertex : order) {
+                sorted[counts[neighbourhood.getDegree(vertex)]++] = vertex;
+            }
+            int[] ranks = new int[maxId + 1];
+            for (int r = 0; r < numberOfVertices; ++r) {
+                ranks[sorted[r]] = r;
+            }
+
+            neighbours = new int[numberOfVertices][];
+            multiplicities = countEdges ? new int[numberOfVertices][] : null;
+            bitsets = new long[numberOfVertices][];
+            offsets = new int[numberOfVertices];
+            IntStream.range(0, numberOfVertices).parallel()
+                    .forEach(r -> initVertex(r, sorted[r], neighbourhood, ranks));
+        }
+
+        private void initVertex(int rank, int vertex, UndirectedNeighbourhood neighbourhood, int[] ranks) {
+            int degree = neighbourhood.getDegree(vertex);
+            int[] vertexNeighbours = neighbourhood.getNeighbours(vertex);
+            int[] vertexMultiplicities = neighbourhood.getMultiplicities(vertex);
+            int size = 0;
+            for (int i = 0; i < degree; ++i) {
+                if (ranks[vertexNeighbours[i]] > rank) {
+                    ++size;
+                }
+            }
+            int[] forward = new int[size];
+            int[] forwardMultiplicities = null;
+            boolean simple = true;
+            if (countEdges) {
+                // sort rank and multiplicity pairs
+                long[] pairs = new long[size];
+                size = 0;
+                for (int i = 0; i < degree; ++i) {
+                    if (ranks[vertexNeighbours[i]] > rank) {
+                        pairs[size++] = (((long) ranks[vertexNeighbours[i]]) << 32) | vertexMultiplicities[i];
+                    }
+                }
+                Arrays.sort(pairs);
+                forwardMultiplicities = new int[size];
+                for (int i = 0; i < size; ++i) {
+                    forward[i] = (int) (pairs[i] >>> 32);
+                    forwardMultiplicities[i] = (int) pairs[i];
+                    simple &= (forwardMultiplicities[i] == 1);
+                }
+                multiplicities[rank] = forwardMultiplicities;
+            } else {
+                size = 0;
+                for (int i = 0; i < degree; ++i) {
+                    if (ranks[vertexNeighbours[i]] > rank) {
+                        forward[size++] = ranks[vertexNeighbours[i]];
+                    }
+                }
+                Arrays.sort(forward);
+            }
+            neighbours[rank] = forward;
+
+            if (simple && (size > 0) && (size >= degreeThreshold)) {
+                int firstWord = forward[0] >>> 6;
+                int numberOfWords = (forward[size - 1] >>> 6) - firstWord + 1;
+                if (numberOfWords <= size) {
+                    long[] bitset = new long[numberOfWords];
+                    for (int r : forward) {
+                        bitset[(r >>> 6) - firstWord] |= 1L << r;
+                    }
+                    bitsets[rank] = bitset;
+                    offsets[rank] = firstWord;
+                }
+            }
+        }
+
+        /**
+         * @return the number of (node or edge) triangles
+         */
+        public long countTriangles() {
+            return IntStream.range(0, neighbours.length).parallel().mapToLong(this::countTriangles).sum();
+        }
+
+        /**
+         * Counts the triangles in which the vertex with the given rank has the
+         * lowest rank.
+         */
+        protected long countTriangles(int rank) {
+            int[] forward = neighbours[rank];
+            long count = 0;
+            long common;
+            for (int i = 0; i < forward.length; ++i) {
+                common = intersect(rank, i + 1, forward[i]);
+                if (countEdges) {
+                    common *= multiplicities[rank][i];
+                }
+                count += common;
+            }
+            return count;
+        }
+
+        /**
+         * Intersects the forward neighbours of the first vertex starting at the
+         * given position with the forward neighbours of the second vertex.
+         *
+         * @return the number of common neighbours or, if edges are counted, the
+         *         number of pairs of edges connecting the two vertices with
+         *         their common neighbours
+         */
+        protected long intersect(int first, int start, int second) {
+            int firstSize = neighbours[first].length - start;
+            int secondSize = neighbours[second].length;
+            if ((firstSize == 0) || (secondSize == 0)) {
+                return 0;
+            }
+            // estimate the costs of the different strategies
+            long mergeCosts = firstSize + secondSize;
+            long firstProbeCosts = (bitsets[second] != null) ? firstSize : Long.MAX_VALUE;
+            long secondProbeCosts = (bitsets[first] != null) ? secondSize : Long.MAX_VALUE;
+            long andCosts = Long.MAX_VALUE;
+            if ((bitsets[first] != null) && (bitsets[second] != null)) {
+                andCosts = Math.max(0,
+                        Math.min(offsets[first] + bitsets[first].length, offsets[second] + bitsets[second].length)
+                                - Math.max(offsets[first], offsets[second]));
+            }
+            long minCosts = Math.min(Math.min(mergeCosts, andCosts), Math.min(firstProbeCosts, secondProbeCosts));
+            if (minCosts == andCosts) {
+                return and(first, second);
+            } else if (minCosts == firstProbeCosts) {
+                return probe(neighbours[first], countEdges ? multiplicities[first] : null, start, second);
+            } else if (minCosts == secondProbeCosts) {
+                return probe(neighbours[second], countEdges ? multiplicities[second] : null, 0, first);
+            } else {
+                return merge(first, start, second);
+            }
+        }
+
+        private long merge(int first, int start, int second) {
+            int[] a = neighbours[first];
+            int[] b = neighbours[second];
+            int i = start;
+            int j = 0;
+            long common = 0;
+            while ((i < a.length) && (j < b.length)) {
+                if (a[i] < b[j]) {
+                    ++i;
+                } else if (a[i] > b[j]) {
+                    ++j;
+                } else {
+                    common += countEdges ? ((long) multiplicities[first][i] * multiplicities[second][j]) : 1;
+                    ++i;
+                    ++j;
+                }
+            }
+            return common;
+        }
+
+        /**
+         * Probes the given ranks in the bitset of the given vertex. The
+         * vertices with a bitset have a single edge to each of their forward
+         * neighbours.
+         */
+        private long probe(int[] ranks, int[] rankMultiplicities, int start, int bitsetVertex) {
+            long[] bitset = bitsets[bitsetVertex];
+            int offset = offsets[bitsetVertex];
+            long common = 0;
+            int word;
+            for (int i = start; i < ranks.length; ++i) {
+                word = (ranks[i] >>> 6) - offset;
+                if ((word >= 0) && (word < bitset.length) && ((bitset[word] & (1L << ranks[i])) != 0)) {
+                    common += (rankMultiplicities == null) ? 1 : rankMultiplicities[i];
+                }
+            }
+            return common;
+        }
+
+        /**
+         * ANDs the bitsets of the two vertices. Since the second vertex is a
+         * forward neighbour of the first vertex, their common forward
+         * neighbours have a higher rank than the second vertex.
+         */
+        private long and(int first, int second) {
+            long[] a = bitsets[first];
+            long[] b = bitsets[second];
+            int from = Math.max(offsets[first], offsets[second]);
+            int to = Math.min(offsets[first] + a.length, offsets[second] + b.length);
+            long common = 0;
+            for (int w = from; w < to; ++w) {
+                common += Long.bitCount(a[w - offsets[first]] & b[w - offsets[second]]);
+            }
+            return common;
+        }
+    }
+}
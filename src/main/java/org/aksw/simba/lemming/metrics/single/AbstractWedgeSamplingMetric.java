@@ -0,0 +1,202 @@
+package org.aksw.simba.lemming.metrics.single;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.aksw.simba.lemming.IColouredGraph;
+import org.aksw.simba.lemming.metrics.AbstractMetric;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood;
+
+/**
+ * Estimates a triangle metric by sampling wedges, i.e., paths of length two
+ * v1 - c - v2 with a center c and two distinct neighbours v1 and v2 of c, as
+ * proposed by Seshadhri et al. (see below).
+ *
+ * A graph with the (distinct) vertex degrees d(c) has W = &sum; d(c)(d(c)-1)/2
+ * wedges. Every triangle closes exactly three of them. Wedges are drawn
+ * uniformly at random and weighted by
+ * {@link #getWedgeWeight(UndirectedNeighbourhood, int, int, int)}, e.g., 1 if
+ * the wedge is closed and 0 otherwise. Hence, W / 3 times the average weight
+ * of the sampled wedges is an unbiased estimate of the metric. The confidence
+ * interval is based on the normal approximation of the average using the
+ * sample variance.
+ *
+ * The samples are drawn in fixed chunks of {@link #CHUNK_SIZE} wedges. Every
+ * chunk has its own random number generator derived from the seed and the
+ * chunks are processed in parallel. Hence, the result only depends on the seed
+ * and the number of samples but not on the number of threads.
+ *
+ * @see <a href=
+ *      "https://doi.org/10.1137/1.9781611972832.2">Seshadhri, Pinar, Kolda:
+ *      Triadic Measures on Graphs: The Power of Wedge Sampling</a>
+ */
+public abstract class AbstractWedgeSamplingMetric extends AbstractMetric implements TriangleMetric {
+
+    public static final int DEFAULT_NUMBER_OF_SAMPLES = 1000000;
+    public static final double DEFAULT_CONFIDENCE = 0.95;
+    public static final long DEFAULT_SEED = 0;
+
+    protected static final int CHUNK_SIZE = 1 << 14;
+
+    /**
+     * The number of wedges that are sampled.
+     */
+    protected int numberOfSamples;
+    /**
+     * The confidence level of the reported interval.
+     */
+    protected double confidence;
+    protected long seed;
+
+    public AbstractWedgeSamplingMetric(String name, int numberOfSamples, double confidence, long seed) {
+        super(name);
+        if (numberOfSamples < 1) {
+            throw new IllegalArgumentException("The number of samples has to be positive.");
+        }
+        if ((confidence <= 0) || (confidence >= 1)) {
+            throw new IllegalArgumentException("The confidence has to be in (0, 1).");
+        }
+        this.numberOfSamples = numberOfSamples;
+        this.confidence = confidence;
+        this.seed = seed;
+    }
+
+    @Override
+    public double apply(IColouredGraph graph) {
+        return estimate(graph).getResult();
+    }
+
+    /**
+     * Estimates the metric for the given graph.
+     *
+     * @param graph
+     *            the graph for which the metric should be estimated
+     * @return the estimated value together with its confidence interval
+     */
+    public ApproximateMetricResult estimate(IColouredGraph graph) {
+        UndirectedNeighbourhood neighbourhood = graph.getNeighbourhood();
+        int[] vertices = graph.getGraph().getVertices().toIntArray();
+        // the centers of wedges, i.e., vertices with at least two neighbours,
+        // and their strictly increasing cumulative number of wedges
+        int[] centers = new int[vertices.length];
+        long[] wedges = new long[vertices.length];
+        int numberOfCenters = 0;
+        long numberOfWedges = 0;
+        long degree;
+        for (int vertex : vertices) {
+            degree = neighbourhood.getDegree(vertex);
+            if (degree > 1) {
+                numberOfWedges += (degree * (degree - 1)) / 2;
+                centers[numberOfCenters] = vertex;
+                wedges[numberOfCenters] = numberOfWedges;
+                ++numberOfCenters;
+            }
+        }
+        if (numberOfWedges == 0) {
+            return new ApproximateMetricResult(getName(), 0, 0, 0, confidence, 0);
+        }
+
+        int numberOfChunks = (numberOfSamples + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        double[] sums = new double[numberOfChunks];
+        double[] squaredSums = new double[numberOfChunks];
+        final long totalWedges = numberOfWedges;
+        final int lastCenter = numberOfCenters;
+        IntStream.range(0, numberOfChunks).parallel().forEach(chunk -> {
+            SplittableRandom random = new SplittableRandom(seed + chunk);
+            int samples = Math.min(CHUNK_SIZE, numberOfSamples - (chunk * CHUNK_SIZE));
+            double sum = 0;
+            double squaredSum = 0;
+            double weight;
+            int pos, center, d, first, second;
+            for (int s = 0; s < samples; ++s) {
+                // the first center with a cumulative number of wedges > r
+                pos = Arrays.binarySearch(wedges, 0, lastCenter, random.nextLong(totalWedges) + 1);
+                if (pos < 0) {
+                    pos = -pos - 1;
+                }
+                center = centers[pos];
+                d = neighbourhood.getDegree(center);
+                first = random.nextInt(d);
+                second = random.nextInt(d - 1);
+                if (second >= first) {
+                    ++second;
+                }
+                weight = getWedgeWeight(neighbourhood, center, first, second);
+                sum += weight;
+                squaredSum += weight * weight;
+            }
+            sums[chunk] = sum;
+            squaredSums[chunk] = squaredSum;
+        });
+
+        double sum = 0;
+        double squaredSum = 0;
+        for (int i = 0; i < numberOfChunks; ++i) {
+            sum += sums[i];
+            squaredSum += squaredSums[i];
+        }
+        double mean = sum / numberOfSamples;
+        double variance = (numberOfSamples > 1)
+                ? Math.max(0, (squaredSum - (numberOfSamples * mean * mean)) / (numberOfSamples - 1))
+                : 0;
+        double scale = totalWedges / 3.0;
+        double halfWidth = scale * getQuantile(confidence) * Math.sqrt(variance / numberOfSamples);
+        double estimate = scale * mean;
+        return new ApproximateMetricResult(getName(), estimate, Math.max(0, estimate - halfWidth),
+                estimate + halfWidth, confidence, numberOfSamples);
+    }
+
+    /**
+     * Returns the weight of the sampled wedge.
+     *
+     * @param neighbourhood
+     *            the neighbourhood of the graph
+     * @param center
+     *            the center of the wedge
+     * @param first
+     *            the position of the first end of the wedge in the neighbours
+     *            of the center
+     * @param second
+     *            the position of the second end of the wedge in the neighbours
+     *            of the center
+     * @return the weight of the wedge
+     */
+    protected abstract double getWedgeWeight(UndirectedNeighbourhood neighbourhood, int center, int first,
+            int second);
+
+    /**
+     * The costs are dominated by the sampling of the wedges, each of them needs
+     * a binary search over the vertices and one over the neighbours of an end of
+     * the wedge. The neighbourhood of the graph is kept by the graph and is
+     * assumed to be available.
+     */
+    @Override
+    public double calculateComplexity(int edges, int vertices) {
+        return vertices + (2.0 * numberOfSamples * Math.log(vertices + 2) / Math.log(2));
+    }
+
+    /**
+     * Returns the quantile z of the standard normal distribution with P(-z &le; X
+     * &le; z) = confidence using the rational approximation 26.2.23 of
+     * Abramowitz and Stegun (absolute error &lt; 4.5e-4).
+     *
+     * @param confidence
+     *            the confidence level in (0, 1)
+     * @return the two-sided quantile of the standard normal distribution
+     */
+    public static double getQuantile(double confidence) {
+        double p = (1 - confidence) / 2;
+        double t = Math.sqrt(-2 * Math.log(p));
+        return t - ((2.515517 + (0.802853 * t) + (0.010328 * t * t))
+                / (1 + (1.432788 * t) + (0.189269 * t * t) + (0.001308 * t * t * t)));
+    }
+
+    public int getNumberOfSamples() {
+        return numberOfSamples;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+}
@@ -0,0 +1,65 @@
+package org.aksw.simba.lemming.metrics.single;
+
+/**
+ * The result of a metric that has been estimated instead of being computed
+ * exactly. Next to the estimated value, it contains a confidence interval,
+ * i.e., the true value lies within [lowerBound, upperBound] with the given
+ * confidence.
+ */
+public class ApproximateMetricResult extends SingleValueMetricResult {
+
+    /**
+     * The lower bound of the confidence interval
+     */
+    protected double lowerBound;
+    /**
+     * The upper bound of the confidence interval
+     */
+    protected double upperBound;
+    /**
+     * The confidence level of the interval, e.g., 0.95
+     */
+    protected double confidence;
+    /**
+     * The number of samples the estimation is based on
+     */
+    protected long numberOfSamples;
+
+    public ApproximateMetricResult(String metricName, double result, double lowerBound, double upperBound,
+            double confidence, long numberOfSamples) {
+        super(metricName, result);
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.confidence = confidence;
+        this.numberOfSamples = numberOfSamples;
+    }
+
+    public double getLowerBound() {
+        return lowerBound;
+    }
+
+    public double getUpperBound() {
+        return upperBound;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    public long getNumberOfSamples() {
+        return numberOfSamples;
+    }
+
+    /**
+     * @return half of the width of the confidence interval relative to the
+     *         estimated value or 0 if the estimated value is 0.
+     */
+    public double getRelativeError() {
+        return (result == 0) ? 0 : (upperBound - lowerBound) / (2 * result);
+    }
+
+    @Override
+    public String toString() {
+        return metricName + "=" + result + " [" + lowerBound + ", " + upperBound + "] (" + confidence + ")";
+    }
+}
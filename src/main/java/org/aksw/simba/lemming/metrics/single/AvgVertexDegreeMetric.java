@@ -51,14 +51,10 @@ public class AvgVertexDegreeMetric extends AbstractMetric implements SingleValue
 
         AvgVertexDegreeMetricResult metricResultTempObj = new AvgVertexDegreeMetricResult(getName(), Double.NaN);
 
-        double sum = 0;
-
-        // Computing the Avg Vertex Degree Metric for the first time
-        IntArrayList getmMapVerticesinDegree = graph.getAllInEdgeDegrees();
-        for (Integer vertexDegree : getmMapVerticesinDegree) { // Compute sum in iteration
-            sum += vertexDegree;
-        }
-        double numberOfVertices = getmMapVerticesinDegree.size();
+        // Computing the Avg Vertex Degree Metric for the first time. The sum of
+        // all in degrees is the number of edges.
+        double sum = graph.getNumberOfEdges();
+        double numberOfVertices = graph.getNumberOfVertices();
 
         // Set values in Temporary object
         metricResultTempObj.setSumVertexDeg(sum);
@@ -1,6 +1,8 @@
 package org.aksw.simba.lemming.metrics.single;
 
 import org.aksw.simba.lemming.IColouredGraph;
+import org.aksw.simba.lemming.grph.DiameterAlgorithm;
+import org.aksw.simba.lemming.grph.DiameterAlgorithm.Diameter;
 import org.aksw.simba.lemming.metrics.AbstractMetric;
 import org.aksw.simba.lemming.metrics.single.edgemanipulation.Operation;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
@@ -8,15 +10,37 @@ import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
 import grph.path.ArrayListPath;
 
 /**
- * This metric is the diameter of the graph.
+ * This metric is the diameter of the graph. It is either computed exactly or
+ * approximated by a lower bound that is found with a fixed number of double
+ * sweeps (see {@link DiameterAlgorithm#computeLowerBound(IColouredGraph, int)}).
  * 
  * @author Michael R&ouml;der (roeder@informatik.uni-leipzig.de)
  *
  */
 public class DiameterMetric extends AbstractMetric implements SingleValueMetric {
 
+    public static final int DEFAULT_NUMBER_OF_SWEEPS = 4;
+
+    /**
+     * The number of sweeps used to approximate the diameter or 0 if the
+     * diameter is computed exactly.
+     */
+    protected int numberOfSweeps;
+
     public DiameterMetric() {
+        this(0);
+    }
+
+    /**
+     * Constructor of the approximated diameter.
+     * 
+     * @param numberOfSweeps
+     *            the number of double sweeps used to find a lower bound of the
+     *            diameter or 0 if the diameter should be computed exactly
+     */
+    public DiameterMetric(int numberOfSweeps) {
         super("diameter");
+        this.numberOfSweeps = numberOfSweeps;
     }
 
     @Override
@@ -30,32 +54,57 @@ public class DiameterMetric extends AbstractMetric implements SingleValueMetric
 
     @Override
     public UpdatableMetricResult applyUpdatable(IColouredGraph graph) {
-        DiameterMetricResult metricResult = new DiameterMetricResult(getName(), Double.NaN);
-        metricResult.setResult(graph.getDiameter());
-        metricResult.setDiameterPath(graph.getDiameterPath());
-        return metricResult;
+        Diameter diameter;
+        if (numberOfSweeps > 0) {
+            diameter = new DiameterAlgorithm().computeLowerBound(graph, numberOfSweeps);
+        } else {
+            diameter = graph.computeDiameter();
+        }
+        return createResult(diameter);
     }
 
     @Override
     public UpdatableMetricResult update(IColouredGraph graph, TripleBaseSingleID triple, Operation graphOperation,
             UpdatableMetricResult previousResult) {
-        if (previousResult == null) {
+        if ((previousResult == null) || (((DiameterMetricResult) previousResult).getDiameterPath() == null)) {
             return applyUpdatable(graph);
         }
         DiameterMetricResult metricResult = ((DiameterMetricResult) previousResult);
         ArrayListPath oldPath = metricResult.getDiameterPath();
+        boolean isAffected = false;
         if (graphOperation == Operation.ADD) {
-            int newPathLength = graph.computeShorterDiameter(triple, oldPath);
-            if (newPathLength < oldPath.getLength()) {
-                // The diameter length has been reduced
+            // The diameter length may have been reduced
+            isAffected = graph.computeShorterDiameter(triple, oldPath) < oldPath.getLength();
+        } else if (graphOperation == Operation.REMOVE) {
+            isAffected = oldPath.containsVertex(triple.headId) && oldPath.containsVertex(triple.tailId);
+        }
+        if (isAffected) {
+            // The path is stored in reverse, i.e., its destination is the start
+            DiameterAlgorithm algorithm = new DiameterAlgorithm();
+            ArrayListPath path = algorithm.computeLongestPath(graph, oldPath.getDestination());
+            if ((graphOperation == Operation.REMOVE) && (numberOfSweeps == 0)) {
+                // The removal of an edge may increase the diameter, i.e., the
+                // longest path of the start vertex is only a lower bound
+                Diameter diameter = algorithm.performBoundedSearch(graph,
+                        (path != null) ? new Diameter(path.getLength(), path) : null);
+                metricResult = (diameter != null) ? createResult(diameter)
+                        : (DiameterMetricResult) applyUpdatable(graph);
+            } else if ((path != null) && (path.getLength() >= oldPath.getLength())) {
+                // Adding an edge can not increase the length of the longest
+                // shortest path, i.e., if the path has still the old length, the
+                // diameter did not change
+                metricResult = createResult(new Diameter(path.getLength(), path));
+            } else {
                 metricResult = (DiameterMetricResult) applyUpdatable(graph);
             }
-        } else if (oldPath.containsVertex(triple.headId) && oldPath.containsVertex(triple.tailId)
-                && graphOperation == Operation.REMOVE) {
-            metricResult = (DiameterMetricResult) applyUpdatable(graph);
         }
         return metricResult;
+    }
 
+    protected DiameterMetricResult createResult(Diameter diameter) {
+        DiameterMetricResult metricResult = new DiameterMetricResult(getName(), diameter.getLength());
+        metricResult.setDiameterPath(diameter.getPath());
+        return metricResult;
     }
 
 }
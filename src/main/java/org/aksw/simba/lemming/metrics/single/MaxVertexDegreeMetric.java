@@ -4,7 +4,6 @@ import org.aksw.simba.lemming.IColouredGraph;
 import org.aksw.simba.lemming.metrics.AbstractMetric;
 import org.aksw.simba.lemming.metrics.single.edgemanipulation.Operation;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
-import it.unimi.dsi.fastutil.ints.IntSet;
 
 import grph.Grph.DIRECTION;
 
@@ -40,20 +39,19 @@ public class MaxVertexDegreeMetric extends AbstractMetric implements SingleValue
     public UpdatableMetricResult applyUpdatable(IColouredGraph graph) {
         MaxVertexDegreeMetricResult metricResultTempObj = new MaxVertexDegreeMetricResult(getName(), Double.MIN_VALUE);
 
-        IntSet vertices = graph.getVertices();
-
-        int numOfVerticesWithMaxDegree = 0;// Variable to track number of vertices with maximum degree.
-
-        for (int vertex : vertices) {
-            int degree = getChangedDegree(graph, vertex, direction);
-            if (degree == metricResultTempObj.getResult()) {
-                metricResultTempObj.setResult(degree);
-                numOfVerticesWithMaxDegree++;
-            } else if (degree > metricResultTempObj.getResult()) {
-                metricResultTempObj.setResult(degree);
-                numOfVerticesWithMaxDegree = 1;
-            }
-
+        // the graph maintains the degree histograms, i.e., there is no need to
+        // iterate over all vertices
+        double maxDegree;
+        int numOfVerticesWithMaxDegree;// Variable to track number of vertices with maximum degree.
+        if (direction == DIRECTION.in) {
+            maxDegree = graph.getMaxInEdgeDegrees();
+            numOfVerticesWithMaxDegree = graph.getNumberOfVerticesWithInDegree((int) maxDegree);
+        } else {
+            maxDegree = graph.getMaxOutEdgeDegrees();
+            numOfVerticesWithMaxDegree = graph.getNumberOfVerticesWithOutDegree((int) maxDegree);
+        }
+        if (numOfVerticesWithMaxDegree > 0) {
+            metricResultTempObj.setResult(maxDegree);
         }
 
         metricResultTempObj.setNumOfVerticesWithMaxDeg(numOfVerticesWithMaxDegree);
@@ -4,7 +4,6 @@ import org.aksw.simba.lemming.IColouredGraph;
 import org.aksw.simba.lemming.metrics.single.edgemanipulation.Operation;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
 import grph.Grph.DIRECTION;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
 
 public class StdDevVertexDegree extends AvgVertexDegreeMetric {
 
@@ -31,23 +30,18 @@ public class StdDevVertexDegree extends AvgVertexDegreeMetric {
     @Override
     public UpdatableMetricResult applyUpdatable(IColouredGraph graph) {
         StdDevVertexDegreeMetricResult metricResultObj = new StdDevVertexDegreeMetricResult(getName(), Double.NaN);
-        IntArrayList vertexDegrees = (this.direction == DIRECTION.in) ? graph.getAllInEdgeDegrees()
-                : graph.getAllOutEdgeDegrees();
-
-        double averageOfDegrees = super.calculateAvg(vertexDegrees);
-        double sumForVariance = 0.0;
-        double temp;
-        for (Integer vertexDegree : vertexDegrees) {
-            temp = averageOfDegrees - vertexDegree;
-            temp *= temp;
-            sumForVariance += temp;
-        }
-        double variance = sumForVariance / vertexDegrees.size();
+        // the graph maintains the degree histograms, i.e., there is no need to
+        // iterate over all vertices
+        double numberOfVertices = graph.getNumberOfVertices();
+        double averageOfDegrees = graph.getNumberOfEdges() / numberOfVertices;
+        double stdDev = (this.direction == DIRECTION.in) ? graph.getStdDevInEdgeDegrees()
+                : graph.getStdDevOutEdgeDegrees();
+        double variance = stdDev * stdDev;
 
         metricResultObj.setAvgVertexDegree(averageOfDegrees);
         metricResultObj.setVarianceVertexDegree(variance);
-        metricResultObj.setNumberOfVertices(vertexDegrees.size());
-        metricResultObj.setResult(Math.sqrt(variance));
+        metricResultObj.setNumberOfVertices(numberOfVertices);
+        metricResultObj.setResult(stdDev);
         return metricResultObj;
 
     }
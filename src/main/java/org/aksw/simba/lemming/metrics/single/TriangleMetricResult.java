@@ -0,0 +1,75 @@
+package org.aksw.simba.lemming.metrics.single;
+
+import org.aksw.simba.lemming.IColouredGraph;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood.TriangleSupport;
+
+/**
+ * Result of a triangle metric that carries the sorted undirected neighbourhood
+ * of the graph. The neighbourhood is the live structure of the graph, i.e., it
+ * is updated in place when an edge is added or removed and it is not touched
+ * while candidate edges are only evaluated. Hence, rejecting a candidate does
+ * not need any rollback.
+ *
+ * The triangle support of a candidate edge (see
+ * {@link UndirectedNeighbourhood#getTriangleSupport(int, int)}) is computed with
+ * a single merge of the neighbourhoods of its vertices and is shared by the
+ * node and the edge triangle metric. A result is never changed after its
+ * creation, i.e., it can be shared by several threads evaluating candidates.
+ */
+public class TriangleMetricResult extends SingleValueMetricResult {
+
+    /**
+     * The neighbourhood of the graph this result has been computed for
+     */
+    protected final UndirectedNeighbourhood neighbourhood;
+
+    public TriangleMetricResult(String metricName, double result, UndirectedNeighbourhood neighbourhood) {
+        super(metricName, result);
+        this.neighbourhood = neighbourhood;
+    }
+
+    public UndirectedNeighbourhood getNeighbourhood() {
+        return neighbourhood;
+    }
+
+    /**
+     * Returns the triangle support of the two given vertices in the given
+     * graph without a simulated change. The current neighbourhood of the graph
+     * is used, even if the graph has replaced it (e.g., because its
+     * {@link grph.Grph} has been changed directly). This result is not
+     * changed, i.e., the updated result has to be a new one.
+     *
+     * @param graph
+     *            the graph (or a decorator simulating a change of the graph)
+     * @param v1
+     *            the first vertex
+     * @param v2
+     *            the second vertex
+     * @return the triangle support of the two vertices
+     */
+    public TriangleSupport getTriangleSupport(IColouredGraph graph, int v1, int v2) {
+        return graph.getNeighbourhood().getTriangleSupport(v1, v2);
+    }
+
+    /**
+     * Creates the result of a triangle metric for the given graph. If the graph
+     * simulates a change (see {@link IColouredGraph#isSimulatingChange()}), its
+     * neighbourhood does not match the graph and a
+     * {@link SingleValueMetricResult} is returned.
+     *
+     * @param metricName
+     *            the name of the metric
+     * @param result
+     *            the value of the metric
+     * @param graph
+     *            the graph the metric has been computed for
+     * @return the result of the metric
+     */
+    public static SingleValueMetricResult create(String metricName, double result, IColouredGraph graph) {
+        if (!graph.isSimulatingChange()) {
+            return new TriangleMetricResult(metricName, result, graph.getNeighbourhood());
+        }
+        return new SingleValueMetricResult(metricName, result);
+    }
+}
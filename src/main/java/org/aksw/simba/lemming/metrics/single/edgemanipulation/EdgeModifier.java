@@ -3,11 +3,9 @@ package org.aksw.simba.lemming.metrics.single.edgemanipulation;
 import java.util.HashMap;
 import java.util.List;
 
-import org.aksw.simba.lemming.AddEdgeDecorator;
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.ColouredGraphDecorator;
 import org.aksw.simba.lemming.IColouredGraph;
-import org.aksw.simba.lemming.RemoveEdgeDecorator;
 import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
 import org.aksw.simba.lemming.metrics.single.UpdatableMetricResult;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
@@ -31,8 +29,14 @@ public class EdgeModifier {
                                                                                 // an edge
     private HashMap<String, UpdatableMetricResult> mMapMetricsResultAddEdge; // Map to store results for add an edge
 
-    private ColouredGraphDecorator mRemoveEdgeDecorator;
-    private ColouredGraphDecorator mAddEdgeDecorator;
+    private TripleBaseSingleID mLastRemovedTriple; // the last triple tried to be removed
+    private TripleBaseSingleID mLastAddedTriple; // the last triple tried to be added
+
+    /**
+     * Immutable state that is used for evaluating modifications. It is replaced
+     * after every executed modification.
+     */
+    private volatile EdgeModifierSnapshot mSnapshot;
 
     public EdgeModifier(ColouredGraph clonedGraph, List<SingleValueMetric> lstMetrics) {
         graph = clonedGraph;
@@ -44,11 +48,9 @@ public class EdgeModifier {
         mMapMetricsResultRemoveEdge = new HashMap<>();
         mMapMetricsResultAddEdge = new HashMap<>();
 
-        mAddEdgeDecorator = new AddEdgeDecorator(graph, true);
-        mRemoveEdgeDecorator = new RemoveEdgeDecorator(graph, false);
-
         // compute metric values
         computeMetricValues(graph, lstMetrics);
+        updateSnapshot();
     }
 
     private void computeMetricValues(IColouredGraph graph, List<SingleValueMetric> lstMetrics) {
@@ -75,80 +77,70 @@ public class EdgeModifier {
         mMapOriginalMetricValues = mMapMetricValues.clone();
     }
 
-    /**
-     * Returns decorator object for Edge addition thread
-     */
-    public ColouredGraphDecorator getAddEdgeDecorator() {
-        return this.mAddEdgeDecorator;
+    public ColouredGraph getGraph() {
+        return (ColouredGraph) this.graph;
     }
 
     /**
-     * Returns decorator object for Edge removal thread
+     * Returns the current state of this modifier. The snapshot can be used by
+     * several threads to evaluate modifications at the same time.
+     * 
+     * @return the current snapshot
      */
-    public ColouredGraphDecorator getRemoveEdgeDecorator() {
-        return this.mRemoveEdgeDecorator;
-    }
-
-    public ColouredGraph getGraph() {
-        return (ColouredGraph) this.graph;
+    public EdgeModifierSnapshot getSnapshot() {
+        return mSnapshot;
     }
 
     /**
-     * Update the {@link IColouredGraph} object and reset the triple stored in each
-     * decorator object after an iteration has completed
+     * Replace the snapshot after the graph and the previous metric results have
+     * been changed.
      */
-    public void updateDecorators() {
-
-        this.mAddEdgeDecorator.setGraph(this.graph);
-        this.mAddEdgeDecorator.setTriple(null);
-
-        this.mRemoveEdgeDecorator.setGraph(this.graph);
-        this.mAddEdgeDecorator.setTriple(null);
+    private void updateSnapshot() {
+        mSnapshot = new EdgeModifierSnapshot(graph, mLstMetrics, mMapPrevMetricsResult);
     }
 
     public ObjectDoubleOpenHashMap<String> tryToRemoveAnEdge(TripleBaseSingleID triple) {
-        if (triple != null && triple.edgeId != -1 && triple.edgeColour != null && triple.tailId != -1
-                && triple.headId != -1) {
-
-            this.mRemoveEdgeDecorator.setTriple(triple);
-            ObjectDoubleOpenHashMap<String> mapMetricValues = new ObjectDoubleOpenHashMap<>();
-
-            for (SingleValueMetric metric : mLstMetrics) {
-                // Calling update method to get the metric values based on previous results
-                UpdatableMetricResult result = metric.update(this.mRemoveEdgeDecorator, triple, Operation.REMOVE,
-                        mMapPrevMetricsResult.get(metric.getName()));
-                mMapMetricsResultRemoveEdge.put(metric.getName(), result);
-                mapMetricValues.put(metric.getName(), result.getResult());
-            }
-            //reverse the graph, note: the edgeId could be changed after reversion
-            triple.edgeId = graph.addEdge(triple.tailId, triple.headId, triple.edgeColour);
+        mLastRemovedTriple = triple;
+        mMapMetricsResultRemoveEdge.clear();
+        return tryToRemoveAnEdge(triple, mMapMetricsResultRemoveEdge);
+    }
 
-            return mapMetricValues;
-        } else {
-            LOGGER.warn("Invalid triple for removing an edge!");
-            return null;
-        }
+    /**
+     * Computes the metric values the graph would have after removing the given
+     * edge. In contrast to {@link #tryToRemoveAnEdge(TripleBaseSingleID)}, the
+     * method does not store the triple or its results in this modifier, i.e.,
+     * several candidates can be evaluated at the same time.
+     * 
+     * @param triple        the edge that should be removed
+     * @param metricResults map in which the updated metric results are stored
+     * @return the metric values after removing the edge or null if the triple
+     *         is invalid
+     */
+    public ObjectDoubleOpenHashMap<String> tryToRemoveAnEdge(TripleBaseSingleID triple,
+            HashMap<String, UpdatableMetricResult> metricResults) {
+        return mSnapshot.tryToRemoveAnEdge(triple, metricResults);
     }
 
     public ObjectDoubleOpenHashMap<String> tryToAddAnEdge(TripleBaseSingleID triple) {
-        if (triple != null && triple.edgeColour != null && triple.headId != -1 && triple.tailId != -1) {
-            this.mAddEdgeDecorator.setTriple(triple);
-
-            ObjectDoubleOpenHashMap<String> mapMetricValues = new ObjectDoubleOpenHashMap<>();
-
-            for (SingleValueMetric metric : mLstMetrics) {
-                // Calling update method to get the metric values based on previous results
-                UpdatableMetricResult result = metric.update(this.mAddEdgeDecorator, triple, Operation.ADD,
-                        mMapPrevMetricsResult.get(metric.getName()));
-                mMapMetricsResultAddEdge.put(metric.getName(), result);
-                mapMetricValues.put(metric.getName(), result.getResult());
-            }
+        mLastAddedTriple = triple;
+        mMapMetricsResultAddEdge.clear();
+        return tryToAddAnEdge(triple, mMapMetricsResultAddEdge);
+    }
 
-            return mapMetricValues;
-        } else {
-            LOGGER.warn("Invalid triple for adding an edge!");
-            return null;
-        }
+    /**
+     * Computes the metric values the graph would have after adding the given
+     * edge. In contrast to {@link #tryToAddAnEdge(TripleBaseSingleID)}, the
+     * method does not store the triple or its results in this modifier, i.e.,
+     * several candidates can be evaluated at the same time.
+     * 
+     * @param triple        the edge that should be added
+     * @param metricResults map in which the updated metric results are stored
+     * @return the metric values after adding the edge or null if the triple is
+     *         invalid
+     */
+    public ObjectDoubleOpenHashMap<String> tryToAddAnEdge(TripleBaseSingleID triple,
+            HashMap<String, UpdatableMetricResult> metricResults) {
+        return mSnapshot.tryToAddAnEdge(triple, metricResults);
     }
 
     /**
@@ -157,18 +149,30 @@ public class EdgeModifier {
      * @param newMetricValues the already calculated metric from trial
      */
     public void executeRemovingAnEdge(ObjectDoubleOpenHashMap<String> newMetricValues) {
+        // get the last try to removed edge
+        TripleBaseSingleID lastTriple = mLastRemovedTriple;
+        executeRemovingAnEdge(lastTriple, newMetricValues, new HashMap<>(mMapMetricsResultRemoveEdge));
+        mMapMetricsResultRemoveEdge.clear();
+        mLastRemovedTriple = null;
+    }
+
+    /**
+     * execute removing the given edge
+     * 
+     * @param triple          the edge that has been evaluated with
+     *                        {@link #tryToRemoveAnEdge(TripleBaseSingleID, HashMap)}
+     * @param newMetricValues the already calculated metric from trial
+     * @param metricResults   the metric results of the trial
+     */
+    public void executeRemovingAnEdge(TripleBaseSingleID triple, ObjectDoubleOpenHashMap<String> newMetricValues,
+            HashMap<String, UpdatableMetricResult> metricResults) {
         // store metric values got from trial
         updateMapMetricValues(newMetricValues);
-
-        // get the last try to removed edge
-        TripleBaseSingleID lastTriple = this.mRemoveEdgeDecorator.getTriple();
-        // remove the edge from graph again
-        this.graph.removeEdge(lastTriple.edgeId);
+        this.graph.removeEdge(triple.edgeId);
 
         // Update the previously computed values
-        mMapPrevMetricsResult = new HashMap<>(mMapMetricsResultRemoveEdge);
-        mMapMetricsResultRemoveEdge.clear();
-        updateDecorators();
+        mMapPrevMetricsResult = metricResults;
+        updateSnapshot();
     }
 
     /**
@@ -177,17 +181,32 @@ public class EdgeModifier {
      * @param newMetricValues the already calculated metric from trial
      */
     public void executeAddingAnEdge(ObjectDoubleOpenHashMap<String> newMetricValues) {
+        // get the last added edge
+        TripleBaseSingleID lastTriple = mLastAddedTriple;
+        executeAddingAnEdge(lastTriple, newMetricValues, new HashMap<>(mMapMetricsResultAddEdge));
+        mMapMetricsResultAddEdge.clear();
+        mLastAddedTriple = null;
+    }
+
+    /**
+     * execute adding the given edge
+     * 
+     * @param triple          the edge that has been evaluated with
+     *                        {@link #tryToAddAnEdge(TripleBaseSingleID, HashMap)}
+     * @param newMetricValues the already calculated metric from trial
+     * @param metricResults   the metric results of the trial
+     * @return the ID of the added edge
+     */
+    public int executeAddingAnEdge(TripleBaseSingleID triple, ObjectDoubleOpenHashMap<String> newMetricValues,
+            HashMap<String, UpdatableMetricResult> metricResults) {
         // store metric values got from trial
         updateMapMetricValues(newMetricValues);
-        // get the last added edge
-        TripleBaseSingleID lastTriple = this.mAddEdgeDecorator.getTriple();
-        // add the edge to graph again
-        this.graph.addEdge(lastTriple.tailId, lastTriple.headId, lastTriple.edgeColour);
+        int edgeId = this.graph.addEdge(triple.tailId, triple.headId, triple.edgeColour);
 
         // Update the previously computed values
-        mMapPrevMetricsResult = new HashMap<>(mMapMetricsResultAddEdge);
-        mMapMetricsResultAddEdge.clear();
-        updateDecorators();
+        mMapPrevMetricsResult = metricResults;
+        updateSnapshot();
+        return edgeId;
     }
 
     private void updateMapMetricValues(ObjectDoubleOpenHashMap<String> newMetricValues) {
@@ -0,0 +1,169 @@
+package org.aksw.simba.lemming.metrics.single.edgemanipulation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.aksw.simba.lemming.AddEdgeDecorator;
+import org.aksw.simba.lemming.ColouredGraphDecorator;
+import org.aksw.simba.lemming.IColouredGraph;
+import org.aksw.simba.lemming.ReadOnlyColouredGraphDecorator;
+import org.aksw.simba.lemming.RemoveEdgeDecorator;
+import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
+import org.aksw.simba.lemming.metrics.single.UpdatableMetricResult;
+import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
+
+/**
+ * Immutable state of an {@link EdgeModifier}, i.e., the graph and the metric
+ * results of the last executed modification. A snapshot can be shared by
+ * several threads that evaluate hypothetical edge additions and removals.
+ * Every evaluation uses its own decorator and neither the graph nor the
+ * previous metric results are changed by an evaluation.
+ * 
+ * The evaluations read the live graph, i.e., creating a snapshot does not copy
+ * or freeze it. The snapshot is valid until the {@link EdgeModifier} executes
+ * the next modification, which is detected with the modification counter of
+ * the graph. Afterwards, it rejects all evaluations.
+ */
+public class EdgeModifierSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EdgeModifierSnapshot.class);
+
+    private final ReadOnlyColouredGraphDecorator graph;
+    private final List<SingleValueMetric> metrics;
+    private final Map<String, UpdatableMetricResult> prevMetricsResult;
+
+    public EdgeModifierSnapshot(IColouredGraph graph, List<SingleValueMetric> metrics,
+            Map<String, UpdatableMetricResult> prevMetricsResult) {
+        this.graph = new ReadOnlyColouredGraphDecorator(graph);
+        this.metrics = Collections.unmodifiableList(metrics);
+        this.prevMetricsResult = Collections.unmodifiableMap(prevMetricsResult);
+    }
+
+    /**
+     * Computes the metric values the graph would have after removing the given
+     * edge.
+     * 
+     * @param triple        the edge that should be removed
+     * @param metricResults map in which the updated metric results are stored
+     * @return the metric values after removing the edge or null if the triple
+     *         is invalid
+     */
+    public ObjectDoubleOpenHashMap<String> tryToRemoveAnEdge(TripleBaseSingleID triple,
+            Map<String, UpdatableMetricResult> metricResults) {
+        return tryToRemoveAnEdge(triple, metricResults, null);
+    }
+
+    /**
+     * Computes the metric values the graph would have after removing the given
+     * edge and additionally stores them in the given array.
+     * 
+     * @param triple        the edge that should be removed
+     * @param metricResults map in which the updated metric results are stored
+     * @param metricValues  array in which the value of the i-th metric of
+     *                      {@link #getMetrics()} is stored at index i (can be
+     *                      null)
+     * @return the metric values after removing the edge or null if the triple
+     *         is invalid
+     */
+    public ObjectDoubleOpenHashMap<String> tryToRemoveAnEdge(TripleBaseSingleID triple,
+            Map<String, UpdatableMetricResult> metricResults, double[] metricValues) {
+        checkUpToDate();
+        if (triple != null && triple.edgeId != -1 && triple.edgeColour != null && triple.tailId != -1
+                && triple.headId != -1) {
+            // the decorator simulates the removal, i.e., the graph itself is
+            // not touched
+            ColouredGraphDecorator decorator = new RemoveEdgeDecorator(graph, false);
+            decorator.setTriple(triple);
+            return updateMetrics(decorator, triple, Operation.REMOVE, metricResults, metricValues);
+        } else {
+            LOGGER.warn("Invalid triple for removing an edge!");
+            return null;
+        }
+    }
+
+    /**
+     * Computes the metric values the graph would have after adding the given
+     * edge.
+     * 
+     * @param triple        the edge that should be added
+     * @param metricResults map in which the updated metric results are stored
+     * @return the metric values after adding the edge or null if the triple is
+     *         invalid
+     */
+    public ObjectDoubleOpenHashMap<String> tryToAddAnEdge(TripleBaseSingleID triple,
+            Map<String, UpdatableMetricResult> metricResults) {
+        return tryToAddAnEdge(triple, metricResults, null);
+    }
+
+    /**
+     * Computes the metric values the graph would have after adding the given
+     * edge and additionally stores them in the given array.
+     * 
+     * @param triple        the edge that should be added
+     * @param metricResults map in which the updated metric results are stored
+     * @param metricValues  array in which the value of the i-th metric of
+     *                      {@link #getMetrics()} is stored at index i (can be
+     *                      null)
+     * @return the metric values after adding the edge or null if the triple is
+     *         invalid
+     */
+    public ObjectDoubleOpenHashMap<String> tryToAddAnEdge(TripleBaseSingleID triple,
+            Map<String, UpdatableMetricResult> metricResults, double[] metricValues) {
+        checkUpToDate();
+        if (triple != null && triple.edgeColour != null && triple.headId != -1 && triple.tailId != -1) {
+            ColouredGraphDecorator decorator = new AddEdgeDecorator(graph, true);
+            decorator.setTriple(triple);
+            return updateMetrics(decorator, triple, Operation.ADD, metricResults, metricValues);
+        } else {
+            LOGGER.warn("Invalid triple for adding an edge!");
+            return null;
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if the graph has been changed after this
+     *                               snapshot has been created
+     */
+    private void checkUpToDate() {
+        if (!graph.isUpToDate()) {
+            throw new IllegalStateException(
+                    "The graph has been changed after the snapshot has been created.");
+        }
+    }
+
+    private ObjectDoubleOpenHashMap<String> updateMetrics(ColouredGraphDecorator decorator,
+            TripleBaseSingleID triple, Operation operation, Map<String, UpdatableMetricResult> metricResults,
+            double[] metricValues) {
+        ObjectDoubleOpenHashMap<String> mapMetricValues = new ObjectDoubleOpenHashMap<>();
+        SingleValueMetric metric;
+        for (int i = 0; i < metrics.size(); ++i) {
+            metric = metrics.get(i);
+            // Calling update method to get the metric values based on previous results
+            UpdatableMetricResult result = metric.update(decorator, triple, operation,
+                    prevMetricsResult.get(metric.getName()));
+            metricResults.put(metric.getName(), result);
+            mapMetricValues.put(metric.getName(), result.getResult());
+            if (metricValues != null) {
+                metricValues[i] = result.getResult();
+            }
+        }
+        return mapMetricValues;
+    }
+
+    public List<SingleValueMetric> getMetrics() {
+        return metrics;
+    }
+
+    public IColouredGraph getGraph() {
+        return graph;
+    }
+
+    public Map<String, UpdatableMetricResult> getMapPrevMetricsResult() {
+        return prevMetricsResult;
+    }
+}
@@ -1,5 +1,10 @@
 package org.aksw.simba.lemming.metrics.single.edgemanipulation;
 
+import java.util.HashMap;
+
+import org.aksw.simba.lemming.metrics.single.UpdatableMetricResult;
+import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
+
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
 
 /**
@@ -13,6 +18,9 @@ public class ErrorScores {
     Boolean isRemoveAnEdge = false;
     double errorScore = Double.NaN;
     ObjectDoubleOpenHashMap<String> metricValues = null;
+    TripleBaseSingleID triple = null;
+    HashMap<String, UpdatableMetricResult> metricResults = null;
+    double[] metricVector = null;
 
     /**
      * Copy COnstructor: Copies an error score object
@@ -20,7 +28,8 @@ public class ErrorScores {
      * @param that - Object to be copied
      */
     public ErrorScores(ErrorScores that) {
-        this(that.getAction(), that.getErrorScore(), that.getMetricValues());
+        this(that.getAction(), that.getErrorScore(), that.getMetricValues(), that.getTriple(),
+                that.getMetricResults());
     }
 
     /**
@@ -37,6 +46,43 @@ public class ErrorScores {
         this.metricValues = values;
     }
 
+    /**
+     * Constructor: Initialize the error score object of an evaluated candidate
+     * 
+     * @param action  - Flag to denote if the score and metrics are obtained by
+     *                adding or removing an edge
+     * @param score   - Error Score
+     * @param values  - Metric values after performing edge addition/removal
+     * @param triple  - The edge that has been added/removed
+     * @param results - Updatable metric results after performing edge
+     *                addition/removal
+     */
+    public ErrorScores(Boolean action, double score, ObjectDoubleOpenHashMap<String> values,
+            TripleBaseSingleID triple, HashMap<String, UpdatableMetricResult> results) {
+        this(action, score, values);
+        this.triple = triple;
+        this.metricResults = results;
+    }
+
+    /**
+     * Constructor: Initialize the error score object of a candidate that has
+     * been evaluated but not scored yet (see {@link #setErrorScore(double)})
+     * 
+     * @param action  - Flag to denote if the metrics are obtained by adding or
+     *                removing an edge
+     * @param values  - Metric values after performing edge addition/removal
+     * @param vector  - The same metric values indexed like the list of metrics
+     *                of the edge modifier
+     * @param triple  - The edge that has been added/removed
+     * @param results - Updatable metric results after performing edge
+     *                addition/removal
+     */
+    public ErrorScores(Boolean action, ObjectDoubleOpenHashMap<String> values, double[] vector,
+            TripleBaseSingleID triple, HashMap<String, UpdatableMetricResult> results) {
+        this(action, Double.NaN, values, triple, results);
+        this.metricVector = vector;
+    }
+
     /**
      * Returns flag denoting if object is obtained by adding or removing an edge
      * 
@@ -55,6 +101,15 @@ public class ErrorScores {
         return this.errorScore;
     }
 
+    /**
+     * Sets the error score
+     * 
+     * @param score - Error Score
+     */
+    public void setErrorScore(double score) {
+        this.errorScore = score;
+    }
+
     /**
      * Returns map of metric values
      * 
@@ -63,4 +118,32 @@ public class ErrorScores {
     public ObjectDoubleOpenHashMap<String> getMetricValues() {
         return this.metricValues;
     }
+
+    /**
+     * Returns the metric values indexed like the list of metrics of the edge
+     * modifier or null if they are not available
+     * 
+     * @return metricVector
+     */
+    public double[] getMetricVector() {
+        return this.metricVector;
+    }
+
+    /**
+     * Returns the edge that has been added/removed
+     * 
+     * @return triple
+     */
+    public TripleBaseSingleID getTriple() {
+        return this.triple;
+    }
+
+    /**
+     * Returns the updatable metric results after adding/removing the edge
+     * 
+     * @return metricResults
+     */
+    public HashMap<String, UpdatableMetricResult> getMetricResults() {
+        return this.metricResults;
+    }
 }
@@ -80,6 +80,7 @@ public class EdgeIteratorMetric extends AbstractMetric implements TriangleMetric
 
     @Override
     public double calculateComplexity(int edges, int vertices) {
-        return (Math.pow(edges, 4) / Math.pow(vertices, 4));
+        // every edge intersects the neighbourhoods and the edges of its vertices
+        return vertices + edges + (edges * 4.0 * edges / vertices);
     }
 }
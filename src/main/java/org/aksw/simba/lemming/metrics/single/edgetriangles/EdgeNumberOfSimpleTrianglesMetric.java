@@ -33,7 +33,10 @@ public class EdgeNumberOfSimpleTrianglesMetric extends AbstractMetric implements
 
     @Override
     public double calculateComplexity(int edges, int vertices) {
-        return (Math.pow(edges, 2) / Math.pow(vertices, 2)) * (edges / (double) vertices);
+        // every vertex intersects the edges of all pairs of its neighbours with a
+        // higher id
+        double averageDegree = edges / (double) vertices;
+        return vertices + edges + (2 * vertices * Math.pow(averageDegree, 3));
     }
 
     private static class MultiThreadedTriangleCountingProcess {
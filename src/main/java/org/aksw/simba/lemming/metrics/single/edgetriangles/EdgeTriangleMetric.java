@@ -2,14 +2,15 @@ package org.aksw.simba.lemming.metrics.single.edgetriangles;
 
 import org.aksw.simba.lemming.IColouredGraph;
 import org.aksw.simba.lemming.metrics.AbstractMetric;
-import org.aksw.simba.lemming.metrics.MetricUtils;
 import org.aksw.simba.lemming.metrics.metricselection.EdgeTriangleMetricSelection;
+import org.aksw.simba.lemming.metrics.single.AbstractWedgeSamplingMetric;
+import org.aksw.simba.lemming.metrics.single.ApproximateMetricResult;
 import org.aksw.simba.lemming.metrics.single.SingleValueMetricResult;
 import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
+import org.aksw.simba.lemming.metrics.single.TriangleMetricResult;
 import org.aksw.simba.lemming.metrics.single.UpdatableMetricResult;
 import org.aksw.simba.lemming.metrics.single.edgemanipulation.Operation;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
-import org.aksw.simba.lemming.util.IntSetUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,8 +21,39 @@ public class EdgeTriangleMetric extends AbstractMetric implements SingleValueMet
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EdgeTriangleMetric.class);
 
+    /**
+     * The selection of the algorithm that computes the edge triangles of a graph
+     */
+    protected EdgeTriangleMetricSelection selection;
+
     public EdgeTriangleMetric() {
+        this(new EdgeTriangleMetricSelection());
+    }
+
+    /**
+     * Constructor of a metric that estimates the edge triangles of graphs for
+     * which no exact algorithm fits into the given budget using a
+     * {@link WedgeSamplingMetric} with the default seed. Hence, the estimated
+     * values are reproducible.
+     *
+     * @param complexityBudget the maximum complexity of an exact algorithm (see
+     *                         {@link EdgeTriangleMetricSelection})
+     */
+    public EdgeTriangleMetric(double complexityBudget) {
+        this(new EdgeTriangleMetricSelection(complexityBudget,
+                new WedgeSamplingMetric(AbstractWedgeSamplingMetric.DEFAULT_SEED)));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param selection the selection of the algorithm that computes the edge
+     *                  triangles, e.g., one that accepts an approximation for
+     *                  large graphs
+     */
+    public EdgeTriangleMetric(EdgeTriangleMetricSelection selection) {
         super("#edgetriangles");
+        this.selection = selection;
     }
 
     @Override
@@ -38,11 +70,17 @@ public class EdgeTriangleMetric extends AbstractMetric implements SingleValueMet
      */
     @Override
     public UpdatableMetricResult applyUpdatable(IColouredGraph graph) {
-        EdgeTriangleMetricSelection selector = new EdgeTriangleMetricSelection();
-        SingleValueMetric edgeTriangleMetric = selector.getMinComplexityMetric(graph);
-
-        double triangleMetric = edgeTriangleMetric.apply(graph);
-        return new SingleValueMetricResult(getName(), triangleMetric);
+        SingleValueMetric edgeTriangleMetric = selection.getMinComplexityMetric(graph);
+
+        double triangleMetric;
+        if (edgeTriangleMetric instanceof AbstractWedgeSamplingMetric) {
+            ApproximateMetricResult estimate = ((AbstractWedgeSamplingMetric) edgeTriangleMetric).estimate(graph);
+            LOGGER.info("Estimated {}", estimate);
+            triangleMetric = estimate.getResult();
+        } else {
+            triangleMetric = edgeTriangleMetric.apply(graph);
+        }
+        return TriangleMetricResult.create(getName(), triangleMetric, graph);
     }
 
     /**
@@ -64,10 +102,17 @@ public class EdgeTriangleMetric extends AbstractMetric implements SingleValueMet
         }
 
         int change = opt == Operation.REMOVE ? -1 : 1;
-        int numEdgesBetweenVertices = graph.getNumberOfEdgesBetweenVertices(headId, tailId) - change;
-
-        int differenceOfSubGraph = calculateDifferenceOfSubGraphEdge(graph, headId, tailId, numEdgesBetweenVertices,
-                change);
+        // every pair of edges connecting head and tail via a common neighbour forms
+        // an edge triangle together with the added or removed edge
+        long differenceOfSubGraph;
+        if (previousResult instanceof TriangleMetricResult) {
+            // shares the merge with the node triangle metric evaluating the same
+            // candidate
+            differenceOfSubGraph = ((TriangleMetricResult) previousResult).getTriangleSupport(graph, tailId, headId)
+                    .getNumberOfEdgePairs();
+        } else {
+            differenceOfSubGraph = graph.getNumberOfCommonNeighbourEdgePairs(headId, tailId);
+        }
         double newResult = previousResult.getResult() + change * differenceOfSubGraph;
 
         if (newResult < 0) {
@@ -75,39 +120,13 @@ public class EdgeTriangleMetric extends AbstractMetric implements SingleValueMet
             newResult = 0;
         }
 
-        return new SingleValueMetricResult(previousResult.getMetricName(), newResult);
-    }
-
-    /**
-     * It is used to calculate the difference of edge triangles in subgraph after
-     * removing or adding an edge
-     * 
-     * @param headId                  head of the modified edge
-     * @param tailId                  tail of the modified edge
-     * @param numEdgesBetweenVertices number of the edges between head and tail
-     * @param change                  removing an edge, then -1, add an edge, then
-     *                                +1
-     * @return the difference of edge triangles in subgraph after removing or adding
-     *         an edge
-     */
-    private int calculateDifferenceOfSubGraphEdge(IColouredGraph graph, int headId, int tailId,
-            int numEdgesBetweenVertices, int change) {
-        int oldSubGraphEdgeTriangles = 0;
-        int newSubGraphTriangles = 0;
-        int newNumEdgesBetweenVertices = numEdgesBetweenVertices + change;
-
-        for (int vertex : MetricUtils.getVerticesInCommon(graph, headId, tailId)) {
-            int numEdgesFromHead = IntSetUtil
-                    .intersection(graph.getEdgesIncidentTo(headId), graph.getEdgesIncidentTo(vertex)).size();
-            int numEdgesFromTail = IntSetUtil
-                    .intersection(graph.getEdgesIncidentTo(tailId), graph.getEdgesIncidentTo(vertex)).size();
-            int mul = numEdgesFromHead * numEdgesFromTail;
-            oldSubGraphEdgeTriangles += (mul * numEdgesBetweenVertices);
-            newSubGraphTriangles += (mul * newNumEdgesBetweenVertices);
+        if (previousResult instanceof TriangleMetricResult) {
+            // the support has been computed with the current neighbourhood of the
+            // graph, which might have replaced the one of the previous result
+            return new TriangleMetricResult(previousResult.getMetricName(), newResult,
+                    graph.getNeighbourhood());
         }
-
-        return change == -1 ? (oldSubGraphEdgeTriangles - newSubGraphTriangles)
-                : (newSubGraphTriangles - oldSubGraphEdgeTriangles);
+        return new SingleValueMetricResult(previousResult.getMetricName(), newResult);
     }
 
 }
@@ -30,7 +30,10 @@ public class MultiThreadedNodeNeighborsCommonEdgesMetric extends AbstractMetric
 
     @Override
     public double calculateComplexity(int edges, int vertices) {
-        return (Math.pow(vertices, 2) * edges);
+        // every vertex intersects the edges of the other ends of all pairs of its
+        // edges
+        double averageDegree = edges / (double) vertices;
+        return vertices + edges + (4 * vertices * Math.pow(averageDegree, 3));
     }
 
     private static class MultiThreadedTriangleCountingProcess {
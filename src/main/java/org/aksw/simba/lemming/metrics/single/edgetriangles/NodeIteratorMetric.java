@@ -669,6 +669,7 @@ public class NodeIteratorMetric extends AbstractMetric implements TriangleMetric
 
     @Override
     public double calculateComplexity(int edges, int vertices) {
-        return vertices * Math.pow(edges, 2) * (edges / (double) vertices);
+        // every vertex checks all pairs of its neighbours
+        return vertices + edges + (vertices * Math.pow(2.0 * edges / vertices, 2));
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package org.aksw.simba.lemming.metrics.single.edgetriangles;
+
+import org.aksw.simba.lemming.metrics.single.AbstractWedgeSamplingMetric;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood;
+
+/**
+ * Estimates the number of edge triangles by sampling wedges (see
+ * {@link AbstractWedgeSamplingMetric}). A sampled wedge has the number of edge
+ * triangles it is part of as weight, i.e., the product of the numbers of edges
+ * between its three vertices.
+ */
+public class WedgeSamplingMetric extends AbstractWedgeSamplingMetric {
+
+    public WedgeSamplingMetric(long seed) {
+        this(DEFAULT_NUMBER_OF_SAMPLES, DEFAULT_CONFIDENCE, seed);
+    }
+
+    public WedgeSamplingMetric(int numberOfSamples, double confidence, long seed) {
+        super("#edgetriangles", numberOfSamples, confidence, seed);
+    }
+
+    @Override
+    protected double getWedgeWeight(UndirectedNeighbourhood neighbourhood, int center, int first, int second) {
+        int[] neighbours = neighbourhood.getNeighbours(center);
+        int[] multiplicities = neighbourhood.getMultiplicities(center);
+        int closing = neighbourhood.getMultiplicity(neighbours[first], neighbours[second]);
+        return (closing == 0) ? 0 : (double) multiplicities[first] * multiplicities[second] * closing;
+    }
+}
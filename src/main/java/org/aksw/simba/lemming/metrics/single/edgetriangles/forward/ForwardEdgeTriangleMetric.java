@@ -85,6 +85,7 @@ public class ForwardEdgeTriangleMetric extends AbstractMetric implements Triangl
 
     @Override
     public double calculateComplexity(int edges, int vertices) {
-        return (edges * Math.sqrt(edges) * (edges / (double) vertices));
+        // the forward algorithm additionally intersects the edges of the vertices
+        return vertices + edges + (edges * Math.sqrt(edges) * (edges / (double) vertices));
     }
 }
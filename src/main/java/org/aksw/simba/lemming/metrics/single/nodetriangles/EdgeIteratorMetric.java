@@ -71,7 +71,8 @@ public class EdgeIteratorMetric extends AbstractMetric implements TriangleMetric
 
     @Override
     public double calculateComplexity(int edges, int vertices) {
-        return (Math.pow(edges, 3) / Math.pow(vertices, 3));
+        // every edge intersects the neighbourhoods of its two vertices
+        return vertices + edges + (edges * 2.0 * edges / vertices);
     }
 
     public static class Triangle {
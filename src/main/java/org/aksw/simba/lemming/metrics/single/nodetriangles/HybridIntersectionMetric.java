@@ -0,0 +1,24 @@
+package org.aksw.simba.lemming.metrics.single.nodetriangles;
+
+import org.aksw.simba.lemming.metrics.single.AbstractHybridIntersectionMetric;
+
+/**
+ * Counts the node triangles of a graph by intersecting sorted arrays and
+ * bitsets of forward neighbours (see {@link AbstractHybridIntersectionMetric}).
+ */
+public class HybridIntersectionMetric extends AbstractHybridIntersectionMetric {
+
+    public HybridIntersectionMetric() {
+        this(DEFAULT_DEGREE_THRESHOLD);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param degreeThreshold the minimum number of forward neighbours a vertex
+     *                        needs to get a bitset
+     */
+    public HybridIntersectionMetric(int degreeThreshold) {
+        super("#nodetriangles", false, degreeThreshold);
+    }
+}
@@ -32,7 +32,10 @@ public class MultiThreadedNodeNeighborTrianglesMetric extends AbstractMetric imp
 
     @Override
     public double calculateComplexity(int edges, int vertices) {
-        return (Math.pow(edges, 2) / Math.pow(vertices, 2));
+        // every vertex intersects the edges of all pairs of its neighbours with a
+        // higher id
+        double averageDegree = edges / (double) vertices;
+        return vertices + edges + (2 * vertices * Math.pow(averageDegree, 3));
     }
 
     private static class MultiThreadedTriangleCountingProcess {
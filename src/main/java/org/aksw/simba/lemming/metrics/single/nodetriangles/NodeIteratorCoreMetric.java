@@ -90,6 +90,8 @@ public class NodeIteratorCoreMetric extends AbstractMetric implements TriangleMe
 
     @Override
     public double calculateComplexity(int edges, int vertices) {
-        return (vertices - 2) * Math.pow((edges / vertices), 2);
+        // every vertex checks all pairs of its neighbours and every removed vertex
+        // needs a scan of all degrees
+        return vertices + edges + (vertices * (double) vertices) + (vertices * Math.pow(2.0 * edges / vertices, 2));
     }
 }
@@ -3,12 +3,15 @@ package org.aksw.simba.lemming.metrics.single.nodetriangles;
 import org.aksw.simba.lemming.IColouredGraph;
 import org.aksw.simba.lemming.metrics.single.edgemanipulation.Operation;
 import org.aksw.simba.lemming.metrics.AbstractMetric;
-import org.aksw.simba.lemming.metrics.MetricUtils;
 import org.aksw.simba.lemming.metrics.metricselection.NodeTriangleMetricSelection;
+import org.aksw.simba.lemming.metrics.single.AbstractWedgeSamplingMetric;
+import org.aksw.simba.lemming.metrics.single.ApproximateMetricResult;
 import org.aksw.simba.lemming.metrics.single.SingleValueMetricResult;
 import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
+import org.aksw.simba.lemming.metrics.single.TriangleMetricResult;
 import org.aksw.simba.lemming.metrics.single.UpdatableMetricResult;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood.TriangleSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,8 +22,39 @@ public class NodeTriangleMetric extends AbstractMetric implements SingleValueMet
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NodeTriangleMetric.class);
 
+    /**
+     * The selection of the algorithm that computes the node triangles of a graph
+     */
+    protected NodeTriangleMetricSelection selection;
+
     public NodeTriangleMetric() {
+        this(new NodeTriangleMetricSelection());
+    }
+
+    /**
+     * Constructor of a metric that estimates the node triangles of graphs for
+     * which no exact algorithm fits into the given budget using a
+     * {@link WedgeSamplingMetric} with the default seed. Hence, the estimated
+     * values are reproducible.
+     *
+     * @param complexityBudget the maximum complexity of an exact algorithm (see
+     *                         {@link NodeTriangleMetricSelection})
+     */
+    public NodeTriangleMetric(double complexityBudget) {
+        this(new NodeTriangleMetricSelection(complexityBudget,
+                new WedgeSamplingMetric(AbstractWedgeSamplingMetric.DEFAULT_SEED)));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param selection the selection of the algorithm that computes the node
+     *                  triangles, e.g., one that accepts an approximation for
+     *                  large graphs
+     */
+    public NodeTriangleMetric(NodeTriangleMetricSelection selection) {
         super("#nodetriangles");
+        this.selection = selection;
     }
 
     @Override
@@ -37,11 +71,17 @@ public class NodeTriangleMetric extends AbstractMetric implements SingleValueMet
      */
     @Override
     public UpdatableMetricResult applyUpdatable(IColouredGraph graph) {
-        NodeTriangleMetricSelection selector = new NodeTriangleMetricSelection();
-        SingleValueMetric nodeTriangleMetric = selector.getMinComplexityMetric(graph);
-
-        double triangleMetric = nodeTriangleMetric.apply(graph);
-        return new SingleValueMetricResult(getName(), triangleMetric);
+        SingleValueMetric nodeTriangleMetric = selection.getMinComplexityMetric(graph);
+
+        double triangleMetric;
+        if (nodeTriangleMetric instanceof AbstractWedgeSamplingMetric) {
+            ApproximateMetricResult estimate = ((AbstractWedgeSamplingMetric) nodeTriangleMetric).estimate(graph);
+            LOGGER.info("Estimated {}", estimate);
+            triangleMetric = estimate.getResult();
+        } else {
+            triangleMetric = nodeTriangleMetric.apply(graph);
+        }
+        return TriangleMetricResult.create(getName(), triangleMetric, graph);
     }
 
     /**
@@ -62,9 +102,19 @@ public class NodeTriangleMetric extends AbstractMetric implements SingleValueMet
             return previousResult;
         }
 
-        int numEdgesBetweenVertices = graph.getNumberOfEdgesBetweenVertices(tailId, headId);
-
-        int numberOfCommon = MetricUtils.getVerticesInCommon(graph, headId, tailId).size();
+        int numEdgesBetweenVertices;
+        int numberOfCommon;
+        if (previousResult instanceof TriangleMetricResult) {
+            // the support is computed on the graph without the change, i.e., the
+            // number of edges between the vertices is corrected here
+            TriangleSupport support = ((TriangleMetricResult) previousResult).getTriangleSupport(graph, tailId,
+                    headId);
+            numEdgesBetweenVertices = support.getMultiplicity() + (opt == Operation.ADD ? 1 : -1);
+            numberOfCommon = support.getNumberOfCommonNeighbours();
+        } else {
+            numEdgesBetweenVertices = graph.getNumberOfEdgesBetweenVertices(tailId, headId);
+            numberOfCommon = graph.getNumberOfCommonNeighbours(headId, tailId);
+        }
 
         // the previous result could be maintained except for 2 cases:
         double newResult = previousResult.getResult();
@@ -84,6 +134,12 @@ public class NodeTriangleMetric extends AbstractMetric implements SingleValueMet
             newResult = 0;
         }
 
+        if (previousResult instanceof TriangleMetricResult) {
+            // the support has been computed with the current neighbourhood of the
+            // graph, which might have replaced the one of the previous result
+            return new TriangleMetricResult(previousResult.getMetricName(), newResult,
+                    graph.getNeighbourhood());
+        }
         return new SingleValueMetricResult(previousResult.getMetricName(), newResult);
     }
 }
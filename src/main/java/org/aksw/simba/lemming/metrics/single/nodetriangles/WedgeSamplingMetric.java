@@ -0,0 +1,26 @@
+package org.aksw.simba.lemming.metrics.single.nodetriangles;
+
+import org.aksw.simba.lemming.metrics.single.AbstractWedgeSamplingMetric;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood;
+
+/**
+ * Estimates the number of node triangles by sampling wedges (see
+ * {@link AbstractWedgeSamplingMetric}). A sampled wedge has the weight 1 if its
+ * two ends are connected, i.e., if the wedge is closed, and 0 otherwise.
+ */
+public class WedgeSamplingMetric extends AbstractWedgeSamplingMetric {
+
+    public WedgeSamplingMetric(long seed) {
+        this(DEFAULT_NUMBER_OF_SAMPLES, DEFAULT_CONFIDENCE, seed);
+    }
+
+    public WedgeSamplingMetric(int numberOfSamples, double confidence, long seed) {
+        super("#nodetriangles", numberOfSamples, confidence, seed);
+    }
+
+    @Override
+    protected double getWedgeWeight(UndirectedNeighbourhood neighbourhood, int center, int first, int second) {
+        int[] neighbours = neighbourhood.getNeighbours(center);
+        return (neighbourhood.getMultiplicity(neighbours[first], neighbours[second]) > 0) ? 1 : 0;
+    }
+}
@@ -78,6 +78,7 @@ public class ForwardNodeTriangleMetric extends AbstractMetric implements Triangl
 
     @Override
     public double calculateComplexity(int edges, int vertices) {
-        return (edges * Math.sqrt(edges));
+        // every edge intersects forward neighbourhoods of at most sqrt(m) vertices
+        return vertices + edges + (edges * Math.sqrt(edges));
     }
 }
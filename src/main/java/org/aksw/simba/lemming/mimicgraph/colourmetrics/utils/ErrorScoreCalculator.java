@@ -1,12 +1,17 @@
 package org.aksw.simba.lemming.mimicgraph.colourmetrics.utils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.algo.expression.CompiledExpressions;
 import org.aksw.simba.lemming.algo.expression.Expression;
+import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
 import org.aksw.simba.lemming.mimicgraph.metricstorage.ConstantValueStorage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,6 +59,20 @@ public class ErrorScoreCalculator {
 	private double mAvgErrorScore;
 	private double mMinErrorScore;
 	
+	/*
+	 * the constant expressions compiled into postfix programs over metric
+	 * slots. The mean value and the standard deviation of the i-th
+	 * expression are stored at index i of the two arrays.
+	 */
+	private CompiledExpressions mCompiledExpressions;
+	private double[] mMeanValues;
+	private double[] mStandardDeviations;
+	
+	/*
+	 * buffers of the metric values and the evaluation stack of every thread
+	 */
+	private ThreadLocal<double[]> mMetricValueBuffers;
+	private ThreadLocal<double[]> mStackBuffers;
 	
 	private ConstantValueStorage mValueCarrier;
 	private int mINoOfGraphs = 0 ;
@@ -84,6 +103,10 @@ public class ErrorScoreCalculator {
 		 */
 		computeMeanAndStandardDeviation(sampleGraphs);
 		
+		/*
+		 * compile the constant expressions for the computation of error scores
+		 */
+		compileExpressions();
 		
 		/*
 		 * compute the max and average error score
@@ -224,6 +247,35 @@ public class ErrorScoreCalculator {
 		}
 	}
 	
+	/**
+	 * compile the constant expressions and store their mean values and standard
+	 * deviations in arrays that are indexed like the compiled expressions
+	 */
+	private void compileExpressions(){
+		List<Expression> expressions = new ArrayList<Expression>();
+		if(mValueCarrier != null && mValueCarrier.getMapConstantValues() != null){
+			expressions.addAll(mValueCarrier.getMapConstantValues().keySet());
+		}
+		mCompiledExpressions = new CompiledExpressions(expressions);
+		
+		int iNoOfExprs = mCompiledExpressions.getNumberOfExpressions();
+		mMeanValues = new double[iNoOfExprs];
+		mStandardDeviations = new double[iNoOfExprs];
+		for(int i = 0 ; i < iNoOfExprs ; ++i){
+			String key = mCompiledExpressions.getExpression(i).toString();
+			mMeanValues[i] = mMapOfMeanValues.get(key);
+			mStandardDeviations[i] = mMapOfStandardDeviations.get(key);
+			if(mStandardDeviations[i] == 0){
+				LOGGER.warn("Standard deviation of " + key + " is 0");
+			}
+		}
+		
+		final int iNoOfMetrics = mCompiledExpressions.getNumberOfMetrics();
+		final int iStackSize = mCompiledExpressions.getStackSize();
+		mMetricValueBuffers = ThreadLocal.withInitial(() -> new double[iNoOfMetrics]);
+		mStackBuffers = ThreadLocal.withInitial(() -> new double[iStackSize]);
+	}
+	
 	/**
 	 * compute the mean 
 	 * @param constVals the array of sample values
@@ -280,35 +332,98 @@ public class ErrorScoreCalculator {
 	public double computeErrorScore(ObjectDoubleOpenHashMap<String> mapMetricValues){
 
 		if(mapMetricValues != null && ( mapMetricValues.size()) > 0){
-			double sumOfErrorScore = 0;
-			
-			Map<Expression, Map<String, Double>> mapConstantValues = mValueCarrier.getMapConstantValues();
-			if(mapConstantValues != null){
-				Set<Expression> setExpressions = mapConstantValues.keySet();
-				for(Expression expr: setExpressions){
-					String key = expr.toString();
-					
-					double meanValue = mMapOfMeanValues.get(key);
-					double standardDeviation = mMapOfStandardDeviations.get(key);
-					
-					double constVal = expr.getValue(mapMetricValues);
-					//System.out.println("Expr: " + expr.toString() + "| Mean=" + meanValue + ", SD=" + standardDeviation + ", constant val=" + constVal);
-					double singleErrorScore = computeSingleErrorScore(meanValue, standardDeviation, constVal);
-					if(singleErrorScore != Double.NaN){
-						sumOfErrorScore += singleErrorScore;
-					}else{
-						sumOfErrorScore = Double.NaN;
-						break;
-					}
-				}
-			}
-			
-			return sumOfErrorScore;
+			double[] metricValues = mMetricValueBuffers.get();
+			mCompiledExpressions.fillMetricValues(mapMetricValues, metricValues);
+			return computeErrorScore(metricValues, mStackBuffers.get());
 		}
 		LOGGER.warn("The map metric values is invalid");
 		return Double.NaN;
 	}
 	
+	/**
+	 * compute the error score for the values of a list of metrics without
+	 * looking up the metric names
+	 * 
+	 * @param metricValues
+	 *            the value of the i-th metric of the list
+	 * @param metricSlots
+	 *            the slots of the metrics of the list (see
+	 *            {@link #getMetricSlots(List)})
+	 * @return an error score
+	 */
+	public double computeErrorScore(double[] metricValues, int[] metricSlots){
+		double[] slotValues = mMetricValueBuffers.get();
+		fillSlotValues(metricValues, metricSlots, slotValues);
+		return computeErrorScore(slotValues, mStackBuffers.get());
+	}
+	
+	/**
+	 * compute the error scores of several vectors of metric values at once,
+	 * e.g., of all candidates of an optimization step. The expressions are
+	 * evaluated with the same buffers for all vectors.
+	 * 
+	 * @param metricVectors
+	 *            the vectors of metric values. The i-th value of a vector is
+	 *            the value of the i-th metric of the list
+	 * @param metricSlots
+	 *            the slots of the metrics of the list (see
+	 *            {@link #getMetricSlots(List)})
+	 * @param errorScores
+	 *            the array to which the error score of the j-th vector is
+	 *            written at index j
+	 */
+	public void computeErrorScores(double[][] metricVectors, int[] metricSlots, double[] errorScores){
+		double[] slotValues = mMetricValueBuffers.get();
+		double[] stack = mStackBuffers.get();
+		for(int j = 0 ; j < metricVectors.length ; ++j){
+			fillSlotValues(metricVectors[j], metricSlots, slotValues);
+			errorScores[j] = computeErrorScore(slotValues, stack);
+		}
+	}
+	
+	private void fillSlotValues(double[] metricValues, int[] metricSlots, double[] slotValues){
+		// metrics that are used by the expressions but not given are NaN
+		Arrays.fill(slotValues, Double.NaN);
+		for(int i = 0 ; i < metricSlots.length ; ++i){
+			if(metricSlots[i] >= 0){
+				slotValues[metricSlots[i]] = metricValues[i];
+			}
+		}
+	}
+	
+	/**
+	 * get the slots of the given metrics in the compiled expressions
+	 * 
+	 * @param metrics
+	 *            the list of metrics
+	 * @return the slot of the i-th metric or -1 if the metric is not used by
+	 *         the constant expressions
+	 */
+	public int[] getMetricSlots(List<SingleValueMetric> metrics){
+		int[] metricSlots = new int[metrics.size()];
+		for(int i = 0 ; i < metricSlots.length ; ++i){
+			metricSlots[i] = mCompiledExpressions.getMetricSlot(metrics.get(i).getName());
+		}
+		return metricSlots;
+	}
+	
+	private double computeErrorScore(double[] metricValues, double[] stack){
+		double sumOfErrorScore = 0;
+		int iNoOfExprs = mMeanValues.length;
+		for(int i = 0 ; i < iNoOfExprs ; ++i){
+			double constVal = mCompiledExpressions.evaluate(i, metricValues, stack);
+			double standardDeviation = mStandardDeviations[i];
+			if(standardDeviation != 0){
+				double diff = mMeanValues[i] - constVal;
+				sumOfErrorScore += diff * diff / standardDeviation;
+			}else{
+				// the score of this expression is NaN (a warning has been logged already)
+				return Double.NaN;
+			}
+		}
+		return sumOfErrorScore;
+	}
+	
 	/**
 	 * compute a single error score of a constant value to check how far it is
 	 * from the average value
@@ -337,6 +452,10 @@ public class ErrorScoreCalculator {
 		return mINoOfGraphs;
 	}
 
+	public CompiledExpressions getCompiledExpressions(){
+		return mCompiledExpressions;
+	}
+	
 	public Map<String, Map<String, Double>> getMapMetricValuesOfInputGraphs(){
 		return mValueCarrier.getMapMetricValues();
 	}
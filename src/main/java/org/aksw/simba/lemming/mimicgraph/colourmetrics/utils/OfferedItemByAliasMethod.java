@@ -0,0 +1,339 @@
+package org.aksw.simba.lemming.mimicgraph.colourmetrics.utils;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.aksw.simba.lemming.metrics.dist.ObjectDistribution;
+
+/**
+ * Samples items of a distribution with the alias method of Walker (in the
+ * variant of Vose). After building the alias table in O(n), every draw needs
+ * a single random index and a single random double, i.e., it takes O(1)
+ * instead of the binary search of {@link OfferedItemByRandomProb}.
+ *
+ * Filtered and re-weighted views share the sample space of the distribution
+ * they have been created from. A filtered draw (see
+ * {@link #getPotentialItem(Set)}) first tries rejection sampling on the
+ * complete table and only builds a filtered view if the filter rejects too
+ * many items. Filtered views are cached by their set of items, i.e., a later
+ * draw with an equal filter reuses the view. The cache can be cleared with
+ * {@link #clearFilteredViews()}.
+ *
+ * @param <T>
+ *            generic type of items considered in the distribution
+ */
+public class OfferedItemByAliasMethod<T> implements IOfferedItem<T> {
+
+	/**
+	 * Number of rejected draws after which a filtered draw falls back to
+	 * building a filtered view.
+	 */
+	private static final int MAX_REJECTED_DRAWS = 32;
+	/**
+	 * Maximum number of filtered views that are cached. The least recently used
+	 * view is dropped first.
+	 */
+	private static final int MAX_FILTERED_VIEWS = 64;
+
+	/**
+	 * The complete sample space (shared among all views)
+	 */
+	private T[] mArrBaseItems;
+	/**
+	 * The original values of the complete sample space (shared among all
+	 * views)
+	 */
+	private double[] mArrBaseItemProb;
+	/**
+	 * Positions of the items of this view in {@link #mArrBaseItems} or null if
+	 * this view comprises the complete sample space.
+	 */
+	private int[] mIndices;
+
+	/**
+	 * Probability of keeping the i-th item of this view instead of its alias
+	 */
+	private double[] mProbabilities;
+	/**
+	 * The alias of the i-th item of this view
+	 */
+	private int[] mAliases;
+
+	private Random mRandom;
+	private long seed;
+
+	/**
+	 * The filtered views created by filtered draws that could not be answered
+	 * using rejection sampling. The key is a copy of the filter, i.e., changing
+	 * the set given to a draw does not change the cache.
+	 */
+	private final Map<Set<T>, OfferedItemByAliasMethod<T>> mFilteredViews = new LinkedHashMap<Set<T>, OfferedItemByAliasMethod<T>>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Set<T>, OfferedItemByAliasMethod<T>> eldest) {
+			return size() > MAX_FILTERED_VIEWS;
+		}
+	};
+
+	public OfferedItemByAliasMethod(ObjectDistribution<T> objDist, long seed) {
+		this(objDist, null, seed);
+	}
+
+	public OfferedItemByAliasMethod(ObjectDistribution<T> objDist, Set<T> setOfFilteredItems, long seed) {
+		this.seed = seed + 1;
+		mRandom = new Random(this.seed);
+		mArrBaseItems = objDist.sampleSpace;
+		mArrBaseItemProb = objDist.values;
+		if (setOfFilteredItems != null && setOfFilteredItems.size() > 0) {
+			mIndices = filterIndices(null, setOfFilteredItems);
+		}
+		buildAliasTable(getValuesOfView());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param objDist
+	 *            input distribution/probability
+	 * @param inRandom
+	 *            the random number generator that is used for all draws
+	 */
+	public OfferedItemByAliasMethod(ObjectDistribution<T> objDist, Random inRandom) {
+		mArrBaseItems = objDist.sampleSpace;
+		mArrBaseItemProb = objDist.values;
+		mRandom = inRandom;
+		buildAliasTable(mArrBaseItemProb);
+	}
+
+	/**
+	 * Constructor for views which share the sample space of the given parent.
+	 */
+	private OfferedItemByAliasMethod(OfferedItemByAliasMethod<T> parent, int[] indices, double[] values) {
+		mArrBaseItems = parent.mArrBaseItems;
+		mArrBaseItemProb = parent.mArrBaseItemProb;
+		mRandom = parent.mRandom;
+		seed = parent.seed;
+		mIndices = indices;
+		buildAliasTable(values);
+	}
+
+	/**
+	 * Creates a view on this distribution that only contains the items of the
+	 * given set. The sample space is not copied.
+	 *
+	 * @param setOfFilteredItems
+	 *            the items that should be kept
+	 * @return the filtered view
+	 */
+	public OfferedItemByAliasMethod<T> createFilteredView(Set<T> setOfFilteredItems) {
+		int[] indices = filterIndices(mIndices, setOfFilteredItems);
+		double[] values = new double[indices.length];
+		for (int i = 0; i < indices.length; ++i) {
+			values[i] = mArrBaseItemProb[indices[i]];
+		}
+		return new OfferedItemByAliasMethod<T>(this, indices, values);
+	}
+
+	/**
+	 * Creates a view on this distribution which uses the given values instead
+	 * of the current ones. The sample space is not copied.
+	 *
+	 * @param values
+	 *            the new values. The i-th value belongs to the i-th item of
+	 *            this view.
+	 * @return the re-weighted view
+	 */
+	public OfferedItemByAliasMethod<T> createReweightedView(double[] values) {
+		if (values.length != size()) {
+			throw new IllegalArgumentException(
+					"Expected " + size() + " values but got " + values.length + ".");
+		}
+		return new OfferedItemByAliasMethod<T>(this, mIndices, values);
+	}
+
+	/**
+	 * @return the number of items of this view
+	 */
+	public int size() {
+		return mProbabilities.length;
+	}
+
+	private int[] filterIndices(int[] candidates, Set<T> setOfFilteredItems) {
+		int count = (candidates == null) ? mArrBaseItems.length : candidates.length;
+		int[] indices = new int[count];
+		int jIndex = 0;
+		for (int i = 0; i < count; ++i) {
+			int index = (candidates == null) ? i : candidates[i];
+			if (setOfFilteredItems.contains(mArrBaseItems[index])) {
+				indices[jIndex] = index;
+				jIndex++;
+			}
+		}
+		if (jIndex < count) {
+			int[] temp = new int[jIndex];
+			System.arraycopy(indices, 0, temp, 0, jIndex);
+			indices = temp;
+		}
+		return indices;
+	}
+
+	private double[] getValuesOfView() {
+		if (mIndices == null) {
+			return mArrBaseItemProb;
+		}
+		double[] values = new double[mIndices.length];
+		for (int i = 0; i < mIndices.length; ++i) {
+			values[i] = mArrBaseItemProb[mIndices[i]];
+		}
+		return values;
+	}
+
+	/**
+	 * Builds the alias table for the given values following Vose's algorithm.
+	 */
+	private void buildAliasTable(double[] values) {
+		int n = values.length;
+		mProbabilities = new double[n];
+		mAliases = new int[n];
+		if (n == 0) {
+			return;
+		}
+		double sum = 0;
+		for (int i = 0; i < n; ++i) {
+			sum += values[i];
+		}
+		if (sum <= 0) {
+			// no usable weights, fall back to a uniform distribution
+			for (int i = 0; i < n; ++i) {
+				mProbabilities[i] = 1;
+				mAliases[i] = i;
+			}
+			return;
+		}
+		// scale the values so that their average is 1
+		double[] scaled = new double[n];
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int smallCount = 0;
+		int largeCount = 0;
+		for (int i = 0; i < n; ++i) {
+			scaled[i] = values[i] * n / sum;
+			if (scaled[i] < 1) {
+				small[smallCount++] = i;
+			} else {
+				large[largeCount++] = i;
+			}
+		}
+		while (smallCount > 0 && largeCount > 0) {
+			int less = small[--smallCount];
+			int more = large[--largeCount];
+			mProbabilities[less] = scaled[less];
+			mAliases[less] = more;
+			scaled[more] = (scaled[more] + scaled[less]) - 1;
+			if (scaled[more] < 1) {
+				small[smallCount++] = more;
+			} else {
+				large[largeCount++] = more;
+			}
+		}
+		// the remaining items are (up to rounding errors) exactly 1
+		while (largeCount > 0) {
+			int index = large[--largeCount];
+			mProbabilities[index] = 1;
+			mAliases[index] = index;
+		}
+		while (smallCount > 0) {
+			int index = small[--smallCount];
+			mProbabilities[index] = 1;
+			mAliases[index] = index;
+		}
+	}
+
+	private T getItem(int viewIndex) {
+		return mArrBaseItems[(mIndices == null) ? viewIndex : mIndices[viewIndex]];
+	}
+
+	private int drawIndex() {
+		int index = mRandom.nextInt(mProbabilities.length);
+		if (mRandom.nextDouble() < mProbabilities[index]) {
+			return index;
+		} else {
+			return mAliases[index];
+		}
+	}
+
+	@Override
+	public T getPotentialItem() {
+		if (mProbabilities.length == 0) {
+			return null;
+		}
+		if (mProbabilities.length == 1) {
+			return getItem(0);
+		}
+		return getItem(drawIndex());
+	}
+
+	@Override
+	public T getPotentialItem(Set<T> setOfFilteredItems) {
+		return getPotentialItem(setOfFilteredItems, false);
+	}
+
+	/**
+	 * Draws an item of the given set. A filtered view that has been created for
+	 * an equal set before is reused independently of the reusedProbability
+	 * flag, since it represents exactly the filtered distribution.
+	 */
+	@Override
+	public T getPotentialItem(Set<T> setOfFilteredItems, boolean reusedProbability) {
+		if (setOfFilteredItems == null) {
+			return getPotentialItem();
+		}
+		if (mProbabilities.length == 0) {
+			return null;
+		}
+		OfferedItemByAliasMethod<T> filteredView = mFilteredViews.get(setOfFilteredItems);
+		if (filteredView != null) {
+			return filteredView.getPotentialItem();
+		}
+		// rejection sampling on the complete table draws from the filtered
+		// distribution without looking at the whole sample space
+		for (int i = 0; i < MAX_REJECTED_DRAWS; ++i) {
+			T item = getItem(drawIndex());
+			if (setOfFilteredItems.contains(item)) {
+				return item;
+			}
+		}
+		// most of the probability mass has been filtered
+		filteredView = createFilteredView(setOfFilteredItems);
+		mFilteredViews.put(new HashSet<T>(setOfFilteredItems), filteredView);
+		return filteredView.getPotentialItem();
+	}
+
+	/**
+	 * Removes all cached filtered views, e.g., after the filters that have been
+	 * used so far will not be used again.
+	 */
+	public void clearFilteredViews() {
+		mFilteredViews.clear();
+	}
+
+	/**
+	 * @return the seed
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * @param seed
+	 *            the seed to set
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+}
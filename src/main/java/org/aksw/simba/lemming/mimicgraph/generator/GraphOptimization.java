@@ -5,6 +5,7 @@ import java.io.FileWriter;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,11 +28,14 @@ import org.aksw.simba.lemming.ColouredGraphDecorator;
 import org.aksw.simba.lemming.IColouredGraph;
 import org.aksw.simba.lemming.algo.expression.Expression;
 import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
+import org.aksw.simba.lemming.metrics.single.UpdatableMetricResult;
 import org.aksw.simba.lemming.metrics.single.edgemanipulation.EdgeModifier;
+import org.aksw.simba.lemming.metrics.single.edgemanipulation.EdgeModifierSnapshot;
 import org.aksw.simba.lemming.metrics.single.edgemanipulation.ErrorScores;
 import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.ErrorScoreCalculator;
 import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
 import org.aksw.simba.lemming.mimicgraph.metricstorage.ConstantValueStorage;
+import org.aksw.simba.lemming.util.IndexedIntSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,10 +51,29 @@ public class GraphOptimization {
     private int mTrueNoOfIteration = 0;
     private int mMaxRepeatedSelection = 5000;
     private boolean mProcessRandomly = false;
+    /**
+     * Number of threads used to evaluate the candidates of an iteration
+     */
+    private int mNumberOfThreads = 2;
+    /**
+     * Number of edges proposed for removing and for adding in each iteration
+     */
+    private int mNumberOfCandidates = 1;
 
     private IGraphGeneration mGraphGenerator;
     private EdgeModifier mEdgeModifier;
     private ErrorScoreCalculator mErrScoreCalculator;
+    /**
+     * Slots of the metrics of the {@link EdgeModifier} in the expressions of
+     * {@link #mErrScoreCalculator}
+     */
+    private int[] mMetricSlots;
+    /**
+     * Edges of the graph of the {@link EdgeModifier} that can be proposed for
+     * removing, i.e., all edges that are not RDF type edges. It is updated with
+     * every executed modification.
+     */
+    private IndexedIntSet mRemovableEdges;
     private List<Double> mLstErrorScore;
     private double mOptimizedTime = 0;
 
@@ -69,12 +92,19 @@ public class GraphOptimization {
          * constant values of the original graphs
          */
         mErrScoreCalculator = new ErrorScoreCalculator(origGrphs, valueCarriers);
+        mMetricSlots = mErrScoreCalculator.getMetricSlots(metrics);
 
         // the graph generator
         mGraphGenerator = graphGenerator;
 
         ColouredGraph clonedGrph = mGraphGenerator.getMimicGraph().clone();
         mEdgeModifier = new EdgeModifier(clonedGrph, metrics);
+
+        IntSet setOfEdges = clonedGrph.getEdges();
+        mRemovableEdges = new IndexedIntSet(setOfEdges.size());
+        for (int edgeId : setOfEdges) {
+            updateRemovableEdges(clonedGrph, edgeId);
+        }
     }
 
     public void setRefineGraphRandomly(boolean isRandom) {
@@ -89,18 +119,32 @@ public class GraphOptimization {
      *         the edge to the graph
      */
     public ErrorScores tryToRemoveAnEdgeThread(TripleBaseSingleID lTriple) {
-        double lErrScore;
+        ErrorScores candidate = tryToRemoveAnEdgeThread(mEdgeModifier.getSnapshot(), lTriple);
+        scoreCandidates(Collections.singletonList(candidate));
+        return candidate;
+    }
+
+    /**
+     * Evaluates the removal of an edge against the given state of the graph.
+     * The error score of the returned candidate is computed afterwards by
+     * {@link #scoreCandidates(List)}.
+     * 
+     * @param snapshot - the state of the graph and the previous metric results
+     * @param lTriple  - Edge to be removed from the graph
+     * @return ErrorScores - updated metric values after removing the edge to
+     *         the graph
+     */
+    private ErrorScores tryToRemoveAnEdgeThread(EdgeModifierSnapshot snapshot, TripleBaseSingleID lTriple) {
+        HashMap<String, UpdatableMetricResult> metricResults = new HashMap<>();
         ObjectDoubleOpenHashMap<String> metricValuesOfLeft;
-        metricValuesOfLeft = mEdgeModifier.tryToRemoveAnEdge(lTriple);
+        double[] metricValues = new double[mMetricSlots.length];
+        metricValuesOfLeft = snapshot.tryToRemoveAnEdge(lTriple, metricResults, metricValues);
 
-        // if the removal cannot happen, the error is set to max as not to be chosen
         if (metricValuesOfLeft == null) {
-            lErrScore = Double.MAX_VALUE;
-            LOGGER.warn("Edge Removal Prevented. Setting lErrScore: " + lErrScore);
-        } else {
-            lErrScore = mErrScoreCalculator.computeErrorScore(metricValuesOfLeft);
+            LOGGER.warn("Edge Removal Prevented.");
+            metricValues = null;
         }
-        return new ErrorScores(true, lErrScore, metricValuesOfLeft);
+        return new ErrorScores(true, metricValuesOfLeft, metricValues, lTriple, metricResults);
 
     }
 
@@ -112,59 +156,124 @@ public class GraphOptimization {
      *         edge to the graph
      */
     public ErrorScores tryToAddAnEdgeThread(TripleBaseSingleID rTriple) {
-        double rErrScore;
+        ErrorScores candidate = tryToAddAnEdgeThread(mEdgeModifier.getSnapshot(), rTriple);
+        scoreCandidates(Collections.singletonList(candidate));
+        return candidate;
+    }
+
+    /**
+     * Evaluates the addition of an edge against the given state of the graph.
+     * The error score of the returned candidate is computed afterwards by
+     * {@link #scoreCandidates(List)}.
+     * 
+     * @param snapshot - the state of the graph and the previous metric results
+     * @param rTriple  - Edge to be added to the graph
+     * @return ErrorScores - updated metric values after adding the edge to the
+     *         graph
+     */
+    private ErrorScores tryToAddAnEdgeThread(EdgeModifierSnapshot snapshot, TripleBaseSingleID rTriple) {
+        HashMap<String, UpdatableMetricResult> metricResults = new HashMap<>();
         ObjectDoubleOpenHashMap<String> metricValuesOfRight;
-        metricValuesOfRight = mEdgeModifier.tryToAddAnEdge(rTriple);
+        double[] metricValues = new double[mMetricSlots.length];
+        metricValuesOfRight = snapshot.tryToAddAnEdge(rTriple, metricResults, metricValues);
 
         if (metricValuesOfRight == null) {
-            rErrScore = Double.MAX_VALUE;
-            LOGGER.warn("Edge Addition Prevented. Setting rErrScore: " + rErrScore);
-        } else {
-            rErrScore = mErrScoreCalculator.computeErrorScore(metricValuesOfRight);
+            LOGGER.warn("Edge Addition Prevented.");
+            metricValues = null;
         }
-        return new ErrorScores(false, rErrScore, metricValuesOfRight);
+        return new ErrorScores(false, metricValuesOfRight, metricValues, rTriple, metricResults);
     }
 
+    /**
+     * Computes the error scores of the given evaluated candidates with a single
+     * call of the {@link ErrorScoreCalculator}. If a modification has been
+     * prevented, the error score of the candidate is set to max as not to be
+     * chosen.
+     * 
+     * @param candidates - the evaluated candidates
+     */
+    private void scoreCandidates(List<ErrorScores> candidates) {
+        List<ErrorScores> evaluated = new ArrayList<ErrorScores>(candidates.size());
+        for (ErrorScores candidate : candidates) {
+            if (candidate.getMetricVector() == null) {
+                candidate.setErrorScore(Double.MAX_VALUE);
+            } else {
+                evaluated.add(candidate);
+            }
+        }
+        double[][] metricVectors = new double[evaluated.size()][];
+        for (int i = 0; i < metricVectors.length; ++i) {
+            metricVectors[i] = evaluated.get(i).getMetricVector();
+        }
+        double[] errorScores = new double[metricVectors.length];
+        mErrScoreCalculator.computeErrorScores(metricVectors, mMetricSlots, errorScores);
+        for (int i = 0; i < errorScores.length; ++i) {
+            evaluated.get(i).setErrorScore(errorScores[i]);
+        }
+    }
+
+    /**
+     * Refines the mimic graph. In every iteration, {@link #mNumberOfCandidates}
+     * edges are proposed for removing and {@link #mNumberOfCandidates} edges are
+     * proposed for adding. All candidates are evaluated concurrently against the
+     * current state of the {@link EdgeModifier}, their error scores are computed
+     * in one batch and the best one is applied if it does not increase the error
+     * score.
+     */
     public void refineGraph() {
 
-        LOGGER.info("Start optimize the mimic graph!");
+        LOGGER.info("Start optimize the mimic graph with " + mNumberOfThreads + " threads and "
+                + mNumberOfCandidates + " candidates per operation!");
 
         int noOfRepeatedParent = 0;
-        ErrorScores errScoreLeft = null;
-        ErrorScores errScoreRight = null;
-        double lErrScore = Double.NaN;
-        double rErrScore = Double.NaN;
         ObjectDoubleOpenHashMap<String> baseMetricValues = mEdgeModifier.getOriginalMetricValues();
-        ColouredGraphDecorator mAddEdgeDecorator = mEdgeModifier.getAddEdgeDecorator();
-        ColouredGraphDecorator mRemoveEdgeDecorator = mEdgeModifier.getRemoveEdgeDecorator();
 
         double pErrScore = mErrScoreCalculator.computeErrorScore(baseMetricValues);
 
-        // TODO change number of threads to -thrs argument
-        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ExecutorService executor = Executors.newFixedThreadPool(mNumberOfThreads);
+        List<Future<ErrorScores>> leftFutureScores = new ArrayList<Future<ErrorScores>>(mNumberOfCandidates);
+        List<Future<ErrorScores>> rightFutureScores = new ArrayList<Future<ErrorScores>>(mNumberOfCandidates);
 
         for (int i = 0; i < mMaxIteration; ++i) {
             // add errorScore to tracking list result
             mLstErrorScore.add(pErrScore);
 
-            // Arguments passed to a 'Callable task' have to be final
-            final TripleBaseSingleID lTriple = getOfferedEdgeforRemoving(mRemoveEdgeDecorator);
-            final TripleBaseSingleID rTriple = getOfferedEdgeForAdding(mAddEdgeDecorator);
-
-            Future<ErrorScores> leftFutureScore = executor.submit(() -> tryToRemoveAnEdgeThread(lTriple));
-            Future<ErrorScores> rightFutureScore = executor.submit(() -> tryToAddAnEdgeThread(rTriple));
+            // the candidates are proposed sequentially since the generator is not
+            // thread safe
+            List<TripleBaseSingleID> lTriples = getOfferedEdgesForRemoving(mEdgeModifier.getGraph(),
+                    mNumberOfCandidates);
+            // all candidates are evaluated against the same state
+            final EdgeModifierSnapshot snapshot = mEdgeModifier.getSnapshot();
+            leftFutureScores.clear();
+            rightFutureScores.clear();
+            for (TripleBaseSingleID lTriple : lTriples) {
+                leftFutureScores.add(executor.submit(() -> tryToRemoveAnEdgeThread(snapshot, lTriple)));
+            }
+            for (int j = 0; j < mNumberOfCandidates; ++j) {
+                // Arguments passed to a 'Callable task' have to be final
+                final TripleBaseSingleID rTriple = getOfferedEdgeForAdding();
+                rightFutureScores.add(executor.submit(() -> tryToAddAnEdgeThread(snapshot, rTriple)));
+            }
 
+            ErrorScores errScoreLeft = null;
+            ErrorScores errScoreRight = null;
             try {
-                errScoreLeft = leftFutureScore.get();
-                errScoreRight = rightFutureScore.get();
+                List<ErrorScores> leftCandidates = getCandidates(leftFutureScores);
+                List<ErrorScores> rightCandidates = getCandidates(rightFutureScores);
+                // all candidates of the iteration are scored at once
+                List<ErrorScores> candidates = new ArrayList<ErrorScores>(leftCandidates);
+                candidates.addAll(rightCandidates);
+                scoreCandidates(candidates);
+                errScoreLeft = getBestCandidate(leftCandidates);
+                errScoreRight = getBestCandidate(rightCandidates);
             } catch (InterruptedException | ExecutionException e) {
                 LOGGER.warn("Cannot fetch error scores from threads. Check: " + e.getMessage());
                 e.printStackTrace();
                 System.exit(1);
             }
 
-            lErrScore = errScoreLeft.getErrorScore();
-            rErrScore = errScoreRight.getErrorScore();
+            double lErrScore = errScoreLeft.getErrorScore();
+            double rErrScore = errScoreRight.getErrorScore();
             // find min error score
             double minErrScore = minValues(pErrScore, lErrScore, rErrScore);
 
@@ -176,7 +285,9 @@ public class GraphOptimization {
                 pErrScore = lErrScore;
 
                 noOfRepeatedParent = 0;
-                mEdgeModifier.executeRemovingAnEdge(errScoreLeft.getMetricValues());
+                mEdgeModifier.executeRemovingAnEdge(errScoreLeft.getTriple(), errScoreLeft.getMetricValues(),
+                        errScoreLeft.getMetricResults());
+                mRemovableEdges.remove(errScoreLeft.getTriple().edgeId);
                 continue;
             }
             if (minErrScore == rErrScore) {
@@ -184,7 +295,9 @@ public class GraphOptimization {
                 pErrScore = rErrScore;
 
                 noOfRepeatedParent = 0;
-                mEdgeModifier.executeAddingAnEdge(errScoreRight.getMetricValues());
+                int edgeId = mEdgeModifier.executeAddingAnEdge(errScoreRight.getTriple(),
+                        errScoreRight.getMetricValues(), errScoreRight.getMetricResults());
+                updateRemovableEdges(mEdgeModifier.getGraph(), edgeId);
                 continue;
             }
             noOfRepeatedParent++;
@@ -207,6 +320,47 @@ public class GraphOptimization {
         mOptimizedTime = System.currentTimeMillis();
     }
 
+    /**
+     * Waits for all given evaluations
+     * 
+     * @param futureScores the evaluations of the candidates
+     * @return the evaluated candidates in the order in which they have been
+     *         proposed
+     */
+    private List<ErrorScores> getCandidates(List<Future<ErrorScores>> futureScores)
+            throws InterruptedException, ExecutionException {
+        List<ErrorScores> candidates = new ArrayList<ErrorScores>(futureScores.size());
+        for (Future<ErrorScores> futureScore : futureScores) {
+            candidates.add(futureScore.get());
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns the scored candidate with the smallest error score. A NaN error
+     * score is treated as positive infinity, i.e., such a candidate is only
+     * chosen if all candidates have a NaN score. In case of a tie, the
+     * candidate that has been proposed first is chosen.
+     * 
+     * @param candidates the scored candidates
+     * @return the best candidate
+     */
+    private ErrorScores getBestCandidate(List<ErrorScores> candidates) {
+        ErrorScores bestScore = null;
+        double bestErrScore = Double.NaN;
+        for (ErrorScores score : candidates) {
+            double errScore = score.getErrorScore();
+            if (Double.isNaN(errScore)) {
+                errScore = Double.POSITIVE_INFINITY;
+            }
+            if (bestScore == null || Double.compare(errScore, bestErrScore) < 0) {
+                bestScore = score;
+                bestErrScore = errScore;
+            }
+        }
+        return bestScore;
+    }
+
     /**
      * Compute the smallest error score among the three inputs
      * 
@@ -230,46 +384,53 @@ public class GraphOptimization {
     }
 
     /**
-     * remove an edge
+     * propose edges for removing
      * 
-     * @param clonedGrph the target graph
-     * @a
+     * @param clonedGrph         the target graph
+     * @param numberOfCandidates the number of edges that should be proposed
+     * @return list of proposed edges
      */
-    private TripleBaseSingleID getOfferedEdgeforRemoving(ColouredGraphDecorator clonedGrph) {
-        int edgeId = -1;
-        BitSet edgeColour = null;
+    private List<TripleBaseSingleID> getOfferedEdgesForRemoving(IColouredGraph clonedGrph,
+            int numberOfCandidates) {
+        List<TripleBaseSingleID> lstTriples = new ArrayList<TripleBaseSingleID>(numberOfCandidates);
         Random rand = new Random(seed);
         seed++;
-        while (true) {
-            // LOGGER.info("Try to get an edge for removing!");
-            IntSet setOfEdges = clonedGrph.getEdges();
-            int[] arrEdges = setOfEdges.toIntArray();
-            // randomly choose edge id to remove
-            edgeId = arrEdges[rand.nextInt(arrEdges.length)];
-            edgeColour = clonedGrph.getEdgeColour(edgeId);
-            if (!edgeColour.equals(clonedGrph.getRDFTypePropertyColour())) {
-                break;
-            }
+        for (int i = 0; i < numberOfCandidates; ++i) {
+            // randomly choose edge id to remove (RDF type edges are not part of the set)
+            int edgeId = mRemovableEdges.sample(rand);
+            BitSet edgeColour = clonedGrph.getEdgeColour(edgeId);
+
+            // track the head and tail of the removed edge
+            TripleBaseSingleID triple = new TripleBaseSingleID();
+            triple.tailId = clonedGrph.getTailOfTheEdge(edgeId);
+            triple.headId = clonedGrph.getHeadOfTheEdge(edgeId);
+            triple.edgeId = edgeId;
+            triple.edgeColour = edgeColour;
+
+            // LOGGER.info("Proposed removed triple: ("+triple.tailId +","+triple.headId
+            // +","+triple.edgeId+")");
+            lstTriples.add(triple);
         }
-
-        // track the head and tail of the removed edge
-        TripleBaseSingleID triple = new TripleBaseSingleID();
-        triple.tailId = clonedGrph.getTailOfTheEdge(edgeId);
-        triple.headId = clonedGrph.getHeadOfTheEdge(edgeId);
-        triple.edgeId = edgeId;
-        triple.edgeColour = edgeColour;
-
-        // LOGGER.info("Proposed removed triple: ("+triple.tailId +","+triple.headId
-        // +","+triple.edgeId+")");
-        return triple;
+        return lstTriples;
     }
 
     /**
-     * add an edge
+     * Adds the given edge of the graph to the set of removable edges if it is
+     * not an RDF type edge
      * 
-     * @param mimicGrph the target graph
+     * @param graph  the graph of the {@link EdgeModifier}
+     * @param edgeId the ID of an edge of the graph
      */
-    private TripleBaseSingleID getOfferedEdgeForAdding(ColouredGraphDecorator mimicGrph) {
+    private void updateRemovableEdges(IColouredGraph graph, int edgeId) {
+        if (!graph.getEdgeColour(edgeId).equals(graph.getRDFTypePropertyColour())) {
+            mRemovableEdges.add(edgeId);
+        }
+    }
+
+    /**
+     * propose an edge for adding
+     */
+    private TripleBaseSingleID getOfferedEdgeForAdding() {
         return mGraphGenerator.getProposedTriple(mProcessRandomly);
     }
 
@@ -420,4 +581,34 @@ public class GraphOptimization {
         if (iNumberOfOptimizations > 0)
             mMaxIteration = iNumberOfOptimizations;
     }
+
+    /**
+     * Sets the number of threads used for evaluating the candidates of an
+     * iteration. A value of -1 means that all available processors are used.
+     * The number of candidates is set independently (see
+     * {@link #setNumberOfCandidates(int)}).
+     * 
+     * @param iNumberOfThreads the number of threads
+     */
+    public void setNumberOfThreads(int iNumberOfThreads) {
+        int iAvailableThreads = Runtime.getRuntime().availableProcessors();
+        if (iNumberOfThreads <= -1 || iNumberOfThreads > iAvailableThreads) {
+            iNumberOfThreads = iAvailableThreads;
+        } else if (iNumberOfThreads == 0) {
+            iNumberOfThreads = 1;
+        }
+        mNumberOfThreads = iNumberOfThreads;
+    }
+
+    /**
+     * Sets the number of edges that are proposed for removing and for adding
+     * in each iteration. By default, a single edge is proposed for each
+     * operation.
+     * 
+     * @param iNumberOfCandidates the number of candidates per operation
+     */
+    public void setNumberOfCandidates(int iNumberOfCandidates) {
+        if (iNumberOfCandidates > 0)
+            mNumberOfCandidates = iNumberOfCandidates;
+    }
 }
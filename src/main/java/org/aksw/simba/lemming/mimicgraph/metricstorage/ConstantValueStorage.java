@@ -174,6 +174,21 @@ public class ConstantValueStorage implements Serializable	{
 //		return mapObjMetricValues;
 //	}
 	
+	/**
+	 * @return the metric and constant values of the current dataset
+	 */
+	public ValueStorage getValueStorage(){
+		return mMapValueStorage.get(mDataSetPath);
+	}
+	
+	/**
+	 * Replaces the metric and constant values of the current dataset, e.g., by
+	 * values read from a cache.
+	 */
+	public void setValueStorage(ValueStorage valueStorage){
+		mMapValueStorage.put(mDataSetPath, valueStorage);
+	}
+	
 	public Map<Expression, Map<String, Double>> getMapConstantValues(){
 		ValueStorage mValueStorage = mMapValueStorage.get(mDataSetPath);
 		return mValueStorage.getMapConstantValues();
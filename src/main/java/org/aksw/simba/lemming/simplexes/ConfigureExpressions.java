@@ -1,6 +1,7 @@
 package org.aksw.simba.lemming.simplexes;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -87,6 +88,37 @@ public class ConfigureExpressions {
 		
 	}
 	
+	/**
+	 * Returns the names of the metrics and the expressions that are computed
+	 * for the given dataset, e.g., to detect whether cached values have been
+	 * computed with a different configuration.
+	 */
+	public static String getConfiguration(String dataset) {
+		List<SingleValueMetric> metrics;
+		Set<Expression> setOfExpressions;
+		if(dataset.equalsIgnoreCase("swdf")) {
+			setOfExpressions = getExpressionsSWDF();
+			metrics = getMetricsSWDF();
+		}else {
+			setOfExpressions = getExpressionsLGD();
+			metrics = getMetricsLGD();
+		}
+		List<String> expressions = new ArrayList<String>();
+		for (Expression expr: setOfExpressions) {
+			expressions.add(expr.toString());
+		}
+		// the order of the set is not fixed
+		Collections.sort(expressions);
+		StringBuilder builder = new StringBuilder();
+		for (SingleValueMetric metric: metrics) {
+			builder.append(metric.getName()).append(';');
+		}
+		for (String expr: expressions) {
+			builder.append(expr).append(';');
+		}
+		return builder.toString();
+	}
+	
 	public Map<String, ObjectDoubleOpenHashMap<String>> getMapMetricValues() {
 		return mapMetricValues;
 	}
@@ -116,7 +148,7 @@ public class ConfigureExpressions {
 	/**
 	 * Returns metrics for SWDF dataset 
 	 */
-	private List<SingleValueMetric> getMetricsSWDF() {
+	private static List<SingleValueMetric> getMetricsSWDF() {
 		List<SingleValueMetric> metrics = new ArrayList<>();
 		metrics.add(new MaxVertexDegreeMetric(DIRECTION.in));
 		metrics.add(new StdDevVertexDegree(DIRECTION.out));
@@ -129,7 +161,7 @@ public class ConfigureExpressions {
 	/**
 	 * Returns all metrics 
 	 */
-	private List<SingleValueMetric> getMetricsLGD() {
+	private static List<SingleValueMetric> getMetricsLGD() {
 		List<SingleValueMetric> metrics = new ArrayList<>();
 		//metrics.add(new NodeTriangleMetric());
 		//metrics.add(new EdgeTriangleMetric());
@@ -147,7 +179,7 @@ public class ConfigureExpressions {
 	/**
 	 * Returns expressions for SWDF
 	 */
-	private Set<Expression> getExpressionsSWDF() {
+	private static Set<Expression> getExpressionsSWDF() {
 		Set<Expression> setOfExpressions = new HashSet<>();
 		
 		Operation exp1 = new Operation(
@@ -218,7 +250,7 @@ public class ConfigureExpressions {
 	 * Returns expressions for LGD dataset
 	 * 
 	 */
-	private Set<Expression> getExpressionsLGD() {
+	private static Set<Expression> getExpressionsLGD() {
 		Set<Expression> setOfExpressions = new HashSet<>();
 		
 		Operation exp1 = new Operation(new Operation(
@@ -4,16 +4,22 @@ import com.carrotsearch.hppc.BitSet;
 
 public class EdgeColos {
 	private BitSet headColo, tailColo;	
+	/**
+	 * Hash code computed once in the constructor, see {@link TriColos}.
+	 */
+	private final int hash;
 
     public EdgeColos(BitSet a, BitSet b) {
         //set(a, b); // sorting logic for the bitset
     	this.headColo = a;
     	this.tailColo = b;
+    	this.hash = computeHashCode();
     }
 
     EdgeColos(EdgeColos t) {
         this.headColo = t.headColo;
         this.tailColo = t.tailColo;
+        this.hash = t.hash;
     }    
     
     public BitSet getA() {
@@ -31,6 +37,10 @@ public class EdgeColos {
      */
     @Override
     public int hashCode() {
+        return hash;
+    }
+
+    private int computeHashCode() {
         final int prime = 31;
         int result = 1;
         result = prime * result + headColo.hashCode();
@@ -48,9 +58,10 @@ public class EdgeColos {
         if (getClass() != obj.getClass())
             return false;
         EdgeColos other = (EdgeColos) obj;
-        if (headColo.hashCode() != other.headColo.hashCode())
+        if (hash != other.hash)
             return false;
-        return tailColo.hashCode() == other.tailColo.hashCode();
+        return ((headColo == other.headColo) || headColo.equals(other.headColo))
+                && ((tailColo == other.tailColo) || tailColo.equals(other.tailColo));
     }
 
     @Override
@@ -4,6 +4,12 @@ import com.carrotsearch.hppc.BitSet;
 
 public class TriColos {
 	private BitSet a, b, c;	
+	/**
+	 * Hash code computed once when the colours are set. Since the colours of a
+	 * graph are interned, equal colours are mostly the same objects and
+	 * comparing two keys does not need to look at the bits.
+	 */
+	private int hash;
 
     public TriColos(BitSet a, BitSet b, BitSet c) {
         set(a, b, c); // sorting logic for the bitset
@@ -13,6 +19,7 @@ public class TriColos {
         this.a = t.a;
         this.b = t.b;
         this.c = t.c;
+        this.hash = t.hash;
     }    
     
     
@@ -78,6 +85,7 @@ public class TriColos {
                 }
             }
         }
+        hash = computeHashCode();
     }
     
     /*
@@ -160,6 +168,10 @@ public class TriColos {
      */
     @Override
     public int hashCode() {
+        return hash;
+    }
+
+    private int computeHashCode() {
         final int prime = 31;
         int result = 1;
         result = prime * result + a.hashCode();
@@ -178,11 +190,13 @@ public class TriColos {
         if (getClass() != obj.getClass())
             return false;
         TriColos other = (TriColos) obj;
-        if (a.hashCode() != other.a.hashCode())
+        if (hash != other.hash)
             return false;
-        if (b.hashCode() != other.b.hashCode())
-            return false;
-        return c.hashCode() == other.c.hashCode();
+        return sameColour(a, other.a) && sameColour(b, other.b) && sameColour(c, other.c);
+    }
+
+    private static boolean sameColour(BitSet colour, BitSet other) {
+        return (colour == other) || colour.equals(other);
     }
 
     @Override
@@ -53,6 +53,11 @@ public abstract class AbstractFindSimplexes implements ISimplexesAnalysis{
 	 */
 	protected ColouredGraph[] inputGrphs;
 	
+	/**
+	 * Engine sharing the structures and triangles of the input graphs between the analyses.
+	 */
+	protected SimplexAnalysisEngine analysisEngine;
+	
 	/**
 	 * Number of vertices in the output graph.
 	 */
@@ -4,7 +4,6 @@ import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.simplexes.EdgeColos;
 import org.aksw.simba.lemming.simplexes.TriColos;
 import org.aksw.simba.lemming.util.Constants;
-import org.aksw.simba.lemming.util.IntSetUtil;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
@@ -37,7 +36,12 @@ public class ConnS1C extends AbstractFindSimplexes{
 	private ObjectObjectOpenHashMap<Integer, IntSet> mGraphsEdgesIdsAllSimplexesTemp;
 	
 	public ConnS1C(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions, ObjectObjectOpenHashMap<Integer, IntSet> mGraphsEdgesIdsAllSimplexes) {
-		inputGrphs = origGrphs;
+		this(new SimplexAnalysisEngine(origGrphs), desiredNoVertices, iNoOfVersions, mGraphsEdgesIdsAllSimplexes);
+	}
+	
+	public ConnS1C(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions, ObjectObjectOpenHashMap<Integer, IntSet> mGraphsEdgesIdsAllSimplexes) {
+		this.analysisEngine = analysisEngine;
+		inputGrphs = analysisEngine.getInputGraphs();
 		inputDesiredNoVert = desiredNoVertices;
 		mNumOfInputGrphs = iNoOfVersions;
 		
@@ -59,13 +63,14 @@ public class ConnS1C extends AbstractFindSimplexes{
 	
 	@Override
 	public void findSimplexes() {
+		SimplexGraphStructure[] structures = analysisEngine.getStructures();
 		int keyGraphId = 1;
 		for (ColouredGraph graph : inputGrphs) {
 			if (graph!= null) {
-				IntSet allEdgeIds = graph.getEdges();
+				SimplexGraphStructure structure = structures[keyGraphId - 1];
 				
 				IntSet edgeIdsAllsimplexes = mGraphsEdgesIdsAllSimplexesTemp.get(keyGraphId);
-				IntSet result = IntSetUtil.difference(allEdgeIds, edgeIdsAllsimplexes); // all edges subtracted from edges of all other simplexes
+				IntSet result = structure.getEdgesNotIn(edgeIdsAllsimplexes); // all edges subtracted from edges of all other simplexes
 				
 				mGraphsEdgesIds.put(keyGraphId, result); //store the edges in global map
 				
@@ -86,7 +91,7 @@ public class ConnS1C extends AbstractFindSimplexes{
 				// Iterate and store the statistics of vertex colors for these Edges
 				for (int edgeIdConnected1Simplex: result) {
 					
-					if (!graph.getEdgeColour(edgeIdConnected1Simplex).equals(graph.getRDFTypePropertyColour())) {
+					if (!structure.isRDFTypeEdge(edgeIdConnected1Simplex)) {
 					
 						//Get tail and head of the edge
 						int tailEdge = graph.getTailOfTheEdge(edgeIdConnected1Simplex);
@@ -20,6 +20,10 @@ public class ConnS2 extends AbstractFindSimplexes{
 	 */
 	private ObjectObjectOpenHashMap<TriColos, double[]> mTriColoEdgesTriCountDistAvg;
 
+	public ConnS2(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions) {
+		this(analysisEngine.getInputGraphs(), desiredNoVertices, iNoOfVersions, analysisEngine.getTriangles());
+	}
+
 	public ConnS2(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions, FindTri computedTriObjects) {
 		// initialize variables
 		inputGrphs = origGrphs;
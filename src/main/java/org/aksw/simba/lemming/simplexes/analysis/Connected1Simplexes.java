@@ -2,7 +2,6 @@ package org.aksw.simba.lemming.simplexes.analysis;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.util.Constants;
-import org.aksw.simba.lemming.util.IntSetUtil;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
@@ -30,7 +29,12 @@ public class Connected1Simplexes extends AbstractFindSimplexes{
 	private ObjectObjectOpenHashMap<Integer, IntSet> mGraphsEdgesIdsAllSimplexesTemp;
 	
 	public Connected1Simplexes(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions, ObjectObjectOpenHashMap<Integer, IntSet> mGraphsEdgesIdsAllSimplexes) {
-		inputGrphs = origGrphs;
+		this(new SimplexAnalysisEngine(origGrphs), desiredNoVertices, iNoOfVersions, mGraphsEdgesIdsAllSimplexes);
+	}
+	
+	public Connected1Simplexes(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions, ObjectObjectOpenHashMap<Integer, IntSet> mGraphsEdgesIdsAllSimplexes) {
+		this.analysisEngine = analysisEngine;
+		inputGrphs = analysisEngine.getInputGraphs();
 		inputDesiredNoVert = desiredNoVertices;
 		mNumOfInputGrphs = iNoOfVersions;
 		
@@ -52,13 +56,14 @@ public class Connected1Simplexes extends AbstractFindSimplexes{
 	
 	@Override
 	public void findSimplexes() {
+		SimplexGraphStructure[] structures = analysisEngine.getStructures();
 		int keyGraphId = 1;
 		for (ColouredGraph graph : inputGrphs) {
 			if (graph!= null) {
-				IntSet allEdgeIds = graph.getEdges();
+				SimplexGraphStructure structure = structures[keyGraphId - 1];
 				
 				IntSet edgeIdsAllsimplexes = mGraphsEdgesIdsAllSimplexesTemp.get(keyGraphId);
-				IntSet result = IntSetUtil.difference(allEdgeIds, edgeIdsAllsimplexes); // all edges from edges of all other simplexes
+				IntSet result = structure.getEdgesNotIn(edgeIdsAllsimplexes); // all edges from edges of all other simplexes
 				
 				mGraphsEdgesIds.put(keyGraphId, result); //store the edges in global map
 				
@@ -77,7 +82,7 @@ public class Connected1Simplexes extends AbstractFindSimplexes{
 				// Iterate and store the statistics of vertex colors for these Edges
 				for (int edgeIdConnected1Simplex: result) {
 					
-					if (!graph.getEdgeColour(edgeIdConnected1Simplex).equals(graph.getRDFTypePropertyColour())) {
+					if (!structure.isRDFTypeEdge(edgeIdConnected1Simplex)) {
 					
 						//Get tail and head of the edge
 						int tailEdge = graph.getTailOfTheEdge(edgeIdConnected1Simplex);
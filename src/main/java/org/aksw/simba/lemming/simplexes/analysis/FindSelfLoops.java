@@ -24,8 +24,13 @@ public class FindSelfLoops extends AbstractFindSimplexes {
 	private ObjectDoubleOpenHashMap<BitSet> mColoCountSelfLoop;
 
 	public FindSelfLoops(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions, ObjectObjectOpenHashMap<Integer, IntSet> mGraphsVertIdsInput) {
+		this(new SimplexAnalysisEngine(origGrphs), desiredNoVertices, iNoOfVersions, mGraphsVertIdsInput);
+	}
+
+	public FindSelfLoops(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions, ObjectObjectOpenHashMap<Integer, IntSet> mGraphsVertIdsInput) {
 		// initialize variables
-		inputGrphs = origGrphs;
+		this.analysisEngine = analysisEngine;
+		inputGrphs = analysisEngine.getInputGraphs();
 		inputDesiredNoVert = desiredNoVertices;
 		mNumOfInputGrphs = iNoOfVersions;
 		
@@ -49,11 +54,14 @@ public class FindSelfLoops extends AbstractFindSimplexes {
 	
 	@Override
 	public void findSimplexes() {
+		SimplexGraphStructure[] structures = analysisEngine.getStructures();
 		int graphId = 1;
 		
 		for (ColouredGraph graph : inputGrphs) {
 			
 			if (graph!= null) {
+				SimplexGraphStructure structure = structures[graphId - 1];
+
 				//****************************** temporary variables for self loop ****************************************//
 				IntSet edgesFormingSelfLoop = new DefaultIntSet(Constants.DEFAULT_SIZE); // edges for self loop
 				ObjectIntOpenHashMap<BitSet> mColoCountTempSelfLoop = new ObjectIntOpenHashMap<BitSet>(); // map for vertex color of self loop
@@ -63,15 +71,10 @@ public class FindSelfLoops extends AbstractFindSimplexes {
 					
 					BitSet vertexColour = graph.getVertexColour(vertexID); // get vertex color
 					
-					IntSet edgesIncidentToVertex = graph.getEdgesIncidentTo(vertexID); // find all edges incident to vertex
-					
-					for (int edgeForVertex: edgesIncidentToVertex) { // iterate over incident edges to find self loops
-						
-						if ((graph.getVerticesIncidentToEdge(edgeForVertex).size() == 1)) { // when a single vertex is incident on a edge then it is a self loop
-							// self loop when both end points are same (i.e. number of vertices incident to the edge is 1)
-							edgesFormingSelfLoop.add(edgeForVertex);
-							mColoCountTempSelfLoop.putOrAdd(vertexColour, 1, 1);
-						}
+					// iterate over the self loops of the vertex
+					for (int i = structure.getFirstSelfLoop(vertexID); i < structure.getEndOfSelfLoops(vertexID); i++) {
+						edgesFormingSelfLoop.add(structure.getSelfLoopEdgeId(i));
+						mColoCountTempSelfLoop.putOrAdd(vertexColour, 1, 1);
 					}
 				}
 				
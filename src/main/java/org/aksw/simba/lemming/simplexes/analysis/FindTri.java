@@ -1,16 +1,23 @@
 package org.aksw.simba.lemming.simplexes.analysis;
 
 import grph.DefaultIntSet;
-import grph.Grph;
-import grph.in_memory.InMemoryGrph;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
-import java.util.HashSet;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.simplexes.TriColos;
 import org.aksw.simba.lemming.util.Constants;
-import org.aksw.simba.lemming.util.IntSetUtil;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectObjectOpenHashMap;
@@ -20,6 +27,8 @@ import com.carrotsearch.hppc.ObjectObjectOpenHashMap;
  */
 public class FindTri {
 	
+	private static final int FILE_FORMAT_VERSION = 1;
+	
 	/**
 	 * Map for storing vertex colors for the triangle along with the probability for them in terms of triangle count and edge count in an array.
 	 * Note: Count of triangles is stored at the 0th index of the array, 
@@ -67,205 +76,201 @@ public class FindTri {
 		
 	}
     
+    /**
+     * Finds the triangles of the given graph and adds their colours, counts,
+     * vertices and edges to the maps of this object. The triangles are
+     * enumerated on a sorted, undirected adjacency with a degree-based
+     * orientation. Ranges of vertices are processed in parallel with per-thread
+     * counts that are merged at the end.
+     */
     public void computeTriangles(ColouredGraph graph){
-    	
-    	//Temporary variables for storing connected 2-simplexes information
-    	int countResourceTriangles = 0; // Variable to track count of triangles
-    	IntSet verticesOnlyFormingTriangleResource = new DefaultIntSet(Constants.DEFAULT_SIZE);//temporary variables to track vertices forming only triangles
-    	IntSet edgesWithinTrianglesResource = new DefaultIntSet(Constants.DEFAULT_SIZE);// temporary variable for tracking edge Ids within triangle
-    	ObjectObjectOpenHashMap<TriColos, double[]> mTriangleColoursTriangleEdgeCountsTemp = new ObjectObjectOpenHashMap<TriColos, double[]>(); //temporary map to store count of edges and triangles, which is later used to compute probabilities
-    	
-    	//Temporary variables for storing isolated 2-simplexes information
-    	IntSet verticesForIsolatedTriangles = new DefaultIntSet(Constants.DEFAULT_SIZE);//temporary variables to track vertices forming only triangles
-    	IntSet edgesForIsolatedTriangles = new DefaultIntSet(Constants.DEFAULT_SIZE);// temporary variable for tracking edge Ids within triangle
-    	int countIsolatedTriangles = 0;// Variable to track count of triangles
-    	ObjectObjectOpenHashMap<TriColos, double[]> mIsolatedTriColosTriEdgeCountsTemp = new ObjectObjectOpenHashMap<TriColos, double[]>();//temporary map to store count of edges and triangles, which is later used to compute probabilities
-    	
-    	IntSet[] edges = new IntSet[graph.getGraph().getNumberOfVertices()];
-
-        Grph grph = getUndirectedGraph(graph.getGraph()); // creates graph based on edges
-        IntSet vertices = grph.getVertices();
-
-        for (int vertexId:vertices) {
-        	edges[vertexId] = grph.getOutEdges(vertexId);
-        	edges[vertexId].addAll(grph.getInEdges(vertexId));
+        SimplexGraphStructure structure = new SimplexGraphStructure(graph);
+        addTriangles(structure, findTriangles(structure, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Finds the triangles of the given input graphs in parallel and adds them to
+     * the maps of this object in the order of the given array, i.e., the results
+     * are the same as calling {@link #computeTriangles(ColouredGraph)} for every
+     * graph.
+     */
+    public void computeTriangles(SimplexGraphStructure[] structures) {
+        int numberOfProcessors = Runtime.getRuntime().availableProcessors();
+        int threadsPerGraph = Math.max(1, numberOfProcessors / Math.max(1, structures.length));
+        List<Callable<TriangleCounts[]>> tasks = new ArrayList<Callable<TriangleCounts[]>>();
+        for (SimplexGraphStructure structure : structures) {
+            tasks.add(() -> findTriangles(structure, threadsPerGraph));
         }
-        
-        //Logic to find set of class vertices
-        IntSet classVerticesSet = new DefaultIntSet(Constants.DEFAULT_SIZE);
-        System.out.println("Graph: " + graphId);
-        for (int edgeId: graph.getEdges()) {
-        	if (graph.getEdgeColour(edgeId).equals(graph.getRDFTypePropertyColour())) {
-        		int classVertexID = graph.getHeadOfTheEdge(edgeId);
-        		classVerticesSet.add(classVertexID);
-        	}
+        List<TriangleCounts[]> counts = SimplexAnalysisEngine.runInParallel(tasks,
+                Math.min(structures.length, numberOfProcessors));
+        for (int i = 0; i < structures.length; ++i) {
+            addTriangles(structures[i], counts.get(i));
         }
+    }
 
-        IntSet vertGrph = grph.getVertices();
-        IntSet visitedVertices = new DefaultIntSet(vertGrph.size());
-        for (int vertex : vertGrph) {
-            IntSet neighbors = IntSetUtil.difference(
-                    IntSetUtil.union(grph.getInNeighbors(vertex), grph.getOutNeighbors(vertex)), visitedVertices);
-            for (int neighbor1 : neighbors) {
-                IntSet neighbors1 = IntSetUtil.difference(
-                        IntSetUtil.union(grph.getInNeighbors(neighbor1), grph.getOutNeighbors(neighbor1)),
-                        visitedVertices);
-                for (int neighbor2 : neighbors) {
-                    if (vertex != neighbor1 && vertex != neighbor2 && neighbor1 < neighbor2
-                            && neighbors1.contains(neighbor2)) {
-                    	
-                    	IntSet intersection1 = IntSetUtil.intersection(edges[vertex], edges[neighbor1]);
-                    	IntSet intersection2 = IntSetUtil.intersection(edges[neighbor1], edges[neighbor2]);
-                    	IntSet intersection3 = IntSetUtil.intersection(edges[neighbor2], edges[vertex]);
-                    	
-                    	
-                    	int intersectionResult1 = intersection1.size();
-                    	int intersectionResult2 = intersection2.size();
-                    	int intersectionResult3 = intersection3.size();
-                    	
-                    	int intersectionResult = (intersectionResult1 * intersectionResult2 * intersectionResult3);
-                        
-                        if (intersectionResult > 0) {
-                        	
-                        	TriColos tempObj = new TriColos(graph.getVertexColour(vertex), graph.getVertexColour(neighbor1), graph.getVertexColour(neighbor2));
-                        	
-                        	// Set to store colors of every edge within the nodes forming a triangle
-                        	HashSet<BitSet> setEdgeColors = new HashSet<BitSet>();
-                        	
-                        	// get colours of all edges and add to the Set
-                        	for(int edgeIdVal: IntSetUtil.union( IntSetUtil.intersection(edges[vertex], edges[neighbor1]),IntSetUtil.union(IntSetUtil.intersection(edges[neighbor1], edges[neighbor2]), IntSetUtil.intersection(edges[neighbor2], edges[vertex]))) ) {
-                        		setEdgeColors.add(graph.getEdgeColour(edgeIdVal));
-                        	}
-                        	
-                        	// if RDF type edge is not present among all the edges then add the node colours to setOfTriangleshavingResourceNodes set
-                        	if ( !setEdgeColors.contains(graph.getRDFTypePropertyColour()) ) {
-                        		// finding number of triangles
-                    			int numOfTri = Math.min(Math.min(intersectionResult1, intersectionResult2), intersectionResult3);
-                    			
-                    			if (!verticesFormingIsolatedTriangles(vertex, neighbor1, neighbor2, graph, classVerticesSet)) {
-                    				// Update results for connected triangles
-                        		
-	                        		// Add edges within triangle for resource nodes only
-	                            	edgesWithinTrianglesResource.addAll(intersection1);
-	                            	edgesWithinTrianglesResource.addAll(intersection2);
-	                            	edgesWithinTrianglesResource.addAll(intersection3);
-	                            	
-	                            	// Store the vertex forming triangle into temporary set for resource nodes only
-	                            	verticesOnlyFormingTriangleResource.add(vertex);
-	                            	verticesOnlyFormingTriangleResource.add(neighbor1);
-	                            	verticesOnlyFormingTriangleResource.add(neighbor2);
-	                            	
-	                            	countResourceTriangles=countResourceTriangles+ numOfTri; // incrementing with number of triangles instead of number of edges earlier
-	                        		
-	                        		if (mTriangleColoursTriangleEdgeCountsTemp.containsKey(tempObj)) {
-	                        			
-	                        			// triangle was already found previously, update the count of triangle and edges
-	                        			double[] triangleCountEdgeCountArr = mTriangleColoursTriangleEdgeCountsTemp.get(tempObj);
-	                        			
-	                        			//previous count of edges
-	                        			double previousEdgeCount = triangleCountEdgeCountArr[1];
-	                        			double previousTriangleCount = triangleCountEdgeCountArr[0];
-	                        			
-	                        			//create new updated array
-	                        			double[] newTriangleEdgeCountsArr = new double[2];
-	                        			
-	                        			newTriangleEdgeCountsArr[0] = previousTriangleCount + numOfTri; // storing number of triangles instead of number of edges earlier
-	                        			newTriangleEdgeCountsArr[1] = previousEdgeCount + intersectionResult1 + intersectionResult2 + intersectionResult3;
-	
-	                        			// update the hashmap
-	                        			mTriangleColoursTriangleEdgeCountsTemp.put(tempObj, newTriangleEdgeCountsArr);
-	                        			
-	                            	}
-	                            	else {
-	                            		
-	                            		//create an array for triangle and edge counts of triangle
-	                        			double[] newTriangleEdgeCountsArr = new double[2];
-	                        			//newTriangleEdgeCountsArr[0] = (int) ((intersectionResult1 + intersectionResult2 + intersectionResult3)/3);
-	                        			
-	                        			//newTriangleEdgeCountsArr[0] = intersectionResult;
-	                        			newTriangleEdgeCountsArr[0] = numOfTri; // storing number of triangles instead of number of edges earlier
-	                        			newTriangleEdgeCountsArr[1] = intersectionResult1 + intersectionResult2 + intersectionResult3;
-	                            		
-	                            		// triangle is found for the first time
-	                        			mTriangleColoursTriangleEdgeCountsTemp.put(tempObj, newTriangleEdgeCountsArr);
-	                            	}
-	                        		
-                    			} else {
-                    				//update results for isolated triangles since vertices form isolated triangles
-                    				
-                    				
-                    				// Add edges within triangle for resource nodes only
-                    				edgesForIsolatedTriangles.addAll(intersection1);
-                    				edgesForIsolatedTriangles.addAll(intersection2);
-                    				edgesForIsolatedTriangles.addAll(intersection3);
-	                            	
-	                            	// Store the vertex forming triangle into temporary set for resource nodes only
-                    				verticesForIsolatedTriangles.add(vertex);
-                    				verticesForIsolatedTriangles.add(neighbor1);
-                    				verticesForIsolatedTriangles.add(neighbor2);
-                    				
-                    				countIsolatedTriangles = countIsolatedTriangles + numOfTri; // incrementing with number of triangles instead of number of edges earlier
-	                        		
-	                        		if (mIsolatedTriColosTriEdgeCountsTemp.containsKey(tempObj)) {
-	                        			
-	                        			// triangle was already found previously, update the count of triangle and edges
-	                        			double[] triangleCountEdgeCountArr = mIsolatedTriColosTriEdgeCountsTemp.get(tempObj);
-	                        			
-	                        			//previous count of edges
-	                        			double previousEdgeCount = triangleCountEdgeCountArr[1];
-	                        			double previousTriangleCount = triangleCountEdgeCountArr[0];
-	                        			
-	                        			//create new updated array
-	                        			double[] newTriangleEdgeCountsArr = new double[2];
-	                        			
-	                        			newTriangleEdgeCountsArr[0] = previousTriangleCount + numOfTri; // storing number of triangles instead of number of edges earlier
-	                        			newTriangleEdgeCountsArr[1] = previousEdgeCount + intersectionResult1 + intersectionResult2 + intersectionResult3;
-	
-	                        			// update the hashmap
-	                        			mIsolatedTriColosTriEdgeCountsTemp.put(tempObj, newTriangleEdgeCountsArr);
-	                        			
-	                            	}
-	                            	else {
-	                            		
-	                            		//create an array for triangle and edge counts of triangle
-	                        			double[] newTriangleEdgeCountsArr = new double[2];
-	                        			//newTriangleEdgeCountsArr[0] = (int) ((intersectionResult1 + intersectionResult2 + intersectionResult3)/3);
-	                        			
-	                        			//newTriangleEdgeCountsArr[0] = intersectionResult;
-	                        			newTriangleEdgeCountsArr[0] = numOfTri; // storing number of triangles instead of number of edges earlier
-	                        			newTriangleEdgeCountsArr[1] = intersectionResult1 + intersectionResult2 + intersectionResult3;
-	                            		
-	                            		// triangle is found for the first time
-	                        			mIsolatedTriColosTriEdgeCountsTemp.put(tempObj, newTriangleEdgeCountsArr);
-	                            	}
-                    			}
-                        		
-                        	} else {
-                        		//System.out.println("Triangle with RDF Type edge found! Intersection Multiplication: " + intersectionResult);//Do not consider RDF Type edges
-                        	}
-                        }
-                    }
-                }
-            }
-            visitedVertices.add(vertex);
+    /**
+     * Finds the triangles of a single graph using the given number of threads.
+     *
+     * @return the counts of connected (index 0) and isolated (index 1)
+     *         triangles
+     */
+    private static TriangleCounts[] findTriangles(SimplexGraphStructure structure, int numberOfThreads) {
+        int numberOfVertices = structure.getAdjacency().getNumberOfVertices();
+        if (numberOfThreads == 1) {
+            return countTriangles(structure, 0, numberOfVertices);
         }
+        int rangeSize = Math.max(1, numberOfVertices / (numberOfThreads * 8));
+        List<Callable<TriangleCounts[]>> tasks = new ArrayList<Callable<TriangleCounts[]>>();
+        for (int start = 0; start < numberOfVertices; start += rangeSize) {
+            final int rangeStart = start;
+            final int rangeEnd = Math.min(numberOfVertices, start + rangeSize);
+            tasks.add(() -> countTriangles(structure, rangeStart, rangeEnd));
+        }
+
+        TriangleCounts connected = new TriangleCounts();
+        TriangleCounts isolated = new TriangleCounts();
+        for (TriangleCounts[] counts : SimplexAnalysisEngine.runInParallel(tasks, numberOfThreads)) {
+            connected.merge(counts[0]);
+            isolated.merge(counts[1]);
+        }
+        return new TriangleCounts[] { connected, isolated };
+    }
+
+    private void addTriangles(SimplexGraphStructure structure, TriangleCounts[] counts) {
+        System.out.println("Graph: " + graphId);
+        ColouredGraph graph = structure.getGraph();
+        TriangleCounts connected = counts[0];
+        TriangleCounts isolated = counts[1];
+
+     updateCountConn2Simplexes(graph, connected.triColoCounts, connected.numberOfTriangles); // update count for connected 2-simplexes in global map
         
-     updateCountConn2Simplexes(graph, mTriangleColoursTriangleEdgeCountsTemp, countResourceTriangles); // update count for connected 2-simplexes in global map
-        
-     updateCountIso2Simplexes(graph, mIsolatedTriColosTriEdgeCountsTemp, countIsolatedTriangles); // update count for isolated 2-simplexes in global map
+     updateCountIso2Simplexes(graph, isolated.triColoCounts, isolated.numberOfTriangles); // update count for isolated 2-simplexes in global map
         
-     mGraphsVertIdsIsolatedTri.put(graphId, verticesForIsolatedTriangles); // Isolated triangles vertices
+     mGraphsVertIdsIsolatedTri.put(graphId, isolated.vertices); // Isolated triangles vertices
         
-     mGraphsVertIdsConnectTriangles.put(graphId, verticesOnlyFormingTriangleResource); // Connected triangles vertices
+     mGraphsVertIdsConnectTriangles.put(graphId, connected.vertices); // Connected triangles vertices
         
-     mGraphsEdgesIdsTriangle.put(graphId, edgesWithinTrianglesResource); // Edge Ids connected 2-simplexes
+     mGraphsEdgesIdsTriangle.put(graphId, connected.edges); // Edge Ids connected 2-simplexes
         
-     mGraphsEdgesIdsIsolatedTri.put(graphId, edgesForIsolatedTriangles); //store edge ids for isolated triangles
+     mGraphsEdgesIdsIsolatedTri.put(graphId, isolated.edges); //store edge ids for isolated triangles
         
      graphId++;
         
     }
-    
+
+    /**
+     * Counts the triangles whose first vertex in the degree-based ordering lies
+     * in the given range of vertex IDs.
+     *
+     * @return the counts of connected (index 0) and isolated (index 1)
+     *         triangles
+     */
+    private static TriangleCounts[] countTriangles(SimplexGraphStructure structure, int rangeStart,
+            int rangeEnd) {
+        SortedUndirectedAdjacency adjacency = structure.getAdjacency();
+        TriangleCounts connected = new TriangleCounts();
+        TriangleCounts isolated = new TriangleCounts();
+        int neighbour1, neighbour2, entry1, entry2, entry3, end1, end2;
+        for (int vertex = rangeStart; vertex < rangeEnd; ++vertex) {
+            end1 = adjacency.getEndOfForwardEntries(vertex);
+            for (int f1 = adjacency.getFirstForwardEntry(vertex); f1 < end1; ++f1) {
+                neighbour1 = adjacency.getForwardNeighbour(f1);
+                entry1 = adjacency.getEntryOfForwardEntry(f1);
+                // merge the sorted forward neighbours of vertex and neighbour1
+                int f2 = adjacency.getFirstForwardEntry(vertex);
+                int g = adjacency.getFirstForwardEntry(neighbour1);
+                end2 = adjacency.getEndOfForwardEntries(neighbour1);
+                while ((f2 < end1) && (g < end2)) {
+                    neighbour2 = adjacency.getForwardNeighbour(f2);
+                    int other = adjacency.getForwardNeighbour(g);
+                    if (neighbour2 < other) {
+                        ++f2;
+                    } else if (neighbour2 > other) {
+                        ++g;
+                    } else {
+                        entry2 = adjacency.getEntryOfForwardEntry(g);
+                        entry3 = adjacency.getEntryOfForwardEntry(f2);
+                        // Do not consider triangles containing RDF type edges
+                        if (!structure.isRDFTypeEntry(entry1) && !structure.isRDFTypeEntry(entry2)
+                                && !structure.isRDFTypeEntry(entry3)) {
+                            TriangleCounts counts = verticesFormingIsolatedTriangles(vertex, neighbour1, neighbour2,
+                                    structure) ? isolated : connected;
+                            counts.addTriangle(structure.getGraph(), adjacency, vertex, neighbour1, neighbour2, entry1, entry2,
+                                    entry3);
+                        }
+                        ++f2;
+                        ++g;
+                    }
+                }
+            }
+        }
+        return new TriangleCounts[] { connected, isolated };
+    }
+
+    /**
+     * Triangle counts of one thread or of the whole graph.
+     */
+    private static class TriangleCounts {
+        // Variable to track count of triangles
+        private int numberOfTriangles = 0;
+        // vertices forming triangles
+        private IntSet vertices = new DefaultIntSet(Constants.DEFAULT_SIZE);
+        // edge Ids within triangles
+        private IntSet edges = new DefaultIntSet(Constants.DEFAULT_SIZE);
+        // count of triangles and edges per triangle colours, which is later used to compute probabilities
+        private ObjectObjectOpenHashMap<TriColos, double[]> triColoCounts = new ObjectObjectOpenHashMap<TriColos, double[]>();
+
+        private void addTriangle(ColouredGraph graph, SortedUndirectedAdjacency adjacency, int vertex,
+                int neighbour1, int neighbour2, int entry1, int entry2, int entry3) {
+            int intersectionResult1 = adjacency.getNumberOfEdges(entry1);
+            int intersectionResult2 = adjacency.getNumberOfEdges(entry2);
+            int intersectionResult3 = adjacency.getNumberOfEdges(entry3);
+            // finding number of triangles
+            int numOfTri = Math.min(Math.min(intersectionResult1, intersectionResult2), intersectionResult3);
+
+            addEdges(adjacency, entry1);
+            addEdges(adjacency, entry2);
+            addEdges(adjacency, entry3);
+            vertices.add(vertex);
+            vertices.add(neighbour1);
+            vertices.add(neighbour2);
+            numberOfTriangles += numOfTri;
+
+            TriColos triColos = new TriColos(graph.getVertexColour(vertex), graph.getVertexColour(neighbour1),
+                    graph.getVertexColour(neighbour2));
+            add(triColos, numOfTri, intersectionResult1 + intersectionResult2 + intersectionResult3);
+        }
+
+        private void addEdges(SortedUndirectedAdjacency adjacency, int entry) {
+            for (int e = adjacency.getFirstEdge(entry); e < adjacency.getEndOfEdges(entry); ++e) {
+                edges.add(adjacency.getEdgeId(e));
+            }
+        }
+
+        private void add(TriColos triColos, double triangleCount, double edgeCount) {
+            double[] triangleCountEdgeCountArr = triColoCounts.get(triColos);
+            if (triangleCountEdgeCountArr == null) {
+                triangleCountEdgeCountArr = new double[2];
+                triColoCounts.put(triColos, triangleCountEdgeCountArr);
+            }
+            triangleCountEdgeCountArr[0] += triangleCount;
+            triangleCountEdgeCountArr[1] += edgeCount;
+        }
+
+        private void merge(TriangleCounts other) {
+            numberOfTriangles += other.numberOfTriangles;
+            vertices.addAll(other.vertices);
+            edges.addAll(other.edges);
+            Object[] keys = other.triColoCounts.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (other.triColoCounts.allocated[i]) {
+                    double[] counts = (double[]) other.triColoCounts.values[i];
+                    add((TriColos) keys[i], counts[0], counts[1]);
+                }
+            }
+        }
+    }
+
     private void updateCountConn2Simplexes(ColouredGraph graph, ObjectObjectOpenHashMap<TriColos, double[]> mTriangleColoursTriangleEdgeCountsTemp, int countResourceTriangles) {
     	// Logic to get total number of vertices in the input graph excluding class vertices
         double totalVertices = graph.getNumberOfVertices();
@@ -393,41 +398,147 @@ public class FindTri {
            }
     }
 
-	private boolean verticesFormingIsolatedTriangles(int vertexID1, int vertexID2, int vertexID3, ColouredGraph graph, IntSet classVertices) {
-    	// get vertices incident on input ids
-    	IntSet vertices1Incident = IntSetUtil.union(graph.getInNeighbors(vertexID1), graph.getOutNeighbors(vertexID1));
-    	IntSet vertices2Incident = IntSetUtil.union(graph.getInNeighbors(vertexID2), graph.getOutNeighbors(vertexID2));
-    	IntSet vertices3Incident = IntSetUtil.union(graph.getInNeighbors(vertexID3), graph.getOutNeighbors(vertexID3));
-    			
-    	//find union of vertices incident to all ids
-    	IntSet unionResult = IntSetUtil.union(IntSetUtil.union(vertices1Incident, vertices2Incident), vertices3Incident);
-    	
-    	//do not consider class vertices
-    	IntSet differenceResult = IntSetUtil.difference(unionResult, classVertices);
-    	
-    	IntSet inputVertexIDs = new DefaultIntSet(Constants.DEFAULT_SIZE);
-    	inputVertexIDs.add(vertexID1);
-    	inputVertexIDs.add(vertexID2);
-    	inputVertexIDs.add(vertexID3);
-    	
-    	differenceResult = IntSetUtil.difference(differenceResult, inputVertexIDs);
-    	
-    	if (differenceResult.size() == 0)
-    		return true;
-    	
-    	return false;
-    	
+	/**
+	 * Checks whether the three vertices are connected only to each other and to
+	 * class vertices.
+	 */
+	private static boolean verticesFormingIsolatedTriangles(int vertexID1, int vertexID2, int vertexID3,
+			SimplexGraphStructure structure) {
+		return hasOnlyTheseNeighbours(vertexID1, vertexID2, vertexID3, structure)
+				&& hasOnlyTheseNeighbours(vertexID2, vertexID1, vertexID3, structure)
+				&& hasOnlyTheseNeighbours(vertexID3, vertexID1, vertexID2, structure);
+	}
+
+	private static boolean hasOnlyTheseNeighbours(int vertex, int neighbour1, int neighbour2,
+			SimplexGraphStructure structure) {
+		SortedUndirectedAdjacency adjacency = structure.getAdjacency();
+		int neighbour;
+		for (int entry = adjacency.getFirstEntry(vertex); entry < adjacency.getEndOfEntries(vertex); ++entry) {
+			neighbour = adjacency.getNeighbour(entry);
+			if ((neighbour != neighbour1) && (neighbour != neighbour2) && !structure.isClassVertex(neighbour)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+    /**
+     * Writes the triangle statistics to the given file. They only depend on the
+     * input graphs, i.e., they can be reused for every number of vertices of
+     * the output graph (the generators scale the averages afterwards).
+     *
+     * @param file the file the statistics are written to
+     * @throws IOException if the file can not be written
+     */
+    public void writeToFile(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(FILE_FORMAT_VERSION);
+            writeCounts(out, mTriColoEdgesTriCountDistAvg);
+            writeCounts(out, mIsolatedTriColoEdgesTriCountDistAvg);
+            int numberOfGraphs = graphId - 1;
+            out.writeInt(numberOfGraphs);
+            for (int id = 1; id <= numberOfGraphs; ++id) {
+                writeIds(out, mGraphsEdgesIdsTriangle.get(id));
+                writeIds(out, mGraphsEdgesIdsIsolatedTri.get(id));
+                writeIds(out, mGraphsVertIdsIsolatedTri.get(id));
+                writeIds(out, mGraphsVertIdsConnectTriangles.get(id));
+            }
+        }
+    }
+
+    /**
+     * Reads the triangle statistics written by {@link #writeToFile(File)}.
+     *
+     * @param file the file the statistics are read from
+     * @return the triangles of the input graphs
+     * @throws IOException if the file can not be read or has an unknown format
+     */
+    public static FindTri readFromFile(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            int version = in.readInt();
+            if (version != FILE_FORMAT_VERSION) {
+                throw new IOException("Unsupported version " + version + " of the triangle file.");
+            }
+            FindTri triangles = new FindTri();
+            readCounts(in, triangles.mTriColoEdgesTriCountDistAvg);
+            readCounts(in, triangles.mIsolatedTriColoEdgesTriCountDistAvg);
+            int numberOfGraphs = in.readInt();
+            for (int id = 1; id <= numberOfGraphs; ++id) {
+                triangles.mGraphsEdgesIdsTriangle.put(id, readIds(in));
+                triangles.mGraphsEdgesIdsIsolatedTri.put(id, readIds(in));
+                triangles.mGraphsVertIdsIsolatedTri.put(id, readIds(in));
+                triangles.mGraphsVertIdsConnectTriangles.put(id, readIds(in));
+            }
+            triangles.graphId = numberOfGraphs + 1;
+            return triangles;
+        }
+    }
+
+    private static void writeCounts(DataOutputStream out, ObjectObjectOpenHashMap<TriColos, double[]> counts)
+            throws IOException {
+        out.writeInt(counts.size());
+        Object[] keys = counts.keys;
+        Object[] values = counts.values;
+        for (int i = 0; i < keys.length; ++i) {
+            if (counts.allocated[i]) {
+                TriColos triColos = (TriColos) keys[i];
+                writeColour(out, triColos.getA());
+                writeColour(out, triColos.getB());
+                writeColour(out, triColos.getC());
+                double[] array = (double[]) values[i];
+                out.writeInt(array.length);
+                for (double value : array) {
+                    out.writeDouble(value);
+                }
+            }
+        }
+    }
+
+    private static void readCounts(DataInputStream in, ObjectObjectOpenHashMap<TriColos, double[]> counts)
+            throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; ++i) {
+            TriColos triColos = new TriColos(readColour(in), readColour(in), readColour(in));
+            double[] array = new double[in.readInt()];
+            for (int j = 0; j < array.length; ++j) {
+                array[j] = in.readDouble();
+            }
+            counts.put(triColos, array);
+        }
+    }
+
+    private static void writeColour(DataOutputStream out, BitSet colour) throws IOException {
+        long[] words = colour.bits;
+        int numberOfWords = colour.wlen;
+        out.writeInt(numberOfWords);
+        for (int i = 0; i < numberOfWords; ++i) {
+            out.writeLong(words[i]);
+        }
+    }
+
+    private static BitSet readColour(DataInputStream in) throws IOException {
+        long[] words = new long[in.readInt()];
+        for (int i = 0; i < words.length; ++i) {
+            words[i] = in.readLong();
+        }
+        return new BitSet(words, words.length);
+    }
+
+    private static void writeIds(DataOutputStream out, IntSet ids) throws IOException {
+        int[] array = ids.toIntArray();
+        out.writeInt(array.length);
+        for (int id : array) {
+            out.writeInt(id);
+        }
     }
-    
 
-	private Grph getUndirectedGraph(Grph graph) {
-        Grph undirectedGraph = new InMemoryGrph();
-        for (int e : graph.getEdges()) {
-            int sourceNode = graph.getOneVertex(e);
-            int targetNode = graph.getTheOtherVertex(e, sourceNode);
-            undirectedGraph.addUndirectedSimpleEdge(sourceNode, targetNode);
+    private static IntSet readIds(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        IntSet ids = new DefaultIntSet(Math.max(size, Constants.DEFAULT_SIZE));
+        for (int i = 0; i < size; ++i) {
+            ids.add(in.readInt());
         }
-        return undirectedGraph;
+        return ids;
     }
 
 	//****************************public getters for triangle counts, edges and vertices*****************************************//
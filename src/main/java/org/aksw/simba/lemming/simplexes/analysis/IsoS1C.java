@@ -3,7 +3,6 @@ package org.aksw.simba.lemming.simplexes.analysis;
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.simplexes.EdgeColos;
 import org.aksw.simba.lemming.util.Constants;
-import org.aksw.simba.lemming.util.IntSetUtil;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectObjectOpenHashMap;
@@ -24,7 +23,12 @@ public class IsoS1C extends AbstractFindSimplexes{
 	//****************** Variables for storing average count of head color and head-tail color *****************************//
 		
 	public IsoS1C(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions) {
-		inputGrphs = origGrphs;
+		this(new SimplexAnalysisEngine(origGrphs), desiredNoVertices, iNoOfVersions);
+	}
+
+	public IsoS1C(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions) {
+		this.analysisEngine = analysisEngine;
+		inputGrphs = analysisEngine.getInputGraphs();
 		inputDesiredNoVert = desiredNoVertices;
 		mNumOfInputGrphs = iNoOfVersions;
 
@@ -44,10 +48,12 @@ public class IsoS1C extends AbstractFindSimplexes{
 	@Override
 	public void findSimplexes() {
 
+		SimplexGraphStructure[] structures = analysisEngine.getStructures();
 		int graphId = 1;
 		for (ColouredGraph graph : inputGrphs) {
 
 			if (graph != null) {
+				SimplexGraphStructure structure = structures[graphId - 1];
 
 				// temporary variables to track edge Ids, number of edges and vertices for
 				// 1-simplex
@@ -63,24 +69,14 @@ public class IsoS1C extends AbstractFindSimplexes{
 				// Iterate over edges to check if they are forming 1-simplexes
 				for (int edgeId : allEdges) {
 
-					if (!graph.getEdgeColour(edgeId).equals(graph.getRDFTypePropertyColour())) {
+					if (!structure.isRDFTypeEdge(edgeId)) {
 						// Do not consider RDF Type edges
 
-						IntSet verticesIncidentToEdge = graph.getVerticesIncidentToEdge(edgeId);
-
-						IntSet tempNeigbhorsForEndpoint = new DefaultIntSet(Constants.DEFAULT_SIZE); 
-
-						for (int endpointVertexId : verticesIncidentToEdge) {
-							tempNeigbhorsForEndpoint = IntSetUtil.union(tempNeigbhorsForEndpoint, IntSetUtil.union(
-									graph.getInNeighbors(endpointVertexId), graph.getOutNeighbors(endpointVertexId)));
-						}
-
-						if ((tempNeigbhorsForEndpoint.size() == 2) && (verticesIncidentToEdge.size() == 2)) {
+						// the end points of the edge must not have other neighbors
+						if (structure.isIsolated1Simplex(edgeId)) {
 							
 							edgesForming1Simplex.add(edgeId);
 							
-							verticesForming1Simplex.addAll(tempNeigbhorsForEndpoint);
-
 							// store the details of head color for 1-simplex in the map
 							int headOfTheEdge = graph.getHeadOfTheEdge(edgeId);
 							BitSet headColo = graph.getVertexColour(headOfTheEdge);
@@ -90,6 +86,9 @@ public class IsoS1C extends AbstractFindSimplexes{
 							int tailOfTheEdge = graph.getTailOfTheEdge(edgeId);
 							BitSet tailColo = graph.getVertexColour(tailOfTheEdge);
 							
+							verticesForming1Simplex.add(headOfTheEdge);
+							verticesForming1Simplex.add(tailOfTheEdge);
+							
 							//*****************Logic to store edge colors information **********************//
 							EdgeColos edgeColoObj = new EdgeColos(headColo, tailColo); // initialize Edge Colors object
 							
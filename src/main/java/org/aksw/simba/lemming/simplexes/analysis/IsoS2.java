@@ -19,6 +19,10 @@ public class IsoS2 extends AbstractFindSimplexes{
 	 */
 	private ObjectObjectOpenHashMap<TriColos, double[]> mIsolatedTriColoEdgesTriCountDistAvg;
 
+	public IsoS2(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions) {
+		this(analysisEngine.getInputGraphs(), desiredNoVertices, iNoOfVersions, analysisEngine.getTriangles());
+	}
+
 	public IsoS2(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions, FindTri computedTriObjects) {
 		//System.out.println("Debug!");
 		// initialize variables
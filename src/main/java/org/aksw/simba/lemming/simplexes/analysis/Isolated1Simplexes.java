@@ -2,7 +2,6 @@ package org.aksw.simba.lemming.simplexes.analysis;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.util.Constants;
-import org.aksw.simba.lemming.util.IntSetUtil;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
@@ -29,8 +28,13 @@ public class Isolated1Simplexes extends AbstractFindSimplexes{
 	private ObjectObjectOpenHashMap<BitSet, ObjectDoubleOpenHashMap<BitSet>> mHeadColoTailColoCount;
 	
 	public Isolated1Simplexes(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions) {
+		this(new SimplexAnalysisEngine(origGrphs), desiredNoVertices, iNoOfVersions);
+	}
+
+	public Isolated1Simplexes(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions) {
 		//System.out.println("Debug!");
-		inputGrphs = origGrphs;
+		this.analysisEngine = analysisEngine;
+		inputGrphs = analysisEngine.getInputGraphs();
 		inputDesiredNoVert = desiredNoVertices;
 		mNumOfInputGrphs = iNoOfVersions;
 		
@@ -54,11 +58,13 @@ public class Isolated1Simplexes extends AbstractFindSimplexes{
 	@Override
 	public void findSimplexes() {
 		
+		SimplexGraphStructure[] structures = analysisEngine.getStructures();
 		int graphId = 1;
 		for (ColouredGraph graph : inputGrphs) {
 			
 			if (graph!= null) {
-				
+				SimplexGraphStructure structure = structures[graphId - 1];
+
 				// temporary variables to track edge Ids, number of edges and vertices for 1-simplex
 				IntSet edgesForming1Simplex = new DefaultIntSet(Constants.DEFAULT_SIZE);
 				IntSet verticesForming1Simplex = new DefaultIntSet(Constants.DEFAULT_SIZE);
@@ -75,22 +81,15 @@ public class Isolated1Simplexes extends AbstractFindSimplexes{
 				//Iterate over edges to check if they are forming 1-simplexes
 				for (int edgeId: allEdges) {
 					
-					if (!graph.getEdgeColour(edgeId).equals(graph.getRDFTypePropertyColour())) {
+					if (!structure.isRDFTypeEdge(edgeId)) {
 						// Do not consider RDF Type edges
 					
-						IntSet verticesIncidentToEdge = graph.getVerticesIncidentToEdge(edgeId);//store the end point vertices of the edge
-						
-						IntSet tempNeigbhorsForEndpoint = new DefaultIntSet(Constants.DEFAULT_SIZE); //temporary set to store all the neighbors for the end point of the edge
-						
-						for(int endpointVertexId: verticesIncidentToEdge) {
-							tempNeigbhorsForEndpoint = IntSetUtil.union(tempNeigbhorsForEndpoint, IntSetUtil.union(graph.getInNeighbors(endpointVertexId), graph.getOutNeighbors(endpointVertexId)));
-						}
-						
-						if ((tempNeigbhorsForEndpoint.size() == 2) && (verticesIncidentToEdge.size() == 2)) { 
-							//2nd condition special case: 1-simple with end-point(s) having self loops. In this case, when self loop edge's neighbors are checked below it could be considered as 1-simplex
+						if (structure.isIsolated1Simplex(edgeId)) { 
+							// Note: the end point(s) of a 1-simplex may have self loops. The self loops are not considered as 1-simplexes
 							edgesForming1Simplex.add(edgeId);
 							//numberOfVertices1Simplex = numberOfVertices1Simplex + 2; // commenting this seems to be incorrect logic same pair of vertices can have multiple 1-simplexes among themselves
-							verticesForming1Simplex.addAll(tempNeigbhorsForEndpoint);
+							verticesForming1Simplex.add(graph.getTailOfTheEdge(edgeId));
+							verticesForming1Simplex.add(graph.getHeadOfTheEdge(edgeId));
 							
 							// store the details of head color for 1-simplex in the map
 							int headOfTheEdge = graph.getHeadOfTheEdge(edgeId);
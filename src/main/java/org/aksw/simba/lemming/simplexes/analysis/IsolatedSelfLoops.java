@@ -2,7 +2,6 @@ package org.aksw.simba.lemming.simplexes.analysis;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.util.Constants;
-import org.aksw.simba.lemming.util.IntSetUtil;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
@@ -23,7 +22,12 @@ public class IsolatedSelfLoops extends AbstractFindSimplexes{
 	private ObjectDoubleOpenHashMap<BitSet> mColoCountSelfLoop;
 
 	public IsolatedSelfLoops(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions) {
-		inputGrphs = origGrphs;
+		this(new SimplexAnalysisEngine(origGrphs), desiredNoVertices, iNoOfVersions);
+	}
+
+	public IsolatedSelfLoops(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions) {
+		this.analysisEngine = analysisEngine;
+		inputGrphs = analysisEngine.getInputGraphs();
 		inputDesiredNoVert = desiredNoVertices;
 		mNumOfInputGrphs = iNoOfVersions;
 		
@@ -44,11 +48,13 @@ public class IsolatedSelfLoops extends AbstractFindSimplexes{
 	 */
 	@Override
 	public void findSimplexes() {
+		SimplexGraphStructure[] structures = analysisEngine.getStructures();
 		int graphId = 1;
 		for (ColouredGraph graph : inputGrphs) {
 			
 			if (graph!= null) {
-				
+				SimplexGraphStructure structure = structures[graphId - 1];
+
 				// temporary variables to track edge Ids, number of edges and vertices for isolated self loops (1-simplexes)
 				IntSet edgesFormingSelfLoop = new DefaultIntSet(Constants.DEFAULT_SIZE);
 				IntSet verticesFormingSelfLoop = new DefaultIntSet(Constants.DEFAULT_SIZE);
@@ -59,25 +65,16 @@ public class IsolatedSelfLoops extends AbstractFindSimplexes{
 				//Iterate over edges to check if they are forming 1-simplexes
 				for (int edgeId: allEdges) {
 					
-					if (!graph.getEdgeColour(edgeId).equals(graph.getRDFTypePropertyColour())) {
+					if (!structure.isRDFTypeEdge(edgeId)) {
 					
-						//store the end point vertices of the edge
-						IntSet verticesIncidentToEdge = graph.getVerticesIncidentToEdge(edgeId);
-						
-						//temporary set to store all the neighbors for the end point of the edge
-						IntSet tempNeigbhorsForEndpoint = new DefaultIntSet(Constants.DEFAULT_SIZE);
-						
-						for(int endpointVertexId: verticesIncidentToEdge) {
-							tempNeigbhorsForEndpoint = IntSetUtil.union(tempNeigbhorsForEndpoint, IntSetUtil.union(graph.getInNeighbors(endpointVertexId), graph.getOutNeighbors(endpointVertexId)));
-						}
-						
-						if (tempNeigbhorsForEndpoint.size() == 1) { // Logic to check for 1-simplexes formed by self-loops
+						if (structure.isIsolatedSelfLoop(edgeId)) { // Logic to check for 1-simplexes formed by self-loops
+							int vertexSelfLoop = graph.getHeadOfTheEdge(edgeId);
+							
 							// add details to temporary variables
 							edgesFormingSelfLoop.add(edgeId);
-							verticesFormingSelfLoop.addAll(tempNeigbhorsForEndpoint);
+							verticesFormingSelfLoop.add(vertexSelfLoop);
 							
 							//store details of color for self loop
-							int vertexSelfLoop = graph.getHeadOfTheEdge(edgeId);
 							BitSet coloSelfLoop = graph.getVertexColour(vertexSelfLoop);
 							mColoCountTempSelfLoop.putOrAdd(coloSelfLoop, 1, 1);
 						}
@@ -2,7 +2,6 @@ package org.aksw.simba.lemming.simplexes.analysis;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.util.Constants;
-import org.aksw.simba.lemming.util.IntSetUtil;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
@@ -23,7 +22,12 @@ public class S0C extends AbstractFindSimplexes{
 	private ObjectDoubleOpenHashMap<BitSet> mColoCount0Simplex;
 	
 	public S0C(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions) {
-		inputGrphs = origGrphs;
+		this(new SimplexAnalysisEngine(origGrphs), desiredNoVertices, iNoOfVersions);
+	}
+
+	public S0C(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions) {
+		this.analysisEngine = analysisEngine;
+		inputGrphs = analysisEngine.getInputGraphs();
 		inputDesiredNoVert = desiredNoVertices;
 		mNumOfInputGrphs = iNoOfVersions;
 		
@@ -39,11 +43,13 @@ public class S0C extends AbstractFindSimplexes{
 	
 	@Override
 	public void findSimplexes() {
+		SimplexGraphStructure[] structures = analysisEngine.getStructures();
 		int graphId = 1;
 		for (ColouredGraph graph : inputGrphs) {
 			
 			if (graph!= null) {
-				
+				SimplexGraphStructure structure = structures[graphId - 1];
+
 				IntSet vertices0Simplexes = new DefaultIntSet(Constants.DEFAULT_SIZE);
 					
 				int numberOfVertices0Simplex = 0; // temporary variables to track number of vertices forming 0-simplexes
@@ -58,9 +64,7 @@ public class S0C extends AbstractFindSimplexes{
 				
 				for(int vertexId: allVertices) {
 					if (!graph.getVertexColour(vertexId).isEmpty()) { // Check for not empty colors
-						IntSet allNeighborsVertices = IntSetUtil.union(graph.getInNeighbors(vertexId), graph.getOutNeighbors(vertexId));
-						//allNeighborsVertices = IntSetUtil.difference(allNeighborsVertices, classNodes);
-						if (allNeighborsVertices.size() == 0) {
+						if (structure.isIsolatedVertex(vertexId)) { // neither neighbors nor self loops
 							numberOfVertices0Simplex++;
 							vertices0Simplexes.add(vertexId);
 							BitSet vertexColour = graph.getVertexColour(vertexId);
@@ -1,11 +1,8 @@
 package org.aksw.simba.lemming.simplexes.analysis;
 
-import java.util.HashSet;
-
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.simplexes.EdgeColos;
 import org.aksw.simba.lemming.util.Constants;
-import org.aksw.simba.lemming.util.IntSetUtil;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
@@ -38,8 +35,13 @@ public class S1ConnToS2C extends AbstractFindSimplexes {
 	
 
 	public S1ConnToS2C(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions, FindTri computedTriObjects) {
+		this(new SimplexAnalysisEngine(origGrphs), desiredNoVertices, iNoOfVersions, computedTriObjects);
+	}
+
+	public S1ConnToS2C(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions, FindTri computedTriObjects) {
 		// initialize variables
-		inputGrphs = origGrphs;
+		this.analysisEngine = analysisEngine;
+		inputGrphs = analysisEngine.getInputGraphs();
 		inputDesiredNoVert = desiredNoVertices;
 		mNumOfInputGrphs = iNoOfVersions;
 		
@@ -64,32 +66,24 @@ public class S1ConnToS2C extends AbstractFindSimplexes {
 	@Override
 	public void findSimplexes() {
 		
+		SimplexGraphStructure[] structures = analysisEngine.getStructures();
 		//initialize graph id
 		int graphId = 1;
 		
 		for (ColouredGraph graph : inputGrphs) {
 			if (graph!= null) {
+				SimplexGraphStructure structure = structures[graphId - 1];
+				SortedUndirectedAdjacency adjacency = structure.getAdjacency();
+
 				IntSet vertGrph = graph.getVertices();
 				
 				IntSet verticesOnlyFormingTriangleResource = mGraphsVertIdsTemp.get(graphId); // temporary variable for tracking vert ids within triangle
 				
-		        //Logic to find set of class vertices
-		        IntSet classVerticesSet = new DefaultIntSet(Constants.DEFAULT_SIZE);
 		        System.out.println("Graph: " + graphId);
-		        for (int edgeId: graph.getEdges()) {
-		        	if (graph.getEdgeColour(edgeId).equals(graph.getRDFTypePropertyColour())) {
-		        		int classVertexID = graph.getHeadOfTheEdge(edgeId);
-		        		classVerticesSet.add(classVertexID);
-		        	}
-		        }
-		        
 		        
 		    	IntSet commonEdgesTriangles = new DefaultIntSet(Constants.DEFAULT_SIZE); // temporary variable to store common edge Ids connected to vertices in triangles and other vertices that are not in triangles
 		    	IntSet verticesConnectingToTriangle = new DefaultIntSet(Constants.DEFAULT_SIZE); //temporary variables to store vertex IDs connecting to triangles. Note: The stored vertex ids are analyzed to determine self loops & creating new vertices for output graph
 				
-		        IntSet diffTotalVertices = IntSetUtil.difference(vertGrph, verticesOnlyFormingTriangleResource);
-		        diffTotalVertices = IntSetUtil.difference(diffTotalVertices, classVerticesSet);
-		        
 		        // variable to track number of simplexes connected to Vertices of triangle
 		        int numSimplexesVertConnectTriangle = 0;
 		        // Map for storing Color of vertices connecting to triangle. Later, this map is used to compute distributions
@@ -98,42 +92,43 @@ public class S1ConnToS2C extends AbstractFindSimplexes {
 				ObjectObjectOpenHashMap<EdgeColos, double[]> mEdgeColosCountsTemp = new ObjectObjectOpenHashMap<EdgeColos, double[]>(); // temporary map to store edge colors
 		        
 		        // iterate over vertices not in triangles and check if they are connected to the vertices in triangles.
-		        for(int vertexId: diffTotalVertices) {
-		        	IntSet neighbors = IntSetUtil.union(graph.getInNeighbors(vertexId), graph.getOutNeighbors(vertexId));
-		        	neighbors = IntSetUtil.difference(neighbors, classVerticesSet);// do not consider class vertices
-		        	if (neighbors.contains(vertexId))
-		        		neighbors.remove(vertexId); // in case of self loop, a vertex will be neighbor of itself. We do not want to consider it.
+		        for(int vertexId: vertGrph) {
+		        	if (verticesOnlyFormingTriangleResource.contains(vertexId) || structure.isClassVertex(vertexId)) {
+		        		continue;
+		        	}
 		        	
-		        	IntSet intersectionTriangleVerts = IntSetUtil.intersection(neighbors, verticesOnlyFormingTriangleResource);
-		        	for(int intersectVertId: intersectionTriangleVerts) {
-		        		
-		        		IntSet edgesVertexId = IntSetUtil.union(graph.getInEdges(vertexId), graph.getOutEdges(vertexId));
-		        		IntSet edgesintersectVertId = IntSetUtil.union(graph.getInEdges(intersectVertId), graph.getOutEdges(intersectVertId));
-		        		
-		        		
-		        		IntSet tempIntersection = IntSetUtil.intersection(edgesVertexId, edgesintersectVertId);
-		        		
-		        		
-		            	HashSet<BitSet> setEdgeColors = new HashSet<BitSet>(); // Set to store colors of every edge within the nodes forming a triangle
-		            	for(int edgeIdVal: tempIntersection ) {
-		            		setEdgeColors.add(graph.getEdgeColour(edgeIdVal));
-		            	}
-		            	
+		        	// check whether all neighbors are vertices of triangles. Note: class vertices and self loops are not considered
+		        	boolean onlyConnectedToTriangles = true;
+		        	for (int entry = adjacency.getFirstEntry(vertexId); entry < adjacency.getEndOfEntries(vertexId); entry++) {
+		        		int neighbor = adjacency.getNeighbour(entry);
+		        		if (!structure.isClassVertex(neighbor) && !verticesOnlyFormingTriangleResource.contains(neighbor)) {
+		        			onlyConnectedToTriangles = false;
+		        			break;
+		        		}
+		        	}
+		        	
+		        	for (int entry = adjacency.getFirstEntry(vertexId); entry < adjacency.getEndOfEntries(vertexId); entry++) {
+		        		int intersectVertId = adjacency.getNeighbour(entry);
+		        		if (structure.isClassVertex(intersectVertId) || !verticesOnlyFormingTriangleResource.contains(intersectVertId)) {
+		        			continue; // do not consider class vertices and vertices that are not in triangles
+		        		}
 		            	
-		            	if (!setEdgeColors.contains(graph.getRDFTypePropertyColour())) {
-			        		commonEdgesTriangles.addAll(tempIntersection); // store edge ids connected to triangle
+		            	// the edges of the entry connect the vertex and the vertex of the triangle
+		            	if (!structure.isRDFTypeEntry(entry)) {
 			        		
 			        		numSimplexesVertConnectTriangle++; // calculate number of simplexes found required to compute average count
 			        		//mColoCountVertConnectedToTriangle.putOrAdd(graph.getVertexColour(vertexId), 1, 1); //commenting using temporary map to compute the distribution
 			        		
-			        		if (verticesOnlyFormingTriangleResource.containsAll(neighbors)) { // check 1-simplex is only connected to triangles
+			        		if (onlyConnectedToTriangles) { // check 1-simplex is only connected to triangles
 			        			// Note: vertices need to be created for such 1-simplexes. Thus, the count of the vertex color is stored and it is later used to create distribution
 			        			mVertColoConnectTriangleTemp.putOrAdd(graph.getVertexColour(vertexId), 1, 1);
 			        			verticesConnectingToTriangle.add(vertexId);
 			        		}
 			        		
 			        		// update the count for found common edges
-			        		for (int edgeId: tempIntersection) {
+			        		for (int e = adjacency.getFirstEdge(entry); e < adjacency.getEndOfEdges(entry); e++) {
+			        			int edgeId = adjacency.getEdgeId(e);
+			        			commonEdgesTriangles.add(edgeId); // store edge ids connected to triangle
 									
 								// store the details of head color for 1-simplex in the map
 								int headOfTheEdge = graph.getHeadOfTheEdge(edgeId);
@@ -2,7 +2,6 @@ package org.aksw.simba.lemming.simplexes.analysis;
 
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.util.Constants;
-import org.aksw.simba.lemming.util.IntSetUtil;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
@@ -35,8 +34,13 @@ public class S1ConnectingS2 extends AbstractFindSimplexes {
 	private ObjectObjectOpenHashMap<BitSet, ObjectDoubleOpenHashMap<BitSet>> mHeadColoTailColoCount;
 	
 	public S1ConnectingS2(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions, FindTri computedTriObjects){
+		this(new SimplexAnalysisEngine(origGrphs), desiredNoVertices, iNoOfVersions, computedTriObjects);
+	}
+	
+	public S1ConnectingS2(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions, FindTri computedTriObjects){
 		// initialize variables
-		inputGrphs = origGrphs;
+		this.analysisEngine = analysisEngine;
+		inputGrphs = analysisEngine.getInputGraphs();
 		inputDesiredNoVert = desiredNoVertices;
 		mNumOfInputGrphs = iNoOfVersions;
 		
@@ -61,11 +65,13 @@ public class S1ConnectingS2 extends AbstractFindSimplexes {
 	@Override
 	public void findSimplexes() {
 		
+		SimplexGraphStructure[] structures = analysisEngine.getStructures();
 		//initialize graph id
 		int graphId = 1;
 		
 		for (ColouredGraph graph : inputGrphs) {
 			if (graph!= null) {
+				SimplexGraphStructure structure = structures[graphId - 1];
 				
 		    	IntSet edgesWithinTrianglesResource = mGraphsEdgesIdsConnTriTemp.get(graphId); // temporary variable for tracking edge Ids within triangle
 		    	IntSet verticesOnlyFormingTriangleResource = mGraphsVertIds.get(graphId); // temporary variable for tracking vert ids within triangle
@@ -76,12 +82,11 @@ public class S1ConnectingS2 extends AbstractFindSimplexes {
 				
 				int sampleSizeHeadColor = 0; //temporary variable to track total number of head colors
 		    	
-				IntSet edgesNotInTriangles = IntSetUtil.difference(graph.getEdges(), edgesWithinTrianglesResource);
+				IntSet edgesBetweenTriangleVertices = structure.getEdgesBetween(verticesOnlyFormingTriangleResource); // edges without self loops connecting two vertices of triangles
 				IntSet edgeIdConnectingTriangles = new DefaultIntSet(Constants.DEFAULT_SIZE);
-				for (int edgeIdNotTri : edgesNotInTriangles) {
-					IntSet verticesEdgeNotTri = graph.getVerticesIncidentToEdge(edgeIdNotTri);
-					if ((verticesOnlyFormingTriangleResource.containsAll(verticesEdgeNotTri)) && (verticesEdgeNotTri.size() == 2)) {  
-						//update the condition vertices incident on edge should be 2
+				for (int edgeIdNotTri : edgesBetweenTriangleVertices) {
+					if (!edgesWithinTrianglesResource.contains(edgeIdNotTri)) {
+						// the edge is not part of a triangle
 						edgeIdConnectingTriangles.add(edgeIdNotTri);
 						
 						// store the details of head color for 1-simplex in the map
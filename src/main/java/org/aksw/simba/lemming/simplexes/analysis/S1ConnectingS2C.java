@@ -3,7 +3,6 @@ package org.aksw.simba.lemming.simplexes.analysis;
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.simplexes.EdgeColos;
 import org.aksw.simba.lemming.util.Constants;
-import org.aksw.simba.lemming.util.IntSetUtil;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectObjectOpenHashMap;
@@ -30,8 +29,13 @@ public class S1ConnectingS2C extends AbstractFindSimplexes {
 	
 	
 	public S1ConnectingS2C(ColouredGraph[] origGrphs, int desiredNoVertices, int iNoOfVersions, FindTri computedTriObjects){
+		this(new SimplexAnalysisEngine(origGrphs), desiredNoVertices, iNoOfVersions, computedTriObjects);
+	}
+	
+	public S1ConnectingS2C(SimplexAnalysisEngine analysisEngine, int desiredNoVertices, int iNoOfVersions, FindTri computedTriObjects){
 		// initialize variables
-		inputGrphs = origGrphs;
+		this.analysisEngine = analysisEngine;
+		inputGrphs = analysisEngine.getInputGraphs();
 		inputDesiredNoVert = desiredNoVertices;
 		mNumOfInputGrphs = iNoOfVersions;
 		
@@ -52,11 +56,13 @@ public class S1ConnectingS2C extends AbstractFindSimplexes {
 	@Override
 	public void findSimplexes() {
 		
+		SimplexGraphStructure[] structures = analysisEngine.getStructures();
 		//initialize graph id
 		int graphId = 1;
 		
 		for (ColouredGraph graph : inputGrphs) {
 			if (graph!= null) {
+				SimplexGraphStructure structure = structures[graphId - 1];
 				
 		    	IntSet edgesWithinTrianglesResource = mGraphsEdgesIdsConnTriTemp.get(graphId); // temporary variable for tracking edge Ids within triangle
 		    	IntSet verticesOnlyFormingTriangleResource = mGraphsVertIds.get(graphId); // temporary variable for tracking vert ids within triangle
@@ -64,12 +70,11 @@ public class S1ConnectingS2C extends AbstractFindSimplexes {
 		    	ObjectObjectOpenHashMap<EdgeColos, double[]> mEdgeColosCountsTemp = new ObjectObjectOpenHashMap<EdgeColos, double[]>(); // temporary map to store edge colors
 				
 		    	
-				IntSet edgesNotInTriangles = IntSetUtil.difference(graph.getEdges(), edgesWithinTrianglesResource);
+				IntSet edgesBetweenTriangleVertices = structure.getEdgesBetween(verticesOnlyFormingTriangleResource); // edges without self loops connecting two vertices of triangles
 				IntSet edgeIdConnectingTriangles = new DefaultIntSet(Constants.DEFAULT_SIZE);
-				for (int edgeIdNotTri : edgesNotInTriangles) {
-					IntSet verticesEdgeNotTri = graph.getVerticesIncidentToEdge(edgeIdNotTri);
-					if ((verticesOnlyFormingTriangleResource.containsAll(verticesEdgeNotTri)) && (verticesEdgeNotTri.size() == 2)) { 
-						//update the condition vertices incident on edge should be 2
+				for (int edgeIdNotTri : edgesBetweenTriangleVertices) {
+					if (!edgesWithinTrianglesResource.contains(edgeIdNotTri)) {
+						// the edge is not part of a triangle
 						edgeIdConnectingTriangles.add(edgeIdNotTri);
 						
 						// store the details of head color for 1-simplex in the map
@@ -0,0 +1,167 @@
+package org.aksw.simba.lemming.simplexes.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.util.ArtifactCache;
+
+/**
+ * Shared entry point for the simplex analyses of a set of input graphs. The
+ * engine computes the {@link SimplexGraphStructure} of every input graph once
+ * and the triangles of all input graphs once. All analyses created with the
+ * same engine reuse these results instead of walking the input graphs again.
+ * Independent input graphs are processed in parallel.
+ *
+ * The structures are recomputed (again in parallel) if an input graph has
+ * been changed since they have been created, e.g., after the RDF type edges
+ * have been removed.
+ *
+ * If an {@link ArtifactCache} of the input graphs is given, the triangles are
+ * read from it and only computed (and written to it) if they are not cached.
+ * They do not depend on the number of vertices of the output graph.
+ */
+public class SimplexAnalysisEngine {
+
+	private static final String TRIANGLES_ARTIFACT = "simplex_triangles.bin";
+
+	/**
+	 * Input RDF graphs (may contain null values).
+	 */
+	private ColouredGraph[] inputGrphs;
+
+	/**
+	 * Input graphs that are not null. The graph with the graph id i is stored at
+	 * index i - 1.
+	 */
+	private ColouredGraph[] graphs;
+
+	private SimplexGraphStructure[] structures;
+
+	/**
+	 * Triangles of all input graphs. They are computed on the first request.
+	 */
+	private FindTri triangles;
+
+	/**
+	 * Cache of the input graphs (or null).
+	 */
+	private ArtifactCache artifactCache;
+
+	public SimplexAnalysisEngine(ColouredGraph[] origGrphs) {
+		this(origGrphs, null);
+	}
+
+	public SimplexAnalysisEngine(ColouredGraph[] origGrphs, ArtifactCache artifactCache) {
+		inputGrphs = origGrphs;
+		this.artifactCache = artifactCache;
+		List<ColouredGraph> nonNullGraphs = new ArrayList<ColouredGraph>();
+		for (ColouredGraph graph : origGrphs) {
+			if (graph != null) {
+				nonNullGraphs.add(graph);
+			}
+		}
+		graphs = nonNullGraphs.toArray(new ColouredGraph[nonNullGraphs.size()]);
+		structures = new SimplexGraphStructure[graphs.length];
+	}
+
+	public ColouredGraph[] getInputGraphs() {
+		return inputGrphs;
+	}
+
+	public int getNumberOfGraphs() {
+		return graphs.length;
+	}
+
+	/**
+	 * Returns the up-to-date structures of all input graphs. The structure of the
+	 * graph with the graph id i is stored at index i - 1. Missing or outdated
+	 * structures are computed in parallel.
+	 */
+	public synchronized SimplexGraphStructure[] getStructures() {
+		List<Integer> outdated = new ArrayList<Integer>();
+		for (int i = 0; i < structures.length; ++i) {
+			if ((structures[i] == null) || structures[i].isOutdated()) {
+				outdated.add(i);
+			}
+		}
+		if (!outdated.isEmpty()) {
+			List<Callable<SimplexGraphStructure>> tasks = new ArrayList<Callable<SimplexGraphStructure>>();
+			for (int i : outdated) {
+				ColouredGraph graph = graphs[i];
+				tasks.add(() -> new SimplexGraphStructure(graph));
+			}
+			List<SimplexGraphStructure> results = runInParallel(tasks,
+					Math.min(outdated.size(), Runtime.getRuntime().availableProcessors()));
+			for (int i = 0; i < outdated.size(); ++i) {
+				structures[outdated.get(i)] = results.get(i);
+			}
+		}
+		return structures;
+	}
+
+	/**
+	 * @param graphId the id of the graph (starting with 1)
+	 * @return the up-to-date structure of the graph
+	 */
+	public synchronized SimplexGraphStructure getStructure(int graphId) {
+		int index = graphId - 1;
+		if ((structures[index] == null) || structures[index].isOutdated()) {
+			structures[index] = new SimplexGraphStructure(graphs[index]);
+		}
+		return structures[index];
+	}
+
+	/**
+	 * Returns the triangles of all input graphs. They are computed (or read
+	 * from the cache) with the first call of this method, i.e., they are not
+	 * updated if the graphs are changed afterwards.
+	 */
+	public synchronized FindTri getTriangles() {
+		if ((triangles == null) && (artifactCache != null)) {
+			triangles = artifactCache.readArtifact(TRIANGLES_ARTIFACT, FindTri::readFromFile);
+		}
+		if (triangles == null) {
+			triangles = new FindTri();
+			triangles.computeTriangles(getStructures());
+			if (artifactCache != null) {
+				artifactCache.writeArtifact(TRIANGLES_ARTIFACT, triangles::writeToFile);
+			}
+		}
+		return triangles;
+	}
+
+	/**
+	 * Executes the given tasks with the given number of threads and returns
+	 * their results in the order of the tasks.
+	 */
+	static <T> List<T> runInParallel(List<Callable<T>> tasks, int numberOfThreads) {
+		List<T> results = new ArrayList<T>(tasks.size());
+		if (tasks.isEmpty()) {
+			return results;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, numberOfThreads));
+		try {
+			List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+			for (Callable<T> task : tasks) {
+				futures.add(executor.submit(task));
+			}
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while analysing the input graphs.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Couldn't analyse the input graphs.", e);
+		} finally {
+			executor.shutdown();
+		}
+		return results;
+	}
+}
@@ -0,0 +1,262 @@
+package org.aksw.simba.lemming.simplexes.analysis;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.util.Constants;
+
+import com.carrotsearch.hppc.BitSet;
+
+import grph.DefaultIntSet;
+import grph.Grph;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+/**
+ * Structure of a single input graph that is shared by all simplex analyses.
+ * It is computed with one pass over the edges of the graph and contains the
+ * sorted undirected adjacency, the class vertices (heads of RDF type edges),
+ * the RDF type edges and the self loops of every vertex. With this structure,
+ * the analyses can classify a vertex or an edge in constant time instead of
+ * computing unions of neighbour sets.
+ *
+ * Note: The structure is a snapshot. If the graph is changed afterwards, e.g.,
+ * if the RDF type edges are removed or edge colours are changed, the structure
+ * is outdated (see {@link #isOutdated()}).
+ */
+public class SimplexGraphStructure {
+
+	private ColouredGraph graph;
+
+	private SortedUndirectedAdjacency adjacency;
+
+	private BitSet rdfTypeColour;
+
+	/**
+	 * Vertices that are the head of at least one RDF type edge.
+	 */
+	private boolean[] classVertices;
+
+	/**
+	 * Flags of the RDF type edges indexed by the edge ID.
+	 */
+	private boolean[] rdfTypeEdges;
+
+	/**
+	 * Flags of the entries of the adjacency that contain at least one RDF type edge.
+	 */
+	private boolean[] rdfTypeEntries;
+
+	/**
+	 * The self loops of vertex v are selfLoopEdgeIds[selfLoopOffsets[v]] to
+	 * selfLoopEdgeIds[selfLoopOffsets[v+1] - 1].
+	 */
+	private int[] selfLoopOffsets;
+	private int[] selfLoopEdgeIds;
+
+	private long modificationCount;
+	private int numberOfVertices;
+	private int numberOfEdges;
+
+	public SimplexGraphStructure(ColouredGraph graph) {
+		this.graph = graph;
+		Grph grph = graph.getGraph();
+		modificationCount = graph.getModificationCount();
+		numberOfVertices = grph.getNumberOfVertices();
+		numberOfEdges = grph.getNumberOfEdges();
+		adjacency = new SortedUndirectedAdjacency(grph);
+		rdfTypeColour = graph.getRDFTypePropertyColour();
+
+		int[] edges = grph.getEdges().toIntArray();
+		int maxEdgeId = -1;
+		for (int edgeId : edges) {
+			maxEdgeId = Math.max(maxEdgeId, edgeId);
+		}
+		int vertexIdRange = adjacency.getNumberOfVertices();
+		rdfTypeEdges = new boolean[maxEdgeId + 1];
+		classVertices = new boolean[vertexIdRange];
+		selfLoopOffsets = new int[vertexIdRange + 1];
+		int tail, head;
+		for (int edgeId : edges) {
+			tail = grph.getDirectedSimpleEdgeTail(edgeId);
+			head = grph.getDirectedSimpleEdgeHead(edgeId);
+			if ((rdfTypeColour != null) && rdfTypeColour.equals(graph.getEdgeColour(edgeId))) {
+				rdfTypeEdges[edgeId] = true;
+				classVertices[head] = true;
+			}
+			if (tail == head) {
+				selfLoopOffsets[tail + 1]++;
+			}
+		}
+
+		// self loops of every vertex
+		for (int v = 0; v < vertexIdRange; ++v) {
+			selfLoopOffsets[v + 1] += selfLoopOffsets[v];
+		}
+		selfLoopEdgeIds = new int[selfLoopOffsets[vertexIdRange]];
+		int[] positions = new int[vertexIdRange];
+		System.arraycopy(selfLoopOffsets, 0, positions, 0, vertexIdRange);
+		for (int edgeId : edges) {
+			tail = grph.getDirectedSimpleEdgeTail(edgeId);
+			if (tail == grph.getDirectedSimpleEdgeHead(edgeId)) {
+				selfLoopEdgeIds[positions[tail]++] = edgeId;
+			}
+		}
+
+		// vertex pairs connected by at least one RDF type edge
+		rdfTypeEntries = new boolean[adjacency.getNumberOfEntries()];
+		for (int entry = 0; entry < rdfTypeEntries.length; ++entry) {
+			for (int e = adjacency.getFirstEdge(entry); e < adjacency.getEndOfEdges(entry); ++e) {
+				if (rdfTypeEdges[adjacency.getEdgeId(e)]) {
+					rdfTypeEntries[entry] = true;
+					break;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true if the graph has been changed after this structure has been
+	 *         created. Changes made directly on the {@link Grph} object are
+	 *         detected if they change the number of vertices or edges.
+	 */
+	public boolean isOutdated() {
+		if (graph.getModificationCount() != modificationCount) {
+			return true;
+		}
+		Grph grph = graph.getGraph();
+		return (grph.getNumberOfVertices() != numberOfVertices) || (grph.getNumberOfEdges() != numberOfEdges);
+	}
+
+	public ColouredGraph getGraph() {
+		return graph;
+	}
+
+	public SortedUndirectedAdjacency getAdjacency() {
+		return adjacency;
+	}
+
+	public BitSet getRDFTypeColour() {
+		return rdfTypeColour;
+	}
+
+	public boolean isClassVertex(int vertexId) {
+		return classVertices[vertexId];
+	}
+
+	public boolean isRDFTypeEdge(int edgeId) {
+		return (edgeId < rdfTypeEdges.length) && rdfTypeEdges[edgeId];
+	}
+
+	/**
+	 * @return true if the given entry of the adjacency contains at least one RDF
+	 *         type edge
+	 */
+	public boolean isRDFTypeEntry(int entry) {
+		return rdfTypeEntries[entry];
+	}
+
+	/**
+	 * @return the number of distinct neighbours of the given vertex excluding
+	 *         the vertex itself
+	 */
+	public int getDegree(int vertexId) {
+		return adjacency.getDegree(vertexId);
+	}
+
+	public int getNumberOfSelfLoops(int vertexId) {
+		return selfLoopOffsets[vertexId + 1] - selfLoopOffsets[vertexId];
+	}
+
+	public int getFirstSelfLoop(int vertexId) {
+		return selfLoopOffsets[vertexId];
+	}
+
+	public int getEndOfSelfLoops(int vertexId) {
+		return selfLoopOffsets[vertexId + 1];
+	}
+
+	public int getSelfLoopEdgeId(int selfLoopPosition) {
+		return selfLoopEdgeIds[selfLoopPosition];
+	}
+
+	/**
+	 * @return true if the given edge connects two different vertices that have
+	 *         no other neighbours, i.e., if the edge (and its parallel edges)
+	 *         form an isolated 1-simplex. Self loops of the two vertices are
+	 *         allowed.
+	 */
+	public boolean isIsolated1Simplex(int edgeId) {
+		Grph grph = graph.getGraph();
+		int tail = grph.getDirectedSimpleEdgeTail(edgeId);
+		int head = grph.getDirectedSimpleEdgeHead(edgeId);
+		return (tail != head) && (adjacency.getDegree(tail) == 1) && (adjacency.getDegree(head) == 1);
+	}
+
+	/**
+	 * @return true if the given edge is a self loop of a vertex that has no
+	 *         other neighbours
+	 */
+	public boolean isIsolatedSelfLoop(int edgeId) {
+		Grph grph = graph.getGraph();
+		int tail = grph.getDirectedSimpleEdgeTail(edgeId);
+		return (tail == grph.getDirectedSimpleEdgeHead(edgeId)) && (adjacency.getDegree(tail) == 0);
+	}
+
+	/**
+	 * @return true if the given vertex has neither neighbours nor self loops
+	 */
+	public boolean isIsolatedVertex(int vertexId) {
+		return (adjacency.getDegree(vertexId) == 0) && (getNumberOfSelfLoops(vertexId) == 0);
+	}
+
+	/**
+	 * Collects the edges of the graph that are not contained in the given set
+	 * from the adjacency and the self loops, i.e., without copying the edge set
+	 * of the graph.
+	 *
+	 * @param excludedEdgeIds edges that should not be returned
+	 * @return the IDs of all other edges of the graph
+	 */
+	public IntSet getEdgesNotIn(IntSet excludedEdgeIds) {
+		IntSet edgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+		int entry, edgeId;
+		for (int v = 0; v < adjacency.getNumberOfVertices(); ++v) {
+			for (int f = adjacency.getFirstForwardEntry(v); f < adjacency.getEndOfForwardEntries(v); ++f) {
+				entry = adjacency.getEntryOfForwardEntry(f);
+				for (int e = adjacency.getFirstEdge(entry); e < adjacency.getEndOfEdges(entry); ++e) {
+					edgeId = adjacency.getEdgeId(e);
+					if (!excludedEdgeIds.contains(edgeId)) {
+						edgeIds.add(edgeId);
+					}
+				}
+			}
+			for (int i = selfLoopOffsets[v]; i < selfLoopOffsets[v + 1]; ++i) {
+				if (!excludedEdgeIds.contains(selfLoopEdgeIds[i])) {
+					edgeIds.add(selfLoopEdgeIds[i]);
+				}
+			}
+		}
+		return edgeIds;
+	}
+
+	/**
+	 * Collects the edges that connect two different vertices of the given set.
+	 * Only the adjacency entries of the given vertices are visited.
+	 *
+	 * @param vertexIds the vertices the edges have to connect
+	 * @return the IDs of the edges between the given vertices
+	 */
+	public IntSet getEdgesBetween(IntSet vertexIds) {
+		IntSet edgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+		int entry;
+		for (int v : vertexIds) {
+			for (int f = adjacency.getFirstForwardEntry(v); f < adjacency.getEndOfForwardEntries(v); ++f) {
+				if (vertexIds.contains(adjacency.getForwardNeighbour(f))) {
+					entry = adjacency.getEntryOfForwardEntry(f);
+					for (int e = adjacency.getFirstEdge(entry); e < adjacency.getEndOfEdges(entry); ++e) {
+						edgeIds.add(adjacency.getEdgeId(e));
+					}
+				}
+			}
+		}
+		return edgeIds;
+	}
+}
@@ -0,0 +1,230 @@
+package org.aksw.simba.lemming.simplexes.analysis;
+
+import java.util.Arrays;
+
+import org.aksw.simba.lemming.ColouredGraph;
+
+import grph.Grph;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+
+/**
+ * Undirected view of a graph in compressed sparse row (CSR) format. The
+ * neighbours of every vertex are sorted and deduplicated. Every
+ * (vertex, neighbour) entry points to the IDs of all parallel edges connecting
+ * the two vertices. Self loops are not part of the adjacency.
+ *
+ * Additionally, the class offers a degree-based orientation of the undirected
+ * edges: an edge points from the vertex with the lower degree to the vertex
+ * with the higher degree (ties are broken by the vertex ID). Every vertex has
+ * only few forward neighbours with this orientation, and every triangle is found
+ * exactly once by intersecting forward neighbourhoods.
+ */
+public class SortedUndirectedAdjacency {
+
+	/**
+	 * The entries of vertex v are the indices from vertexOffsets[v] to
+	 * vertexOffsets[v+1] - 1.
+	 */
+	protected int[] vertexOffsets;
+	/**
+	 * The neighbour of every entry. Sorted ascending per vertex.
+	 */
+	protected int[] neighbours;
+	/**
+	 * The edge IDs of entry i are edgeIds[edgeOffsets[i]] to
+	 * edgeIds[edgeOffsets[i+1] - 1].
+	 */
+	protected int[] edgeOffsets;
+	protected int[] edgeIds;
+
+	/**
+	 * Forward neighbours of the degree-based orientation. The forward entries of
+	 * vertex v are the indices from forwardOffsets[v] to forwardOffsets[v+1] - 1.
+	 * forwardEntries maps a forward entry to its entry in {@link #neighbours}.
+	 */
+	protected int[] forwardOffsets;
+	protected int[] forwardNeighbours;
+	protected int[] forwardEntries;
+
+	public SortedUndirectedAdjacency(ColouredGraph graph) {
+		this(graph.getGraph());
+	}
+
+	public SortedUndirectedAdjacency(Grph graph) {
+		build(graph);
+		orient();
+	}
+
+	private void build(Grph graph) {
+		int numberOfVertices = 0;
+		IntIterator iterator = graph.getVertices().iterator();
+		while (iterator.hasNext()) {
+			numberOfVertices = Math.max(numberOfVertices, iterator.nextInt() + 1);
+		}
+
+		// count the non-loop edges of every vertex
+		int[] edges = graph.getEdges().toIntArray();
+		int[] tails = new int[edges.length];
+		int[] heads = new int[edges.length];
+		int[] positions = new int[numberOfVertices + 1];
+		for (int i = 0; i < edges.length; ++i) {
+			tails[i] = graph.getDirectedSimpleEdgeTail(edges[i]);
+			heads[i] = graph.getDirectedSimpleEdgeHead(edges[i]);
+			if (tails[i] != heads[i]) {
+				positions[tails[i] + 1]++;
+				positions[heads[i] + 1]++;
+			}
+		}
+		for (int v = 0; v < numberOfVertices; ++v) {
+			positions[v + 1] += positions[v];
+		}
+		int[] rawOffsets = Arrays.copyOf(positions, positions.length);
+
+		// (neighbour, edge ID) pairs packed into longs are sorted by neighbour
+		// first and edge ID second
+		long[] pairs = new long[rawOffsets[numberOfVertices]];
+		for (int i = 0; i < edges.length; ++i) {
+			if (tails[i] != heads[i]) {
+				pairs[positions[tails[i]]++] = pack(heads[i], edges[i]);
+				pairs[positions[heads[i]]++] = pack(tails[i], edges[i]);
+			}
+		}
+
+		vertexOffsets = new int[numberOfVertices + 1];
+		neighbours = new int[pairs.length];
+		edgeOffsets = new int[pairs.length + 1];
+		edgeIds = new int[pairs.length];
+		int numberOfEntries = 0;
+		int neighbour;
+		for (int v = 0; v < numberOfVertices; ++v) {
+			vertexOffsets[v] = numberOfEntries;
+			Arrays.sort(pairs, rawOffsets[v], rawOffsets[v + 1]);
+			for (int p = rawOffsets[v]; p < rawOffsets[v + 1]; ++p) {
+				neighbour = (int) (pairs[p] >>> 32);
+				if ((numberOfEntries == vertexOffsets[v]) || (neighbours[numberOfEntries - 1] != neighbour)) {
+					neighbours[numberOfEntries] = neighbour;
+					edgeOffsets[numberOfEntries] = p;
+					++numberOfEntries;
+				}
+				edgeIds[p] = (int) pairs[p];
+			}
+		}
+		vertexOffsets[numberOfVertices] = numberOfEntries;
+		edgeOffsets[numberOfEntries] = pairs.length;
+		neighbours = Arrays.copyOf(neighbours, numberOfEntries);
+		edgeOffsets = Arrays.copyOf(edgeOffsets, numberOfEntries + 1);
+	}
+
+	private static long pack(int neighbour, int edgeId) {
+		return (((long) neighbour) << 32) | (edgeId & 0xFFFFFFFFL);
+	}
+
+	private void orient() {
+		int numberOfVertices = getNumberOfVertices();
+		forwardOffsets = new int[numberOfVertices + 1];
+		for (int v = 0; v < numberOfVertices; ++v) {
+			forwardOffsets[v + 1] = forwardOffsets[v];
+			for (int e = vertexOffsets[v]; e < vertexOffsets[v + 1]; ++e) {
+				if (isBefore(v, neighbours[e])) {
+					forwardOffsets[v + 1]++;
+				}
+			}
+		}
+		forwardNeighbours = new int[forwardOffsets[numberOfVertices]];
+		forwardEntries = new int[forwardNeighbours.length];
+		int position = 0;
+		for (int v = 0; v < numberOfVertices; ++v) {
+			for (int e = vertexOffsets[v]; e < vertexOffsets[v + 1]; ++e) {
+				if (isBefore(v, neighbours[e])) {
+					forwardNeighbours[position] = neighbours[e];
+					forwardEntries[position] = e;
+					++position;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true if the first vertex comes before the second vertex in the
+	 *         degree-based ordering, i.e., if it has a lower degree or the same
+	 *         degree and a lower ID
+	 */
+	public boolean isBefore(int vertex1, int vertex2) {
+		int degree1 = getDegree(vertex1);
+		int degree2 = getDegree(vertex2);
+		return (degree1 < degree2) || ((degree1 == degree2) && (vertex1 < vertex2));
+	}
+
+	/**
+	 * @return the number of vertices including IDs of vertices that do not
+	 *         exist, i.e., the highest vertex ID + 1
+	 */
+	public int getNumberOfVertices() {
+		return vertexOffsets.length - 1;
+	}
+
+	/**
+	 * @return the number of distinct neighbours of the given vertex
+	 */
+	public int getDegree(int vertex) {
+		return vertexOffsets[vertex + 1] - vertexOffsets[vertex];
+	}
+
+	/**
+	 * @return the number of all entries, i.e., the number of connected pairs of
+	 *         vertices counted in both directions
+	 */
+	public int getNumberOfEntries() {
+		return neighbours.length;
+	}
+
+	public int getFirstEntry(int vertex) {
+		return vertexOffsets[vertex];
+	}
+
+	public int getEndOfEntries(int vertex) {
+		return vertexOffsets[vertex + 1];
+	}
+
+	public int getNeighbour(int entry) {
+		return neighbours[entry];
+	}
+
+	/**
+	 * @return the number of parallel edges of the given entry
+	 */
+	public int getNumberOfEdges(int entry) {
+		return edgeOffsets[entry + 1] - edgeOffsets[entry];
+	}
+
+	public int getFirstEdge(int entry) {
+		return edgeOffsets[entry];
+	}
+
+	public int getEndOfEdges(int entry) {
+		return edgeOffsets[entry + 1];
+	}
+
+	public int getEdgeId(int edgePosition) {
+		return edgeIds[edgePosition];
+	}
+
+	public int getFirstForwardEntry(int vertex) {
+		return forwardOffsets[vertex];
+	}
+
+	public int getEndOfForwardEntries(int vertex) {
+		return forwardOffsets[vertex + 1];
+	}
+
+	public int getForwardNeighbour(int forwardEntry) {
+		return forwardNeighbours[forwardEntry];
+	}
+
+	/**
+	 * @return the entry of the given forward entry
+	 */
+	public int getEntryOfForwardEntry(int forwardEntry) {
+		return forwardEntries[forwardEntry];
+	}
+}
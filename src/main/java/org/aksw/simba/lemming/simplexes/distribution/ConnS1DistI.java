@@ -4,7 +4,8 @@ import java.util.Random;
 import java.util.Set;
 
 import org.aksw.simba.lemming.metrics.dist.ObjectDistribution;
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByAliasMethod;
 import org.aksw.simba.lemming.simplexes.EdgeColos;
 
 import com.carrotsearch.hppc.ObjectObjectOpenHashMap;
@@ -24,7 +25,7 @@ public class ConnS1DistI {
 	/**
 	 * Object for storing distributions by analyzing triangles found in all input graphs.
 	 */
-	private OfferedItemByRandomProb<EdgeColos> potentialConnectedEdgeProposer;
+	private IOfferedItem<EdgeColos> potentialConnectedEdgeProposer;
 	
 	
 	public ConnS1DistI(ObjectObjectOpenHashMap<EdgeColos, double[]> mConnEdgesColoCountDistAvg, int iNoOfVersions, Random mRandom){
@@ -58,9 +59,9 @@ public class ConnS1DistI {
 	 * This method initializes the probability distribution of edgecolors.
 	 * 
 	 */
-	private OfferedItemByRandomProb<EdgeColos> initializeDistributionAllEdgeColos(ObjectObjectOpenHashMap<EdgeColos, double[]> mEdgeColoursCountsDist) {
+	private IOfferedItem<EdgeColos> initializeDistributionAllEdgeColos(ObjectObjectOpenHashMap<EdgeColos, double[]> mEdgeColoursCountsDist) {
 		
-		OfferedItemByRandomProb<EdgeColos> edgeProposerOutput;
+		IOfferedItem<EdgeColos> edgeProposerOutput;
 		
 		int numberOfDistinctEdgeColours = mEdgeColoursCountsDist.assigned;
 		
@@ -89,7 +90,7 @@ public class ConnS1DistI {
 		
 		ObjectDistribution<EdgeColos> potentialEdge = new ObjectDistribution<EdgeColos>(edgeColorsSampleSpace, computedArrFromInput);
 		if (!potentialEdge.isEmpty()) // When samplespace is empty, initialzing the proposer with null
-			edgeProposerOutput = new OfferedItemByRandomProb<EdgeColos>(potentialEdge, mRandom);
+			edgeProposerOutput = new OfferedItemByAliasMethod<EdgeColos>(potentialEdge, mRandom);
 		else
 			edgeProposerOutput = null;
 		
@@ -97,7 +98,7 @@ public class ConnS1DistI {
 		
 	}
 
-	public OfferedItemByRandomProb<EdgeColos> getPotentialConnEdgeProposer() {
+	public IOfferedItem<EdgeColos> getPotentialConnEdgeProposer() {
 		return potentialConnectedEdgeProposer;
 	}
 }
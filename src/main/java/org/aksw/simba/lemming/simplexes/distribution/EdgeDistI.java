@@ -5,7 +5,8 @@ import java.util.Random;
 import java.util.Set;
 
 import org.aksw.simba.lemming.metrics.dist.ObjectDistribution;
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByAliasMethod;
 import org.aksw.simba.lemming.simplexes.EdgeColos;
 
 import com.carrotsearch.hppc.BitSet;
@@ -37,12 +38,12 @@ public class EdgeDistI {
 	/**
 	 * Object for storing distributions by analyzing triangles found in all input graphs.
 	 */
-	private OfferedItemByRandomProb<EdgeColos> potentialConnectedEdgeProposer;
+	private IOfferedItem<EdgeColos> potentialConnectedEdgeProposer;
 	
 	/**
 	 * Object for storing distributions by analyzing isolated triangles found in all input graphs.
 	 */
-	private OfferedItemByRandomProb<EdgeColos> potentialIsolatedEdgeProposer;
+	private IOfferedItem<EdgeColos> potentialIsolatedEdgeProposer;
 	
 	public EdgeDistI(ObjectObjectOpenHashMap<EdgeColos, double[]> mConnEdgesColoCountDistAvg, ObjectObjectOpenHashMap<EdgeColos, double[]> mIsoEdgeColosCounts, int iNoOfVersions, int mIDesiredNoOfVertices, Random mRandom){
 		
@@ -174,9 +175,9 @@ public class EdgeDistI {
 	 * This method initializes the probability distribution of edgecolors.
 	 * 
 	 */
-	private OfferedItemByRandomProb<EdgeColos> initializeDistributionAllEdgeColos(ObjectObjectOpenHashMap<EdgeColos, double[]> mEdgeColoursCountsDist) {
+	private IOfferedItem<EdgeColos> initializeDistributionAllEdgeColos(ObjectObjectOpenHashMap<EdgeColos, double[]> mEdgeColoursCountsDist) {
 		
-		OfferedItemByRandomProb<EdgeColos> edgeProposerOutput;
+		IOfferedItem<EdgeColos> edgeProposerOutput;
 		
 		int numberOfDistinctEdgeColours = mEdgeColoursCountsDist.assigned;
 		
@@ -205,7 +206,7 @@ public class EdgeDistI {
 		
 		ObjectDistribution<EdgeColos> potentialEdge = new ObjectDistribution<EdgeColos>(edgeColorsSampleSpace, computedArrFromInput);
 		if (!potentialEdge.isEmpty()) // When samplespace is empty, initialzing the proposer with null
-			edgeProposerOutput = new OfferedItemByRandomProb<EdgeColos>(potentialEdge, mRandom);
+			edgeProposerOutput = new OfferedItemByAliasMethod<EdgeColos>(potentialEdge, mRandom);
 		else
 			edgeProposerOutput = null;
 		
@@ -213,11 +214,11 @@ public class EdgeDistI {
 		
 	}
 
-	public OfferedItemByRandomProb<EdgeColos> getPotentialIsolatedEdgeColoProposer() {
+	public IOfferedItem<EdgeColos> getPotentialIsolatedEdgeColoProposer() {
 		return potentialIsolatedEdgeProposer;
 	}
 
-	public OfferedItemByRandomProb<EdgeColos> getPotentialConnEdgeProposer() {
+	public IOfferedItem<EdgeColos> getPotentialConnEdgeProposer() {
 		return potentialConnectedEdgeProposer;
 	}
 	
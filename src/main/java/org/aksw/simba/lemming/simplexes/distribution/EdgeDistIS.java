@@ -3,7 +3,8 @@ package org.aksw.simba.lemming.simplexes.distribution;
 import java.util.Random;
 
 import org.aksw.simba.lemming.metrics.dist.ObjectDistribution;
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByAliasMethod;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
@@ -33,19 +34,19 @@ public class EdgeDistIS {
 	/**
 	 * Head Color proposer for 1-simplex.
 	 */
-	private OfferedItemByRandomProb<BitSet> potentialVertColoProposer;
+	private IOfferedItem<BitSet> potentialVertColoProposer;
 	
 	/**
 	 * Map for storing probability distributions for different head colors
 	 */
-	private ObjectObjectOpenHashMap<BitSet, OfferedItemByRandomProb<BitSet>> mVertColoProbDist;
+	private ObjectObjectOpenHashMap<BitSet, IOfferedItem<BitSet>> mVertColoProbDist;
 
 	public EdgeDistIS(ObjectDoubleOpenHashMap<BitSet> mVertColoCount1Simplex, ObjectObjectOpenHashMap<BitSet, ObjectDoubleOpenHashMap<BitSet>> mHeadColoTailColoCount, int iNoOfVersions, Random mRandom) {
 		// initialization
 		this.mHeadColoTailColoCount = mHeadColoTailColoCount;
 		this.iNoOfVersions = iNoOfVersions;
 		this.mRandom = mRandom;
-		mVertColoProbDist = new ObjectObjectOpenHashMap<BitSet, OfferedItemByRandomProb<BitSet>>();
+		mVertColoProbDist = new ObjectObjectOpenHashMap<BitSet, IOfferedItem<BitSet>>();
 		
 		// create head color proposer
 		createVertColoProposer(mVertColoCount1Simplex);
@@ -83,15 +84,15 @@ public class EdgeDistIS {
 		ObjectDistribution<BitSet> potentialHeadColo = new ObjectDistribution<BitSet>(vertColoSampleSpace, vertColoSampleValue);
 		
 		if (!potentialHeadColo.isEmpty()) // Distribution can be created only when sample space is not null
-			potentialVertColoProposer = new OfferedItemByRandomProb<BitSet>(potentialHeadColo, mRandom);
+			potentialVertColoProposer = new OfferedItemByAliasMethod<BitSet>(potentialHeadColo, mRandom);
 		else
 			potentialVertColoProposer = null;
 		
 	}
 	
-	public OfferedItemByRandomProb<BitSet> proposeVertColo(BitSet headColo) {
+	public IOfferedItem<BitSet> proposeVertColo(BitSet headColo) {
 		
-		OfferedItemByRandomProb<BitSet> potentialTailColoProposer = mVertColoProbDist.get(headColo);
+		IOfferedItem<BitSet> potentialTailColoProposer = mVertColoProbDist.get(headColo);
 		
 		if(potentialTailColoProposer == null) {
 			//create a new distribution if distribution does not already exist for head color
@@ -128,7 +129,7 @@ public class EdgeDistIS {
 				return null;
 			
 			
-			potentialTailColoProposer = new OfferedItemByRandomProb<BitSet>(potentialTailColoDist, mRandom);
+			potentialTailColoProposer = new OfferedItemByAliasMethod<BitSet>(potentialTailColoDist, mRandom);
 			
 			//store the probability distribution in the map
 			mVertColoProbDist.put(headColo, potentialTailColoProposer);
@@ -139,7 +140,7 @@ public class EdgeDistIS {
 		return potentialTailColoProposer;
 	}
 
-	public OfferedItemByRandomProb<BitSet> getPotentialHeadColoProposer() {
+	public IOfferedItem<BitSet> getPotentialHeadColoProposer() {
 		return potentialVertColoProposer;
 	}
 }
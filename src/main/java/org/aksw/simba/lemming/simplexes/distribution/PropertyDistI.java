@@ -3,7 +3,8 @@ package org.aksw.simba.lemming.simplexes.distribution;
 import java.util.Random;
 
 import org.aksw.simba.lemming.metrics.dist.ObjectDistribution;
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByAliasMethod;
 import org.aksw.simba.lemming.simplexes.EdgeColorsSorted;
 
 import com.carrotsearch.hppc.BitSet;
@@ -14,7 +15,7 @@ public class PropertyDistI {
 	
 	private ObjectObjectOpenHashMap<EdgeColorsSorted, ObjectDoubleOpenHashMap<BitSet>> mPropDist;
 	
-	private ObjectObjectOpenHashMap<EdgeColorsSorted, OfferedItemByRandomProb<BitSet>> medgeColoPropDist = new ObjectObjectOpenHashMap<EdgeColorsSorted,OfferedItemByRandomProb<BitSet>>();
+	private ObjectObjectOpenHashMap<EdgeColorsSorted, IOfferedItem<BitSet>> medgeColoPropDist = new ObjectObjectOpenHashMap<EdgeColorsSorted,IOfferedItem<BitSet>>();
 	
 	private int iNoOfVersions;
 	
@@ -35,7 +36,7 @@ public class PropertyDistI {
 	public BitSet proposePropColor(EdgeColorsSorted edgeColorInput) {
     	
     	// check if previously for the input vertex colors the third vertex color was proposed
-    	OfferedItemByRandomProb<BitSet> mPropColoDist = medgeColoPropDist.get(edgeColorInput);
+    	IOfferedItem<BitSet> mPropColoDist = medgeColoPropDist.get(edgeColorInput);
     	if (mPropColoDist != null) {
     		return mPropColoDist.getPotentialItem();
     	} 
@@ -73,7 +74,7 @@ public class PropertyDistI {
 		
 		// create distribution
 		ObjectDistribution<BitSet> potentialColo = new ObjectDistribution<BitSet>(allPossibleColoV3, possEdgesInTriangle);
-		OfferedItemByRandomProb<BitSet> potentialColoProposer = new OfferedItemByRandomProb<BitSet>(potentialColo, mRandom);
+		IOfferedItem<BitSet> potentialColoProposer = new OfferedItemByAliasMethod<BitSet>(potentialColo, mRandom);
 		
 		// get potential third color
 		thirdVertexColor = potentialColoProposer.getPotentialItem();
@@ -4,7 +4,8 @@ import java.util.Random;
 import java.util.Set;
 
 import org.aksw.simba.lemming.metrics.dist.ObjectDistribution;
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByAliasMethod;
 import org.aksw.simba.lemming.simplexes.TriColos;
 
 import com.carrotsearch.hppc.BitSet;
@@ -43,18 +44,18 @@ public class TriDistI {
 	/**
 	 * Object for storing distributions by analyzing triangles found in all input graphs.
 	 */
-	private OfferedItemByRandomProb<TriColos> potentialConnectedTriangleProposer;
+	private IOfferedItem<TriColos> potentialConnectedTriangleProposer;
 	
 	/**
 	 * Object for storing distributions by analyzing isolated triangles found in all input graphs.
 	 */
-	private OfferedItemByRandomProb<TriColos> potentialIsolatedTriangleProposer;
+	private IOfferedItem<TriColos> potentialIsolatedTriangleProposer;
 	
 	/**
 	 * Map for storing probability distributions computed for two vertex colors.
 	 * Note: The vertex color are sorted in ascending order. The vertex color having lower long value is the key for the first hashmap and the one with the highest long value is the key for the second hashmap.
 	 */
-	private ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet, OfferedItemByRandomProb<BitSet>>> mV1ColoV2ColoProbDist = new ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet,OfferedItemByRandomProb<BitSet>>>();
+	private ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet, IOfferedItem<BitSet>>> mV1ColoV2ColoProbDist = new ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet,IOfferedItem<BitSet>>>();
 	
 	public TriDistI(ObjectObjectOpenHashMap<TriColos, double[]> mTriColoEdgesTriCountDistAvg, ObjectObjectOpenHashMap<TriColos, double[]> mIsolatedTriColosCountsDist, int iNoOfVersions, int mIDesiredNoOfVertices, Random mRandom){
 		
@@ -238,9 +239,9 @@ public class TriDistI {
     	}
     	
     	// check if previously for the input vertex colors the third vertex color was proposed
-    	ObjectObjectOpenHashMap<BitSet,OfferedItemByRandomProb<BitSet>> mV2ColoProbDistOpenHashMap = mV1ColoV2ColoProbDist.get(sortedVertex1Colo);
+    	ObjectObjectOpenHashMap<BitSet,IOfferedItem<BitSet>> mV2ColoProbDistOpenHashMap = mV1ColoV2ColoProbDist.get(sortedVertex1Colo);
     	if (mV2ColoProbDistOpenHashMap != null) {
-    		OfferedItemByRandomProb<BitSet> probDist = mV2ColoProbDistOpenHashMap.get(sortedVertex2Colo);
+    		IOfferedItem<BitSet> probDist = mV2ColoProbDistOpenHashMap.get(sortedVertex2Colo);
     		if (probDist != null) {
     			return probDist.getPotentialItem();
     		}
@@ -285,7 +286,7 @@ public class TriDistI {
 		
 		// create distribution
 		ObjectDistribution<BitSet> potentialColo = new ObjectDistribution<BitSet>(allPossibleColoV3, possEdgesInTriangle);
-		OfferedItemByRandomProb<BitSet> potentialColoProposer = new OfferedItemByRandomProb<BitSet>(potentialColo, mRandom);
+		IOfferedItem<BitSet> potentialColoProposer = new OfferedItemByAliasMethod<BitSet>(potentialColo, mRandom);
 		
 		// get potential third color
 		thirdVertexColor = potentialColoProposer.getPotentialItem();
@@ -293,7 +294,7 @@ public class TriDistI {
 		// save the created probability distribution
 		if (mV2ColoProbDistOpenHashMap == null) {
 			// There is no distribution for vertex color 1 initializing the map
-			mV2ColoProbDistOpenHashMap = new ObjectObjectOpenHashMap<BitSet, OfferedItemByRandomProb<BitSet>>();
+			mV2ColoProbDistOpenHashMap = new ObjectObjectOpenHashMap<BitSet, IOfferedItem<BitSet>>();
 		}
 		// Add computed distribution to the map of vertex color 2 and probability distribution
 		mV2ColoProbDistOpenHashMap.put(sortedVertex2Colo, potentialColoProposer);
@@ -359,9 +360,9 @@ public class TriDistI {
 	 * @param iNoOfVersions - Number of input graphs
 	 * @param mRandom - Random object
 	 */
-	private OfferedItemByRandomProb<TriColos> initializeDistributionAllTriangles(ObjectObjectOpenHashMap<TriColos, double[]> mTriangleColoursTriangleCountsEdgeCountsResourceNodes) {
+	private IOfferedItem<TriColos> initializeDistributionAllTriangles(ObjectObjectOpenHashMap<TriColos, double[]> mTriangleColoursTriangleCountsEdgeCountsResourceNodes) {
 		
-		OfferedItemByRandomProb<TriColos> triangleProposerOutput;
+		IOfferedItem<TriColos> triangleProposerOutput;
 		
 		int numberOfDistinctTriangleColours = mTriangleColoursTriangleCountsEdgeCountsResourceNodes.assigned;
 		
@@ -390,7 +391,7 @@ public class TriDistI {
 		
 		ObjectDistribution<TriColos> potentialTriangle = new ObjectDistribution<TriColos>(triangleColorsSampleSpace, possEdgesInTriangle);
 		if (!potentialTriangle.isEmpty()) // When samplespace is empty, initialzing the proposer with null
-			triangleProposerOutput = new OfferedItemByRandomProb<TriColos>(potentialTriangle, mRandom);
+			triangleProposerOutput = new OfferedItemByAliasMethod<TriColos>(potentialTriangle, mRandom);
 		else
 			triangleProposerOutput = null;
 		
@@ -398,11 +399,11 @@ public class TriDistI {
 		
 	}
 
-	public OfferedItemByRandomProb<TriColos> getPotentialIsolatedTriangleProposer() {
+	public IOfferedItem<TriColos> getPotentialIsolatedTriangleProposer() {
 		return potentialIsolatedTriangleProposer;
 	}
 
-	public OfferedItemByRandomProb<TriColos> getPotentialTriangleProposer() {
+	public IOfferedItem<TriColos> getPotentialTriangleProposer() {
 		return potentialConnectedTriangleProposer;
 	}
 	
@@ -4,7 +4,7 @@ import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
 import org.aksw.simba.lemming.simplexes.TriColos;
 
 import com.carrotsearch.hppc.BitSet;
@@ -47,7 +47,7 @@ public class TriDistU {
 	 * Map for storing probability distributions computed for two vertex colors.
 	 * Note: The vertex color are sorted in ascending order. The vertex color having lower long value is the key for the first hashmap and the one with the highest long value is the key for the second hashmap.
 	 */
-	private ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet, OfferedItemByRandomProb<BitSet>>> mV1ColoV2ColoProbDist = new ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet,OfferedItemByRandomProb<BitSet>>>();
+	private ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet, IOfferedItem<BitSet>>> mV1ColoV2ColoProbDist = new ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet,IOfferedItem<BitSet>>>();
 	
 	public TriDistU(ObjectObjectOpenHashMap<TriColos, double[]> mTriColoEdgesTriCountDistAvg, ObjectObjectOpenHashMap<TriColos, double[]> mIsolatedTriColosCountsDist, int iNoOfVersions, int mIDesiredNoOfVertices, Random mRandom){
 		
@@ -245,9 +245,9 @@ public class TriDistU {
     	}
     	
     	// check if previously for the input vertex colors the third vertex color was proposed
-    	ObjectObjectOpenHashMap<BitSet,OfferedItemByRandomProb<BitSet>> mV2ColoProbDistOpenHashMap = mV1ColoV2ColoProbDist.get(sortedVertex1Colo);
+    	ObjectObjectOpenHashMap<BitSet,IOfferedItem<BitSet>> mV2ColoProbDistOpenHashMap = mV1ColoV2ColoProbDist.get(sortedVertex1Colo);
     	if (mV2ColoProbDistOpenHashMap != null) {
-    		OfferedItemByRandomProb<BitSet> probDist = mV2ColoProbDistOpenHashMap.get(sortedVertex2Colo);
+    		IOfferedItem<BitSet> probDist = mV2ColoProbDistOpenHashMap.get(sortedVertex2Colo);
     		if (probDist != null) {
     			return probDist.getPotentialItem();
     		}
@@ -4,7 +4,8 @@ import java.util.Random;
 import java.util.Set;
 
 import org.aksw.simba.lemming.metrics.dist.ObjectDistribution;
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByAliasMethod;
 import org.aksw.simba.lemming.simplexes.EdgeColorsSorted;
 import org.aksw.simba.lemming.simplexes.TriColos;
 
@@ -47,27 +48,27 @@ public class TriDistWithEdgeI {
 	/**
 	 * Object for storing distributions by analyzing triangles found in all input graphs.
 	 */
-	private OfferedItemByRandomProb<TriColos> potentialConnectedTriangleProposer;
+	private IOfferedItem<TriColos> potentialConnectedTriangleProposer;
 	
 	/**
 	 * Object for storing distributions by analyzing isolated triangles found in all input graphs.
 	 */
-	private OfferedItemByRandomProb<TriColos> potentialIsolatedTriangleProposer;
+	private IOfferedItem<TriColos> potentialIsolatedTriangleProposer;
 	
 	/**
 	 * Map for storing probability distributions computed for two vertex colors.
 	 * Note: The vertex color are sorted in ascending order. The vertex color having lower long value is the key for the first hashmap and the one with the highest long value is the key for the second hashmap.
 	 */
-	private ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet, OfferedItemByRandomProb<BitSet>>> mV1ColoV2ColoProbDist = new ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet,OfferedItemByRandomProb<BitSet>>>();
+	private ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet, IOfferedItem<BitSet>>> mV1ColoV2ColoProbDist = new ObjectObjectOpenHashMap<BitSet, ObjectObjectOpenHashMap<BitSet,IOfferedItem<BitSet>>>();
 	
 	double totalEdgeDist = 0;
 	
 	/**
 	 * Object for storing distributions by analyzing triangles found in all input graphs.
 	 */
-	private OfferedItemByRandomProb<EdgeColorsSorted> potentialEdgeProposer;
+	private IOfferedItem<EdgeColorsSorted> potentialEdgeProposer;
 	
-	public OfferedItemByRandomProb<EdgeColorsSorted> getPotentialEdgeProposer() {
+	public IOfferedItem<EdgeColorsSorted> getPotentialEdgeProposer() {
 		return potentialEdgeProposer;
 	}
 
@@ -126,9 +127,9 @@ public class TriDistWithEdgeI {
 	 * This method initializes the probability distribution of edgecolors.
 	 * 
 	 */
-	private OfferedItemByRandomProb<EdgeColorsSorted> initializeDistributionAllEdgeColos(ObjectObjectOpenHashMap<EdgeColorsSorted, double[]> mEdgeColoursCountsDist) {
+	private IOfferedItem<EdgeColorsSorted> initializeDistributionAllEdgeColos(ObjectObjectOpenHashMap<EdgeColorsSorted, double[]> mEdgeColoursCountsDist) {
 		
-		OfferedItemByRandomProb<EdgeColorsSorted> edgeProposerOutput;
+		IOfferedItem<EdgeColorsSorted> edgeProposerOutput;
 		
 		int numberOfDistinctEdgeColours = mEdgeColoursCountsDist.assigned;
 		
@@ -157,7 +158,7 @@ public class TriDistWithEdgeI {
 		
 		ObjectDistribution<EdgeColorsSorted> potentialEdge = new ObjectDistribution<EdgeColorsSorted>(edgeColorsSampleSpace, computedArrFromInput);
 		if (!potentialEdge.isEmpty()) // When samplespace is empty, initialzing the proposer with null
-			edgeProposerOutput = new OfferedItemByRandomProb<EdgeColorsSorted>(potentialEdge, mRandom);
+			edgeProposerOutput = new OfferedItemByAliasMethod<EdgeColorsSorted>(potentialEdge, mRandom);
 		else
 			edgeProposerOutput = null;
 		
@@ -336,9 +337,9 @@ public class TriDistWithEdgeI {
     	}
     	
     	// check if previously for the input vertex colors the third vertex color was proposed
-    	ObjectObjectOpenHashMap<BitSet,OfferedItemByRandomProb<BitSet>> mV2ColoProbDistOpenHashMap = mV1ColoV2ColoProbDist.get(sortedVertex1Colo);
+    	ObjectObjectOpenHashMap<BitSet,IOfferedItem<BitSet>> mV2ColoProbDistOpenHashMap = mV1ColoV2ColoProbDist.get(sortedVertex1Colo);
     	if (mV2ColoProbDistOpenHashMap != null) {
-    		OfferedItemByRandomProb<BitSet> probDist = mV2ColoProbDistOpenHashMap.get(sortedVertex2Colo);
+    		IOfferedItem<BitSet> probDist = mV2ColoProbDistOpenHashMap.get(sortedVertex2Colo);
     		if (probDist != null) {
     			return probDist.getPotentialItem();
     		}
@@ -383,7 +384,7 @@ public class TriDistWithEdgeI {
 		
 		// create distribution
 		ObjectDistribution<BitSet> potentialColo = new ObjectDistribution<BitSet>(allPossibleColoV3, possEdgesInTriangle);
-		OfferedItemByRandomProb<BitSet> potentialColoProposer = new OfferedItemByRandomProb<BitSet>(potentialColo, mRandom);
+		IOfferedItem<BitSet> potentialColoProposer = new OfferedItemByAliasMethod<BitSet>(potentialColo, mRandom);
 		
 		// get potential third color
 		thirdVertexColor = potentialColoProposer.getPotentialItem();
@@ -391,7 +392,7 @@ public class TriDistWithEdgeI {
 		// save the created probability distribution
 		if (mV2ColoProbDistOpenHashMap == null) {
 			// There is no distribution for vertex color 1 initializing the map
-			mV2ColoProbDistOpenHashMap = new ObjectObjectOpenHashMap<BitSet, OfferedItemByRandomProb<BitSet>>();
+			mV2ColoProbDistOpenHashMap = new ObjectObjectOpenHashMap<BitSet, IOfferedItem<BitSet>>();
 		}
 		// Add computed distribution to the map of vertex color 2 and probability distribution
 		mV2ColoProbDistOpenHashMap.put(sortedVertex2Colo, potentialColoProposer);
@@ -457,9 +458,9 @@ public class TriDistWithEdgeI {
 	 * @param iNoOfVersions - Number of input graphs
 	 * @param mRandom - Random object
 	 */
-	private OfferedItemByRandomProb<TriColos> initializeDistributionAllTriangles(ObjectObjectOpenHashMap<TriColos, double[]> mTriangleColoursTriangleCountsEdgeCountsResourceNodes) {
+	private IOfferedItem<TriColos> initializeDistributionAllTriangles(ObjectObjectOpenHashMap<TriColos, double[]> mTriangleColoursTriangleCountsEdgeCountsResourceNodes) {
 		
-		OfferedItemByRandomProb<TriColos> triangleProposerOutput;
+		IOfferedItem<TriColos> triangleProposerOutput;
 		
 		int numberOfDistinctTriangleColours = mTriangleColoursTriangleCountsEdgeCountsResourceNodes.assigned;
 		
@@ -488,7 +489,7 @@ public class TriDistWithEdgeI {
 		
 		ObjectDistribution<TriColos> potentialTriangle = new ObjectDistribution<TriColos>(triangleColorsSampleSpace, possEdgesInTriangle);
 		if (!potentialTriangle.isEmpty()) // When samplespace is empty, initialzing the proposer with null
-			triangleProposerOutput = new OfferedItemByRandomProb<TriColos>(potentialTriangle, mRandom);
+			triangleProposerOutput = new OfferedItemByAliasMethod<TriColos>(potentialTriangle, mRandom);
 		else
 			triangleProposerOutput = null;
 		
@@ -496,11 +497,11 @@ public class TriDistWithEdgeI {
 		
 	}
 
-	public OfferedItemByRandomProb<TriColos> getPotentialIsolatedTriangleProposer() {
+	public IOfferedItem<TriColos> getPotentialIsolatedTriangleProposer() {
 		return potentialIsolatedTriangleProposer;
 	}
 
-	public OfferedItemByRandomProb<TriColos> getPotentialTriangleProposer() {
+	public IOfferedItem<TriColos> getPotentialTriangleProposer() {
 		return potentialConnectedTriangleProposer;
 	}
 	
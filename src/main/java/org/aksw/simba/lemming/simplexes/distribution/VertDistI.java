@@ -3,7 +3,8 @@ package org.aksw.simba.lemming.simplexes.distribution;
 import java.util.Random;
 
 import org.aksw.simba.lemming.metrics.dist.ObjectDistribution;
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByAliasMethod;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
@@ -25,7 +26,7 @@ public class VertDistI {
 	/**
 	 * Color proposer for 0-simplexes.
 	 */
-	OfferedItemByRandomProb<BitSet> potentialColoProposer;
+	IOfferedItem<BitSet> potentialColoProposer;
 
 	public VertDistI(ObjectDoubleOpenHashMap<BitSet> mColoCount0Simplex, int iNoOfVersions, Random mRandom) {
 		// initialization
@@ -68,12 +69,12 @@ public class VertDistI {
 		ObjectDistribution<BitSet> potentialColo0Simplex = new ObjectDistribution<BitSet>(coloSampleSpace, coloSampleValue);
 		
 		if (!potentialColo0Simplex.isEmpty()) // create distribution when sample space is not empty
-			potentialColoProposer = new OfferedItemByRandomProb<BitSet>(potentialColo0Simplex, mRandom);
+			potentialColoProposer = new OfferedItemByAliasMethod<BitSet>(potentialColo0Simplex, mRandom);
 		else
 			potentialColoProposer = null;
 	}
 	
-	public OfferedItemByRandomProb<BitSet> getPotentialColoProposer() {
+	public IOfferedItem<BitSet> getPotentialColoProposer() {
 		return potentialColoProposer;
 	}
 
@@ -11,7 +11,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.aksw.simba.lemming.ColouredGraph;
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
 import org.aksw.simba.lemming.mimicgraph.constraints.ColourMappingRules;
 import org.aksw.simba.lemming.mimicgraph.constraints.IColourMappingRules;
 import org.aksw.simba.lemming.mimicgraph.generator.AbstractGraphGeneration;
@@ -29,13 +29,16 @@ import org.aksw.simba.lemming.simplexes.analysis.IsoS2;
 import org.aksw.simba.lemming.simplexes.analysis.IsoS1C;
 import org.aksw.simba.lemming.simplexes.analysis.IsolatedSelfLoops;
 import org.aksw.simba.lemming.simplexes.analysis.S0C;
+import org.aksw.simba.lemming.simplexes.analysis.SimplexAnalysisEngine;
 import org.aksw.simba.lemming.simplexes.distribution.ConnS1DistI;
 import org.aksw.simba.lemming.simplexes.distribution.EdgeDistIS;
 import org.aksw.simba.lemming.simplexes.distribution.EdgeDistI;
 import org.aksw.simba.lemming.simplexes.distribution.PropertyDistI;
 import org.aksw.simba.lemming.simplexes.distribution.TriDistWithEdgeI;
 import org.aksw.simba.lemming.simplexes.distribution.VertDistI;
+import org.aksw.simba.lemming.util.ArtifactCache;
 import org.aksw.simba.lemming.util.Constants;
+import org.aksw.simba.lemming.util.IndexedIntSet;
 import org.aksw.simba.lemming.util.IntSetUtil;
 import org.apache.jena.ext.com.google.common.collect.Sets;
 import org.apache.jena.ext.com.google.common.collect.Sets.SetView;
@@ -161,6 +164,14 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 	
 	public GraphGenerationSimplexApproachComplProbBased(int iNumberOfVertices,
 			ColouredGraph[] inputGrphs, int iNumberOfThreads, long seed, int maximumIterationInput) {
+		this(iNumberOfVertices, inputGrphs, iNumberOfThreads, seed, maximumIterationInput, null);
+	}
+	
+	/**
+	 * @param artifactCache cache of the input graphs from which the triangles of the input graphs are read (or null)
+	 */
+	public GraphGenerationSimplexApproachComplProbBased(int iNumberOfVertices,
+			ColouredGraph[] inputGrphs, int iNumberOfThreads, long seed, int maximumIterationInput, ArtifactCache artifactCache) {
 		super();
 		
 		this.seed = seed;
@@ -208,8 +219,11 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		mColourMapper = new ColourMappingRules();
 		mColourMapper.analyzeRules(origGrphs);
 	
+		// Shared analysis engine. The structures and triangles of the input graphs are computed once (in parallel) and reused by all simplex analyses below.
+		SimplexAnalysisEngine analysisEngine = new SimplexAnalysisEngine(origGrphs, artifactCache);
+		
 		// Compute triangles for input graphs
-		FindTri computedTriangles = callMetricToGetTriangleInformation(origGrphs);
+		FindTri computedTriangles = analysisEngine.getTriangles();
 		
 		// Get all triangles found in input graphs. Note:- metric is invoked by above function call, thus set of colors for different triangle vertices are already computed.
 		mTriangleColoursTriangleEdgeCounts = computedTriangles.getmTriColoEdgesTriCountDistAvg();
@@ -218,7 +232,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		createSetForTriangleColours();
 		
 		//******************* Simplex Analysis connected triangles ********************//
-		ConnS2 connTriAnalysis = new ConnS2(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		ConnS2 connTriAnalysis = new ConnS2(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapperTriangles = connTriAnalysis.getmColourMapperSimplexes();
 		estimatedEdgesTriangle = connTriAnalysis.getEstEdges();
 		estimatedVerticesTriangle = connTriAnalysis.getEstVertices();
@@ -229,7 +243,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		mPropDistConnTri = new PropertyDistI(mPropDistConnTriCount, iNoOfVersions, mRandom);
 		
 		//******************* Simplex Analysis isolated triangles ********************//
-		IsoS2 isoTriAnalysis = new IsoS2(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		IsoS2 isoTriAnalysis = new IsoS2(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapperIsolatedTriangles = isoTriAnalysis.getmColourMapperSimplexes();
 		estimatedEdgesIsolatedTriangle = isoTriAnalysis.getEstEdges();
 		estimatedVerticesIsolatedTriangle = isoTriAnalysis.getEstVertices();
@@ -244,7 +258,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		mTriColosCountsAvgProb = triangleDistribution.getmTriangleColorsv1v2v3(); // get hash map for triangle vertex colors storing count of triangle distribution
 		
 		//****************** Simplex Analysis 1-Simplexes connected to 2-simplexes **********************//
-		S1ConnToS2C s1ConnToTri = new S1ConnToS2C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		S1ConnToS2C s1ConnToTri = new S1ConnToS2C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
 		mColourMapperCommonEdges = s1ConnToTri.getmColourMapperSimplexes();
 		estimatedEdgesCommon = s1ConnToTri.getEstEdges();
 		estVerts1SimplexesConntoTri = s1ConnToTri.getEstVertices();
@@ -263,7 +277,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		
 		
 		//***************** Simplex Analysis 1-Simplexes connecting Triangles *************************//
-		S1ConnectingS2C s1ConnectingTri = new S1ConnectingS2C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		S1ConnectingS2C s1ConnectingTri = new S1ConnectingS2C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
 		estimatedEdges1SimplexesConnect2Simplexes = s1ConnectingTri.getEstEdges();
 		mColourMapper1SimplexesConnTri = s1ConnectingTri.getmColourMapperSimplexes();
 		
@@ -281,7 +295,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		
 		//**************** Self Loop Analysis ******************************//
 		// Isolated triangles
-		FindSelfLoops selfLoopIsoTri = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, isoTriAnalysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopIsoTri = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, isoTriAnalysis.getmGraphsVertIds());
 		estEdgesSelfLoopIsoTri = selfLoopIsoTri.getEstEdges();
 		mColourMapperSelfLoopIsoTri = selfLoopIsoTri.getmColourMapperSimplexes();
 		selfLoopIsoTritDist = new VertDistI(selfLoopIsoTri.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
@@ -292,7 +306,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		mPropDistselfLoopIsoTri = new PropertyDistI(mPropDistselfLoopIsoTriCount, iNoOfVersions, mRandom);
 		
 		// Connected triangles
-		FindSelfLoops selfLoopConnTri = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, connTriAnalysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopConnTri = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, connTriAnalysis.getmGraphsVertIds());
 		estEdgesSelfLoopConnTri = selfLoopConnTri.getEstEdges();
 		mColourMapperSelfLoopConnTri = selfLoopConnTri.getmColourMapperSimplexes();
 		selfLoopConnTriDist = new VertDistI(selfLoopConnTri.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
@@ -304,7 +318,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		
 		
 		// 1-simplexes only connected triangles
-		FindSelfLoops selfLoops1ConnToTri = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, s1ConnToTri.getmGraphsVertIds());
+		FindSelfLoops selfLoops1ConnToTri = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, s1ConnToTri.getmGraphsVertIds());
 		estEdgesSelfLoop1SimplexConnToTri = selfLoops1ConnToTri.getEstEdges();
 		mColourMapperSelfLoop1SimplexConnToTri = selfLoops1ConnToTri.getmColourMapperSimplexes();
 		selfLoops1ConnToTriDist = new VertDistI(selfLoops1ConnToTri.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
@@ -315,7 +329,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		mPropDistselfLoops1ConnToTri = new PropertyDistI(mPropDistselfLoops1ConnToTriCount, iNoOfVersions, mRandom); // mPropDistselfLoopIsoTri
 		
 		//************* Simplex Analysis for isolated 1-Simplexes ********************************//
-		IsoS1C isoS1Analysis = new IsoS1C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions);
+		IsoS1C isoS1Analysis = new IsoS1C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapper1Simplexes = isoS1Analysis.getmColourMapperSimplexes();
 		estimatedEdges1Simplexes = isoS1Analysis.getEstEdges();
 		estimatedVertices1Simplexes = isoS1Analysis.getEstVertices();
@@ -326,7 +340,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		mPropDistisoS1 = new PropertyDistI(mPropDistisoS1Count, iNoOfVersions, mRandom);
 		
 		// ******* Computations related to isolated self loops (1-simplexes with same head and tail) ***************//
-		IsolatedSelfLoops isoS1SelfLoopAnalysis = new IsolatedSelfLoops(origGrphs, mIDesiredNoOfVertices, iNoOfVersions);
+		IsolatedSelfLoops isoS1SelfLoopAnalysis = new IsolatedSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapperIsoSelfLoop = isoS1SelfLoopAnalysis.getmColourMapperSimplexes();
 		estimatedEdgesIsoSelfLoop = isoS1SelfLoopAnalysis.getEstEdges();
 		estimatedVerticesIsoSelfLoop = isoS1SelfLoopAnalysis.getEstVertices();
@@ -337,7 +351,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		mPropDistisoS1SelfLoop = new PropertyDistI(mPropDistisoS1SelfLoopCount, iNoOfVersions, mRandom);
 		
 		// ****************** Self loops in 1-simplexes **********************//
-		FindSelfLoops selfLoopsInIsoS1 = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, isoS1Analysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopsInIsoS1 = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, isoS1Analysis.getmGraphsVertIds());
 		estimatedEdgesSelfLoopIn1Simplex = selfLoopsInIsoS1.getEstEdges();
 		mColourMapperSelfLoopIn1Simplex = selfLoopsInIsoS1.getmColourMapperSimplexes();
 		selfLoopsInS1Dist = new VertDistI(selfLoopsInIsoS1.getmColoCountSelfLoop(), iNoOfVersions, mRandom); // mPropDistselfLoopsInIsoS1
@@ -347,7 +361,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		mPropDistselfLoopsInIsoS1 = new PropertyDistI(mPropDistselfLoopsInIsoS1Count, iNoOfVersions, mRandom);
 		
 		//************ 0-Simplexes Analysis *********************************//
-		S0C s0Analysis = new S0C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions);
+		S0C s0Analysis = new S0C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		estimatedVertices0Simplexes = s0Analysis.getEstVertices();
 		s0Dist = new VertDistI(s0Analysis.getmColoCount0Simplex(), iNoOfVersions, mRandom);
 		
@@ -356,7 +370,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		ObjectObjectOpenHashMap<Integer, IntSet> edgeIdsUnionMap = addEdgeIdsForDifferentSimplexes(connTriAnalysis.getmGraphsEdgesIds(), isoTriAnalysis.getmGraphsEdgesIds(), s1ConnToTri.getmGraphsEdgesIds(), s1ConnectingTri.getmGraphsEdgesIds(), selfLoopIsoTri.getmGraphsEdgesIds(),
 				selfLoopConnTri.getmGraphsEdgesIds(), selfLoops1ConnToTri.getmGraphsEdgesIds(), isoS1Analysis.getmGraphsEdgesIds(), isoS1SelfLoopAnalysis.getmGraphsEdgesIds(), selfLoopsInIsoS1.getmGraphsEdgesIds(), iNoOfVersions);
 		
-		ConnS1C connS1Analysis = new ConnS1C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, edgeIdsUnionMap);
+		ConnS1C connS1Analysis = new ConnS1C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, edgeIdsUnionMap);
 		mColourMapperConnected1Simplexes = connS1Analysis.getmColourMapperSimplexes();
 		estimatedEdgesConnS1 = connS1Analysis.getEstEdges();
 		estimatedVertsConnS1 = connS1Analysis.getEstVertices();
@@ -378,7 +392,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		mEdgeColorsVertexIds = new ObjectObjectOpenHashMap<EdgeColos, List<IntSet>>();
 		
 		// Self loop analysis for connected 1-Simplexes
-		FindSelfLoops selfLoopsInConnS1 = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, connS1Analysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopsInConnS1 = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, connS1Analysis.getmGraphsVertIds());
 		estEdgesSelfLoopConn1Simplexes = selfLoopsInConnS1.getEstEdges();
 		mColourMapperSelfLoopConn1Simplexes = selfLoopsInConnS1.getmColourMapperSimplexes();
 		selfLoopsInConnS1Dist = new VertDistI(selfLoopsInConnS1.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
@@ -414,18 +428,6 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		
 	}
 	
-	private FindTri callMetricToGetTriangleInformation(ColouredGraph[] origGrphs) {
-		// Initialize FindTriangleObject, which will collect triangles found in Input graphs.
-		FindTri findTriObj = new FindTri();
-		for (ColouredGraph graph : origGrphs) {
-			if (graph!= null) {
-				// compute triangles information for input graph
-				findTriObj.computeTriangles(graph);
-			}
-		}
-		return findTriObj;
-	}
-	
 	private void createSetForTriangleColours() {
 		// Initialize set variable
 		setAllTriangleColours = new HashSet<TriColos>();
@@ -527,7 +529,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 							continue;
 						}
 						
-						int selectedVertex1 =  setVertices1.toArray(new Integer[setVertices1.size()])[mRandom.nextInt(setVertices1.size())], selectedVertex2 = setVertices2.toArray(new Integer[setVertices2.size()])[mRandom.nextInt(setVertices2.size())];
+						int selectedVertex1 =  IntSetUtil.getRandomElement(setVertices1, mRandom), selectedVertex2 = IntSetUtil.getRandomElement(setVertices2, mRandom);
 						
 						
 						BitSet selectedVertex1Colo = mMimicGraph.getVertexColour(selectedVertex1);
@@ -671,7 +673,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 					List<IntSet> selectedTrianglesList = mTriangleColorsVertexIds.get(proposeTriangleToAddEdge);
 					
 					// randomly selecting one of these triangles
-					IntSet selectedVertices = selectedTrianglesList.toArray(new IntSet[selectedTrianglesList.size()])[mRandom.nextInt(selectedTrianglesList.size())];
+					IntSet selectedVertices = selectedTrianglesList.get(mRandom.nextInt(selectedTrianglesList.size()));
 					
 					// Considering different vertex pairs to add an edge
 					
@@ -731,7 +733,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		numOfIterationAddingEdgesToGraph = 0;
 		
 		// get head proposer defined for 1-simplex distribution
-		OfferedItemByRandomProb<EdgeColos> potentialEdgeColoProposer = s1ConnDist.getPotentialIsolatedEdgeColoProposer();
+		IOfferedItem<EdgeColos> potentialEdgeColoProposer = s1ConnDist.getPotentialIsolatedEdgeColoProposer();
 		
 		LOGGER.info("Case 2a: Isolated 1-simplexes (with different source and target node)");
 		LOGGER.info("Estimated Edges: " + estimatedEdges1Simplexes);
@@ -778,7 +780,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 				
 				while((vertexIDshead.size() > 0) && (vertexIDTail == -1)) { // randomly select a head vertex and check if it has a tail with proposed color
 					
-					vertexIDHead = vertexIDshead.toArray(new Integer[vertexIDshead.size()])[mRandom.nextInt(vertexIDshead.size())];
+					vertexIDHead = IntSetUtil.getRandomElement(vertexIDshead, mRandom);
 					
 					// get neighbors of selected vertex head
 					IntSet neighbors = IntSetUtil.union(mMimicGraph.getInNeighbors(vertexIDHead), mMimicGraph.getOutNeighbors(vertexIDHead));
@@ -792,7 +794,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 					}
 					
 					if (vertexIDstail.size() > 0)
-						vertexIDTail = vertexIDstail.toArray(new Integer[vertexIDstail.size()])[mRandom.nextInt(vertexIDstail.size())];
+						vertexIDTail = IntSetUtil.getRandomElement(vertexIDstail, mRandom);
 					else
 						vertexIDshead.remove(vertexIDHead); // randomly select head does not have the tail node with proposed colors
 				}
@@ -829,7 +831,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		numOfIterationAddingEdgesToGraph = 0;
 		
 		// get head proposer defined for 1-simplex distribution
-		OfferedItemByRandomProb<BitSet> potentialHeadColoProposer = selfLoops1IsoS1.getPotentialColoProposer();
+		IOfferedItem<BitSet> potentialHeadColoProposer = selfLoops1IsoS1.getPotentialColoProposer();
 		
 		LOGGER.info("Case 2b: Isolated self loop");
 		LOGGER.info("Estimated Edges: " + estimatedEdgesIsoSelfLoop);
@@ -862,7 +864,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 					numOfIterationAddingEdgesToGraph++;
 					continue; // it is possible there is no vertex exist for the proposed head color, continue to check with new head color in that case
 				}
-				vertexIDHead = vertexIDshead.toArray(new Integer[vertexIDshead.size()])[mRandom.nextInt(vertexIDshead.size())];
+				vertexIDHead = IntSetUtil.getRandomElement(vertexIDshead, mRandom);
 			}
 			
 			// temporary assignment for tail vertex id
@@ -888,7 +890,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		LOGGER.info("Case 3: Isolated 0-simplexes");
 		LOGGER.info("Estimated Vertices: " + estimatedVertices0Simplexes);
 		//define proposer for 0-simplexes 
-		OfferedItemByRandomProb<BitSet> potentialColoProposer0Simplex = s0Dist.getPotentialColoProposer();
+		IOfferedItem<BitSet> potentialColoProposer0Simplex = s0Dist.getPotentialColoProposer();
 		
 		//initialize tracking variable
 		actualVerticesSimplexes = 0;
@@ -978,7 +980,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 			//initialize variable tracking iteration count for this case
 			numOfIterationAddingEdgesToGraph = 0;
 			
-			OfferedItemByRandomProb<EdgeColos> headColoProposerIsolatedTri = s1connTriDist.getPotentialConnEdgeProposer();
+			IOfferedItem<EdgeColos> headColoProposerIsolatedTri = s1connTriDist.getPotentialConnEdgeProposer();
 			
 			while((actualEdgesSimplexes < estimatedEdges1SimplexesConnect2Simplexes) && (numOfIterationAddingEdgesToGraph < maximumIteration) && (headColoProposerIsolatedTri != null)) {
 			
@@ -1103,7 +1105,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		
 		//initialize variable tracking iteration count for this case
 		numOfIterationAddingEdgesToGraph = 0;
-		OfferedItemByRandomProb<EdgeColos> headColoProposercase4b = s1connTriDist.getPotentialConnEdgeProposer();
+		IOfferedItem<EdgeColos> headColoProposercase4b = s1connTriDist.getPotentialConnEdgeProposer();
 		
 		while((actualEdgesSimplexes < estimatedEdges1SimplexesConnect2Simplexes) && (numOfIterationAddingEdgesToGraph < maximumIteration) && (headColoProposercase4b!=null)) { // check if we can add more edge
 			
@@ -1239,7 +1241,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		LOGGER.info("Case 5: Isolated 2-simplexes");
 		LOGGER.info("Estimated Edges: " + estimatedEdgesIsolatedTriangle);
 		LOGGER.info("Estimated Vertices: " + estimatedVerticesIsolatedTriangle);
-		OfferedItemByRandomProb<TriColos> potentialIsolatedTriangleProposer = triangleDistribution.getPotentialIsolatedTriangleProposer(); // get isolated triangle proposer
+		IOfferedItem<TriColos> potentialIsolatedTriangleProposer = triangleDistribution.getPotentialIsolatedTriangleProposer(); // get isolated triangle proposer
 		
 		// initialize tracker variable
 		actualVerticesSimplexes = 0;
@@ -1275,7 +1277,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 				List<IntSet> selectedTrianglesList = mIsolatedTriangleColorsVertexIds.get(proposeTriangleToAddEdge);
 				
 				// randomly selecting one of these triangles
-				IntSet selectedVertices = selectedTrianglesList.toArray(new IntSet[selectedTrianglesList.size()])[mRandom.nextInt(selectedTrianglesList.size())];
+				IntSet selectedVertices = selectedTrianglesList.get(mRandom.nextInt(selectedTrianglesList.size()));
 				
 				// temporary variable to track if edge was added to existing triangle
 				boolean edgeNotAddedToExistingTriangle = true;
@@ -1412,7 +1414,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 			setEdgeColorsMimicGraph.add(initialRandomEdge);
 			
 			// initial head color proposer
-			OfferedItemByRandomProb<BitSet> potentialHeadColoProposerConnS1 = s1ConnheadTailDist.getPotentialHeadColoProposer();
+			IOfferedItem<BitSet> potentialHeadColoProposerConnS1 = s1ConnheadTailDist.getPotentialHeadColoProposer();
 			
 			numOfIterationAddingEdgesToGraph = 0; // initialize iteration count
 			while(actualEdgesInConnS1< estEdgesConnected1Simplexes) {
@@ -1436,10 +1438,10 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 						}
 			
 						// select a vertex at random from the mimic graph
-						int randomVertexID = verticesWithProposedColor.toArray(new Integer[verticesWithProposedColor.size()])[mRandom.nextInt(verticesWithProposedColor.size())];
+						int randomVertexID = IntSetUtil.getRandomElement(verticesWithProposedColor, mRandom);
 						
 				
-						OfferedItemByRandomProb<BitSet> proposeVertColo = s1ConnheadTailDist.proposeVertColo(proposedHeadColo);
+						IOfferedItem<BitSet> proposeVertColo = s1ConnheadTailDist.proposeVertColo(proposedHeadColo);
 						if (proposeVertColo == null) {
 							setOfColosInGraph.remove(proposedHeadColo);
 							numOfIterationAddingEdgesToGraph++;
@@ -1677,7 +1679,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 					List<IntSet> selectedEdgesList = mEdgeColorsVertexIds.get(proposeS1);
 					
 					// randomly selecting one of these triangles
-					IntSet selectedVertices = selectedEdgesList.toArray(new IntSet[selectedEdgesList.size()])[mRandom.nextInt(selectedEdgesList.size())];
+					IntSet selectedVertices = selectedEdgesList.get(mRandom.nextInt(selectedEdgesList.size()));
 					
 					//Convert vertices to Array
 					Integer[] vertexIDExisting = selectedVertices.toArray(new Integer[selectedVertices.size()]);
@@ -1753,7 +1755,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		LOGGER.info("Estimated Vertices: " + estimatedVerticesCommon);
 		
 		// get proposer of Vertex color (to create vertices connected to triangles) 
-		OfferedItemByRandomProb<BitSet> potentialColoProposerForVertConnectedToTriangle = s1connToTriVertDist.getPotentialColoProposer();
+		IOfferedItem<BitSet> potentialColoProposerForVertConnectedToTriangle = s1connToTriVertDist.getPotentialColoProposer();
 		
 		// set to track class colors. New vertices need to be created for them later
 		Set<BitSet> vertexClassColoSet = new HashSet<BitSet>();
@@ -1807,7 +1809,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		LOGGER.info("Estimated Edges: " + estimatedEdgesCommon);
 		
 		// Get head color proposer for creating 1-simplexes connected to triangles
-		OfferedItemByRandomProb<EdgeColos> potentialHeadColoCommon2Simplex = s1connToTriDist.getPotentialConnEdgeProposer();
+		IOfferedItem<EdgeColos> potentialHeadColoCommon2Simplex = s1connToTriDist.getPotentialConnEdgeProposer();
 		
 		while((actualEdgesSimplexes < estimatedEdgesCommon) && (potentialHeadColoCommon2Simplex != null) && (numOfIterationAddingEdgesToGraph < maximumIteration)) {
 			
@@ -1909,10 +1911,10 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 			}
 			
 			// Select any random vertex with head color
-			int vertexIDWithHeadColo = vertsWithHeadColo.toArray(new Integer[vertsWithHeadColo.size()])[mRandom.nextInt(vertsWithHeadColo.size())];
+			int vertexIDWithHeadColo = IntSetUtil.getRandomElement(vertsWithHeadColo, mRandom);
 			
 			// Select any random vertex with head color
-			int vertexIDWithTailColo = vertsWithTailColo.toArray(new Integer[vertsWithTailColo.size()])[mRandom.nextInt(vertsWithTailColo.size())];
+			int vertexIDWithTailColo = IntSetUtil.getRandomElement(vertsWithTailColo, mRandom);
 			
 			//  Get possible edge color using the mapper
 			Set<BitSet> possibleLinkingEdgeColours = new HashSet<BitSet>();
@@ -1981,7 +1983,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		return mMimicGraph;
 	}
 	
-	private void addSelfLoops(int estEdgesInput, OfferedItemByRandomProb<BitSet> distColoProposerSelfLoopInput, Map<BitSet, IntSet> mMapColourToVertexIDsInput, IColourMappingRules mColourMapperSelfLoopInput, Map<BitSet, IntSet> mMapColourToEdgeIDsInput, PropertyDistI mPropDistInput) {
+	private void addSelfLoops(int estEdgesInput, IOfferedItem<BitSet> distColoProposerSelfLoopInput, Map<BitSet, IntSet> mMapColourToVertexIDsInput, IColourMappingRules mColourMapperSelfLoopInput, Map<BitSet, IntSet> mMapColourToEdgeIDsInput, PropertyDistI mPropDistInput) {
 		LOGGER.info("Estimated edges: " + estEdgesInput);
 		int actualEdgesSimplexes = 0;
 		int iterationCountSelf = 0;
@@ -1989,7 +1991,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 			BitSet proposedVertexColor = distColoProposerSelfLoopInput.getPotentialItem();
 			IntSet possVertices = mMapColourToVertexIDsInput.get(proposedVertexColor);
 			if (possVertices != null) {
-				Integer vertexID = possVertices.toArray(new Integer[possVertices.size()])[mRandom.nextInt(possVertices.size())];
+				Integer vertexID = IntSetUtil.getRandomElement(possVertices, mRandom);
 				boolean edgeAdded = addEdgeInAnyDirectionDuplCheckWithPropProb(proposedVertexColor, proposedVertexColor, vertexID, vertexID, mMapColourToEdgeIDsInput, mColourMapperSelfLoopInput, mPropDistInput);
 				if (edgeAdded) {
 					actualEdgesSimplexes++;
@@ -2174,7 +2176,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		int vertId = mMimicGraph.addVertex(vertexColor);
 		IntSet setVertIDs = mMapColourToVertexIDsToUpdate.get(vertexColor); //mMapColourToVertexIDs.get(vertexColor);
 		if(setVertIDs == null){
-			setVertIDs = new DefaultIntSet(Constants.DEFAULT_SIZE);
+			setVertIDs = new IndexedIntSet(Constants.DEFAULT_SIZE);
 			mMapColourToVertexIDsToUpdate.put(vertexColor, setVertIDs); //mMapColourToVertexIDs.put(vertexColor, setVertIDs);
 			mMapColourToVertexIDs.put(vertexColor, setVertIDs); // updating this map, required when refining the graph
 		}
@@ -2257,7 +2259,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 		IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 		if (setOfEdgeIds == null) {
-			setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+			setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 			mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 		}
 		setOfEdgeIds.add(edgeIdTemp);
@@ -2342,7 +2344,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 		// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 		IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 		if (setOfEdgeIds == null) {
-			setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+			setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 			mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 		}
 		setOfEdgeIds.add(edgeIdTemp);
@@ -2427,7 +2429,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 			// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 			IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 			if (setOfEdgeIds == null) {
-				setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+				setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 				mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 			}
 			setOfEdgeIds.add(edgeIdTemp);
@@ -2483,7 +2485,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 			// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 			IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 			if (setOfEdgeIds == null) {
-				setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+				setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 				mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 			}
 			setOfEdgeIds.add(edgeIdTemp);
@@ -2536,7 +2538,7 @@ public class GraphGenerationSimplexApproachComplProbBased extends AbstractGraphG
 			// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 			IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 			if (setOfEdgeIds == null) {
-				setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+				setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 				mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 			}
 			setOfEdgeIds.add(edgeIdTemp);
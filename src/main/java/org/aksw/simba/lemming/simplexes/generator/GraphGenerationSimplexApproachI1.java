@@ -11,7 +11,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.aksw.simba.lemming.ColouredGraph;
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
 import org.aksw.simba.lemming.mimicgraph.constraints.ColourMappingRules;
 import org.aksw.simba.lemming.mimicgraph.constraints.IColourMappingRules;
 import org.aksw.simba.lemming.mimicgraph.generator.AbstractGraphGeneration;
@@ -30,6 +30,7 @@ import org.aksw.simba.lemming.simplexes.analysis.IsoS2;
 import org.aksw.simba.lemming.simplexes.analysis.IsoS1C;
 import org.aksw.simba.lemming.simplexes.analysis.IsolatedSelfLoops;
 import org.aksw.simba.lemming.simplexes.analysis.S0C;
+import org.aksw.simba.lemming.simplexes.analysis.SimplexAnalysisEngine;
 import org.aksw.simba.lemming.simplexes.analysis.S1ConnToS2;
 import org.aksw.simba.lemming.simplexes.analysis.S1ConnectingS2;
 import org.aksw.simba.lemming.simplexes.distribution.ConnS1DistI;
@@ -37,7 +38,9 @@ import org.aksw.simba.lemming.simplexes.distribution.EdgeDistIS;
 import org.aksw.simba.lemming.simplexes.distribution.EdgeDistI;
 import org.aksw.simba.lemming.simplexes.distribution.TriDistI;
 import org.aksw.simba.lemming.simplexes.distribution.VertDistI;
+import org.aksw.simba.lemming.util.ArtifactCache;
 import org.aksw.simba.lemming.util.Constants;
+import org.aksw.simba.lemming.util.IndexedIntSet;
 import org.aksw.simba.lemming.util.IntSetUtil;
 import org.apache.jena.ext.com.google.common.collect.Sets;
 import org.apache.jena.ext.com.google.common.collect.Sets.SetView;
@@ -156,6 +159,14 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 	
 	public GraphGenerationSimplexApproachI1(int iNumberOfVertices,
 			ColouredGraph[] inputGrphs, int iNumberOfThreads, long seed, int maximumIterationInput) {
+		this(iNumberOfVertices, inputGrphs, iNumberOfThreads, seed, maximumIterationInput, null);
+	}
+	
+	/**
+	 * @param artifactCache cache of the input graphs from which the triangles of the input graphs are read (or null)
+	 */
+	public GraphGenerationSimplexApproachI1(int iNumberOfVertices,
+			ColouredGraph[] inputGrphs, int iNumberOfThreads, long seed, int maximumIterationInput, ArtifactCache artifactCache) {
 		super();
 		
 		this.seed = seed;
@@ -203,8 +214,11 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		mColourMapper = new ColourMappingRules();
 		mColourMapper.analyzeRules(origGrphs);
 	
+		// Shared analysis engine. The structures and triangles of the input graphs are computed once (in parallel) and reused by all simplex analyses below.
+		SimplexAnalysisEngine analysisEngine = new SimplexAnalysisEngine(origGrphs, artifactCache);
+		
 		// Compute triangles for input graphs
-		FindTri computedTriangles = callMetricToGetTriangleInformation(origGrphs);
+		FindTri computedTriangles = analysisEngine.getTriangles();
 		
 		// Get all triangles found in input graphs. Note:- metric is invoked by above function call, thus set of colors for different triangle vertices are already computed.
 		mTriangleColoursTriangleEdgeCounts = computedTriangles.getmTriColoEdgesTriCountDistAvg();
@@ -213,13 +227,13 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		createSetForTriangleColours();
 		
 		//******************* Simplex Analysis connected triangles ********************//
-		ConnS2 connTriAnalysis = new ConnS2(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		ConnS2 connTriAnalysis = new ConnS2(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapperTriangles = connTriAnalysis.getmColourMapperSimplexes();
 		estimatedEdgesTriangle = connTriAnalysis.getEstEdges();
 		estimatedVerticesTriangle = connTriAnalysis.getEstVertices();
 		
 		//******************* Simplex Analysis isolated triangles ********************//
-		IsoS2 isoTriAnalysis = new IsoS2(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		IsoS2 isoTriAnalysis = new IsoS2(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapperIsolatedTriangles = isoTriAnalysis.getmColourMapperSimplexes();
 		estimatedEdgesIsolatedTriangle = isoTriAnalysis.getEstEdges();
 		estimatedVerticesIsolatedTriangle = isoTriAnalysis.getEstVertices();
@@ -229,7 +243,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		mTriColosCountsAvgProb = triangleDistribution.getmTriangleColorsv1v2v3(); // get hash map for triangle vertex colors storing count of triangle distribution
 		
 		//****************** Simplex Analysis 1-Simplexes connected to 2-simplexes **********************//
-		S1ConnToS2C s1ConnToTri = new S1ConnToS2C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		S1ConnToS2C s1ConnToTri = new S1ConnToS2C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
 		mColourMapperCommonEdges = s1ConnToTri.getmColourMapperSimplexes();
 		estimatedEdgesCommon = s1ConnToTri.getEstEdges();
 		estVerts1SimplexesConntoTri = s1ConnToTri.getEstVertices();
@@ -243,7 +257,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		
 		
 		//***************** Simplex Analysis 1-Simplexes connecting Triangles *************************//
-		S1ConnectingS2C s1ConnectingTri = new S1ConnectingS2C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		S1ConnectingS2C s1ConnectingTri = new S1ConnectingS2C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
 		estimatedEdges1SimplexesConnect2Simplexes = s1ConnectingTri.getEstEdges();
 		mColourMapper1SimplexesConnTri = s1ConnectingTri.getmColourMapperSimplexes();
 		
@@ -256,46 +270,46 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		
 		//**************** Self Loop Analysis ******************************//
 		// Isolated triangles
-		FindSelfLoops selfLoopIsoTri = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, isoTriAnalysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopIsoTri = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, isoTriAnalysis.getmGraphsVertIds());
 		estEdgesSelfLoopIsoTri = selfLoopIsoTri.getEstEdges();
 		mColourMapperSelfLoopIsoTri = selfLoopIsoTri.getmColourMapperSimplexes();
 		selfLoopIsoTritDist = new VertDistI(selfLoopIsoTri.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
 		
 		// Connected triangles
-		FindSelfLoops selfLoopConnTri = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, connTriAnalysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopConnTri = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, connTriAnalysis.getmGraphsVertIds());
 		estEdgesSelfLoopConnTri = selfLoopConnTri.getEstEdges();
 		mColourMapperSelfLoopConnTri = selfLoopConnTri.getmColourMapperSimplexes();
 		selfLoopConnTriDist = new VertDistI(selfLoopConnTri.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
 		
 		// 1-simplexes only connected triangles
-		FindSelfLoops selfLoops1ConnToTri = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, s1ConnToTri.getmGraphsVertIds());
+		FindSelfLoops selfLoops1ConnToTri = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, s1ConnToTri.getmGraphsVertIds());
 		estEdgesSelfLoop1SimplexConnToTri = selfLoops1ConnToTri.getEstEdges();
 		mColourMapperSelfLoop1SimplexConnToTri = selfLoops1ConnToTri.getmColourMapperSimplexes();
 		selfLoops1ConnToTriDist = new VertDistI(selfLoops1ConnToTri.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
 
 		
 		//************* Simplex Analysis for isolated 1-Simplexes ********************************//
-		IsoS1C isoS1Analysis = new IsoS1C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions);
+		IsoS1C isoS1Analysis = new IsoS1C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapper1Simplexes = isoS1Analysis.getmColourMapperSimplexes();
 		estimatedEdges1Simplexes = isoS1Analysis.getEstEdges();
 		estimatedVertices1Simplexes = isoS1Analysis.getEstVertices();
 		//s1IsoDist = new EdgeDist(isoS1Analysis.getmHeadColoCount1Simplex(), isoS1Analysis.getmHeadColoTailColoCount(), iNoOfVersions, mRandom); // Distribution for isolated 1-simplexes
 		
 		// ******* Computations related to isolated self loops (1-simplexes with same head and tail) ***************//
-		IsolatedSelfLoops isoS1SelfLoopAnalysis = new IsolatedSelfLoops(origGrphs, mIDesiredNoOfVertices, iNoOfVersions);
+		IsolatedSelfLoops isoS1SelfLoopAnalysis = new IsolatedSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapperIsoSelfLoop = isoS1SelfLoopAnalysis.getmColourMapperSimplexes();
 		estimatedEdgesIsoSelfLoop = isoS1SelfLoopAnalysis.getEstEdges();
 		estimatedVerticesIsoSelfLoop = isoS1SelfLoopAnalysis.getEstVertices();
 		selfLoops1IsoS1 = new VertDistI(isoS1SelfLoopAnalysis.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
 		
 		// ****************** Self loops in 1-simplexes **********************//
-		FindSelfLoops selfLoopsInIsoS1 = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, isoS1Analysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopsInIsoS1 = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, isoS1Analysis.getmGraphsVertIds());
 		estimatedEdgesSelfLoopIn1Simplex = selfLoopsInIsoS1.getEstEdges();
 		mColourMapperSelfLoopIn1Simplex = selfLoopsInIsoS1.getmColourMapperSimplexes();
 		selfLoopsInS1Dist = new VertDistI(selfLoopsInIsoS1.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
 		
 		//************ 0-Simplexes Analysis *********************************//
-		S0C s0Analysis = new S0C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions);
+		S0C s0Analysis = new S0C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		estimatedVertices0Simplexes = s0Analysis.getEstVertices();
 		s0Dist = new VertDistI(s0Analysis.getmColoCount0Simplex(), iNoOfVersions, mRandom);
 		
@@ -304,7 +318,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		ObjectObjectOpenHashMap<Integer, IntSet> edgeIdsUnionMap = addEdgeIdsForDifferentSimplexes(connTriAnalysis.getmGraphsEdgesIds(), isoTriAnalysis.getmGraphsEdgesIds(), s1ConnToTri.getmGraphsEdgesIds(), s1ConnectingTri.getmGraphsEdgesIds(), selfLoopIsoTri.getmGraphsEdgesIds(),
 				selfLoopConnTri.getmGraphsEdgesIds(), selfLoops1ConnToTri.getmGraphsEdgesIds(), isoS1Analysis.getmGraphsEdgesIds(), isoS1SelfLoopAnalysis.getmGraphsEdgesIds(), selfLoopsInIsoS1.getmGraphsEdgesIds(), iNoOfVersions);
 		
-		ConnS1C connS1Analysis = new ConnS1C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, edgeIdsUnionMap);
+		ConnS1C connS1Analysis = new ConnS1C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, edgeIdsUnionMap);
 		mColourMapperConnected1Simplexes = connS1Analysis.getmColourMapperSimplexes();
 		estimatedEdgesConnS1 = connS1Analysis.getEstEdges();
 		estimatedVertsConnS1 = connS1Analysis.getEstVertices();
@@ -322,7 +336,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		mEdgeColorsVertexIds = new ObjectObjectOpenHashMap<EdgeColos, List<IntSet>>();
 		
 		// Self loop analysis for connected 1-Simplexes
-		FindSelfLoops selfLoopsInConnS1 = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, connS1Analysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopsInConnS1 = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, connS1Analysis.getmGraphsVertIds());
 		estEdgesSelfLoopConn1Simplexes = selfLoopsInConnS1.getEstEdges();
 		mColourMapperSelfLoopConn1Simplexes = selfLoopsInConnS1.getmColourMapperSimplexes();
 		selfLoopsInConnS1Dist = new VertDistI(selfLoopsInConnS1.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
@@ -355,18 +369,6 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		
 	}
 	
-	private FindTri callMetricToGetTriangleInformation(ColouredGraph[] origGrphs) {
-		// Initialize FindTriangleObject, which will collect triangles found in Input graphs.
-		FindTri findTriObj = new FindTri();
-		for (ColouredGraph graph : origGrphs) {
-			if (graph!= null) {
-				// compute triangles information for input graph
-				findTriObj.computeTriangles(graph);
-			}
-		}
-		return findTriObj;
-	}
-	
 	private void createSetForTriangleColours() {
 		// Initialize set variable
 		setAllTriangleColours = new HashSet<TriColos>();
@@ -421,6 +423,10 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 			// Variable to track edges that cannot form triangle
 			IntSet edgesNotFormingTriangle = new DefaultIntSet(Constants.DEFAULT_SIZE);
 			
+			// Edges of the mimic graph that are considered for growing triangles, i.e., all edges except the ones that cannot form a triangle
+			IndexedIntSet candidateEdges = new IndexedIntSet(Constants.DEFAULT_SIZE);
+			int nextEdgeIdToCheck = 0;
+			
 			// Variable to track set of triangle added to the mimic graph (i.e. set of Colors of the vertices forming the triangle)
 			Set<TriColos> setTriangleColorsMimicGraph = new HashSet<TriColos>();
 			
@@ -442,15 +448,14 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 				if(actualVerticesInTriangles < estimatedVerticesTriangle) {
 					//If we can add more triangles when we are allowed to include additional vertices otherwise edges need to be added to existing triangles
 				
-					// get all edges of the mimic graph
-					IntSet edgesMimicGraph = mMimicGraph.getEdges();
-					edgesMimicGraph = IntSetUtil.difference(edgesMimicGraph, edgesNotFormingTriangle);
+					// add the edges created since the last iteration to the candidate edges
+					nextEdgeIdToCheck = updateCandidateEdges(candidateEdges, edgesNotFormingTriangle, nextEdgeIdToCheck);
 					
-					if (edgesMimicGraph.size() != 0) {
+					if (candidateEdges.size() != 0) {
 						// Continue to randomly select an edge and grow the graph by adding triangle only if candidate edges are found. These candidate edges will be evaluated to check if triangles can be created for them.
 			
 						// select an edge at random from the mimic graph
-						int randomEdgeID = edgesMimicGraph.toArray(new Integer[edgesMimicGraph.size()])[mRandom.nextInt(edgesMimicGraph.size())];
+						int randomEdgeID = candidateEdges.sample(mRandom);
 						IntSet verticesIncidentToEdge = mMimicGraph.getVerticesIncidentToEdge(randomEdgeID);
 				
 						// Find the vertices for the randomly selected edge
@@ -537,6 +542,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 							// Logic if no third vertex color could be proposed
 							// Don't consider the randomly selected edge, since it is not able to form a triangle
 							edgesNotFormingTriangle.add(randomEdgeID);
+							candidateEdges.remove(randomEdgeID);
 						}
 						
 					} // end if condition - check if triangles can be added to the edges
@@ -600,7 +606,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 					List<IntSet> selectedTrianglesList = mTriangleColorsVertexIds.get(proposeTriangleToAddEdge);
 					
 					// randomly selecting one of these triangles
-					IntSet selectedVertices = selectedTrianglesList.toArray(new IntSet[selectedTrianglesList.size()])[mRandom.nextInt(selectedTrianglesList.size())];
+					IntSet selectedVertices = selectedTrianglesList.get(mRandom.nextInt(selectedTrianglesList.size()));
 					
 					// Considering different vertex pairs to add an edge
 					
@@ -660,7 +666,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		numOfIterationAddingEdgesToGraph = 0;
 		
 		// get head proposer defined for 1-simplex distribution
-		OfferedItemByRandomProb<EdgeColos> potentialEdgeColoProposer = s1ConnDist.getPotentialIsolatedEdgeColoProposer();
+		IOfferedItem<EdgeColos> potentialEdgeColoProposer = s1ConnDist.getPotentialIsolatedEdgeColoProposer();
 		
 		LOGGER.info("Case 2a: Isolated 1-simplexes (with different source and target node)");
 		LOGGER.info("Estimated Edges: " + estimatedEdges1Simplexes);
@@ -707,7 +713,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 				
 				while((vertexIDshead.size() > 0) && (vertexIDTail == -1)) { // randomly select a head vertex and check if it has a tail with proposed color
 					
-					vertexIDHead = vertexIDshead.toArray(new Integer[vertexIDshead.size()])[mRandom.nextInt(vertexIDshead.size())];
+					vertexIDHead = IntSetUtil.getRandomElement(vertexIDshead, mRandom);
 					
 					// get neighbors of selected vertex head
 					IntSet neighbors = IntSetUtil.union(mMimicGraph.getInNeighbors(vertexIDHead), mMimicGraph.getOutNeighbors(vertexIDHead));
@@ -721,7 +727,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 					}
 					
 					if (vertexIDstail.size() > 0)
-						vertexIDTail = vertexIDstail.toArray(new Integer[vertexIDstail.size()])[mRandom.nextInt(vertexIDstail.size())];
+						vertexIDTail = IntSetUtil.getRandomElement(vertexIDstail, mRandom);
 					else
 						vertexIDshead.remove(vertexIDHead); // randomly select head does not have the tail node with proposed colors
 				}
@@ -758,7 +764,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		numOfIterationAddingEdgesToGraph = 0;
 		
 		// get head proposer defined for 1-simplex distribution
-		OfferedItemByRandomProb<BitSet> potentialHeadColoProposer = selfLoops1IsoS1.getPotentialColoProposer();
+		IOfferedItem<BitSet> potentialHeadColoProposer = selfLoops1IsoS1.getPotentialColoProposer();
 		
 		LOGGER.info("Case 2b: Isolated self loop");
 		LOGGER.info("Estimated Edges: " + estimatedEdgesIsoSelfLoop);
@@ -791,7 +797,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 					numOfIterationAddingEdgesToGraph++;
 					continue; // it is possible there is no vertex exist for the proposed head color, continue to check with new head color in that case
 				}
-				vertexIDHead = vertexIDshead.toArray(new Integer[vertexIDshead.size()])[mRandom.nextInt(vertexIDshead.size())];
+				vertexIDHead = IntSetUtil.getRandomElement(vertexIDshead, mRandom);
 			}
 			
 			// temporary assignment for tail vertex id
@@ -817,7 +823,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		LOGGER.info("Case 3: Isolated 0-simplexes");
 		LOGGER.info("Estimated Vertices: " + estimatedVertices0Simplexes);
 		//define proposer for 0-simplexes 
-		OfferedItemByRandomProb<BitSet> potentialColoProposer0Simplex = s0Dist.getPotentialColoProposer();
+		IOfferedItem<BitSet> potentialColoProposer0Simplex = s0Dist.getPotentialColoProposer();
 		
 		//initialize tracking variable
 		actualVerticesSimplexes = 0;
@@ -907,7 +913,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 			//initialize variable tracking iteration count for this case
 			numOfIterationAddingEdgesToGraph = 0;
 			
-			OfferedItemByRandomProb<EdgeColos> headColoProposerIsolatedTri = s1connTriDist.getPotentialConnEdgeProposer();
+			IOfferedItem<EdgeColos> headColoProposerIsolatedTri = s1connTriDist.getPotentialConnEdgeProposer();
 			
 			while((actualEdgesSimplexes < estimatedEdges1SimplexesConnect2Simplexes) && (numOfIterationAddingEdgesToGraph < maximumIteration) && (headColoProposerIsolatedTri != null)) {
 			
@@ -1028,7 +1034,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		
 		//initialize variable tracking iteration count for this case
 		numOfIterationAddingEdgesToGraph = 0;
-		OfferedItemByRandomProb<EdgeColos> headColoProposercase4b = s1connTriDist.getPotentialConnEdgeProposer();
+		IOfferedItem<EdgeColos> headColoProposercase4b = s1connTriDist.getPotentialConnEdgeProposer();
 		
 		while((actualEdgesSimplexes < estimatedEdges1SimplexesConnect2Simplexes) && (numOfIterationAddingEdgesToGraph < maximumIteration) && (headColoProposercase4b!=null)) { // check if we can add more edge
 			
@@ -1164,7 +1170,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		LOGGER.info("Case 5: Isolated 2-simplexes");
 		LOGGER.info("Estimated Edges: " + estimatedEdgesIsolatedTriangle);
 		LOGGER.info("Estimated Vertices: " + estimatedVerticesIsolatedTriangle);
-		OfferedItemByRandomProb<TriColos> potentialIsolatedTriangleProposer = triangleDistribution.getPotentialIsolatedTriangleProposer(); // get isolated triangle proposer
+		IOfferedItem<TriColos> potentialIsolatedTriangleProposer = triangleDistribution.getPotentialIsolatedTriangleProposer(); // get isolated triangle proposer
 		
 		// initialize tracker variable
 		actualVerticesSimplexes = 0;
@@ -1200,7 +1206,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 				List<IntSet> selectedTrianglesList = mIsolatedTriangleColorsVertexIds.get(proposeTriangleToAddEdge);
 				
 				// randomly selecting one of these triangles
-				IntSet selectedVertices = selectedTrianglesList.toArray(new IntSet[selectedTrianglesList.size()])[mRandom.nextInt(selectedTrianglesList.size())];
+				IntSet selectedVertices = selectedTrianglesList.get(mRandom.nextInt(selectedTrianglesList.size()));
 				
 				// temporary variable to track if edge was added to existing triangle
 				boolean edgeNotAddedToExistingTriangle = true;
@@ -1339,7 +1345,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 			setEdgeColorsMimicGraph.add(initialRandomEdge);
 			
 			// initial head color proposer
-			OfferedItemByRandomProb<BitSet> potentialHeadColoProposerConnS1 = s1ConnheadTailDist.getPotentialHeadColoProposer();
+			IOfferedItem<BitSet> potentialHeadColoProposerConnS1 = s1ConnheadTailDist.getPotentialHeadColoProposer();
 			
 			numOfIterationAddingEdgesToGraph = 0; // initialize iteration count
 			while(actualEdgesInConnS1< estEdgesConn1Simplexes) {
@@ -1363,7 +1369,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 						}
 			
 						// select a vertex at random from the mimic graph
-						int randomVertexID = verticesWithProposedColor.toArray(new Integer[verticesWithProposedColor.size()])[mRandom.nextInt(verticesWithProposedColor.size())];
+						int randomVertexID = IntSetUtil.getRandomElement(verticesWithProposedColor, mRandom);
 						
 						// Propose possible tail colors
 						Set<BitSet> possTailColos = s1ConnDist.getPossTailColos(proposedHeadColo);
@@ -1592,7 +1598,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 					List<IntSet> selectedEdgesList = mEdgeColorsVertexIds.get(proposeS1);
 					
 					// randomly selecting one of these triangles
-					IntSet selectedVertices = selectedEdgesList.toArray(new IntSet[selectedEdgesList.size()])[mRandom.nextInt(selectedEdgesList.size())];
+					IntSet selectedVertices = selectedEdgesList.get(mRandom.nextInt(selectedEdgesList.size()));
 					
 					//Convert vertices to Array
 					Integer[] vertexIDExisting = selectedVertices.toArray(new Integer[selectedVertices.size()]);
@@ -1668,7 +1674,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		LOGGER.info("Estimated Vertices: " + estimatedVerticesCommon);
 		
 		// get proposer of Vertex color (to create vertices connected to triangles) 
-		OfferedItemByRandomProb<BitSet> potentialColoProposerForVertConnectedToTriangle = s1connToTriVertDist.getPotentialColoProposer();
+		IOfferedItem<BitSet> potentialColoProposerForVertConnectedToTriangle = s1connToTriVertDist.getPotentialColoProposer();
 		
 		// set to track class colors. New vertices need to be created for them later
 		Set<BitSet> vertexClassColoSet = new HashSet<BitSet>();
@@ -1722,7 +1728,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		LOGGER.info("Estimated Edges: " + estimatedEdgesCommon);
 		
 		// Get head color proposer for creating 1-simplexes connected to triangles
-		OfferedItemByRandomProb<EdgeColos> potentialHeadColoCommon2Simplex = s1connToTriDist.getPotentialConnEdgeProposer();
+		IOfferedItem<EdgeColos> potentialHeadColoCommon2Simplex = s1connToTriDist.getPotentialConnEdgeProposer();
 		
 		while((actualEdgesSimplexes < estimatedEdgesCommon) && (potentialHeadColoCommon2Simplex != null) && (numOfIterationAddingEdgesToGraph < maximumIteration)) {
 			
@@ -1817,10 +1823,10 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 			}
 			
 			// Select any random vertex with head color
-			int vertexIDWithHeadColo = vertsWithHeadColo.toArray(new Integer[vertsWithHeadColo.size()])[mRandom.nextInt(vertsWithHeadColo.size())];
+			int vertexIDWithHeadColo = IntSetUtil.getRandomElement(vertsWithHeadColo, mRandom);
 			
 			// Select any random vertex with head color
-			int vertexIDWithTailColo = vertsWithTailColo.toArray(new Integer[vertsWithTailColo.size()])[mRandom.nextInt(vertsWithTailColo.size())];
+			int vertexIDWithTailColo = IntSetUtil.getRandomElement(vertsWithTailColo, mRandom);
 			
 			//  Get possible edge color using the mapper
 			Set<BitSet> possibleLinkingEdgeColours = mColourMapperCommonEdges.getPossibleLinkingEdgeColours(potentialTailColo, potentialheadColo);
@@ -1888,7 +1894,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		return mMimicGraph;
 	}
 	
-	private void addSelfLoops(int estEdgesInput, OfferedItemByRandomProb<BitSet> distColoProposerSelfLoopInput, Map<BitSet, IntSet> mMapColourToVertexIDsInput, IColourMappingRules mColourMapperSelfLoopInput, Map<BitSet, IntSet> mMapColourToEdgeIDsInput) {
+	private void addSelfLoops(int estEdgesInput, IOfferedItem<BitSet> distColoProposerSelfLoopInput, Map<BitSet, IntSet> mMapColourToVertexIDsInput, IColourMappingRules mColourMapperSelfLoopInput, Map<BitSet, IntSet> mMapColourToEdgeIDsInput) {
 		LOGGER.info("Estimated edges: " + estEdgesInput);
 		int actualEdgesSimplexes = 0;
 		int iterationCountSelf = 0;
@@ -1896,7 +1902,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 			BitSet proposedVertexColor = distColoProposerSelfLoopInput.getPotentialItem();
 			IntSet possVertices = mMapColourToVertexIDsInput.get(proposedVertexColor);
 			if (possVertices != null) {
-				Integer vertexID = possVertices.toArray(new Integer[possVertices.size()])[mRandom.nextInt(possVertices.size())];
+				Integer vertexID = IntSetUtil.getRandomElement(possVertices, mRandom);
 				boolean edgeAdded = addEdgeInAnyDirectionWithDuplicateCheck(proposedVertexColor, proposedVertexColor, vertexID, vertexID, mMapColourToEdgeIDsInput, mColourMapperSelfLoopInput);
 				if (edgeAdded) {
 					actualEdgesSimplexes++;
@@ -1911,7 +1917,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		LOGGER.info("Added edges: " + actualEdgesSimplexes);
 	}
 	
-	private void addSelfLoops(int estEdgesInput, OfferedItemByRandomProb<BitSet> distColoProposerSelfLoopInput, ObjectObjectOpenHashMap<BitSet, IntSet> mMapColourToVertexIDsInput, IColourMappingRules mColourMapperSelfLoopInput, Map<BitSet, IntSet> mMapColourToEdgeIDsInput) {
+	private void addSelfLoops(int estEdgesInput, IOfferedItem<BitSet> distColoProposerSelfLoopInput, ObjectObjectOpenHashMap<BitSet, IntSet> mMapColourToVertexIDsInput, IColourMappingRules mColourMapperSelfLoopInput, Map<BitSet, IntSet> mMapColourToEdgeIDsInput) {
 		LOGGER.info("Estimated edges: " + estEdgesInput);
 		int actualEdgesSimplexes = 0;
 		int iterationCountSelf = 0;
@@ -1919,7 +1925,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 			BitSet proposedVertexColor = distColoProposerSelfLoopInput.getPotentialItem();
 			IntSet possVertices = mMapColourToVertexIDsInput.get(proposedVertexColor);
 			if (possVertices != null) {
-				Integer vertexID = possVertices.toArray(new Integer[possVertices.size()])[mRandom.nextInt(possVertices.size())];
+				Integer vertexID = IntSetUtil.getRandomElement(possVertices, mRandom);
 				boolean edgeAdded = addEdgeInAnyDirectionWithDuplicateCheck(proposedVertexColor, proposedVertexColor, vertexID, vertexID, mMapColourToEdgeIDsInput, mColourMapperSelfLoopInput);
 				if (edgeAdded) {
 					actualEdgesSimplexes++;
@@ -2127,6 +2133,32 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		}
 	}
 	
+	/**
+	 * The method adds the edges of the mimic graph that have been created after the last call to the set of candidate edges. Only the edge IDs that have not been checked before are considered. If this does not find all edges (e.g., because IDs of removed edges have been reused), the candidates are recomputed from all edges.
+	 * @param candidateEdges - set of candidate edges that is updated
+	 * @param excludedEdges - edges that should not be added to the candidates
+	 * @param nextEdgeIdToCheck - the first edge ID that has not been checked
+	 * @return the first edge ID that has not been checked after this call
+	 */
+	private int updateCandidateEdges(IntSet candidateEdges, IntSet excludedEdges, int nextEdgeIdToCheck) {
+		IntSet edgesMimicGraph = mMimicGraph.getEdges();
+		int endOfEdgeIds = mMimicGraph.getEdgeColourIds().size();
+		for (int edgeId = nextEdgeIdToCheck; edgeId < endOfEdgeIds; edgeId++) {
+			if (edgesMimicGraph.contains(edgeId) && !excludedEdges.contains(edgeId)) {
+				candidateEdges.add(edgeId);
+			}
+		}
+		if (candidateEdges.size() + excludedEdges.size() != edgesMimicGraph.size()) {
+			candidateEdges.clear();
+			for (int edgeId : edgesMimicGraph) {
+				if (!excludedEdges.contains(edgeId)) {
+					candidateEdges.add(edgeId);
+				}
+			}
+		}
+		return endOfEdgeIds;
+	}
+	
 	/**
 	 * The method adds a triangle to mimic graph for the input TriangleColours Object. Edge colors are selected for the given vertex colors of the triangle to create edge and form the complete triangle
 	 * @param inputTriangleColours - TriangleColours Object
@@ -2211,7 +2243,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		int vertId = mMimicGraph.addVertex(vertexColor);
 		IntSet setVertIDs = mMapColourToVertexIDsToUpdate.get(vertexColor); //mMapColourToVertexIDs.get(vertexColor);
 		if(setVertIDs == null){
-			setVertIDs = new DefaultIntSet(Constants.DEFAULT_SIZE);
+			setVertIDs = new IndexedIntSet(Constants.DEFAULT_SIZE);
 			mMapColourToVertexIDsToUpdate.put(vertexColor, setVertIDs); //mMapColourToVertexIDs.put(vertexColor, setVertIDs);
 			mMapColourToVertexIDs.put(vertexColor, setVertIDs); // updating this map, required when refining the graph
 		}
@@ -2229,7 +2261,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		int vertId = mMimicGraph.addVertex(vertexColor);
 		IntSet setVertIDs = mMapColourToVertexIDsToUpdate.get(vertexColor); //mMapColourToVertexIDs.get(vertexColor);
 		if(setVertIDs == null){
-			setVertIDs = new DefaultIntSet(Constants.DEFAULT_SIZE);
+			setVertIDs = new IndexedIntSet(Constants.DEFAULT_SIZE);
 			mMapColourToVertexIDsToUpdate.put(vertexColor, setVertIDs); //mMapColourToVertexIDs.put(vertexColor, setVertIDs);
 			mMapColourToVertexIDs.put(vertexColor, setVertIDs); // updating this map, required when refining the graph
 		}
@@ -2358,7 +2390,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 		IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 		if (setOfEdgeIds == null) {
-			setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+			setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 			mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 		}
 		setOfEdgeIds.add(edgeIdTemp);
@@ -2450,7 +2482,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 		// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 		IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 		if (setOfEdgeIds == null) {
-			setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+			setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 			mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 		}
 		setOfEdgeIds.add(edgeIdTemp);
@@ -2528,7 +2560,7 @@ public class GraphGenerationSimplexApproachI1 extends AbstractGraphGeneration im
 			// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 			IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 			if (setOfEdgeIds == null) {
-				setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+				setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 				mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 			}
 			setOfEdgeIds.add(edgeIdTemp);
@@ -11,7 +11,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.aksw.simba.lemming.ColouredGraph;
-import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
 import org.aksw.simba.lemming.mimicgraph.constraints.ColourMappingRules;
 import org.aksw.simba.lemming.mimicgraph.constraints.IColourMappingRules;
 import org.aksw.simba.lemming.mimicgraph.generator.AbstractGraphGeneration;
@@ -28,6 +28,7 @@ import org.aksw.simba.lemming.simplexes.analysis.IsoS2;
 import org.aksw.simba.lemming.simplexes.analysis.IsoS1C;
 import org.aksw.simba.lemming.simplexes.analysis.IsolatedSelfLoops;
 import org.aksw.simba.lemming.simplexes.analysis.S0C;
+import org.aksw.simba.lemming.simplexes.analysis.SimplexAnalysisEngine;
 import org.aksw.simba.lemming.simplexes.distribution.ConnS1DistI;
 import org.aksw.simba.lemming.simplexes.distribution.ConnS1DistU;
 import org.aksw.simba.lemming.simplexes.distribution.EdgeDistIS;
@@ -38,7 +39,9 @@ import org.aksw.simba.lemming.simplexes.distribution.TriDistI;
 import org.aksw.simba.lemming.simplexes.distribution.TriDistU;
 import org.aksw.simba.lemming.simplexes.distribution.VertDistI;
 import org.aksw.simba.lemming.simplexes.distribution.VertDistU;
+import org.aksw.simba.lemming.util.ArtifactCache;
 import org.aksw.simba.lemming.util.Constants;
+import org.aksw.simba.lemming.util.IndexedIntSet;
 import org.aksw.simba.lemming.util.IntSetUtil;
 import org.apache.jena.ext.com.google.common.collect.Sets;
 import org.apache.jena.ext.com.google.common.collect.Sets.SetView;
@@ -157,6 +160,14 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 	
 	public GraphGenerationSimplexApproachU(int iNumberOfVertices,
 			ColouredGraph[] inputGrphs, int iNumberOfThreads, long seed, int maximumIterationInput) {
+		this(iNumberOfVertices, inputGrphs, iNumberOfThreads, seed, maximumIterationInput, null);
+	}
+	
+	/**
+	 * @param artifactCache cache of the input graphs from which the triangles of the input graphs are read (or null)
+	 */
+	public GraphGenerationSimplexApproachU(int iNumberOfVertices,
+			ColouredGraph[] inputGrphs, int iNumberOfThreads, long seed, int maximumIterationInput, ArtifactCache artifactCache) {
 		super();
 		
 		this.seed = seed;
@@ -204,8 +215,11 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		mColourMapper = new ColourMappingRules();
 		mColourMapper.analyzeRules(origGrphs);
 	
+		// Shared analysis engine. The structures and triangles of the input graphs are computed once (in parallel) and reused by all simplex analyses below.
+		SimplexAnalysisEngine analysisEngine = new SimplexAnalysisEngine(origGrphs, artifactCache);
+		
 		// Compute triangles for input graphs
-		FindTri computedTriangles = callMetricToGetTriangleInformation(origGrphs);
+		FindTri computedTriangles = analysisEngine.getTriangles();
 		
 		// Get all triangles found in input graphs. Note:- metric is invoked by above function call, thus set of colors for different triangle vertices are already computed.
 		mTriangleColoursTriangleEdgeCounts = computedTriangles.getmTriColoEdgesTriCountDistAvg();
@@ -214,13 +228,13 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		createSetForTriangleColours();
 		
 		//******************* Simplex Analysis connected triangles ********************//
-		ConnS2 connTriAnalysis = new ConnS2(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		ConnS2 connTriAnalysis = new ConnS2(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapperTriangles = connTriAnalysis.getmColourMapperSimplexes();
 		estimatedEdgesTriangle = connTriAnalysis.getEstEdges();
 		estimatedVerticesTriangle = connTriAnalysis.getEstVertices();
 		
 		//******************* Simplex Analysis isolated triangles ********************//
-		IsoS2 isoTriAnalysis = new IsoS2(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		IsoS2 isoTriAnalysis = new IsoS2(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapperIsolatedTriangles = isoTriAnalysis.getmColourMapperSimplexes();
 		estimatedEdgesIsolatedTriangle = isoTriAnalysis.getEstEdges();
 		estimatedVerticesIsolatedTriangle = isoTriAnalysis.getEstVertices();
@@ -230,7 +244,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		mTriColosCountsAvgProb = triangleDistribution.getmTriangleColorsv1v2v3(); // get hash map for triangle vertex colors storing count of triangle distribution
 		
 		//****************** Simplex Analysis 1-Simplexes connected to 2-simplexes **********************//
-		S1ConnToS2C s1ConnToTri = new S1ConnToS2C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		S1ConnToS2C s1ConnToTri = new S1ConnToS2C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
 		mColourMapperCommonEdges = s1ConnToTri.getmColourMapperSimplexes();
 		estimatedEdgesCommon = s1ConnToTri.getEstEdges();
 		estVerts1SimplexesConntoTri = s1ConnToTri.getEstVertices();
@@ -244,7 +258,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		
 		
 		//***************** Simplex Analysis 1-Simplexes connecting Triangles *************************//
-		S1ConnectingS2C s1ConnectingTri = new S1ConnectingS2C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
+		S1ConnectingS2C s1ConnectingTri = new S1ConnectingS2C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, computedTriangles);
 		estimatedEdges1SimplexesConnect2Simplexes = s1ConnectingTri.getEstEdges();
 		mColourMapper1SimplexesConnTri = s1ConnectingTri.getmColourMapperSimplexes();
 		
@@ -257,46 +271,46 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		
 		//**************** Self Loop Analysis ******************************//
 		// Isolated triangles
-		FindSelfLoops selfLoopIsoTri = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, isoTriAnalysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopIsoTri = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, isoTriAnalysis.getmGraphsVertIds());
 		estEdgesSelfLoopIsoTri = selfLoopIsoTri.getEstEdges();
 		mColourMapperSelfLoopIsoTri = selfLoopIsoTri.getmColourMapperSimplexes();
 		selfLoopIsoTritDist = new VertDistU(selfLoopIsoTri.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
 		
 		// Connected triangles
-		FindSelfLoops selfLoopConnTri = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, connTriAnalysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopConnTri = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, connTriAnalysis.getmGraphsVertIds());
 		estEdgesSelfLoopConnTri = selfLoopConnTri.getEstEdges();
 		mColourMapperSelfLoopConnTri = selfLoopConnTri.getmColourMapperSimplexes();
 		selfLoopConnTriDist = new VertDistU(selfLoopConnTri.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
 		
 		// 1-simplexes only connected triangles
-		FindSelfLoops selfLoops1ConnToTri = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, s1ConnToTri.getmGraphsVertIds());
+		FindSelfLoops selfLoops1ConnToTri = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, s1ConnToTri.getmGraphsVertIds());
 		estEdgesSelfLoop1SimplexConnToTri = selfLoops1ConnToTri.getEstEdges();
 		mColourMapperSelfLoop1SimplexConnToTri = selfLoops1ConnToTri.getmColourMapperSimplexes();
 		selfLoops1ConnToTriDist = new VertDistU(selfLoops1ConnToTri.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
 
 		
 		//************* Simplex Analysis for isolated 1-Simplexes ********************************//
-		IsoS1C isoS1Analysis = new IsoS1C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions);
+		IsoS1C isoS1Analysis = new IsoS1C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapper1Simplexes = isoS1Analysis.getmColourMapperSimplexes();
 		estimatedEdges1Simplexes = isoS1Analysis.getEstEdges();
 		estimatedVertices1Simplexes = isoS1Analysis.getEstVertices();
 		//s1IsoDist = new EdgeDist(isoS1Analysis.getmHeadColoCount1Simplex(), isoS1Analysis.getmHeadColoTailColoCount(), iNoOfVersions, mRandom); // Distribution for isolated 1-simplexes
 		
 		// ******* Computations related to isolated self loops (1-simplexes with same head and tail) ***************//
-		IsolatedSelfLoops isoS1SelfLoopAnalysis = new IsolatedSelfLoops(origGrphs, mIDesiredNoOfVertices, iNoOfVersions);
+		IsolatedSelfLoops isoS1SelfLoopAnalysis = new IsolatedSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		mColourMapperIsoSelfLoop = isoS1SelfLoopAnalysis.getmColourMapperSimplexes();
 		estimatedEdgesIsoSelfLoop = isoS1SelfLoopAnalysis.getEstEdges();
 		estimatedVerticesIsoSelfLoop = isoS1SelfLoopAnalysis.getEstVertices();
 		selfLoops1IsoS1 = new VertDistU(isoS1SelfLoopAnalysis.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
 		
 		// ****************** Self loops in 1-simplexes **********************//
-		FindSelfLoops selfLoopsInIsoS1 = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, isoS1Analysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopsInIsoS1 = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, isoS1Analysis.getmGraphsVertIds());
 		estimatedEdgesSelfLoopIn1Simplex = selfLoopsInIsoS1.getEstEdges();
 		mColourMapperSelfLoopIn1Simplex = selfLoopsInIsoS1.getmColourMapperSimplexes();
 		selfLoopsInS1Dist = new VertDistU(selfLoopsInIsoS1.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
 		
 		//************ 0-Simplexes Analysis *********************************//
-		S0C s0Analysis = new S0C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions);
+		S0C s0Analysis = new S0C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions);
 		estimatedVertices0Simplexes = s0Analysis.getEstVertices();
 		s0Dist = new VertDistU(s0Analysis.getmColoCount0Simplex(), iNoOfVersions, mRandom);
 		
@@ -305,7 +319,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		ObjectObjectOpenHashMap<Integer, IntSet> edgeIdsUnionMap = addEdgeIdsForDifferentSimplexes(connTriAnalysis.getmGraphsEdgesIds(), isoTriAnalysis.getmGraphsEdgesIds(), s1ConnToTri.getmGraphsEdgesIds(), s1ConnectingTri.getmGraphsEdgesIds(), selfLoopIsoTri.getmGraphsEdgesIds(),
 				selfLoopConnTri.getmGraphsEdgesIds(), selfLoops1ConnToTri.getmGraphsEdgesIds(), isoS1Analysis.getmGraphsEdgesIds(), isoS1SelfLoopAnalysis.getmGraphsEdgesIds(), selfLoopsInIsoS1.getmGraphsEdgesIds(), iNoOfVersions);
 		
-		ConnS1C connS1Analysis = new ConnS1C(origGrphs, mIDesiredNoOfVertices, iNoOfVersions, edgeIdsUnionMap);
+		ConnS1C connS1Analysis = new ConnS1C(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, edgeIdsUnionMap);
 		mColourMapperConnected1Simplexes = connS1Analysis.getmColourMapperSimplexes();
 		estimatedEdgesConnS1 = connS1Analysis.getEstEdges();
 		estimatedVertsConnS1 = connS1Analysis.getEstVertices();
@@ -323,7 +337,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		mEdgeColorsVertexIds = new ObjectObjectOpenHashMap<EdgeColos, List<IntSet>>();
 		
 		// Self loop analysis for connected 1-Simplexes
-		FindSelfLoops selfLoopsInConnS1 = new FindSelfLoops( origGrphs, mIDesiredNoOfVertices, iNoOfVersions, connS1Analysis.getmGraphsVertIds());
+		FindSelfLoops selfLoopsInConnS1 = new FindSelfLoops(analysisEngine, mIDesiredNoOfVertices, iNoOfVersions, connS1Analysis.getmGraphsVertIds());
 		estEdgesSelfLoopConn1Simplexes = selfLoopsInConnS1.getEstEdges();
 		mColourMapperSelfLoopConn1Simplexes = selfLoopsInConnS1.getmColourMapperSimplexes();
 		selfLoopsInConnS1Dist = new VertDistU(selfLoopsInConnS1.getmColoCountSelfLoop(), iNoOfVersions, mRandom);
@@ -356,18 +370,6 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		
 	}
 	
-	private FindTri callMetricToGetTriangleInformation(ColouredGraph[] origGrphs) {
-		// Initialize FindTriangleObject, which will collect triangles found in Input graphs.
-		FindTri findTriObj = new FindTri();
-		for (ColouredGraph graph : origGrphs) {
-			if (graph!= null) {
-				// compute triangles information for input graph
-				findTriObj.computeTriangles(graph);
-			}
-		}
-		return findTriObj;
-	}
-	
 	private void createSetForTriangleColours() {
 		// Initialize set variable
 		setAllTriangleColours = new HashSet<TriColos>();
@@ -422,6 +424,10 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 			// Variable to track edges that cannot form triangle
 			IntSet edgesNotFormingTriangle = new DefaultIntSet(Constants.DEFAULT_SIZE);
 			
+			// Edges of the mimic graph that are considered for growing triangles, i.e., all edges except the ones that cannot form a triangle
+			IndexedIntSet candidateEdges = new IndexedIntSet(Constants.DEFAULT_SIZE);
+			int nextEdgeIdToCheck = 0;
+			
 			// Variable to track set of triangle added to the mimic graph (i.e. set of Colors of the vertices forming the triangle)
 			Set<TriColos> setTriangleColorsMimicGraph = new HashSet<TriColos>();
 			
@@ -443,15 +449,14 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 				if(actualVerticesInTriangles < estimatedVerticesTriangle) {
 					//If we can add more triangles when we are allowed to include additional vertices otherwise edges need to be added to existing triangles
 				
-					// get all edges of the mimic graph
-					IntSet edgesMimicGraph = mMimicGraph.getEdges();
-					edgesMimicGraph = IntSetUtil.difference(edgesMimicGraph, edgesNotFormingTriangle);
+					// add the edges created since the last iteration to the candidate edges
+					nextEdgeIdToCheck = updateCandidateEdges(candidateEdges, edgesNotFormingTriangle, nextEdgeIdToCheck);
 					
-					if (edgesMimicGraph.size() != 0) {
+					if (candidateEdges.size() != 0) {
 						// Continue to randomly select an edge and grow the graph by adding triangle only if candidate edges are found. These candidate edges will be evaluated to check if triangles can be created for them.
 			
 						// select an edge at random from the mimic graph
-						int randomEdgeID = edgesMimicGraph.toArray(new Integer[edgesMimicGraph.size()])[mRandom.nextInt(edgesMimicGraph.size())];
+						int randomEdgeID = candidateEdges.sample(mRandom);
 						IntSet verticesIncidentToEdge = mMimicGraph.getVerticesIncidentToEdge(randomEdgeID);
 				
 						// Find the vertices for the randomly selected edge
@@ -538,6 +543,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 							// Logic if no third vertex color could be proposed
 							// Don't consider the randomly selected edge, since it is not able to form a triangle
 							edgesNotFormingTriangle.add(randomEdgeID);
+							candidateEdges.remove(randomEdgeID);
 						}
 						
 					} // end if condition - check if triangles can be added to the edges
@@ -601,7 +607,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 					List<IntSet> selectedTrianglesList = mTriangleColorsVertexIds.get(proposeTriangleToAddEdge);
 					
 					// randomly selecting one of these triangles
-					IntSet selectedVertices = selectedTrianglesList.toArray(new IntSet[selectedTrianglesList.size()])[mRandom.nextInt(selectedTrianglesList.size())];
+					IntSet selectedVertices = selectedTrianglesList.get(mRandom.nextInt(selectedTrianglesList.size()));
 					
 					// Considering different vertex pairs to add an edge
 					
@@ -708,7 +714,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 				
 				while((vertexIDshead.size() > 0) && (vertexIDTail == -1)) { // randomly select a head vertex and check if it has a tail with proposed color
 					
-					vertexIDHead = vertexIDshead.toArray(new Integer[vertexIDshead.size()])[mRandom.nextInt(vertexIDshead.size())];
+					vertexIDHead = IntSetUtil.getRandomElement(vertexIDshead, mRandom);
 					
 					// get neighbors of selected vertex head
 					IntSet neighbors = IntSetUtil.union(mMimicGraph.getInNeighbors(vertexIDHead), mMimicGraph.getOutNeighbors(vertexIDHead));
@@ -722,7 +728,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 					}
 					
 					if (vertexIDstail.size() > 0)
-						vertexIDTail = vertexIDstail.toArray(new Integer[vertexIDstail.size()])[mRandom.nextInt(vertexIDstail.size())];
+						vertexIDTail = IntSetUtil.getRandomElement(vertexIDstail, mRandom);
 					else
 						vertexIDshead.remove(vertexIDHead); // randomly select head does not have the tail node with proposed colors
 				}
@@ -792,7 +798,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 					numOfIterationAddingEdgesToGraph++;
 					continue; // it is possible there is no vertex exist for the proposed head color, continue to check with new head color in that case
 				}
-				vertexIDHead = vertexIDshead.toArray(new Integer[vertexIDshead.size()])[mRandom.nextInt(vertexIDshead.size())];
+				vertexIDHead = IntSetUtil.getRandomElement(vertexIDshead, mRandom);
 			}
 			
 			// temporary assignment for tail vertex id
@@ -1202,7 +1208,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 				List<IntSet> selectedTrianglesList = mIsolatedTriangleColorsVertexIds.get(proposeTriangleToAddEdge);
 				
 				// randomly selecting one of these triangles
-				IntSet selectedVertices = selectedTrianglesList.toArray(new IntSet[selectedTrianglesList.size()])[mRandom.nextInt(selectedTrianglesList.size())];
+				IntSet selectedVertices = selectedTrianglesList.get(mRandom.nextInt(selectedTrianglesList.size()));
 				
 				// temporary variable to track if edge was added to existing triangle
 				boolean edgeNotAddedToExistingTriangle = true;
@@ -1366,7 +1372,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 						}
 			
 						// select a vertex at random from the mimic graph
-						int randomVertexID = verticesWithProposedColor.toArray(new Integer[verticesWithProposedColor.size()])[mRandom.nextInt(verticesWithProposedColor.size())];
+						int randomVertexID = IntSetUtil.getRandomElement(verticesWithProposedColor, mRandom);
 						
 						// Propose possible tail colors
 						Set<BitSet> possTailColos = s1ConnDist.getPossTailColos(proposedHeadColo);
@@ -1596,7 +1602,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 					List<IntSet> selectedEdgesList = mEdgeColorsVertexIds.get(proposeS1);
 					
 					// randomly selecting one of these triangles
-					IntSet selectedVertices = selectedEdgesList.toArray(new IntSet[selectedEdgesList.size()])[mRandom.nextInt(selectedEdgesList.size())];
+					IntSet selectedVertices = selectedEdgesList.get(mRandom.nextInt(selectedEdgesList.size()));
 					
 					//Convert vertices to Array
 					Integer[] vertexIDExisting = selectedVertices.toArray(new Integer[selectedVertices.size()]);
@@ -1820,10 +1826,10 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 			}
 			
 			// Select any random vertex with head color
-			int vertexIDWithHeadColo = vertsWithHeadColo.toArray(new Integer[vertsWithHeadColo.size()])[mRandom.nextInt(vertsWithHeadColo.size())];
+			int vertexIDWithHeadColo = IntSetUtil.getRandomElement(vertsWithHeadColo, mRandom);
 			
 			// Select any random vertex with head color
-			int vertexIDWithTailColo = vertsWithTailColo.toArray(new Integer[vertsWithTailColo.size()])[mRandom.nextInt(vertsWithTailColo.size())];
+			int vertexIDWithTailColo = IntSetUtil.getRandomElement(vertsWithTailColo, mRandom);
 			
 			//  Get possible edge color using the mapper
 			Set<BitSet> possibleLinkingEdgeColours = mColourMapperCommonEdges.getPossibleLinkingEdgeColours(potentialTailColo, potentialheadColo);
@@ -1899,7 +1905,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 			BitSet proposedVertexColor = distColoProposerSelfLoopInput.toArray(new BitSet[distColoProposerSelfLoopInput.size()])[mRandom.nextInt(distColoProposerSelfLoopInput.size())];
 			IntSet possVertices = mMapColourToVertexIDsInput.get(proposedVertexColor);
 			if (possVertices != null) {
-				Integer vertexID = possVertices.toArray(new Integer[possVertices.size()])[mRandom.nextInt(possVertices.size())];
+				Integer vertexID = IntSetUtil.getRandomElement(possVertices, mRandom);
 				boolean edgeAdded = addEdgeInAnyDirectionWithDuplicateCheck(proposedVertexColor, proposedVertexColor, vertexID, vertexID, mMapColourToEdgeIDsInput, mColourMapperSelfLoopInput);
 				if (edgeAdded) {
 					actualEdgesSimplexes++;
@@ -2000,6 +2006,32 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		}
 	}
 	
+	/**
+	 * The method adds the edges of the mimic graph that have been created after the last call to the set of candidate edges. Only the edge IDs that have not been checked before are considered. If this does not find all edges (e.g., because IDs of removed edges have been reused), the candidates are recomputed from all edges.
+	 * @param candidateEdges - set of candidate edges that is updated
+	 * @param excludedEdges - edges that should not be added to the candidates
+	 * @param nextEdgeIdToCheck - the first edge ID that has not been checked
+	 * @return the first edge ID that has not been checked after this call
+	 */
+	private int updateCandidateEdges(IntSet candidateEdges, IntSet excludedEdges, int nextEdgeIdToCheck) {
+		IntSet edgesMimicGraph = mMimicGraph.getEdges();
+		int endOfEdgeIds = mMimicGraph.getEdgeColourIds().size();
+		for (int edgeId = nextEdgeIdToCheck; edgeId < endOfEdgeIds; edgeId++) {
+			if (edgesMimicGraph.contains(edgeId) && !excludedEdges.contains(edgeId)) {
+				candidateEdges.add(edgeId);
+			}
+		}
+		if (candidateEdges.size() + excludedEdges.size() != edgesMimicGraph.size()) {
+			candidateEdges.clear();
+			for (int edgeId : edgesMimicGraph) {
+				if (!excludedEdges.contains(edgeId)) {
+					candidateEdges.add(edgeId);
+				}
+			}
+		}
+		return endOfEdgeIds;
+	}
+	
 	/**
 	 * The method adds a triangle to mimic graph for the input TriangleColours Object. Edge colors are selected for the given vertex colors of the triangle to create edge and form the complete triangle
 	 * @param inputTriangleColours - TriangleColours Object
@@ -2084,7 +2116,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		int vertId = mMimicGraph.addVertex(vertexColor);
 		IntSet setVertIDs = mMapColourToVertexIDsToUpdate.get(vertexColor); //mMapColourToVertexIDs.get(vertexColor);
 		if(setVertIDs == null){
-			setVertIDs = new DefaultIntSet(Constants.DEFAULT_SIZE);
+			setVertIDs = new IndexedIntSet(Constants.DEFAULT_SIZE);
 			mMapColourToVertexIDsToUpdate.put(vertexColor, setVertIDs); //mMapColourToVertexIDs.put(vertexColor, setVertIDs);
 			mMapColourToVertexIDs.put(vertexColor, setVertIDs); // updating this map, required when refining the graph
 		}
@@ -2213,7 +2245,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 		IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 		if (setOfEdgeIds == null) {
-			setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+			setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 			mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 		}
 		setOfEdgeIds.add(edgeIdTemp);
@@ -2305,7 +2337,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 		// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 		IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 		if (setOfEdgeIds == null) {
-			setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+			setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 			mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 		}
 		setOfEdgeIds.add(edgeIdTemp);
@@ -2383,7 +2415,7 @@ public class GraphGenerationSimplexApproachU extends AbstractGraphGeneration imp
 			// Note: This generator does uses Real Edge IDs instead of fake IDs, as compared to previously developed generators. 
 			IntSet setOfEdgeIds = mMapColourToEdgeIDsToUpdate.get(randomEdgeColov1v2);//mMapColourToEdgeIDs.get(randomEdgeColov1v2);
 			if (setOfEdgeIds == null) {
-				setOfEdgeIds = new DefaultIntSet(Constants.DEFAULT_SIZE);
+				setOfEdgeIds = new IndexedIntSet(Constants.DEFAULT_SIZE);
 				mMapColourToEdgeIDsToUpdate.put(randomEdgeColov1v2, setOfEdgeIds); //mMapColourToEdgeIDs.put(randomEdgeColov1v2, setOfEdgeIds);
 			}
 			setOfEdgeIds.add(edgeIdTemp);
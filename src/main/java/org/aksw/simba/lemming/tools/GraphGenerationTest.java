@@ -3,8 +3,11 @@ package org.aksw.simba.lemming.tools;
 import grph.Grph.DIRECTION;
 
 import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -38,12 +41,14 @@ import org.aksw.simba.lemming.mimicgraph.generator.GraphLexicalization;
 import org.aksw.simba.lemming.mimicgraph.generator.GraphOptimization;
 import org.aksw.simba.lemming.mimicgraph.generator.IGraphGeneration;
 import org.aksw.simba.lemming.mimicgraph.metricstorage.ConstantValueStorage;
+import org.aksw.simba.lemming.mimicgraph.metricstorage.ValueStorage;
 import org.aksw.simba.lemming.simplexes.ConfigureExpressions;
 import org.aksw.simba.lemming.simplexes.generator.GraphGenerationSimplexApproachS;
 import org.aksw.simba.lemming.simplexes.generator.GraphGenerationSimplexApproachI1;
 import org.aksw.simba.lemming.simplexes.generator.GraphGenerationSimplexApproachI2;
 import org.aksw.simba.lemming.simplexes.generator.GraphGenerationSimplexApproachComplProbBased;
 import org.aksw.simba.lemming.simplexes.generator.GraphGenerationSimplexApproachU;
+import org.aksw.simba.lemming.util.ArtifactCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,6 +61,8 @@ public class GraphGenerationTest {
 	private static final String PERSON_GRAPH = "PersonGraph/";
 	private static final String LINKED_GEO_DATASET_FOLDER_PATH = "LinkedGeoGraphs/";
 	private static final String GEOLOGY_DATASET_FOLDER_PATH = "GeologyGraphs/";
+	private static final String DEFAULT_CACHE_FOLDER_PATH = "cache/";
+	private static final String EXPRESSION_VALUES_ARTIFACT = "expression_values";
 	
 	//default number of vertices is 10000
 	private static int mNumberOfDesiredVertices = 10000;
@@ -94,6 +101,10 @@ public class GraphGenerationTest {
 		 * -s:  (optional) seed
 		 * -l:  (optional) path to the mimic graph to be loaded,
 		 * this skips the mimic graph generation process and loads it directly from file
+		 * -c:  (optional) folder of the cache of the input graphs (default: cache/)
+		 * 		value: "none" disables the cache
+		 * -tb: (optional) complexity budget of the exact triangle metrics, the
+		 * triangles of graphs exceeding it are estimated (default: no budget)
 		 * 
         ----------------------------------------------------*/
         Map<String, String> mapArgs = parseArguments(args);
@@ -103,8 +114,15 @@ public class GraphGenerationTest {
          ----------------------------------------------------*/
         List<SingleValueMetric> metrics = new ArrayList<>();
         //these are two fixed metrics: NodeTriangleMetric and EdgeTriangleMetric
-        metrics.add(new NodeTriangleMetric());
-        metrics.add(new EdgeTriangleMetric());
+        double triangleBudget = Double.POSITIVE_INFINITY;
+        String strTriangleBudget = mapArgs.get("-tb");
+        if(strTriangleBudget!= null){
+        	try{
+        		triangleBudget = Double.parseDouble(strTriangleBudget);
+        	}catch(Exception e){}
+        }
+        metrics.add(new NodeTriangleMetric(triangleBudget));
+        metrics.add(new EdgeTriangleMetric(triangleBudget));
        
         //these are optional metrics
         metrics.add(new MaxVertexDegreeMetric(DIRECTION.in));
@@ -145,7 +163,16 @@ public class GraphGenerationTest {
         	return;
         }
         
-        graphs = mDatasetManager.readGraphsFromFiles(datasetPath);
+        // the graphs are only read from the files if the input files have changed
+        String cacheFolderPath = mapArgs.get("-c");
+        if (cacheFolderPath == null) {
+        	cacheFolderPath = DEFAULT_CACHE_FOLDER_PATH;
+        }
+        ArtifactCache artifactCache = null;
+        if (!cacheFolderPath.equalsIgnoreCase("none")) {
+        	artifactCache = mDatasetManager.createArtifactCache(datasetPath, new File(cacheFolderPath));
+        }
+        graphs = mDatasetManager.readGraphsFromFiles(datasetPath, artifactCache);
       
         
         
@@ -159,9 +186,19 @@ public class GraphGenerationTest {
         -------------------------------------------------------*/
        String typeGenerator = mapArgs.get("-t");
        if ( ( (dataset.equalsIgnoreCase("swdf")) || dataset.equalsIgnoreCase("lgeo") )) { // Consider these expressions for every generator (typeGenerator.equalsIgnoreCase("S") || typeGenerator.equalsIgnoreCase("S2")) &&
-    	   ConfigureExpressions configExpObj = new ConfigureExpressions(graphs, dataset);
-    	   valuesCarrier.setMetricValues(configExpObj.getMapMetricValues());
-    	   valuesCarrier.setConstantValues(configExpObj.getMapConstantValues());
+    	   // the values depend on the metrics and expressions, i.e., they are part of the name of the artifact
+    	   String valuesArtifact = EXPRESSION_VALUES_ARTIFACT + "_" + getConfigurationHash(ConfigureExpressions.getConfiguration(dataset));
+    	   ValueStorage cachedValues = (artifactCache != null) ? artifactCache.readObject(valuesArtifact) : null;
+    	   if (cachedValues != null) {
+    		   valuesCarrier.setValueStorage(cachedValues);
+    	   } else {
+    		   ConfigureExpressions configExpObj = new ConfigureExpressions(graphs, dataset);
+    		   valuesCarrier.setMetricValues(configExpObj.getMapMetricValues());
+    		   valuesCarrier.setConstantValues(configExpObj.getMapConstantValues());
+    		   if (artifactCache != null) {
+    			   artifactCache.writeObject(valuesArtifact, valuesCarrier.getValueStorage());
+    		   }
+    	   }
      	}
         
         metrics = valuesCarrier.getMetricsOfExpressions(metrics);
@@ -224,13 +261,13 @@ public class GraphGenerationTest {
         }else if(typeGenerator.equalsIgnoreCase("CD")){
         	mGrphGenerator = new GraphGenerationClusteringBased2(mNumberOfDesiredVertices, graphs, iNumberOfThreads, seed);
         }else if(typeGenerator.equalsIgnoreCase("S2")) {
-        	mGrphGenerator = new GraphGenerationSimplexApproachI1(mNumberOfDesiredVertices, graphs, iNumberOfThreads, seed, maximumIteration);
+        	mGrphGenerator = new GraphGenerationSimplexApproachI1(mNumberOfDesiredVertices, graphs, iNumberOfThreads, seed, maximumIteration, artifactCache);
         }else if (typeGenerator.equalsIgnoreCase("S1")) {
-        	mGrphGenerator = new GraphGenerationSimplexApproachU(mNumberOfDesiredVertices, graphs, iNumberOfThreads, seed, maximumIteration);
+        	mGrphGenerator = new GraphGenerationSimplexApproachU(mNumberOfDesiredVertices, graphs, iNumberOfThreads, seed, maximumIteration, artifactCache);
         }else if (typeGenerator.equalsIgnoreCase("S3")) {
-        	mGrphGenerator = new GraphGenerationSimplexApproachI2(mNumberOfDesiredVertices, graphs, iNumberOfThreads, seed, maximumIteration);
+        	mGrphGenerator = new GraphGenerationSimplexApproachI2(mNumberOfDesiredVertices, graphs, iNumberOfThreads, seed, maximumIteration, artifactCache);
         }else if (typeGenerator.equalsIgnoreCase("S4")) {
-        	mGrphGenerator = new GraphGenerationSimplexApproachComplProbBased(mNumberOfDesiredVertices, graphs, iNumberOfThreads, seed, maximumIteration);
+        	mGrphGenerator = new GraphGenerationSimplexApproachComplProbBased(mNumberOfDesiredVertices, graphs, iNumberOfThreads, seed, maximumIteration, artifactCache);
         }//else if(typeGenerator.equalsIgnoreCase("S5")){ //Additional simplex generators
         	//mGrphGenerator = new GraphGenerationSimplexApproachS(mNumberOfDesiredVertices, graphs, iNumberOfThreads, seed, maximumIteration);
         //}
@@ -283,6 +320,14 @@ public class GraphGenerationTest {
         LOGGER.info("Optimizing the mimic graph ...");
         // TODO check if it is necessary to randomly refine graph 
         grphOptimizer.setRefineGraphRandomly(false);
+        grphOptimizer.setNumberOfThreads(iNumberOfThreads);
+        //number of candidates per optimization step
+        String strNoOfCandidates = mapArgs.get("-cand");
+        if(strNoOfCandidates!= null){
+        	try{
+        		grphOptimizer.setNumberOfCandidates(Integer.parseInt(strNoOfCandidates));
+        	}catch(Exception e){}
+        }
         //number of optimizations
         String strNoOfOptimizations = mapArgs.get("-op");
         if(strNoOfOptimizations!= null){
@@ -308,6 +353,19 @@ public class GraphGenerationTest {
         LOGGER.info("Application exits!!!");
 	}
 	
+	/**
+	 * @return a short hash of the given configuration that can be part of the
+	 *         name of a cached artifact
+	 */
+	private static String getConfigurationHash(String configuration) {
+		try {
+			return ArtifactCache.createKey(Collections.<File>emptyList(), configuration).substring(0, 16);
+		} catch (IOException e) {
+			// no file has to be read
+			throw new IllegalStateException(e);
+		}
+	}
+	
 	/**
 	 * 
 	 * @param args list of input arguments
@@ -327,9 +385,12 @@ public class GraphGenerationTest {
 		 * 
 		 * -r: random optimization 
 		 * -thrs: 	the number of threads
-		 * 			by default, the application runs with a single thread
+		 * 			by default (or -1), all available processors are used
+		 * -cand: (optional) number of edges proposed for removing and for adding
+		 * 			in each optimization step, by default a single edge
 		 * 
 		 * -op: (optional) number of optimization steps 
+		 * -tb: (optional) complexity budget of the exact triangle metrics
 		 */
 		Map<String, String> mapArgs = new HashMap<String, String>();
 		
@@ -359,14 +420,23 @@ public class GraphGenerationTest {
 					else if(param.equalsIgnoreCase("-op")){
 						mapArgs.put("-op", value);
 					}
+					else if(param.equalsIgnoreCase("-cand")){
+						mapArgs.put("-cand", value);
+					}
 					else if (param.equalsIgnoreCase("-l")) {
 						mapArgs.put("-l", value);
 					}
+					else if (param.equalsIgnoreCase("-c")) {
+						mapArgs.put("-c", value);
+					}
 					else if (param.equalsIgnoreCase("-s")) {
 						mapArgs.put("-s", value);
 					}else if (param.equalsIgnoreCase("-mi")) {
 						mapArgs.put("-mi", value);
 					}
+					else if (param.equalsIgnoreCase("-tb")) {
+						mapArgs.put("-tb", value);
+					}
 				}
 			}
 		}
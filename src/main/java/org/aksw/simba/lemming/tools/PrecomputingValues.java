@@ -90,9 +90,16 @@ public class PrecomputingValues {
         	return;
         }
 
+        // the optional third argument is the complexity budget of the exact
+        // triangle metrics, the triangles of larger graphs are estimated
+        double triangleBudget = Double.POSITIVE_INFINITY;
+        if (args.length > 2) {
+            triangleBudget = Double.parseDouble(args[2]);
+        }
+
         List<SingleValueMetric> metrics = new ArrayList<>();
-        metrics.add(new NodeTriangleMetric());
-        metrics.add(new EdgeTriangleMetric());
+        metrics.add(new NodeTriangleMetric(triangleBudget));
+        metrics.add(new EdgeTriangleMetric(triangleBudget));
         metrics.add(new AvgVertexDegreeMetric());
         metrics.add(new StdDevVertexDegree(DIRECTION.in));
         metrics.add(new StdDevVertexDegree(DIRECTION.out));
@@ -151,6 +158,10 @@ public class PrecomputingValues {
                 new LeaveNodeReplacingRefinementOperator(metrics), new RedberryBasedFactory(), fitnessFunc, MIN_FITNESS,
                 MAX_ITERATIONS);
         searcher.setDebug(true);
+        searcher.setParallelism(Runtime.getRuntime().availableProcessors());
+        if (args.length > 1) {
+            searcher.setBeamWidth(Integer.parseInt(args[1]));
+        }
 
         // SortedSet<RefinementNode> bestNodes = searcher.findExpression(graphs, 5);
         SortedSet<RefinementNode> bestNodes = searcher.findExpression(graphVectors, 5);
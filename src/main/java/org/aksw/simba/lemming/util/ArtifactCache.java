@@ -0,0 +1,346 @@
+package org.aksw.simba.lemming.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.ColouredGraphFile;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the artifacts that are derived from the input data of a
+ * dataset, e.g., the coloured graphs of its versions. An entry of the cache is
+ * identified by the content hash of the input files and the configuration of
+ * the analysis (see {@link #createKey(Collection, String...)}). If one of them
+ * changes, the key changes and the previously cached artifacts are not used
+ * anymore.
+ *
+ * The artifacts of an entry are stored in the folder
+ * {@code <cacheFolder>/<name>/<key>/}. Every file is written to a temporary
+ * file first and moved to its final location afterwards, i.e., an interrupted
+ * run does not leave an incomplete artifact behind.
+ */
+public class ArtifactCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArtifactCache.class);
+
+    /**
+     * Version of the cache layout. It is part of every key, i.e., increasing it
+     * invalidates all existing entries.
+     */
+    public static final int CACHE_VERSION = 1;
+
+    private static final String GRAPH_FILE_PREFIX = "graph_";
+    private static final String GRAPH_FILE_SUFFIX = ".cg";
+    private static final String GRAPH_COUNT_FILE = "graphs.count";
+    private static final String OBJECT_FILE_SUFFIX = ".ser";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    protected File entryFolder;
+    protected String key;
+
+    /**
+     * Constructor.
+     *
+     * @param cacheFolder
+     *            the root folder of the cache
+     * @param name
+     *            the name of the cached data, e.g., the name of the dataset
+     * @param key
+     *            the key of the entry created with
+     *            {@link #createKey(Collection, String...)}
+     */
+    public ArtifactCache(File cacheFolder, String name, String key) {
+        this.key = key;
+        this.entryFolder = new File(new File(cacheFolder, name), key);
+    }
+
+    /**
+     * Creates the key of a cache entry by hashing the given input files and
+     * the given configuration. Folders are traversed recursively and their
+     * files are hashed in the order of their paths. Files that do not exist are
+     * part of the key as well, i.e., creating them invalidates the entry.
+     *
+     * @param inputs
+     *            the files and folders the artifacts are derived from
+     * @param configuration
+     *            further values the artifacts depend on
+     * @return the hexadecimal SHA-256 hash of the inputs and the configuration
+     * @throws IOException
+     *             if one of the files can not be read
+     */
+    public static String createKey(Collection<File> inputs, String... configuration) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+        updateDigest(digest, Integer.toString(CACHE_VERSION));
+        byte[] buffer = new byte[1 << 16];
+        for (File input : inputs) {
+            updateDigest(digest, input.getPath());
+            if (!input.exists()) {
+                updateDigest(digest, "missing");
+                continue;
+            }
+            for (Path path : listFiles(input.toPath())) {
+                updateDigest(digest, input.toPath().relativize(path).toString());
+                updateDigest(digest, Long.toString(Files.size(path)));
+                try (InputStream in = Files.newInputStream(path)) {
+                    int length;
+                    while ((length = in.read(buffer)) >= 0) {
+                        digest.update(buffer, 0, length);
+                    }
+                }
+            }
+        }
+        for (String value : configuration) {
+            updateDigest(digest, String.valueOf(value));
+        }
+        StringBuilder builder = new StringBuilder();
+        for (byte b : digest.digest()) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+
+    private static void updateDigest(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        // the length separates consecutive values
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static List<Path> listFiles(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return Collections.singletonList(root);
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public File getEntryFolder() {
+        return entryFolder;
+    }
+
+    /**
+     * @return the cached graphs or null if they are not cached or can not be
+     *         read
+     */
+    public ColouredGraph[] readGraphs() {
+        File countFile = new File(entryFolder, GRAPH_COUNT_FILE);
+        if (!countFile.exists()) {
+            return null;
+        }
+        try {
+            int numberOfGraphs = Integer
+                    .parseInt(new String(Files.readAllBytes(countFile.toPath()), StandardCharsets.UTF_8).trim());
+            ColouredGraph[] graphs = new ColouredGraph[numberOfGraphs];
+            for (int i = 0; i < numberOfGraphs; ++i) {
+                graphs[i] = ColouredGraphFile.read(getGraphFile(i));
+                if (i > 0) {
+                    sharePalettes(graphs[0], graphs[i]);
+                }
+                graphs[i].freeze();
+            }
+            LOGGER.info("Read " + numberOfGraphs + " graphs from the cache entry " + key);
+            return graphs;
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.warn("Could not read the cached graphs of the entry " + key + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given graphs to the cache. Afterwards, all other entries with
+     * the same name are removed since they belong to outdated inputs.
+     *
+     * @param graphs
+     *            the graphs that should be cached
+     */
+    public void writeGraphs(ColouredGraph[] graphs) {
+        try {
+            Files.createDirectories(entryFolder.toPath());
+            for (int i = 0; i < graphs.length; ++i) {
+                File tempFile = new File(entryFolder, GRAPH_FILE_PREFIX + i + TEMP_FILE_SUFFIX);
+                ColouredGraphFile.write(graphs[i], tempFile);
+                moveToTarget(tempFile, getGraphFile(i));
+            }
+            // the count is written last and marks the graphs as complete
+            File tempFile = new File(entryFolder, GRAPH_COUNT_FILE + TEMP_FILE_SUFFIX);
+            Files.write(tempFile.toPath(), Integer.toString(graphs.length).getBytes(StandardCharsets.UTF_8));
+            moveToTarget(tempFile, new File(entryFolder, GRAPH_COUNT_FILE));
+            removeOutdatedEntries();
+        } catch (IOException e) {
+            LOGGER.warn("Could not write the graphs to the cache entry " + key + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param name
+     *            the name of the artifact
+     * @return the cached object or null if it is not cached or can not be read
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> T readObject(String name) {
+        File file = new File(entryFolder, name + OBJECT_FILE_SUFFIX);
+        if (!file.exists()) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+            return (T) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.warn("Could not read the cached artifact " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the given object to the cache using Java serialization.
+     *
+     * @param name
+     *            the name of the artifact
+     * @param object
+     *            the artifact
+     */
+    public void writeObject(String name, Serializable object) {
+        try {
+            Files.createDirectories(entryFolder.toPath());
+            File tempFile = new File(entryFolder, name + OBJECT_FILE_SUFFIX + TEMP_FILE_SUFFIX);
+            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(tempFile))) {
+                out.writeObject(object);
+            }
+            moveToTarget(tempFile, new File(entryFolder, name + OBJECT_FILE_SUFFIX));
+        } catch (IOException e) {
+            LOGGER.warn("Could not write the artifact " + name + " to the cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads an artifact that has been written with its own file format.
+     *
+     * @param name
+     *            the name of the artifact
+     * @param reader
+     *            reads the artifact from its file
+     * @return the cached artifact or null if it is not cached or can not be
+     *         read
+     */
+    public <T> T readArtifact(String name, ArtifactReader<T> reader) {
+        File file = new File(entryFolder, name);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            return reader.read(file);
+        } catch (IOException e) {
+            LOGGER.warn("Could not read the cached artifact " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes an artifact with its own file format to the cache.
+     *
+     * @param name
+     *            the name of the artifact
+     * @param writer
+     *            writes the artifact to the given (temporary) file
+     */
+    public void writeArtifact(String name, ArtifactWriter writer) {
+        try {
+            Files.createDirectories(entryFolder.toPath());
+            File tempFile = new File(entryFolder, name + TEMP_FILE_SUFFIX);
+            writer.write(tempFile);
+            moveToTarget(tempFile, new File(entryFolder, name));
+        } catch (IOException e) {
+            LOGGER.warn("Could not write the artifact " + name + " to the cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes all entries that have the same name as this entry but a
+     * different key.
+     */
+    public void removeOutdatedEntries() {
+        File[] entries = entryFolder.getParentFile().listFiles();
+        if (entries == null) {
+            return;
+        }
+        List<File> outdated = new ArrayList<File>();
+        for (File entry : entries) {
+            if (entry.isDirectory() && !entry.getName().equals(key)) {
+                outdated.add(entry);
+            }
+        }
+        for (File entry : outdated) {
+            try {
+                FileUtils.deleteDirectory(entry);
+                LOGGER.info("Removed the outdated cache entry " + entry.getName());
+            } catch (IOException e) {
+                LOGGER.warn("Could not remove the outdated cache entry " + entry + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The graphs of the versions of a dataset share their palettes. Every file
+     * contains its own copy, i.e., the copies of the first graph are shared
+     * again if they are equal.
+     */
+    private static void sharePalettes(ColouredGraph first, ColouredGraph graph) {
+        if ((first.getVertexPalette() != null) && first.getVertexPalette().equals(graph.getVertexPalette())) {
+            graph.setVertexPalette(first.getVertexPalette());
+        }
+        if ((first.getEdgePalette() != null) && first.getEdgePalette().equals(graph.getEdgePalette())) {
+            graph.setEdgePalette(first.getEdgePalette());
+        }
+        if ((first.getDataTypedEdgePalette() != null)
+                && first.getDataTypedEdgePalette().equals(graph.getDataTypedEdgePalette())) {
+            graph.setDataTypeEdgePalette(first.getDataTypedEdgePalette());
+        }
+    }
+
+    private File getGraphFile(int index) {
+        return new File(entryFolder, GRAPH_FILE_PREFIX + index + GRAPH_FILE_SUFFIX);
+    }
+
+    private static void moveToTarget(File source, File target) throws IOException {
+        Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static interface ArtifactReader<T> {
+        public T read(File file) throws IOException;
+    }
+
+    public static interface ArtifactWriter {
+        public void write(File file) throws IOException;
+    }
+}
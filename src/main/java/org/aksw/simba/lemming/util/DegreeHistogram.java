@@ -0,0 +1,187 @@
+package org.aksw.simba.lemming.util;
+
+import java.util.Arrays;
+
+import grph.Grph;
+import grph.Grph.DIRECTION;
+
+/**
+ * Live histogram of the in or out degrees of the vertices of a graph. Next to
+ * the degree of every single vertex, it stores the number of vertices per
+ * degree, the maximum degree and the (squared) sum of all degrees. Adding or
+ * removing an edge updates the histogram in constant time and the maximum,
+ * mean and standard deviation of the degrees can be read in constant time.
+ *
+ * The maximum degree is a pointer into the count-per-degree array. Since a
+ * degree only changes by one with every edge, the pointer moves by at most one
+ * position per update.
+ */
+public class DegreeHistogram {
+
+    /**
+     * Degree of every vertex indexed by the vertex ID
+     */
+    protected int[] degrees;
+    /**
+     * Number of vertices having the degree used as index
+     */
+    protected int[] counts;
+    protected int maxDegree = 0;
+    protected int numberOfVertices = 0;
+    protected long sumOfDegrees = 0;
+    protected long sumOfSquaredDegrees = 0;
+
+    public DegreeHistogram() {
+        this(Constants.DEFAULT_SIZE);
+    }
+
+    public DegreeHistogram(int expectedNumberOfVertices) {
+        degrees = new int[Math.max(expectedNumberOfVertices, 1)];
+        counts = new int[Constants.DEFAULT_SIZE];
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param other the histogram that should be copied
+     */
+    public DegreeHistogram(DegreeHistogram other) {
+        degrees = Arrays.copyOf(other.degrees, other.degrees.length);
+        counts = Arrays.copyOf(other.counts, other.counts.length);
+        maxDegree = other.maxDegree;
+        numberOfVertices = other.numberOfVertices;
+        sumOfDegrees = other.sumOfDegrees;
+        sumOfSquaredDegrees = other.sumOfSquaredDegrees;
+    }
+
+    /**
+     * Creates the histogram of the given graph.
+     *
+     * @param graph     the graph whose degrees should be counted
+     * @param direction {@link DIRECTION#in} for in degrees, any other value for
+     *                  out degrees
+     * @return the histogram of the graph
+     */
+    public static DegreeHistogram create(Grph graph, DIRECTION direction) {
+        int[] vertices = graph.getVertices().toIntArray();
+        DegreeHistogram histogram = new DegreeHistogram(vertices.length);
+        for (int vertex : vertices) {
+            histogram.addVertex(vertex,
+                    (direction == DIRECTION.in) ? graph.getInEdgeDegree(vertex) : graph.getOutEdgeDegree(vertex));
+        }
+        return histogram;
+    }
+
+    /**
+     * Adds a vertex without edges.
+     *
+     * @param vertexId the ID of the new vertex
+     */
+    public void addVertex(int vertexId) {
+        addVertex(vertexId, 0);
+    }
+
+    protected void addVertex(int vertexId, int degree) {
+        if (vertexId >= degrees.length) {
+            degrees = Arrays.copyOf(degrees, Math.max(vertexId + 1, degrees.length << 1));
+        }
+        degrees[vertexId] = degree;
+        ensureDegreeCapacity(degree);
+        counts[degree]++;
+        numberOfVertices++;
+        sumOfDegrees += degree;
+        sumOfSquaredDegrees += ((long) degree) * degree;
+        if (degree > maxDegree) {
+            maxDegree = degree;
+        }
+    }
+
+    /**
+     * Increases the degree of the given vertex by one.
+     *
+     * @param vertexId the vertex that got a new edge
+     */
+    public void increment(int vertexId) {
+        int degree = degrees[vertexId];
+        ensureDegreeCapacity(degree + 1);
+        counts[degree]--;
+        counts[degree + 1]++;
+        degrees[vertexId] = degree + 1;
+        sumOfDegrees++;
+        sumOfSquaredDegrees += 2L * degree + 1;
+        if (degree == maxDegree) {
+            maxDegree++;
+        }
+    }
+
+    /**
+     * Decreases the degree of the given vertex by one.
+     *
+     * @param vertexId the vertex that lost one of its edges
+     */
+    public void decrement(int vertexId) {
+        int degree = degrees[vertexId];
+        if (degree == 0) {
+            throw new IllegalStateException("The degree of vertex " + vertexId + " is already 0.");
+        }
+        counts[degree]--;
+        counts[degree - 1]++;
+        degrees[vertexId] = degree - 1;
+        sumOfDegrees--;
+        sumOfSquaredDegrees -= 2L * degree - 1;
+        if ((degree == maxDegree) && (counts[degree] == 0)) {
+            // the vertex itself has now the degree maxDegree - 1
+            maxDegree--;
+        }
+    }
+
+    private void ensureDegreeCapacity(int degree) {
+        if (degree >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(degree + 1, counts.length << 1));
+        }
+    }
+
+    public int getDegree(int vertexId) {
+        return degrees[vertexId];
+    }
+
+    public int getMaxDegree() {
+        return maxDegree;
+    }
+
+    /**
+     * @param degree a degree
+     * @return the number of vertices that have the given degree
+     */
+    public int getNumberOfVerticesWithDegree(int degree) {
+        if ((degree < 0) || (degree >= counts.length)) {
+            return 0;
+        }
+        return counts[degree];
+    }
+
+    public int getNumberOfVertices() {
+        return numberOfVertices;
+    }
+
+    public long getSumOfDegrees() {
+        return sumOfDegrees;
+    }
+
+    public long getSumOfSquaredDegrees() {
+        return sumOfSquaredDegrees;
+    }
+
+    public double getMean() {
+        return sumOfDegrees / (double) numberOfVertices;
+    }
+
+    public double getVariance() {
+        double mean = getMean();
+        return (sumOfSquaredDegrees / (double) numberOfVertices) - (mean * mean);
+    }
+
+    public double getStdDev() {
+        return Math.sqrt(Math.max(getVariance(), 0));
+    }
+}
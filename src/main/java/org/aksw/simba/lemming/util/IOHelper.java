@@ -9,6 +9,9 @@ import org.aksw.simba.lemming.creation.GraphCreator;
 import org.apache.commons.io.IOUtils;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParserRegistry;
 
 public class IOHelper {
 
@@ -37,10 +40,25 @@ public class IOHelper {
         return result;
     }
 
+    /**
+     * Reads the graph from the given stream. If Jena has a streaming parser for
+     * the given language, the triples are added to the graph while they are
+     * parsed without creating a {@link Model}.
+     * 
+     * @param is
+     *            the stream the graph is read from
+     * @param lang
+     *            the serialization of the data (RDF/XML if it is null)
+     * @return the coloured graph
+     */
     public static ColouredGraph readGraphFromResource(InputStream is, String lang) {
+        GraphCreator creator = new GraphCreator();
+        Lang rdfLang = (lang == null) ? Lang.RDFXML : RDFLanguages.nameToLang(lang);
+        if ((rdfLang != null) && RDFParserRegistry.isTriples(rdfLang)) {
+            return creator.processStream(is, rdfLang);
+        }
         Model model = ModelFactory.createDefaultModel();
         model.read(is, null, lang);
-        GraphCreator creator = new GraphCreator();
         return creator.processModel(model);
     }
 }
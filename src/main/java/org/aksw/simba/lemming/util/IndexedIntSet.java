@@ -0,0 +1,170 @@
+package org.aksw.simba.lemming.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import it.unimi.dsi.fastutil.ints.AbstractIntIterator;
+import it.unimi.dsi.fastutil.ints.AbstractIntSet;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+
+/**
+ * Set of non-negative integers (vertex or edge IDs) backed by a dense array of
+ * its elements and a position index. Adding, removing, checking membership and
+ * drawing a random element are all done in constant time without boxing or
+ * copying the set.
+ *
+ * The position index is an array indexed by the element itself, i.e., it is
+ * meant for dense ID spaces like the vertex and edge IDs of a
+ * {@link org.aksw.simba.lemming.ColouredGraph}.
+ */
+public class IndexedIntSet extends AbstractIntSet {
+
+    /**
+     * Elements of the set. Only the first {@link #size} entries are valid.
+     */
+    protected int[] elements;
+    /**
+     * Position of an element inside {@link #elements} shifted by one, i.e., 0
+     * means that the element is not part of the set.
+     */
+    protected int[] positions;
+    protected int size = 0;
+
+    public IndexedIntSet() {
+        this(Constants.DEFAULT_SIZE);
+    }
+
+    public IndexedIntSet(int expectedSize) {
+        elements = new int[Math.max(expectedSize, 1)];
+        positions = new int[Math.max(expectedSize, 1)];
+    }
+
+    @Override
+    public boolean add(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Only non-negative IDs are supported. Got " + k);
+        }
+        if (contains(k)) {
+            return false;
+        }
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+        if (k >= positions.length) {
+            positions = Arrays.copyOf(positions, Math.max(k + 1, positions.length << 1));
+        }
+        elements[size] = k;
+        ++size;
+        positions[k] = size;
+        return true;
+    }
+
+    @Override
+    public boolean remove(int k) {
+        if (!contains(k)) {
+            return false;
+        }
+        // move the last element into the gap
+        int position = positions[k] - 1;
+        int last = elements[size - 1];
+        elements[position] = last;
+        positions[last] = position + 1;
+        positions[k] = 0;
+        --size;
+        return true;
+    }
+
+    @Override
+    public boolean rem(int k) {
+        return remove(k);
+    }
+
+    @Override
+    public boolean contains(int k) {
+        return (k >= 0) && (k < positions.length) && (positions[k] != 0);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; ++i) {
+            positions[elements[i]] = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the element at the given position of the dense element array.
+     *
+     * @param index
+     *            a position between 0 (inclusive) and {@link #size()}
+     *            (exclusive)
+     * @return the element at the given position
+     */
+    public int getInt(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " >= size " + size);
+        }
+        return elements[index];
+    }
+
+    /**
+     * Draws an element of the set uniformly at random.
+     *
+     * @param random
+     *            the random number generator that should be used
+     * @return a randomly chosen element of the set
+     * @throws NoSuchElementException
+     *             if the set is empty
+     */
+    public int sample(Random random) {
+        if (size == 0) {
+            throw new NoSuchElementException("Can't sample from an empty set.");
+        }
+        return elements[random.nextInt(size)];
+    }
+
+    @Override
+    public int[] toIntArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new AbstractIntIterator() {
+            private int next = 0;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                return elements[next++];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                // the last element is moved to the removed position, i.e., it
+                // still has to be returned
+                IndexedIntSet.this.remove(elements[last]);
+                next = last;
+                last = -1;
+            }
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package org.aksw.simba.lemming.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import it.unimi.dsi.fastutil.ints.AbstractIntIterator;
+import it.unimi.dsi.fastutil.ints.AbstractIntSet;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+
+/**
+ * Read-only set view of a slice of a sorted array that does not contain
+ * duplicates. The array is not copied, i.e., creating the view takes constant
+ * time and checking membership is a binary search inside the slice.
+ */
+public class IntArraySliceSet extends AbstractIntSet {
+
+    protected final int[] elements;
+    protected final int from;
+    protected final int to;
+
+    /**
+     * Constructor.
+     *
+     * @param elements
+     *            the sorted array that should not be changed as long as the
+     *            view is used
+     * @param from
+     *            the first position of the slice (inclusive)
+     * @param to
+     *            the end of the slice (exclusive)
+     */
+    public IntArraySliceSet(int[] elements, int from, int to) {
+        this.elements = elements;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public boolean contains(int k) {
+        return Arrays.binarySearch(elements, from, to, k) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return from == to;
+    }
+
+    @Override
+    public int[] toIntArray() {
+        return Arrays.copyOfRange(elements, from, to);
+    }
+
+    @Override
+    public boolean add(int k) {
+        throw new UnsupportedOperationException("The set is read-only.");
+    }
+
+    @Override
+    public boolean remove(int k) {
+        throw new UnsupportedOperationException("The set is read-only.");
+    }
+
+    @Override
+    public boolean rem(int k) {
+        throw new UnsupportedOperationException("The set is read-only.");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("The set is read-only.");
+    }
+
+    @Override
+    public IntIterator iterator() {
+        return new AbstractIntIterator() {
+            private int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < to;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return elements[next++];
+            }
+        };
+    }
+}
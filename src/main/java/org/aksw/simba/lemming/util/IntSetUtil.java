@@ -1,9 +1,13 @@
 package org.aksw.simba.lemming.util;
 
+import java.util.NoSuchElementException;
+import java.util.Random;
+
 import org.apache.jena.ext.com.google.common.collect.Sets;
 import org.apache.jena.ext.com.google.common.collect.Sets.SetView;
 
 import grph.DefaultIntSet;
+import it.unimi.dsi.fastutil.ints.IntIterator;
 import it.unimi.dsi.fastutil.ints.IntSet;
 
 public class IntSetUtil {
@@ -28,4 +32,29 @@ public class IntSetUtil {
 		resultSet.addAll(set);
 		return resultSet; 
 	}
+
+	/**
+	 * Draws an element of the given set uniformly at random without copying
+	 * the set into an array. An {@link IndexedIntSet} is sampled in constant
+	 * time, any other set is iterated up to the randomly chosen position.
+	 * 
+	 * @param set
+	 *            the set from which an element should be drawn
+	 * @param random
+	 *            the random number generator that should be used
+	 * @return a randomly chosen element of the set
+	 */
+	public static int getRandomElement(IntSet set, Random random) {
+		if (set instanceof IndexedIntSet) {
+			return ((IndexedIntSet) set).sample(random);
+		}
+		if (set.isEmpty()) {
+			throw new NoSuchElementException("Can't select an element from an empty set.");
+		}
+		IntIterator iterator = set.iterator();
+		for (int i = random.nextInt(set.size()); i > 0; --i) {
+			iterator.nextInt();
+		}
+		return iterator.nextInt();
+	}
 }
@@ -0,0 +1,74 @@
+package org.aksw.simba.lemming.util;
+
+/**
+ * Read-only access to the neighbours of the vertices of a graph in one
+ * direction indexed by the vertex IDs. In contrast to a two-dimensional array,
+ * the neighbours of single vertices can be replaced by a view without copying
+ * the neighbours of all other vertices.
+ */
+public interface NeighbourArrays {
+
+    /**
+     * @return the number of vertex IDs, i.e., the highest vertex ID + 1
+     */
+    public int size();
+
+    /**
+     * @param vertex
+     *            a vertex ID smaller than {@link #size()}
+     * @return the neighbours of the vertex or null if the vertex does not
+     *         exist. The array is shared and must not be changed.
+     */
+    public int[] get(int vertex);
+
+    /**
+     * Creates a view of the given arrays.
+     *
+     * @param neighbours
+     *            the neighbours of the vertices indexed by the vertex IDs. The
+     *            arrays must not be changed as long as the view is used.
+     * @return the view of the arrays
+     */
+    public static NeighbourArrays wrap(int[][] neighbours) {
+        return new NeighbourArrays() {
+
+            @Override
+            public int size() {
+                return neighbours.length;
+            }
+
+            @Override
+            public int[] get(int vertex) {
+                return neighbours[vertex];
+            }
+        };
+    }
+
+    /**
+     * Creates a view of the given neighbours in which the neighbours of a
+     * single vertex are replaced.
+     *
+     * @param neighbours
+     *            the neighbours that should not be changed as long as the view
+     *            is used
+     * @param vertex
+     *            the vertex whose neighbours are replaced
+     * @param vertexNeighbours
+     *            the new neighbours of the vertex
+     * @return the view of the neighbours
+     */
+    public static NeighbourArrays replace(NeighbourArrays neighbours, int vertex, int[] vertexNeighbours) {
+        return new NeighbourArrays() {
+
+            @Override
+            public int size() {
+                return neighbours.size();
+            }
+
+            @Override
+            public int[] get(int v) {
+                return (v == vertex) ? vertexNeighbours : neighbours.get(v);
+            }
+        };
+    }
+}
@@ -0,0 +1,433 @@
+package org.aksw.simba.lemming.util;
+
+import java.util.Arrays;
+
+import grph.Grph;
+
+/**
+ * Live undirected neighbourhood of the vertices of a graph. For every vertex,
+ * it stores the IDs of its neighbours (ignoring the direction of the edges) as
+ * a sorted array together with the number of edges connecting the vertex with
+ * each neighbour. Self loops are counted but they do not make a vertex its own
+ * neighbour. Adding or removing an edge updates the arrays of its two
+ * vertices.
+ *
+ * The sorted arrays allow counting the common neighbours of two vertices with
+ * a single merge (see {@link #countCommonNeighbours(int, int)}) without
+ * creating any set. The merge determines the triangle support of the pair,
+ * i.e., the number of common neighbours and the number of edge pairs
+ * connecting them (see {@link #getTriangleSupport(int, int)}). The support of
+ * the last pair is kept per thread, i.e., the node and the edge triangle
+ * metric evaluating the same candidate edge share a single merge.
+ */
+public class UndirectedNeighbourhood {
+
+    /**
+     * If one neighbourhood is this many times larger than the other one, the
+     * vertices of the smaller one are searched in the larger one instead of
+     * merging both.
+     */
+    private static final int GALLOPING_RATIO = 32;
+
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * The neighbours of vertex v are neighbours[v][0] to
+     * neighbours[v][sizes[v] - 1] in ascending order. multiplicities[v][i] is
+     * the number of edges between v and neighbours[v][i].
+     */
+    protected int[][] neighbours;
+    protected int[][] multiplicities;
+    protected int[] sizes;
+    protected int numberOfVertices = 0;
+    /**
+     * Number of all edges including self loops
+     */
+    protected long numberOfEdges = 0;
+    /**
+     * Counts the changes of this neighbourhood. It identifies the state a
+     * cached {@link TriangleSupport} has been computed for.
+     */
+    protected long modificationCount = 0;
+    /**
+     * The support of the pair of vertices that has been evaluated last by the
+     * current thread
+     */
+    private final ThreadLocal<TriangleSupport> lastSupport = ThreadLocal.withInitial(TriangleSupport::new);
+
+    public UndirectedNeighbourhood() {
+        this(Constants.DEFAULT_SIZE);
+    }
+
+    public UndirectedNeighbourhood(int expectedNumberOfVertices) {
+        int size = Math.max(expectedNumberOfVertices, 1);
+        neighbours = new int[size][];
+        multiplicities = new int[size][];
+        sizes = new int[size];
+        Arrays.fill(neighbours, EMPTY);
+        Arrays.fill(multiplicities, EMPTY);
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param other the neighbourhood that should be copied
+     */
+    public UndirectedNeighbourhood(UndirectedNeighbourhood other) {
+        int size = other.sizes.length;
+        neighbours = new int[size][];
+        multiplicities = new int[size][];
+        for (int v = 0; v < size; ++v) {
+            neighbours[v] = Arrays.copyOf(other.neighbours[v], other.neighbours[v].length);
+            multiplicities[v] = Arrays.copyOf(other.multiplicities[v], other.multiplicities[v].length);
+        }
+        sizes = Arrays.copyOf(other.sizes, size);
+        numberOfVertices = other.numberOfVertices;
+        numberOfEdges = other.numberOfEdges;
+    }
+
+    /**
+     * Creates the neighbourhood of the given graph.
+     *
+     * @param graph the graph whose neighbourhood should be created
+     * @return the neighbourhood of the graph
+     */
+    public static UndirectedNeighbourhood create(Grph graph) {
+        int[] vertices = graph.getVertices().toIntArray();
+        int maxVertexId = -1;
+        for (int vertex : vertices) {
+            maxVertexId = Math.max(maxVertexId, vertex);
+        }
+        UndirectedNeighbourhood neighbourhood = new UndirectedNeighbourhood(maxVertexId + 1);
+        for (int vertex : vertices) {
+            neighbourhood.addVertex(vertex);
+        }
+        // collect the neighbours of every vertex (with duplicates)
+        int[] edges = graph.getEdges().toIntArray();
+        int[] tails = new int[edges.length];
+        int[] heads = new int[edges.length];
+        int[] counts = new int[maxVertexId + 1];
+        for (int i = 0; i < edges.length; ++i) {
+            tails[i] = graph.getDirectedSimpleEdgeTail(edges[i]);
+            heads[i] = graph.getDirectedSimpleEdgeHead(edges[i]);
+            if (tails[i] != heads[i]) {
+                counts[tails[i]]++;
+                counts[heads[i]]++;
+            }
+        }
+        int[][] lists = new int[maxVertexId + 1][];
+        for (int v = 0; v <= maxVertexId; ++v) {
+            lists[v] = (counts[v] == 0) ? EMPTY : new int[counts[v]];
+            counts[v] = 0;
+        }
+        for (int i = 0; i < edges.length; ++i) {
+            if (tails[i] != heads[i]) {
+                lists[tails[i]][counts[tails[i]]++] = heads[i];
+                lists[heads[i]][counts[heads[i]]++] = tails[i];
+            }
+        }
+        // sort the lists and merge the duplicates into multiplicities
+        for (int v = 0; v <= maxVertexId; ++v) {
+            int[] list = lists[v];
+            if (list.length == 0) {
+                continue;
+            }
+            Arrays.sort(list);
+            int[] multiplicity = new int[list.length];
+            int size = 0;
+            for (int i = 0; i < list.length; ++i) {
+                if ((size > 0) && (list[size - 1] == list[i])) {
+                    multiplicity[size - 1]++;
+                } else {
+                    list[size] = list[i];
+                    multiplicity[size] = 1;
+                    size++;
+                }
+            }
+            neighbourhood.neighbours[v] = list;
+            neighbourhood.multiplicities[v] = multiplicity;
+            neighbourhood.sizes[v] = size;
+        }
+        neighbourhood.numberOfEdges = edges.length;
+        return neighbourhood;
+    }
+
+    /**
+     * Adds a vertex without edges.
+     *
+     * @param vertexId the ID of the new vertex
+     */
+    public void addVertex(int vertexId) {
+        if (vertexId >= sizes.length) {
+            int oldSize = sizes.length;
+            int size = Math.max(vertexId + 1, oldSize << 1);
+            neighbours = Arrays.copyOf(neighbours, size);
+            multiplicities = Arrays.copyOf(multiplicities, size);
+            sizes = Arrays.copyOf(sizes, size);
+            Arrays.fill(neighbours, oldSize, size, EMPTY);
+            Arrays.fill(multiplicities, oldSize, size, EMPTY);
+        }
+        neighbours[vertexId] = EMPTY;
+        multiplicities[vertexId] = EMPTY;
+        sizes[vertexId] = 0;
+        numberOfVertices++;
+        modificationCount++;
+    }
+
+    /**
+     * Adds an edge between the two given vertices.
+     */
+    public void addEdge(int tail, int head) {
+        numberOfEdges++;
+        modificationCount++;
+        if (tail != head) {
+            increment(tail, head);
+            increment(head, tail);
+        }
+    }
+
+    /**
+     * Removes an edge between the two given vertices.
+     */
+    public void removeEdge(int tail, int head) {
+        if (tail != head) {
+            decrement(tail, head);
+            decrement(head, tail);
+        }
+        numberOfEdges--;
+        modificationCount++;
+    }
+
+    private void increment(int vertexId, int neighbour) {
+        int size = sizes[vertexId];
+        int pos = Arrays.binarySearch(neighbours[vertexId], 0, size, neighbour);
+        if (pos >= 0) {
+            multiplicities[vertexId][pos]++;
+            return;
+        }
+        pos = -pos - 1;
+        if (size == neighbours[vertexId].length) {
+            int capacity = Math.max(4, size << 1);
+            neighbours[vertexId] = Arrays.copyOf(neighbours[vertexId], capacity);
+            multiplicities[vertexId] = Arrays.copyOf(multiplicities[vertexId], capacity);
+        }
+        System.arraycopy(neighbours[vertexId], pos, neighbours[vertexId], pos + 1, size - pos);
+        System.arraycopy(multiplicities[vertexId], pos, multiplicities[vertexId], pos + 1, size - pos);
+        neighbours[vertexId][pos] = neighbour;
+        multiplicities[vertexId][pos] = 1;
+        sizes[vertexId] = size + 1;
+    }
+
+    private void decrement(int vertexId, int neighbour) {
+        int size = sizes[vertexId];
+        int pos = Arrays.binarySearch(neighbours[vertexId], 0, size, neighbour);
+        if (pos < 0) {
+            throw new IllegalStateException(
+                    "There is no edge between the vertices " + vertexId + " and " + neighbour + ".");
+        }
+        if (--multiplicities[vertexId][pos] == 0) {
+            System.arraycopy(neighbours[vertexId], pos + 1, neighbours[vertexId], pos, size - pos - 1);
+            System.arraycopy(multiplicities[vertexId], pos + 1, multiplicities[vertexId], pos, size - pos - 1);
+            sizes[vertexId] = size - 1;
+        }
+    }
+
+    /**
+     * @return the number of distinct neighbours of the given vertex excluding
+     *         the vertex itself
+     */
+    public int getDegree(int vertexId) {
+        return sizes[vertexId];
+    }
+
+    /**
+     * @return the sorted neighbours of the given vertex. Only the first
+     *         {@link #getDegree(int)} elements are valid and the array must not
+     *         be changed.
+     */
+    public int[] getNeighbours(int vertexId) {
+        return neighbours[vertexId];
+    }
+
+    /**
+     * @return the number of edges between the given vertex and its neighbours
+     *         in the order of {@link #getNeighbours(int)}. The array must not be
+     *         changed.
+     */
+    public int[] getMultiplicities(int vertexId) {
+        return multiplicities[vertexId];
+    }
+
+    /**
+     * @return the number of edges between the two given (different) vertices
+     */
+    public int getMultiplicity(int v1, int v2) {
+        int pos = Arrays.binarySearch(neighbours[v1], 0, sizes[v1], v2);
+        return (pos < 0) ? 0 : multiplicities[v1][pos];
+    }
+
+    /**
+     * Counts the vertices that are neighbours of both given vertices. The two
+     * vertices themselves are not counted.
+     *
+     * @return the number of common neighbours
+     */
+    public int countCommonNeighbours(int v1, int v2) {
+        return getTriangleSupport(v1, v2).getNumberOfCommonNeighbours();
+    }
+
+    /**
+     * Sums up the number of edge pairs connecting the two given vertices via a
+     * common neighbour, i.e., the sum of m(v1, w) * m(v2, w) over all common
+     * neighbours w with m(x, y) being the number of edges between x and y. The
+     * two vertices themselves are not counted as common neighbours.
+     *
+     * @return the number of edge pairs
+     */
+    public long countCommonNeighbourEdgePairs(int v1, int v2) {
+        return getTriangleSupport(v1, v2).getNumberOfEdgePairs();
+    }
+
+    /**
+     * Determines the triangle support of the two given (different) vertices
+     * with a single merge of their neighbourhoods. The returned object belongs
+     * to the current thread and is reused, i.e., it is only valid until the
+     * next call of this method by the same thread. If the same pair is
+     * requested again before this neighbourhood is changed, the cached support
+     * is returned without merging the neighbourhoods again.
+     *
+     * @return the triangle support of the two vertices
+     */
+    public TriangleSupport getTriangleSupport(int v1, int v2) {
+        TriangleSupport support = lastSupport.get();
+        int first = Math.min(v1, v2);
+        int second = Math.max(v1, v2);
+        if ((support.modificationCount != modificationCount) || (support.v1 != first) || (support.v2 != second)) {
+            support.modificationCount = modificationCount;
+            support.v1 = first;
+            support.v2 = second;
+            support.multiplicity = getMultiplicity(first, second);
+            commonNeighbours(first, second, support);
+        }
+        return support;
+    }
+
+    private void commonNeighbours(int v1, int v2, TriangleSupport support) {
+        support.commonNeighbours = 0;
+        support.edgePairs = 0;
+        int size1 = sizes[v1];
+        int size2 = sizes[v2];
+        if (size1 > size2) {
+            commonNeighbours(v2, v1, support);
+            return;
+        }
+        if (size1 == 0) {
+            return;
+        }
+        int[] n1 = neighbours[v1];
+        int[] n2 = neighbours[v2];
+        int[] m1 = multiplicities[v1];
+        int[] m2 = multiplicities[v2];
+        int common = 0;
+        long edgePairs = 0;
+        if (size2 / size1 >= GALLOPING_RATIO) {
+            // search the few neighbours of v1 in the long list of v2
+            int from = 0;
+            int pos;
+            for (int i = 0; (i < size1) && (from < size2); ++i) {
+                if ((n1[i] == v2) || (n1[i] == v1)) {
+                    continue;
+                }
+                pos = Arrays.binarySearch(n2, from, size2, n1[i]);
+                if (pos >= 0) {
+                    common++;
+                    edgePairs += ((long) m1[i]) * m2[pos];
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+            support.commonNeighbours = common;
+            support.edgePairs = edgePairs;
+            return;
+        }
+        int i = 0;
+        int j = 0;
+        int a, b;
+        while ((i < size1) && (j < size2)) {
+            a = n1[i];
+            b = n2[j];
+            if (a < b) {
+                ++i;
+            } else if (a > b) {
+                ++j;
+            } else {
+                if ((a != v1) && (a != v2)) {
+                    common++;
+                    edgePairs += ((long) m1[i]) * m2[j];
+                }
+                ++i;
+                ++j;
+            }
+        }
+        support.commonNeighbours = common;
+        support.edgePairs = edgePairs;
+    }
+
+    public int getNumberOfVertices() {
+        return numberOfVertices;
+    }
+
+    public long getNumberOfEdges() {
+        return numberOfEdges;
+    }
+
+    /**
+     * @return true if this neighbourhood has the same number of vertices and
+     *         edges as the given graph, i.e., if it has been kept up to date
+     *         with the changes of the graph
+     */
+    public boolean isUpToDate(Grph graph) {
+        return (numberOfVertices == graph.getNumberOfVertices()) && (numberOfEdges == graph.getNumberOfEdges());
+    }
+
+    /**
+     * The triangle support of a pair of vertices, i.e., the values an edge
+     * between the two vertices contributes to the number of node and edge
+     * triangles.
+     */
+    public static class TriangleSupport {
+
+        private long modificationCount = -1;
+        private int v1 = -1;
+        private int v2 = -1;
+        private int multiplicity;
+        private int commonNeighbours;
+        private long edgePairs;
+
+        /**
+         * @return the number of edges between the two vertices
+         */
+        public int getMultiplicity() {
+            return multiplicity;
+        }
+
+        /**
+         * @return the number of vertices that are neighbours of both vertices
+         *         (i.e., the number of node triangles an edge between the two
+         *         vertices is part of)
+         */
+        public int getNumberOfCommonNeighbours() {
+            return commonNeighbours;
+        }
+
+        /**
+         * @return the number of edge pairs connecting the two vertices via a
+         *         common neighbour (i.e., the number of edge triangles an
+         *         additional edge between the two vertices is part of)
+         */
+        public long getNumberOfEdgePairs() {
+            return edgePairs;
+        }
+    }
+}
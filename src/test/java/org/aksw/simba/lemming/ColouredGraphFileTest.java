@@ -0,0 +1,108 @@
+package org.aksw.simba.lemming;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.aksw.simba.lemming.colour.ColourPalette;
+import org.aksw.simba.lemming.colour.InMemoryPalette;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.carrotsearch.hppc.BitSet;
+
+public class ColouredGraphFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ColourPalette vertexPalette = new InMemoryPalette();
+        vertexPalette.addColour("http://example.org/class1");
+        vertexPalette.addColour("http://example.org/class2");
+        ColourPalette edgePalette = new InMemoryPalette();
+        edgePalette.addColour("http://example.org/relation1");
+        edgePalette.addColour("http://example.org/relation2");
+        ColourPalette dtEdgePalette = new InMemoryPalette();
+        dtEdgePalette.addColour("http://example.org/label");
+
+        ColouredGraph graph = new ColouredGraph(vertexPalette, edgePalette, dtEdgePalette);
+        BitSet class1 = vertexPalette.getColour("http://example.org/class1");
+        BitSet class2 = vertexPalette.getColour("http://example.org/class2");
+        BitSet relation1 = edgePalette.getColour("http://example.org/relation1");
+        BitSet relation2 = edgePalette.getColour("http://example.org/relation2");
+        BitSet label = dtEdgePalette.getColour("http://example.org/label");
+        int v0 = graph.addVertex(class1);
+        int v1 = graph.addVertex(class2);
+        int v2 = graph.addVertex(vertexPalette.getColourMixture("http://example.org/class1",
+                "http://example.org/class2"));
+        graph.addEdge(v0, v1, relation1);
+        // parallel edges, a self loop and a removed edge
+        int removed = graph.addEdge(v0, v1, relation2);
+        graph.addEdge(v0, v1, relation2);
+        graph.addEdge(v2, v2, relation1);
+        graph.addEdge(v1, v0, relation2);
+        graph.removeEdge(removed);
+        graph.addLiterals("entity ä", v1, label, "http://www.w3.org/2001/XMLSchema#string");
+        graph.addLiterals("entity 2", v1, label, "http://www.w3.org/2001/XMLSchema#string");
+
+        File file = folder.newFile("graph.bin");
+        ColouredGraphFile.write(graph, file);
+        Assert.assertTrue(ColouredGraphFile.isColouredGraphFile(file));
+
+        ColouredGraph actual = ColouredGraphFile.read(file);
+        Assert.assertEquals(graph, actual);
+        Assert.assertEquals(4, actual.getGraph().getNumberOfEdges());
+        Assert.assertFalse(actual.getGraph().containsEdge(removed));
+        Assert.assertEquals(graph.getVertexColours(), actual.getVertexColours());
+        Assert.assertEquals(graph.getEdgeColours(), actual.getEdgeColours());
+        Assert.assertEquals(graph.getMapDTEdgeColoursToLiterals(v1), actual.getMapDTEdgeColoursToLiterals(v1));
+        Assert.assertEquals(graph.getLiteralType(label), actual.getLiteralType(label));
+        Assert.assertEquals(graph.getGraph().getInEdges(v0), actual.getGraph().getInEdges(v0));
+        Assert.assertEquals(graph.getGraph().getOutEdges(v0), actual.getGraph().getOutEdges(v0));
+    }
+
+    @Test
+    public void testSmallChunks() throws IOException {
+        ColourPalette vertexPalette = new InMemoryPalette();
+        ColourPalette edgePalette = new InMemoryPalette();
+        ColourPalette dtEdgePalette = new InMemoryPalette();
+        for (int i = 0; i < 100; ++i) {
+            vertexPalette.addColour("http://example.org/class" + i);
+            edgePalette.addColour("http://example.org/relation" + i);
+        }
+        dtEdgePalette.addColour("http://example.org/label");
+        BitSet label = dtEdgePalette.getColour("http://example.org/label");
+
+        ColouredGraph graph = new ColouredGraph(vertexPalette, edgePalette, dtEdgePalette);
+        for (int i = 0; i < 100; ++i) {
+            graph.addVertex(vertexPalette.getColour("http://example.org/class" + i));
+        }
+        for (int i = 0; i < 300; ++i) {
+            graph.addEdge(i % 100, (i * 7) % 100, edgePalette.getColour("http://example.org/relation" + (i % 100)));
+        }
+        graph.addLiterals("a literal that is longer than a chunk", 5, label,
+                "http://www.w3.org/2001/XMLSchema#string");
+
+        File file = folder.newFile("graph.bin");
+        ColouredGraphFile.write(graph, file);
+        // an odd chunk size lets values and arrays cross the chunk boundaries
+        ColouredGraph actual = ColouredGraphFile.read(file, 13);
+        Assert.assertEquals(graph, actual);
+        Assert.assertEquals(graph.getVertexColours(), actual.getVertexColours());
+        Assert.assertEquals(graph.getEdgeColours(), actual.getEdgeColours());
+        Assert.assertEquals(graph.getMapDTEdgeColoursToLiterals(5), actual.getMapDTEdgeColoursToLiterals(5));
+        Assert.assertEquals(graph.getGraph().getOutEdges(5), actual.getGraph().getOutEdges(5));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnknownFile() throws IOException {
+        File file = folder.newFile("graph.ser");
+        Files.write(file.toPath(), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        Assert.assertFalse(ColouredGraphFile.isColouredGraphFile(file));
+        ColouredGraphFile.read(file);
+    }
+}
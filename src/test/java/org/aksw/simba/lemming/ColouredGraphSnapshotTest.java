@@ -0,0 +1,89 @@
+package org.aksw.simba.lemming;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.carrotsearch.hppc.BitSet;
+
+import grph.Grph;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+public class ColouredGraphSnapshotTest {
+
+    private static BitSet colour(int index) {
+        BitSet colour = new BitSet();
+        colour.set(index);
+        return colour;
+    }
+
+    @Test
+    public void testFrozenGraph() {
+        ColouredGraph graph = new ColouredGraph();
+        int v0 = graph.addVertex(colour(0));
+        int v1 = graph.addVertex(colour(1));
+        int v2 = graph.addVertex(colour(0));
+        int v3 = graph.addVertex(colour(1));
+        graph.addEdge(v0, v1, colour(2));
+        graph.addEdge(v0, v1, colour(3));
+        graph.addEdge(v1, v2, colour(2));
+        graph.addEdge(v2, v0, colour(2));
+        graph.addEdge(v2, v2, colour(3));
+        int removed = graph.addEdge(v3, v0, colour(3));
+        graph.addEdge(v0, v3, colour(2));
+        graph.removeEdge(removed);
+
+        ColouredGraphSnapshot snapshot = graph.freeze();
+        Assert.assertTrue(graph.isFrozen());
+        Assert.assertSame(snapshot, graph.freeze());
+        Assert.assertEquals(4, snapshot.getNumberOfVertices());
+        Assert.assertEquals(6, snapshot.getNumberOfEdges());
+        Assert.assertFalse(snapshot.containsEdge(removed));
+
+        Grph grph = graph.getGraph();
+        for (int v : graph.getVertices()) {
+            assertSameSet(grph.getInNeighbors(v), graph.getInNeighbors(v));
+            assertSameSet(grph.getOutNeighbors(v), graph.getOutNeighbors(v));
+            assertSameSet(grph.getInEdges(v), graph.getInEdges(v));
+            assertSameSet(grph.getOutEdges(v), graph.getOutEdges(v));
+            assertSameSet(grph.getEdgesIncidentTo(v), graph.getEdgesIncidentTo(v));
+            Assert.assertEquals(grph.getInEdgeDegree(v), graph.getInEdgeDegree(v));
+            Assert.assertEquals(grph.getOutEdgeDegree(v), graph.getOutEdgeDegree(v));
+            Assert.assertEquals(graph.getVertexColourIds().getInt(v), snapshot.getVertexColourId(v));
+            for (int pos = snapshot.getFirstOutEdge(v); pos < snapshot.getEndOfOutEdges(v); ++pos) {
+                int edge = snapshot.getOutEdgeId(pos);
+                Assert.assertEquals(v, graph.getTailOfTheEdge(edge));
+                Assert.assertEquals(graph.getHeadOfTheEdge(edge), snapshot.getOutTarget(pos));
+                Assert.assertEquals(graph.getEdgeColourIds().getInt(edge), snapshot.getOutEdgeColourId(pos));
+            }
+        }
+        // the views are read-only
+        try {
+            graph.getOutNeighbors(v0).add(v2);
+            Assert.fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+
+        // changing the graph drops the snapshot
+        graph.addEdge(v3, v1, colour(2));
+        Assert.assertFalse(graph.isFrozen());
+        Assert.assertTrue(graph.getInNeighbors(v1).contains(v3));
+        graph.freeze();
+        Assert.assertTrue(graph.getInNeighbors(v1).contains(v3));
+        // changes made directly on the Grph object are detected
+        grph.addDirectedSimpleEdge(v3, v2);
+        Assert.assertFalse(graph.isFrozen());
+        Assert.assertEquals(2, graph.getOutEdgeDegree(v3));
+    }
+
+    private void assertSameSet(IntSet expected, IntSet actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        int size = 0;
+        for (int element : actual) {
+            Assert.assertTrue(expected.contains(element));
+            Assert.assertTrue(actual.contains(element));
+            ++size;
+        }
+        Assert.assertEquals(expected.size(), size);
+    }
+}
@@ -0,0 +1,163 @@
+package org.aksw.simba.lemming;
+
+import org.aksw.simba.lemming.colour.InMemoryPalette;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.carrotsearch.hppc.BitSet;
+
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+public class ColouredGraphTest {
+
+    private static BitSet colour(int index) {
+        BitSet colour = new BitSet();
+        colour.set(index);
+        return colour;
+    }
+
+    @Test
+    public void testClonePreservesEdgeIds() {
+        ColouredGraph graph = new ColouredGraph();
+        int v0 = graph.addVertex(colour(0));
+        int v1 = graph.addVertex(colour(1));
+        int v2 = graph.addVertex(colour(0));
+        int e0 = graph.addEdge(v0, v1, colour(2));
+        int e1 = graph.addEdge(v1, v2, colour(3));
+        int e2 = graph.addEdge(v2, v2, colour(2));
+        int e3 = graph.addEdge(v2, v0, colour(3));
+        graph.removeEdge(e1);
+
+        ColouredGraph clone = graph.clone();
+        Assert.assertEquals(3, clone.getVertices().size());
+        Assert.assertTrue(clone.getVertices().containsAll(graph.getVertices()));
+        Assert.assertEquals(3, clone.getEdges().size());
+        for (int edge : new int[] { e0, e2, e3 }) {
+            Assert.assertTrue(clone.getEdges().contains(edge));
+            Assert.assertEquals(graph.getTailOfTheEdge(edge), clone.getTailOfTheEdge(edge));
+            Assert.assertEquals(graph.getHeadOfTheEdge(edge), clone.getHeadOfTheEdge(edge));
+            Assert.assertEquals(graph.getEdgeColour(edge), clone.getEdgeColour(edge));
+        }
+        Assert.assertFalse(clone.getEdges().contains(e1));
+        Assert.assertEquals(colour(1), clone.getVertexColour(v1));
+        Assert.assertEquals(graph.getMaxInEdgeDegrees(), clone.getMaxInEdgeDegrees(), 0);
+
+        // the clone is independent of the original graph
+        clone.addEdge(v0, v2, colour(2));
+        Assert.assertEquals(3, graph.getEdges().size());
+    }
+
+    @Test
+    public void testCloneOfFrozenGraph() {
+        ColouredGraph graph = new ColouredGraph();
+        int v0 = graph.addVertex(colour(0));
+        int v1 = graph.addVertex(colour(1));
+        int e0 = graph.addEdge(v0, v1, colour(2));
+        int e1 = graph.addEdge(v1, v0, colour(3));
+        int e2 = graph.addEdge(v1, v1, colour(2));
+        graph.removeEdge(e1);
+        ColouredGraphSnapshot snapshot = graph.freeze();
+
+        ColouredGraph clone = graph.clone();
+        Assert.assertSame(snapshot, clone.getSnapshot());
+        Assert.assertEquals(2, clone.getGraph().getNumberOfEdges());
+        for (int edge : new int[] { e0, e2 }) {
+            Assert.assertEquals(graph.getTailOfTheEdge(edge), clone.getGraph().getDirectedSimpleEdgeTail(edge));
+            Assert.assertEquals(graph.getHeadOfTheEdge(edge), clone.getGraph().getDirectedSimpleEdgeHead(edge));
+            Assert.assertEquals(graph.getEdgeColour(edge), clone.getEdgeColour(edge));
+        }
+        Assert.assertFalse(clone.getGraph().getEdges().contains(e1));
+
+        // changing the clone drops its snapshot only
+        clone.addEdge(v0, v1, colour(2));
+        Assert.assertFalse(clone.isFrozen());
+        Assert.assertSame(snapshot, graph.getSnapshot());
+    }
+
+    @Test
+    public void testModificationCount() {
+        ColouredGraph graph = new ColouredGraph();
+        int v0 = graph.addVertex(colour(0));
+        int v1 = graph.addVertex(colour(1));
+        int e0 = graph.addEdge(v0, v1, colour(2));
+        long count = graph.getModificationCount();
+        // reading the graph does not change the counter
+        graph.getNeighbourhood();
+        graph.getEdgeColour(e0);
+        Assert.assertEquals(count, graph.getModificationCount());
+        // changes that keep the number of vertices and edges are counted as well
+        graph.removeEdge(e0);
+        graph.addEdge(v0, v1, colour(2));
+        Assert.assertTrue(graph.getModificationCount() > count);
+        count = graph.getModificationCount();
+        graph.setVertexColour(v1, colour(0));
+        Assert.assertTrue(graph.getModificationCount() > count);
+    }
+
+    @Test
+    public void testColourIndexes() {
+        ColouredGraph graph = new ColouredGraph();
+        int v0 = graph.addVertex(colour(0));
+        int v1 = graph.addVertex(colour(1));
+        // the indexes are created lazily and updated afterwards
+        Assert.assertEquals(1, graph.getVertices(colour(0)).size());
+        int v2 = graph.addVertex(colour(0));
+        IntSet vertices = graph.getVertices(colour(0));
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.contains(v0));
+        Assert.assertTrue(vertices.contains(v2));
+
+        graph.setVertexColour(v2, colour(1));
+        vertices = graph.getVertices(colour(1));
+        Assert.assertEquals(2, vertices.size());
+        Assert.assertTrue(vertices.contains(v1));
+        Assert.assertTrue(vertices.contains(v2));
+        Assert.assertTrue(graph.getVertices(colour(5)).isEmpty());
+
+        int e0 = graph.addEdge(v0, v1, colour(2));
+        Assert.assertEquals(1, graph.getEdges(colour(2)).size());
+        int e1 = graph.addEdge(v1, v2, colour(2));
+        int e2 = graph.addEdge(v2, v0, colour(3));
+        Assert.assertEquals(2, graph.getEdges(colour(2)).size());
+        graph.removeEdge(e0);
+        IntSet edges = graph.getEdges(colour(2));
+        Assert.assertEquals(1, edges.size());
+        Assert.assertTrue(edges.contains(e1));
+        graph.setEdgeColour(e1, colour(3));
+        edges = graph.getEdges(colour(3));
+        Assert.assertEquals(2, edges.size());
+        Assert.assertTrue(edges.contains(e1));
+        Assert.assertTrue(edges.contains(e2));
+        Assert.assertTrue(graph.getEdges(colour(2)).isEmpty());
+
+        // changes made directly on the Grph object are detected
+        graph.getGraph().addVertex();
+        Assert.assertEquals(2, graph.getVertices(colour(1)).size());
+        Assert.assertEquals(1, graph.getVertices(null).size());
+    }
+
+    @Test
+    public void testInternedColours() {
+        ColouredGraph graph = new ColouredGraph();
+        BitSet colour = colour(0);
+        int v0 = graph.addVertex(colour);
+        int v1 = graph.addVertex(colour(0));
+        int v2 = graph.addVertex(colour(1));
+        Assert.assertEquals(graph.getVertexColourIds().getInt(v0), graph.getVertexColourIds().getInt(v1));
+        Assert.assertNotEquals(graph.getVertexColourIds().getInt(v0), graph.getVertexColourIds().getInt(v2));
+        Assert.assertSame(graph.getVertexColour(v0), graph.getVertexColour(v1));
+
+        // changing the given colour does not change the colour of the vertex
+        colour.set(5);
+        Assert.assertEquals(colour(0), graph.getVertexColour(v0));
+
+        // the colours are interned in a new palette
+        InMemoryPalette palette = new InMemoryPalette();
+        palette.internColour(colour(7));
+        graph.setVertexPalette(palette);
+        Assert.assertEquals(colour(0), graph.getVertexColour(v0));
+        Assert.assertEquals(colour(1), graph.getVertexColour(v2));
+        Assert.assertEquals(palette.getColourId(colour(1)), graph.getVertexColourIds().getInt(v2));
+        Assert.assertEquals(3, graph.getVertexColours().size());
+    }
+}
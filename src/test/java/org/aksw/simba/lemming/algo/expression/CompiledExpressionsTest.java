@@ -0,0 +1,55 @@
+package org.aksw.simba.lemming.algo.expression;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.aksw.simba.lemming.metrics.single.AvgVertexDegreeMetric;
+import org.aksw.simba.lemming.metrics.single.NumberOfEdgesMetric;
+import org.aksw.simba.lemming.metrics.single.NumberOfVerticesMetric;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
+
+public class CompiledExpressionsTest {
+
+    private static final double DELTA = 0.0000001;
+
+    @Test
+    public void testEvaluationMatchesExpressions() {
+        Expression edges = new AtomicVariable(new NumberOfEdgesMetric());
+        Expression vertices = new AtomicVariable(new NumberOfVerticesMetric());
+        Expression degree = new AtomicVariable(new AvgVertexDegreeMetric());
+        List<Expression> expressions = Arrays.asList(
+                new Operation(edges, vertices, Operator.DIV),
+                new Operation(new Operation(edges, new Constant(2), Operator.TIMES),
+                        new Operation(vertices, degree, Operator.TIMES), Operator.MINUS),
+                new Operation(degree, new Operation(edges, new Operation(vertices, new Constant(1.5), Operator.PLUS),
+                        Operator.DIV), Operator.MINUS),
+                new Constant(3));
+
+        CompiledExpressions compiled = new CompiledExpressions(expressions);
+        Assert.assertEquals(4, compiled.getNumberOfExpressions());
+        Assert.assertEquals(3, compiled.getNumberOfMetrics());
+        Assert.assertEquals(0, compiled.getMetricSlot("#edges"));
+        Assert.assertEquals(-1, compiled.getMetricSlot("unknown"));
+
+        ObjectDoubleOpenHashMap<String> graphMetrics = new ObjectDoubleOpenHashMap<String>();
+        graphMetrics.put("#edges", 12);
+        graphMetrics.put("#vertices", 5);
+        graphMetrics.put("avgDegree", 2.4);
+        double[] metricValues = new double[compiled.getNumberOfMetrics()];
+        double[] stack = new double[compiled.getStackSize()];
+        compiled.fillMetricValues(graphMetrics, metricValues);
+        for (int i = 0; i < expressions.size(); ++i) {
+            Assert.assertEquals(expressions.get(i).getValue(graphMetrics), compiled.evaluate(i, metricValues, stack),
+                    DELTA);
+        }
+
+        // missing metrics lead to NaN like for the original expressions
+        graphMetrics.remove("avgDegree");
+        compiled.fillMetricValues(graphMetrics, metricValues);
+        Assert.assertTrue(Double.isNaN(compiled.evaluate(1, metricValues, stack)));
+        Assert.assertEquals(12.0 / 5.0, compiled.evaluate(0, metricValues, stack), DELTA);
+    }
+}
@@ -0,0 +1,60 @@
+package org.aksw.simba.lemming.algo.expression;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.aksw.simba.lemming.metrics.single.AvgVertexDegreeMetric;
+import org.aksw.simba.lemming.metrics.single.NumberOfEdgesMetric;
+import org.aksw.simba.lemming.metrics.single.NumberOfVerticesMetric;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
+
+public class MetricMatrixTest {
+
+    private static final double DELTA = 0.0000001;
+
+    @Test
+    public void testEvaluationMatchesExpressions() {
+        Expression edges = new AtomicVariable(new NumberOfEdgesMetric());
+        Expression vertices = new AtomicVariable(new NumberOfVerticesMetric());
+        Expression degree = new AtomicVariable(new AvgVertexDegreeMetric());
+        List<Expression> expressions = Arrays.asList(
+                new Operation(edges, vertices, Operator.DIV),
+                new Operation(new Operation(edges, new Constant(2), Operator.TIMES),
+                        new Operation(vertices, degree, Operator.TIMES), Operator.MINUS),
+                new Operation(degree, new Operation(edges, new Operation(vertices, new Constant(1.5), Operator.PLUS),
+                        Operator.DIV), Operator.MINUS),
+                new Operation(new Constant(3), edges, Operator.DIV),
+                new Constant(3));
+
+        double values[][] = new double[][] { { 12, 5, 2.4 }, { 20, 8, 2.5 }, { 7, 7, 1 } };
+        @SuppressWarnings("unchecked")
+        ObjectDoubleOpenHashMap<String> graphVectors[] = new ObjectDoubleOpenHashMap[values.length + 1];
+        for (int i = 0; i < values.length; ++i) {
+            graphVectors[i] = new ObjectDoubleOpenHashMap<String>();
+            graphVectors[i].put("#edges", values[i][0]);
+            graphVectors[i].put("#vertices", values[i][1]);
+            graphVectors[i].put("avgDegree", values[i][2]);
+        }
+        // the last graph misses the average degree
+        graphVectors[values.length] = new ObjectDoubleOpenHashMap<String>();
+        graphVectors[values.length].put("#edges", 3);
+        graphVectors[values.length].put("#vertices", 4);
+
+        MetricMatrix matrix = new MetricMatrix(graphVectors);
+        Assert.assertEquals(graphVectors.length, matrix.getNumberOfGraphs());
+        Assert.assertEquals(3, matrix.getNumberOfMetrics());
+        Assert.assertEquals(-1, matrix.getMetricIndex("unknown"));
+        Assert.assertTrue(Double.isNaN(matrix.getValues(matrix.getMetricIndex("avgDegree"))[values.length]));
+
+        for (Expression expression : expressions) {
+            double actual[] = matrix.evaluate(expression);
+            Assert.assertEquals(graphVectors.length, actual.length);
+            for (int i = 0; i < graphVectors.length; ++i) {
+                Assert.assertEquals(expression.toString(), expression.getValue(graphVectors[i]), actual[i], DELTA);
+            }
+        }
+    }
+}
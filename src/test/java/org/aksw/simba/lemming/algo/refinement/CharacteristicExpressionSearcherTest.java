@@ -0,0 +1,72 @@
+package org.aksw.simba.lemming.algo.refinement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+
+import org.aksw.simba.lemming.IColouredGraph;
+import org.aksw.simba.lemming.algo.refinement.fitness.MinSquaredError;
+import org.aksw.simba.lemming.algo.refinement.operator.LeaveNodeReplacingRefinementOperator;
+import org.aksw.simba.lemming.algo.refinement.redberry.RedberryBasedFactory;
+import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
+
+public class CharacteristicExpressionSearcherTest {
+
+    @Test
+    public void test() {
+        List<SingleValueMetric> metrics = new ArrayList<SingleValueMetric>();
+        metrics.add(new TestMetric("x"));
+        metrics.add(new TestMetric("y"));
+        metrics.add(new TestMetric("z"));
+        // x / y is constant for all graphs
+        double values[][] = new double[][] { { 2, 1, 5 }, { 4, 2, 3 }, { 6, 3, 1 } };
+        @SuppressWarnings("unchecked")
+        ObjectDoubleOpenHashMap<String> graphVectors[] = new ObjectDoubleOpenHashMap[values.length];
+        for (int i = 0; i < values.length; ++i) {
+            graphVectors[i] = new ObjectDoubleOpenHashMap<String>();
+            for (int j = 0; j < metrics.size(); ++j) {
+                graphVectors[i].put(metrics.get(j).getName(), values[i][j]);
+            }
+        }
+
+        int settings[][] = new int[][] { { 1, 1 }, { 4, 1 }, { 4, 3 } };
+        for (int setting[] : settings) {
+            CharacteristicExpressionSearcher searcher = new CharacteristicExpressionSearcher(metrics,
+                    new LeaveNodeReplacingRefinementOperator(metrics), new RedberryBasedFactory(),
+                    new MinSquaredError(), 1.0, 20);
+            searcher.setParallelism(setting[0]);
+            searcher.setBeamWidth(setting[1]);
+            SortedSet<RefinementNode> bestNodes = searcher.findExpression(graphVectors, 1);
+            RefinementNode best = bestNodes.last();
+            Assert.assertEquals(1.0, best.getFitness(), 0.0);
+            double expected = best.getExpression().getValue(graphVectors[0]);
+            for (int i = 1; i < graphVectors.length; ++i) {
+                Assert.assertEquals(expected, best.getExpression().getValue(graphVectors[i]), 0.0);
+            }
+        }
+    }
+
+    protected static class TestMetric implements SingleValueMetric {
+
+        private String name;
+
+        public TestMetric(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public double apply(IColouredGraph graph) {
+            return 0;
+        }
+
+    }
+}
@@ -0,0 +1,56 @@
+package org.aksw.simba.lemming.creation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AbstractDatasetManagerTest {
+
+    private static final String EX = "http://example.org/";
+
+    @Test
+    public void testLoadingWindow() {
+        AbstractDatasetManager manager = new AbstractDatasetManager("test");
+        manager.setNumberOfThreads(2);
+        int[] createdGraphs = new int[1];
+        GraphCreator creator = new GraphCreator() {
+            @Override
+            public ColouredGraph processModel(Model model) {
+                ++createdGraphs[0];
+                return super.processModel(model);
+            }
+        };
+
+        List<Supplier<CompletableFuture<Model>>> versions = new ArrayList<Supplier<CompletableFuture<Model>>>();
+        for (int i = 0; i < 5; ++i) {
+            int version = i;
+            versions.add(() -> {
+                // at most two versions are loaded ahead of the graph creation
+                Assert.assertTrue(version < createdGraphs[0] + 2);
+                if (version == 4) {
+                    // a version without a model is skipped
+                    return CompletableFuture.completedFuture(null);
+                }
+                Model model = ModelFactory.createDefaultModel();
+                Resource subject = model.createResource(EX + "s" + version);
+                model.add(subject, model.createProperty(EX + "p"), model.createResource(EX + "o"));
+                return CompletableFuture.completedFuture(model);
+            });
+        }
+        ColouredGraph[] graphs = manager.createGraphs(versions, creator);
+        Assert.assertEquals(4, graphs.length);
+        Assert.assertEquals(4, createdGraphs[0]);
+        // the models are released after their graphs have been created
+        for (Supplier<CompletableFuture<Model>> version : versions) {
+            Assert.assertNull(version);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.aksw.simba.lemming.creation;
+
+import java.io.StringReader;
+
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompiledInfererTest {
+
+    private static final String EX = "http://example.org/";
+
+    private static final String ONTOLOGY = "@prefix rdfs: <http://www.w3.org/2000/01/rdf-schema#> .\n"
+            + "@prefix owl: <http://www.w3.org/2002/07/owl#> .\n"
+            + "@prefix ex: <" + EX + "> .\n"
+            + "ex:knows a owl:ObjectProperty , owl:SymmetricProperty ; rdfs:domain ex:Person .\n"
+            + "ex:likes a owl:ObjectProperty ; owl:equivalentProperty ex:fancies ; rdfs:domain ex:Fan ;"
+            + " rdfs:range ex:Human .\n"
+            + "ex:fancies a owl:ObjectProperty .\n"
+            + "ex:parentOf a owl:ObjectProperty ; owl:inverseOf ex:childOf .\n"
+            + "ex:childOf a owl:ObjectProperty ; rdfs:range ex:Human .\n"
+            + "ex:Human a owl:Class ; owl:equivalentClass ex:Person .\n"
+            + "ex:Person a owl:Class .\n"
+            + "ex:Fan a owl:Class .\n";
+
+    private static OntModel readOntology() {
+        OntModel ontModel = ModelFactory.createOntologyModel();
+        ontModel.read(new StringReader(ONTOLOGY), null, "TTL");
+        return ontModel;
+    }
+
+    private static Model readModel(String turtle) {
+        Model model = ModelFactory.createDefaultModel();
+        model.read(new StringReader("@prefix ex: <" + EX + "> .\n" + turtle), null, "TTL");
+        return model;
+    }
+
+    @Test
+    public void testSameResultAsInferer() {
+        Inferer inferer = new Inferer(true, readOntology());
+        CompiledInferer compiledInferer = new CompiledInferer(true, CompiledOntology.compile(readOntology()));
+
+        Model version1 = readModel("ex:a ex:knows ex:b . ex:a ex:fancies ex:c . ex:d ex:parentOf ex:e ."
+                + " ex:c a ex:Human .");
+        Model expected = inferer.process(version1);
+        Model actual = compiledInferer.process(version1);
+        Assert.assertTrue(actual.isIsomorphicWith(expected));
+        // the source model is not changed
+        Assert.assertEquals(4, version1.size());
+
+        // the types are only inferred from the statements that existed before the
+        // materialization, i.e., not from (b knows a) and (e childOf d)
+        Resource person = actual.getResource(EX + "Person");
+        Assert.assertTrue(actual.contains(actual.getResource(EX + "a"), RDF.type, person));
+        Assert.assertFalse(actual.contains(actual.getResource(EX + "b"), RDF.type, person));
+        Assert.assertFalse(actual.contains(actual.getResource(EX + "d"), RDF.type, person));
+        Assert.assertTrue(actual.contains(actual.getResource(EX + "b"), actual.getProperty(EX + "knows"),
+                actual.getResource(EX + "a")));
+        // the predicates and classes are renamed
+        Assert.assertFalse(actual.contains(null, actual.getProperty(EX + "fancies"), (Resource) null));
+        Assert.assertFalse(actual.contains(null, RDF.type, actual.getResource(EX + "Human")));
+
+        // the next version is based on the renamed and typed model of the previous one
+        Model additions = readModel("ex:b ex:knows ex:f . ex:f ex:fancies ex:a .");
+        expected = inferer.process(ModelFactory.createUnion(expected, additions));
+        actual = compiledInferer.process(ModelFactory.createUnion(actual, additions));
+        Assert.assertTrue(actual.isIsomorphicWith(expected));
+    }
+}
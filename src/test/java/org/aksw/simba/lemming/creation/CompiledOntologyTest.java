@@ -0,0 +1,89 @@
+package org.aksw.simba.lemming.creation;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.jena.ontology.OntModel;
+import org.apache.jena.ontology.OntModelSpec;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.system.StreamRDFLib;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CompiledOntologyTest {
+
+    private static final String RDF_NS = "http://www.w3.org/1999/02/22-rdf-syntax-ns#";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static OntModel readOntology() {
+        OntModel ontModel = ModelFactory.createOntologyModel(OntModelSpec.OWL_DL_MEM);
+        ontModel.read("src/test/resources/test_tran_ontology", "TTL");
+        return ontModel;
+    }
+
+    @Test
+    public void testEquivalences() {
+        CompiledOntology ontology = CompiledOntology.compile(readOntology());
+        // PA = PB = PC and A = B
+        int pa = ontology.getPropertyId(RDF_NS + "PA");
+        int pc = ontology.getPropertyId(RDF_NS + "PC");
+        Assert.assertEquals(pc, ontology.getPropertyRepresentative(pa));
+        Assert.assertEquals(pc, ontology.getPropertyRepresentative(ontology.getPropertyId(RDF_NS + "PB")));
+        Assert.assertEquals(pc, ontology.getPropertyRepresentative(pc));
+        int b = ontology.getClassId(RDF_NS + "B");
+        Assert.assertEquals(b, ontology.getClassRepresentative(ontology.getClassId(RDF_NS + "A")));
+        int c = ontology.getClassId(RDF_NS + "C");
+        Assert.assertEquals(c, ontology.getClassRepresentative(c));
+        // the representative has the domain and range of PA
+        Assert.assertArrayEquals(ontology.getDomains(pa), ontology.getDomains(pc));
+        Assert.assertEquals(1, ontology.getDomains(pc).length);
+        Assert.assertEquals("http://www.w3.org/2001/XMLSchema#domain",
+                ontology.getClassUri(ontology.getDomains(pc)[0]));
+        Assert.assertEquals(-1, ontology.getPropertyId(RDF_NS + "unknown"));
+    }
+
+    @Test
+    public void testInferenceStream() throws IOException {
+        File cacheFile = new File(folder.getRoot(), "test_tran_ontology.bin");
+        CompiledOntology compiled = CompiledOntology.loadOrCompile(cacheFile, CompiledOntologyTest::readOntology);
+        Assert.assertTrue(cacheFile.exists());
+        // the second time, the ontology is not needed
+        CompiledOntology cached = CompiledOntology.loadOrCompile(cacheFile, () -> {
+            throw new AssertionError("The ontology should have been read from the cache.");
+        });
+        Assert.assertEquals(compiled.getNumberOfClasses(), cached.getNumberOfClasses());
+        Assert.assertEquals(compiled.getNumberOfProperties(), cached.getNumberOfProperties());
+
+        Model actualModel = ModelFactory.createDefaultModel();
+        RDFDataMgr.parse(new TypeInferenceStream(StreamRDFLib.graph(actualModel.getGraph()), cached),
+                "test_tran_literal.ttl");
+
+        Model expModel = ModelFactory.createDefaultModel();
+        expModel.read("expected_tran_literal.ttl", "TTL");
+        Assert.assertTrue(actualModel.isIsomorphicWith(expModel));
+    }
+
+    @Test
+    public void testMaterialization() throws IOException {
+        OntModel ontModel = ModelFactory.createOntologyModel();
+        ontModel.read("skos_snippet.ttl");
+        File cacheFile = new File(folder.getRoot(), "skos_snippet.bin");
+        CompiledOntology.compile(ontModel).writeToFile(cacheFile);
+
+        // the materialization with the compiled ontology equals the one with the ontology model
+        Model actualModel = ModelFactory.createDefaultModel();
+        actualModel.read("materialization_graph.n3");
+        new GraphMaterializer(CompiledOntology.readFromFile(cacheFile)).materialize(actualModel);
+
+        Model expModel = ModelFactory.createDefaultModel();
+        expModel.read("materialization_graph.n3");
+        new GraphMaterializer(ontModel.listAllOntProperties().toSet()).materialize(expModel);
+        Assert.assertTrue(actualModel.isIsomorphicWith(expModel));
+    }
+}
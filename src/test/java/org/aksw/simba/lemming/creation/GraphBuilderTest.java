@@ -0,0 +1,79 @@
+package org.aksw.simba.lemming.creation;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.carrotsearch.hppc.BitSet;
+
+public class GraphBuilderTest {
+
+    private static final String DATA = "<http://example.org/class2> <http://www.w3.org/2000/01/rdf-schema#subClassOf> <http://example.org/class1> .\n"
+            + "<http://example.org/entity1> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://example.org/class1> .\n"
+            + "<http://example.org/entity1> <http://example.org/relation1> <http://example.org/entity2> .\n"
+            + "<http://example.org/entity1> <http://example.org/relation2> <http://example.org/entity2> .\n"
+            + "<http://example.org/entity2> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://example.org/class2> .\n"
+            + "<http://example.org/entity2> <http://example.org/relation2> _:b1 .\n"
+            + "<http://example.org/entity2> <http://www.w3.org/2000/01/rdf-schema#label> \"entity 2\" .\n"
+            + "<http://example.org/entity1> <http://example.org/relation1> <http://example.org/entity2> .\n"
+            + "<http://example.org/entity2> <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> <http://example.org/class2> .\n"
+            + "<http://example.org/entity2> <http://www.w3.org/2000/01/rdf-schema#label> \"entity 2\" .\n";
+
+    @Test
+    public void testStreamEqualsModel() {
+        ColouredGraph streamed = new GraphCreator()
+                .processStream(new ByteArrayInputStream(DATA.getBytes(StandardCharsets.UTF_8)), Lang.NTRIPLES);
+        Model model = ModelFactory.createDefaultModel();
+        model.read(new ByteArrayInputStream(DATA.getBytes(StandardCharsets.UTF_8)), null, "N-TRIPLES");
+        ColouredGraph expected = new GraphCreator().processModel(model);
+
+        // the duplicate triples are ignored
+        Assert.assertEquals(5, streamed.getGraph().getNumberOfVertices());
+        Assert.assertEquals(6, streamed.getGraph().getNumberOfEdges());
+        Assert.assertEquals(expected.getGraph().getNumberOfVertices(), streamed.getGraph().getNumberOfVertices());
+        Assert.assertEquals(expected.getGraph().getNumberOfEdges(), streamed.getGraph().getNumberOfEdges());
+        Assert.assertTrue(streamed.isFrozen());
+
+        // the colour IDs depend on the order of the triples
+        Assert.assertEquals(sortedCounts(expected.getVertexColours().toArray()),
+                sortedCounts(streamed.getVertexColours().toArray()));
+        Assert.assertEquals(sortedCounts(expected.getEdgeColours().toArray()),
+                sortedCounts(streamed.getEdgeColours().toArray()));
+
+        // every typed vertex has the colour of its class
+        BitSet class1 = streamed.getVertexPalette().getColour("http://example.org/class1");
+        BitSet class2 = streamed.getVertexPalette().getColour("http://example.org/class2");
+        Assert.assertEquals(1, countColours(streamed.getVertexColours().toArray()).get(class1).intValue());
+        Assert.assertEquals(1, countColours(streamed.getVertexColours().toArray()).get(class2).intValue());
+
+        Assert.assertEquals(1, streamed.getMapDTEdgeColoursToLiterals().size());
+        Assert.assertEquals(1, streamed.getMapDTEdgeColoursToLiterals().values().iterator().next().size());
+    }
+
+    private static List<Integer> sortedCounts(Object[] colours) {
+        List<Integer> counts = new ArrayList<Integer>(countColours(colours).values());
+        Collections.sort(counts);
+        return counts;
+    }
+
+    private static Map<BitSet, Integer> countColours(Object[] colours) {
+        Map<BitSet, Integer> counts = new HashMap<BitSet, Integer>();
+        for (Object colour : colours) {
+            if (colour != null) {
+                counts.merge((BitSet) colour, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+}
@@ -1,8 +1,13 @@
 package org.aksw.simba.lemming.creation.PrecomputingValues;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.aksw.simba.lemming.creation.Inferer;
 import org.apache.jena.ontology.OntClass;
@@ -190,4 +195,33 @@ public class InfererTest {
 
 		Assert.assertEquals(containerModel.size() + 1, actualModel.size());
 	}
+
+	@Test
+	public void testConcurrentProcessing() throws Exception {
+		Map<String, String> rdfsMap = new HashMap<>();
+		rdfsMap.put("22-rdf-syntax-ns", "TURTLE");
+		rdfsMap.put("rdf-schema", "TURTLE");
+		Inferer inferer = new Inferer(false, "dbpedia_test.owl", null, rdfsMap);
+
+		Model expModel = ModelFactory.createDefaultModel();
+		expModel.read("expected_literal.ttl", "TTL");
+
+		// the inferer is shared by the threads that load the versions of a dataset
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Model>> results = new ArrayList<>();
+			for (int i = 0; i < 8; ++i) {
+				results.add(executor.submit(() -> {
+					Model personModel = ModelFactory.createDefaultModel();
+					personModel.read("test_literal.ttl", "TTL");
+					return inferer.process(personModel);
+				}));
+			}
+			for (Future<Model> result : results) {
+				Assert.assertTrue(result.get().isIsomorphicWith(expModel));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
 }
@@ -0,0 +1,101 @@
+package org.aksw.simba.lemming.creation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.colour.ColourPalette;
+import org.aksw.simba.lemming.colour.InMemoryPalette;
+import org.aksw.simba.lemming.util.IOHelper;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StreamingGraphWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSameTriplesAsReverter() throws IOException {
+        for (String resource : new String[] { "graph1.n3", "graph2.n3" }) {
+            ColouredGraph graph = IOHelper.readGraphFromResource(this.getClass().getClassLoader(), resource, "N3");
+            Model expected = new GraphReverter(graph, ModelFactory.createDefaultModel()).processGraph();
+
+            StreamingGraphWriter writer = new StreamingGraphWriter(graph);
+            File file = new File(folder.getRoot(), resource + ".ttl");
+            List<File> files = writer.write(file);
+            Assert.assertEquals(1, files.size());
+            Model actual = ModelFactory.createDefaultModel();
+            RDFDataMgr.read(actual, files.get(0).getAbsolutePath(), Lang.TURTLE);
+            Assert.assertTrue(expected.isIsomorphicWith(actual));
+
+            // chunked and compressed N-Triples contain the same triples
+            writer = new StreamingGraphWriter(graph);
+            writer.setFormat(RDFFormat.NTRIPLES);
+            writer.setCompressed(true);
+            writer.setNumberOfChunks(3);
+            files = writer.write(new File(folder.getRoot(), resource + ".nt"));
+            Assert.assertEquals(3, files.size());
+            Model chunked = ModelFactory.createDefaultModel();
+            for (File chunk : files) {
+                Assert.assertTrue(chunk.getName().endsWith(".nt.gz"));
+                try (InputStream in = new GZIPInputStream(new FileInputStream(chunk))) {
+                    RDFDataMgr.read(chunked, in, Lang.NTRIPLES);
+                }
+            }
+            Assert.assertTrue(expected.isIsomorphicWith(chunked));
+        }
+    }
+
+    @Test
+    public void testDuplicatesOfSharedUris() throws IOException {
+        ColourPalette vertexPalette = new InMemoryPalette();
+        vertexPalette.addColour("http://example.org/Class1");
+        ColourPalette edgePalette = new InMemoryPalette();
+        edgePalette.addColour(RDF.type.getURI());
+        edgePalette.addColour("http://example.org/property");
+        ColouredGraph graph = new ColouredGraph(vertexPalette, edgePalette, new InMemoryPalette());
+        int a = graph.addVertex(vertexPalette.getColour("http://example.org/Class1"));
+        int b = graph.addVertex();
+        int c = graph.addVertex(vertexPalette.getColour("http://example.org/Class1"));
+        int d = graph.addVertex();
+        int e = graph.addVertex();
+        // b and d get the URI of the class, i.e., both have the same triple
+        graph.addEdge(a, b, edgePalette.getColour(RDF.type.getURI()));
+        graph.addEdge(c, d, edgePalette.getColour(RDF.type.getURI()));
+        graph.addEdge(b, e, edgePalette.getColour("http://example.org/property"));
+        graph.addEdge(d, e, edgePalette.getColour("http://example.org/property"));
+        Model expected = new GraphReverter(graph, ModelFactory.createDefaultModel()).processGraph();
+        Assert.assertEquals(3, expected.size());
+
+        for (int numberOfChunks = 1; numberOfChunks <= 5; ++numberOfChunks) {
+            StreamingGraphWriter writer = new StreamingGraphWriter(graph);
+            writer.setFormat(RDFFormat.NTRIPLES);
+            writer.setNumberOfChunks(numberOfChunks);
+            List<File> files = writer.write(new File(folder.getRoot(), "shared" + numberOfChunks + ".nt"));
+            Model actual = ModelFactory.createDefaultModel();
+            long writtenTriples = 0;
+            for (File chunk : files) {
+                writtenTriples += Files.readAllLines(chunk.toPath()).stream().filter(line -> !line.isEmpty())
+                        .count();
+                RDFDataMgr.read(actual, chunk.getAbsolutePath(), Lang.NTRIPLES);
+            }
+            // every triple is written exactly once
+            Assert.assertEquals(expected.size(), writtenTriples);
+            Assert.assertTrue(expected.isIsomorphicWith(actual));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.aksw.simba.lemming.metrics.metricselection;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.metrics.single.AbstractHybridIntersectionMetric;
+import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TriangleMetricSelectionTest {
+
+    /**
+     * In a sparse graph, the intersections are trivial and reading the
+     * neighbourhood and sorting the forward neighbours does not pay off.
+     */
+    @Test
+    public void testSparseGraph() {
+        int numberOfVertices = 1000;
+        ColouredGraph graph = new ColouredGraph();
+        for (int i = 0; i < numberOfVertices; ++i) {
+            graph.addVertex();
+        }
+        for (int i = 0; i < numberOfVertices; ++i) {
+            graph.addEdge(i, (i + 1) % numberOfVertices);
+        }
+
+        SingleValueMetric nodeMetric = new NodeTriangleMetricSelection().getMinComplexityMetric(graph);
+        Assert.assertFalse(nodeMetric.getClass().getName(), nodeMetric instanceof AbstractHybridIntersectionMetric);
+        SingleValueMetric edgeMetric = new EdgeTriangleMetricSelection().getMinComplexityMetric(graph);
+        Assert.assertFalse(edgeMetric.getClass().getName(), edgeMetric instanceof AbstractHybridIntersectionMetric);
+    }
+
+    /**
+     * In a dense graph, the intersections of the hubs are bounded by their
+     * bitsets.
+     */
+    @Test
+    public void testDenseGraph() {
+        int numberOfVertices = 200;
+        ColouredGraph graph = new ColouredGraph();
+        for (int i = 0; i < numberOfVertices; ++i) {
+            graph.addVertex();
+        }
+        for (int i = 0; i < numberOfVertices; ++i) {
+            for (int j = i + 1; j < numberOfVertices; ++j) {
+                graph.addEdge(i, j);
+            }
+        }
+
+        Assert.assertTrue(new NodeTriangleMetricSelection()
+                .getMinComplexityMetric(graph) instanceof org.aksw.simba.lemming.metrics.single.nodetriangles.HybridIntersectionMetric);
+        Assert.assertTrue(new EdgeTriangleMetricSelection()
+                .getMinComplexityMetric(graph) instanceof org.aksw.simba.lemming.metrics.single.edgetriangles.HybridIntersectionMetric);
+    }
+
+    /**
+     * The complexity of the hybrid metric is estimated from the degree
+     * statistics, i.e., the neighbourhood is not created by the selection.
+     */
+    @Test
+    public void testComplexityWithoutNeighbourhood() {
+        ColouredGraph graph = new ColouredGraph() {
+            @Override
+            public UndirectedNeighbourhood getNeighbourhood() {
+                throw new AssertionError("The neighbourhood should not be created.");
+            }
+        };
+        for (int i = 0; i < 100; ++i) {
+            graph.addVertex();
+        }
+        for (int i = 0; i < 100; ++i) {
+            graph.addEdge(i, (i + 1) % 100);
+            graph.addEdge(i, (i + 7) % 100);
+        }
+        Assert.assertTrue(new org.aksw.simba.lemming.metrics.single.nodetriangles.HybridIntersectionMetric()
+                .calculateComplexity(graph) > 0);
+        Assert.assertNotNull(new NodeTriangleMetricSelection().getMinComplexityMetric(graph));
+        Assert.assertNotNull(new EdgeTriangleMetricSelection().getMinComplexityMetric(graph));
+    }
+}
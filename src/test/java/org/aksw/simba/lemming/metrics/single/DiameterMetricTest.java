@@ -80,4 +80,13 @@ public class DiameterMetricTest {
 		double diameter = metric.apply(graph);
 		Assert.assertEquals(expectedDiameter, diameter, DELTA);
 	}
+
+	@Test
+	public void runApproximation() {
+		// the sweeps find the diameter of grids and rings
+		DiameterMetric metric = new DiameterMetric(DiameterMetric.DEFAULT_NUMBER_OF_SWEEPS);
+		DiameterMetricResult result = (DiameterMetricResult) metric.applyUpdatable(graph);
+		Assert.assertEquals(expectedDiameter, result.getResult(), DELTA);
+		Assert.assertEquals(expectedDiameter, result.getDiameterPath().getLength());
+	}
 }
@@ -0,0 +1,99 @@
+package org.aksw.simba.lemming.metrics.single.benchmark;
+
+import java.util.Random;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.openjdk.jmh.annotations.*;
+
+import com.carrotsearch.hppc.BitSet;
+
+import grph.Grph;
+import grph.algo.MultiThreadProcessing;
+import grph.in_memory.InMemoryGrph;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+import static org.aksw.simba.lemming.metrics.single.benchmark.BenchmarkConfig.numberOfForks;
+import static org.aksw.simba.lemming.metrics.single.benchmark.BenchmarkConfig.warmUpIterations;
+import static org.aksw.simba.lemming.metrics.single.benchmark.BenchmarkConfig.iterations;
+
+/**
+ * Compares {@link ColouredGraph#clone()} with the former clone that added
+ * every edge inside a synchronized block. The synthetic graphs have roughly
+ * the size of the Semantic Web Dog Food and the LinkedGeoData graphs.
+ */
+public class BenchmarkColouredGraphClone {
+
+    private static final int NUMBER_OF_COLOURS = 64;
+
+    @State(Scope.Benchmark)
+    public static class Graphs {
+
+        /**
+         * number of vertices and number of edges
+         */
+        @Param({ "45000:240000", "600000:3000000" })
+        public String size;
+
+        public ColouredGraph graph;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            String[] parts = size.split(":");
+            int numberOfVertices = Integer.parseInt(parts[0]);
+            int numberOfEdges = Integer.parseInt(parts[1]);
+            Random random = new Random(42);
+            BitSet[] colours = new BitSet[NUMBER_OF_COLOURS];
+            for (int i = 0; i < colours.length; ++i) {
+                colours[i] = new BitSet();
+                colours[i].set(i);
+            }
+            graph = new ColouredGraph();
+            for (int i = 0; i < numberOfVertices; ++i) {
+                graph.addVertex(colours[random.nextInt(colours.length)]);
+            }
+            for (int i = 0; i < numberOfEdges; ++i) {
+                graph.addEdge(random.nextInt(numberOfVertices), random.nextInt(numberOfVertices),
+                        colours[random.nextInt(colours.length)]);
+            }
+        }
+    }
+
+    @Fork(value = numberOfForks, warmups = warmUpIterations)
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = warmUpIterations)
+    @Measurement(iterations = iterations)
+    public ColouredGraph bulkClone(Graphs graphs) {
+        return graphs.graph.clone();
+    }
+
+    @Fork(value = numberOfForks, warmups = warmUpIterations)
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = warmUpIterations)
+    @Measurement(iterations = iterations)
+    public ColouredGraph synchronizedClone(Graphs graphs) {
+        Grph graph = graphs.graph.getGraph();
+        Grph rawClonedGrph = new InMemoryGrph();
+        rawClonedGrph.addVertices(graph.getVertices());
+        new MultiThreadProcessing(graph.getEdges()) {
+
+            @Override
+            protected void run(int threadID, int edgeID) {
+                synchronized (rawClonedGrph) {
+                    IntSet vertexIDs = graph.getVerticesIncidentToEdge(edgeID);
+                    int[] arrVertIDs = vertexIDs.toIntArray();
+                    if (arrVertIDs.length == 2) {
+                        rawClonedGrph.addDirectedSimpleEdge(arrVertIDs[0], edgeID, arrVertIDs[1]);
+                    } else if (arrVertIDs.length == 1) {
+                        rawClonedGrph.addDirectedSimpleEdge(arrVertIDs[0], edgeID, arrVertIDs[0]);
+                    }
+                }
+            }
+        };
+        ColouredGraph clone = new ColouredGraph(rawClonedGrph, null, null);
+        clone.setVertexColours(graphs.graph.getVertexColours());
+        clone.setEdgeColours(graphs.graph.getEdgeColours());
+        return clone;
+    }
+}
@@ -0,0 +1,123 @@
+package org.aksw.simba.lemming.metrics.single.benchmark;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.aksw.simba.lemming.metrics.dist.ObjectDistribution;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.IOfferedItem;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByAliasMethod;
+import org.aksw.simba.lemming.mimicgraph.colourmetrics.utils.OfferedItemByRandomProb;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static org.aksw.simba.lemming.metrics.single.benchmark.BenchmarkConfig.numberOfForks;
+import static org.aksw.simba.lemming.metrics.single.benchmark.BenchmarkConfig.warmUpIterations;
+import static org.aksw.simba.lemming.metrics.single.benchmark.BenchmarkConfig.iterations;
+
+/**
+ * Compares the cumulative array based {@link OfferedItemByRandomProb} with
+ * the alias table based {@link OfferedItemByAliasMethod}.
+ */
+public class BenchmarkOfferedItems {
+
+    private static final int DRAWS = 10000;
+
+    @State(Scope.Benchmark)
+    public static class Distributions {
+
+        @Param({ "10", "1000", "100000" })
+        public int sampleSpaceSize;
+
+        public ObjectDistribution<Integer> distribution;
+
+        /**
+         * Filter containing every 10th item of the sample space
+         */
+        public Set<Integer> filter;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            Integer[] sampleSpace = new Integer[sampleSpaceSize];
+            double[] values = new double[sampleSpaceSize];
+            filter = new HashSet<Integer>();
+            for (int i = 0; i < sampleSpaceSize; ++i) {
+                sampleSpace[i] = i;
+                values[i] = random.nextDouble();
+                if ((i % 10) == 0) {
+                    filter.add(i);
+                }
+            }
+            distribution = new ObjectDistribution<Integer>(sampleSpace, values);
+        }
+    }
+
+    private static void draw(IOfferedItem<Integer> proposer, Blackhole blackhole) {
+        for (int i = 0; i < DRAWS; ++i) {
+            blackhole.consume(proposer.getPotentialItem());
+        }
+    }
+
+    private static void drawFiltered(IOfferedItem<Integer> proposer, Set<Integer> filter, Blackhole blackhole) {
+        for (int i = 0; i < DRAWS; ++i) {
+            blackhole.consume(proposer.getPotentialItem(filter, true));
+        }
+    }
+
+    @Fork(value = numberOfForks, warmups = warmUpIterations)
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = warmUpIterations)
+    @Measurement(iterations = iterations)
+    public void cumulativeArray(Distributions distributions, Blackhole blackhole) {
+        draw(new OfferedItemByRandomProb<Integer>(distributions.distribution, new Random(1)), blackhole);
+    }
+
+    @Fork(value = numberOfForks, warmups = warmUpIterations)
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = warmUpIterations)
+    @Measurement(iterations = iterations)
+    public void aliasMethod(Distributions distributions, Blackhole blackhole) {
+        draw(new OfferedItemByAliasMethod<Integer>(distributions.distribution, new Random(1)), blackhole);
+    }
+
+    @Fork(value = numberOfForks, warmups = warmUpIterations)
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = warmUpIterations)
+    @Measurement(iterations = iterations)
+    public void cumulativeArrayFiltered(Distributions distributions, Blackhole blackhole) {
+        drawFiltered(new OfferedItemByRandomProb<Integer>(distributions.distribution, new Random(1)),
+                distributions.filter, blackhole);
+    }
+
+    @Fork(value = numberOfForks, warmups = warmUpIterations)
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = warmUpIterations)
+    @Measurement(iterations = iterations)
+    public void aliasMethodFiltered(Distributions distributions, Blackhole blackhole) {
+        drawFiltered(new OfferedItemByAliasMethod<Integer>(distributions.distribution, new Random(1)),
+                distributions.filter, blackhole);
+    }
+
+    @Fork(value = numberOfForks, warmups = warmUpIterations)
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = warmUpIterations)
+    @Measurement(iterations = iterations)
+    public void cumulativeArrayFilteredConstructor(Distributions distributions, Blackhole blackhole) {
+        draw(new OfferedItemByRandomProb<Integer>(distributions.distribution, distributions.filter, 1), blackhole);
+    }
+
+    @Fork(value = numberOfForks, warmups = warmUpIterations)
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = warmUpIterations)
+    @Measurement(iterations = iterations)
+    public void aliasMethodFilteredConstructor(Distributions distributions, Blackhole blackhole) {
+        draw(new OfferedItemByAliasMethod<Integer>(distributions.distribution, distributions.filter, 1), blackhole);
+    }
+}
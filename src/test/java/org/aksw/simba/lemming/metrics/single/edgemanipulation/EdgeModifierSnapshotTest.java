@@ -0,0 +1,179 @@
+package org.aksw.simba.lemming.metrics.single.edgemanipulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import org.aksw.simba.lemming.AddEdgeDecorator;
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.ColouredGraphDecorator;
+import org.aksw.simba.lemming.RemoveEdgeDecorator;
+import org.aksw.simba.lemming.metrics.single.MaxVertexDegreeMetric;
+import org.aksw.simba.lemming.metrics.single.SingleValueMetric;
+import org.aksw.simba.lemming.metrics.single.TriangleMetricResult;
+import org.aksw.simba.lemming.metrics.single.UpdatableMetricResult;
+import org.aksw.simba.lemming.metrics.single.edgetriangles.EdgeTriangleMetric;
+import org.aksw.simba.lemming.metrics.single.nodetriangles.NodeTriangleMetric;
+import org.aksw.simba.lemming.metrics.single.updateDegree.UpdateMetricTest;
+import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
+import org.aksw.simba.lemming.util.NeighbourArrays;
+import org.aksw.simba.lemming.util.UndirectedNeighbourhood;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.ObjectDoubleOpenHashMap;
+
+import grph.Grph.DIRECTION;
+
+public class EdgeModifierSnapshotTest extends UpdateMetricTest {
+
+    @Test
+    public void testEvaluationDoesNotChangeGraph() {
+        ColouredGraph graph = buildGraph1();
+        MaxVertexDegreeMetric metric = new MaxVertexDegreeMetric(DIRECTION.in);
+        List<SingleValueMetric> metrics = new ArrayList<SingleValueMetric>();
+        metrics.add(metric);
+        EdgeModifier modifier = new EdgeModifier(graph, metrics);
+        EdgeModifierSnapshot snapshot = modifier.getSnapshot();
+        Assert.assertEquals(3.0, snapshot.getMapPrevMetricsResult().get(metric.getName()).getResult(), 0);
+
+        // remove edge 1 = (0, 2)
+        TripleBaseSingleID removeTriple = new TripleBaseSingleID(0, null, 2, null, 1, new BitSet());
+        HashMap<String, UpdatableMetricResult> removeResults = new HashMap<>();
+        ObjectDoubleOpenHashMap<String> removeValues = snapshot.tryToRemoveAnEdge(removeTriple, removeResults);
+        Assert.assertEquals(2.0, removeValues.get(metric.getName()), 0);
+
+        // add edge (0, 1)
+        TripleBaseSingleID addTriple = new TripleBaseSingleID(0, null, 1, null, -1, new BitSet());
+        HashMap<String, UpdatableMetricResult> addResults = new HashMap<>();
+        ObjectDoubleOpenHashMap<String> addValues = snapshot.tryToAddAnEdge(addTriple, addResults);
+        Assert.assertEquals(3.0, addValues.get(metric.getName()), 0);
+
+        // the values can be written to an array indexed like the metrics
+        double[] metricValues = new double[metrics.size()];
+        snapshot.tryToAddAnEdge(addTriple, new HashMap<>(), metricValues);
+        Assert.assertEquals(addValues.get(metric.getName()), metricValues[0], 0);
+
+        // neither the graph nor the previous results have been changed
+        Assert.assertEquals(4, graph.getEdges().size());
+        Assert.assertEquals(3.0, snapshot.getMapPrevMetricsResult().get(metric.getName()).getResult(), 0);
+
+        modifier.executeAddingAnEdge(addTriple, addValues, addResults);
+        Assert.assertEquals(5, graph.getEdges().size());
+        Assert.assertNotSame(snapshot, modifier.getSnapshot());
+        Assert.assertSame(addResults.get(metric.getName()),
+                modifier.getSnapshot().getMapPrevMetricsResult().get(metric.getName()));
+    }
+
+    @Test
+    public void testTriangleMetrics() {
+        ColouredGraph graph = buildGraph1();
+        graph.addVertex();
+        NodeTriangleMetric nodeTriangles = new NodeTriangleMetric();
+        EdgeTriangleMetric edgeTriangles = new EdgeTriangleMetric();
+        List<SingleValueMetric> metrics = new ArrayList<SingleValueMetric>();
+        metrics.add(nodeTriangles);
+        metrics.add(edgeTriangles);
+        EdgeModifier modifier = new EdgeModifier(graph, metrics);
+        Assert.assertTrue(
+                modifier.getMapPrevMetricsResult().get(nodeTriangles.getName()) instanceof TriangleMetricResult);
+
+        // add (3, 1), (3, 2), (2, 3), (3, 0), a self loop and remove (1, 2) and
+        // (2, 3) again
+        int[][] additions = new int[][] { { 3, 1 }, { 3, 2 }, { 2, 3 }, { 3, 0 }, { 3, 3 } };
+        for (int[] edge : additions) {
+            TripleBaseSingleID triple = new TripleBaseSingleID(edge[0], null, edge[1], null, -1, new BitSet());
+            HashMap<String, UpdatableMetricResult> results = new HashMap<>();
+            ObjectDoubleOpenHashMap<String> values = modifier.tryToAddAnEdge(triple, results);
+            // evaluating another candidate does not change the graph
+            modifier.tryToRemoveAnEdge(new TripleBaseSingleID(0, null, 1, null, 0, new BitSet()),
+                    new HashMap<String, UpdatableMetricResult>());
+            modifier.executeAddingAnEdge(triple, values, results);
+            assertTriangles(graph, values, nodeTriangles, edgeTriangles);
+        }
+        int[] removals = new int[] { 2, graph.getEdges().size() - 3 };
+        for (int edgeId : removals) {
+            TripleBaseSingleID triple = new TripleBaseSingleID(graph.getTailOfTheEdge(edgeId), null,
+                    graph.getHeadOfTheEdge(edgeId), null, edgeId, new BitSet());
+            HashMap<String, UpdatableMetricResult> results = new HashMap<>();
+            ObjectDoubleOpenHashMap<String> values = modifier.tryToRemoveAnEdge(triple, results);
+            modifier.executeRemovingAnEdge(triple, values, results);
+            assertTriangles(graph, values, nodeTriangles, edgeTriangles);
+        }
+    }
+
+    @Test
+    public void testTriangleResultIsNotChanged() {
+        ColouredGraph graph = buildGraph1();
+        TriangleMetricResult result = (TriangleMetricResult) TriangleMetricResult.create("triangles", 1, graph);
+        UndirectedNeighbourhood neighbourhood = result.getNeighbourhood();
+        // a decorator has the same number of edges as the graph but simulates a
+        // change
+        ColouredGraphDecorator decorator = new AddEdgeDecorator(new RemoveEdgeDecorator(graph, false), true);
+        Assert.assertFalse(TriangleMetricResult.create("triangles", 1, decorator) instanceof TriangleMetricResult);
+
+        // changing the graph directly replaces its neighbourhood but not the one
+        // of the previous result
+        graph.getGraph().addDirectedSimpleEdge(2, 0);
+        Assert.assertEquals(2, result.getTriangleSupport(graph, 0, 2).getMultiplicity());
+        Assert.assertNotSame(neighbourhood, graph.getNeighbourhood());
+        Assert.assertSame(neighbourhood, result.getNeighbourhood());
+    }
+
+    private void assertTriangles(ColouredGraph graph, ObjectDoubleOpenHashMap<String> values,
+            NodeTriangleMetric nodeTriangles, EdgeTriangleMetric edgeTriangles) {
+        ColouredGraph copy = graph.copy();
+        Assert.assertEquals(nodeTriangles.apply(copy), values.get(nodeTriangles.getName()), 0);
+        Assert.assertEquals(edgeTriangles.apply(copy), values.get(edgeTriangles.getName()), 0);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotIsReadOnly() {
+        List<SingleValueMetric> metrics = new ArrayList<SingleValueMetric>();
+        EdgeModifier modifier = new EdgeModifier(buildGraph1(), metrics);
+        modifier.getSnapshot().getGraph().removeEdge(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOutdatedSnapshot() {
+        ColouredGraph graph = buildGraph1();
+        List<SingleValueMetric> metrics = new ArrayList<SingleValueMetric>();
+        metrics.add(new MaxVertexDegreeMetric(DIRECTION.in));
+        EdgeModifier modifier = new EdgeModifier(graph, metrics);
+        EdgeModifierSnapshot snapshot = modifier.getSnapshot();
+        // creating a snapshot must not freeze the graph
+        Assert.assertFalse(graph.isFrozen());
+
+        TripleBaseSingleID addTriple = new TripleBaseSingleID(0, null, 1, null, -1, new BitSet());
+        HashMap<String, UpdatableMetricResult> addResults = new HashMap<>();
+        modifier.executeAddingAnEdge(addTriple, snapshot.tryToAddAnEdge(addTriple, addResults), addResults);
+        // the new snapshot can be used while the old one rejects evaluations
+        Assert.assertNotNull(modifier.getSnapshot().tryToAddAnEdge(addTriple, new HashMap<>()));
+        snapshot.tryToAddAnEdge(addTriple, new HashMap<>());
+    }
+
+    @Test
+    public void testNeighbourArraysOfDecorators() {
+        ColouredGraph graph = buildGraph1();
+        graph.freeze();
+        ColouredGraphDecorator addDecorator = new AddEdgeDecorator(graph, true);
+        addDecorator.setTriple(new TripleBaseSingleID(0, null, 1, null, -1, new BitSet()));
+        ColouredGraphDecorator removeDecorator = new RemoveEdgeDecorator(graph, false);
+        removeDecorator.setTriple(new TripleBaseSingleID(0, null, 2, null, 1, new BitSet()));
+        for (ColouredGraphDecorator decorator : new ColouredGraphDecorator[] { addDecorator, removeDecorator }) {
+            for (DIRECTION direction : new DIRECTION[] { DIRECTION.in, DIRECTION.out }) {
+                int[][] expected = decorator.getNeighbors(direction);
+                NeighbourArrays neighbours = decorator.getNeighbourArrays(direction);
+                for (int v = 0; v < graph.getVertices().size(); ++v) {
+                    int[] expectedNeighbours = expected[v].clone();
+                    int[] actualNeighbours = neighbours.get(v).clone();
+                    Arrays.sort(expectedNeighbours);
+                    Arrays.sort(actualNeighbours);
+                    Assert.assertArrayEquals(expectedNeighbours, actualNeighbours);
+                }
+            }
+        }
+    }
+}
@@ -71,4 +71,13 @@ public class NodeNumberOfTrianglesMetricTests extends NumberOfTrianglesMetricTes
         this.metric = new EdgeIteratorMetric();
         test();
     }
+
+    @Test
+    public void hybridIntersectionMetric() {
+        this.metric = new HybridIntersectionMetric();
+        test();
+        // bitsets for all vertices with forward neighbours
+        this.metric = new HybridIntersectionMetric(1);
+        test();
+    }
 }
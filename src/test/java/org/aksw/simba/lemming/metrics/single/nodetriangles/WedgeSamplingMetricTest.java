@@ -0,0 +1,81 @@
+package org.aksw.simba.lemming.metrics.single.nodetriangles;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.metrics.metricselection.EdgeTriangleMetricSelection;
+import org.aksw.simba.lemming.metrics.metricselection.NodeTriangleMetricSelection;
+import org.aksw.simba.lemming.metrics.single.AbstractWedgeSamplingMetric;
+import org.aksw.simba.lemming.metrics.single.ApproximateMetricResult;
+import org.aksw.simba.lemming.metrics.single.edgetriangles.EdgeTriangleMetric;
+import org.aksw.simba.lemming.util.IOHelper;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WedgeSamplingMetricTest {
+
+    private static final long SEED = 42;
+
+    @Test
+    public void testNodeTriangles() {
+        ColouredGraph graph = IOHelper.readGraphFromResource("email-Eu-core.n3", "N3");
+        Assert.assertNotNull(graph);
+        double expectedNumOfTriangles = 105461;
+
+        WedgeSamplingMetric metric = new WedgeSamplingMetric(SEED);
+        ApproximateMetricResult result = metric.estimate(graph);
+        checkEstimate(expectedNumOfTriangles, result);
+        // the result depends only on the seed
+        Assert.assertEquals(result.getResult(), metric.apply(graph), 0.0);
+    }
+
+    @Test
+    public void testEdgeTriangles() {
+        ColouredGraph graph = IOHelper.readGraphFromResource("email-Eu-core.n3", "N3");
+        Assert.assertNotNull(graph);
+        double expectedNumOfTriangles = new EdgeTriangleMetric().apply(graph);
+
+        ApproximateMetricResult result = new org.aksw.simba.lemming.metrics.single.edgetriangles.WedgeSamplingMetric(
+                SEED).estimate(graph);
+        checkEstimate(expectedNumOfTriangles, result);
+    }
+
+    @Test
+    public void testGraphWithoutWedges() {
+        ColouredGraph graph = new ColouredGraph();
+        graph.addVertex();
+        graph.addVertex();
+        graph.addEdge(0, 1);
+        ApproximateMetricResult result = new WedgeSamplingMetric(SEED).estimate(graph);
+        Assert.assertEquals(0, result.getResult(), 0.0);
+        Assert.assertEquals(0, result.getUpperBound(), 0.0);
+    }
+
+    @Test
+    public void testSelection() {
+        ColouredGraph graph = IOHelper.readGraphFromResource("email-Eu-core.n3", "N3");
+        Assert.assertNotNull(graph);
+        WedgeSamplingMetric nodeEstimator = new WedgeSamplingMetric(1000, 0.95, SEED);
+        AbstractWedgeSamplingMetric edgeEstimator = new org.aksw.simba.lemming.metrics.single.edgetriangles.WedgeSamplingMetric(
+                1000, 0.95, SEED);
+
+        // exact metrics are chosen by default and if they fit into the budget
+        Assert.assertFalse(new NodeTriangleMetricSelection()
+                .getMinComplexityMetric(graph) instanceof WedgeSamplingMetric);
+        Assert.assertNotSame(nodeEstimator, new NodeTriangleMetricSelection(Double.POSITIVE_INFINITY, nodeEstimator)
+                .getMinComplexityMetric(graph));
+        Assert.assertNotSame(nodeEstimator,
+                new NodeTriangleMetricSelection(0, null).getMinComplexityMetric(graph));
+        // the estimation is chosen if the budget is exceeded
+        Assert.assertSame(nodeEstimator,
+                new NodeTriangleMetricSelection(0, nodeEstimator).getMinComplexityMetric(graph));
+        Assert.assertSame(edgeEstimator,
+                new EdgeTriangleMetricSelection(0, edgeEstimator).getMinComplexityMetric(graph));
+    }
+
+    private void checkEstimate(double expected, ApproximateMetricResult result) {
+        Assert.assertTrue(result.getLowerBound() <= result.getResult());
+        Assert.assertTrue(result.getResult() <= result.getUpperBound());
+        Assert.assertEquals(0.95, result.getConfidence(), 0.0);
+        Assert.assertTrue("Relative error " + result.getRelativeError(), result.getRelativeError() < 0.05);
+        Assert.assertEquals(expected, result.getResult(), 0.05 * expected);
+    }
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import org.aksw.simba.lemming.metrics.single.NumberOfTrianglesMetricTest;
 import org.aksw.simba.lemming.metrics.single.edgetriangles.EdgeIteratorMetric;
 import org.aksw.simba.lemming.metrics.single.edgetriangles.EdgeNumberOfSimpleTrianglesMetric;
+import org.aksw.simba.lemming.metrics.single.edgetriangles.HybridIntersectionMetric;
 import org.aksw.simba.lemming.metrics.single.edgetriangles.MultiThreadedNodeNeighborsCommonEdgesMetric;
 import org.aksw.simba.lemming.metrics.single.edgetriangles.NodeIteratorMetric;
 import org.aksw.simba.lemming.metrics.single.edgetriangles.forward.ForwardEdgeTriangleMetric;
@@ -62,4 +63,13 @@ public class EdgeNumberOfTrianglesMetricTests extends NumberOfTrianglesMetricTes
         this.metric = new EdgeIteratorMetric();
         test();
     }
+
+    @Test
+    public void hybridIntersectionMetric() {
+        this.metric = new HybridIntersectionMetric();
+        test();
+        // bitsets for all vertices with forward neighbours
+        this.metric = new HybridIntersectionMetric(1);
+        test();
+    }
 }
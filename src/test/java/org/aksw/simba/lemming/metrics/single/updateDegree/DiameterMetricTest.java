@@ -7,6 +7,7 @@ import org.aksw.simba.lemming.AddEdgeDecorator;
 import org.aksw.simba.lemming.ColouredGraph;
 import org.aksw.simba.lemming.ColouredGraphDecorator;
 import org.aksw.simba.lemming.RemoveEdgeDecorator;
+import org.aksw.simba.lemming.grph.DiameterAlgorithm;
 import org.aksw.simba.lemming.metrics.single.DiameterMetric;
 import org.aksw.simba.lemming.metrics.single.DiameterMetricResult;
 import org.aksw.simba.lemming.metrics.single.UpdatableMetricResult;
@@ -123,6 +124,41 @@ public class DiameterMetricTest {
         Assert.assertEquals(0, (int) metric.apply(graph));
     }
 
+    @Test
+    public void testRemovalIncreasesDiameter() {
+        // Bidirectional ring: the diameter is half of the number of nodes
+        int numberOfNodes = 6;
+        Grph graph = new InMemoryGrph();
+        for (int i = 0; i < numberOfNodes; i++) {
+            graph.addVertex();
+        }
+        int[] forwardEdges = new int[numberOfNodes];
+        int[] backwardEdges = new int[numberOfNodes];
+        for (int i = 0; i < numberOfNodes; i++) {
+            forwardEdges[i] = graph.addDirectedSimpleEdge(i, (i + 1) % numberOfNodes);
+            backwardEdges[i] = graph.addDirectedSimpleEdge((i + 1) % numberOfNodes, i);
+        }
+        ColouredGraph colouredGraph = new ColouredGraph(graph, null, null);
+        DiameterMetric metric = new DiameterMetric();
+
+        // previous result with a diameter path starting at node 0
+        DiameterMetricResult resultObj = new DiameterMetricResult(metric.getName(), numberOfNodes / 2);
+        resultObj.setDiameterPath(new DiameterAlgorithm().computeLongestPath(colouredGraph, 0));
+        Assert.assertEquals(numberOfNodes / 2, resultObj.getDiameterPath().getLength());
+
+        // Remove the edge from the second node of the path back to node 0. The
+        // longest path starting at node 0 keeps its length while the distance
+        // from the second node to node 0 grows to the length of the ring - 1
+        int second = resultObj.getDiameterPath().containsVertex(1) ? 1 : numberOfNodes - 1;
+        int edgeId = (second == 1) ? backwardEdges[0] : forwardEdges[numberOfNodes - 1];
+        TripleBaseSingleID triple = new TripleBaseSingleID(second, null, 0, null, edgeId, null);
+        RemoveEdgeDecorator remDec = new RemoveEdgeDecorator(colouredGraph, false);
+        remDec.setTriple(triple);
+        resultObj = (DiameterMetricResult) metric.update(remDec, triple, Operation.REMOVE, resultObj);
+        Assert.assertEquals(numberOfNodes - 1, (int) resultObj.getResult());
+        Assert.assertEquals(numberOfNodes - 1, resultObj.getDiameterPath().getLength());
+    }
+
     @Test
     public void simulateGraphOptimizationPhase() {
         // Build graph
@@ -0,0 +1,97 @@
+package org.aksw.simba.lemming.mimicgraph.colourmetrics.utils;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.aksw.simba.lemming.metrics.dist.ObjectDistribution;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OfferedItemByAliasMethodTest {
+
+    private static final int DRAWS = 100000;
+
+    private ObjectDistribution<String> createDistribution() {
+        return new ObjectDistribution<String>(new String[] { "a", "b", "c", "d" }, new double[] { 1, 2, 0, 5 });
+    }
+
+    @Test
+    public void testDistribution() {
+        OfferedItemByAliasMethod<String> proposer = new OfferedItemByAliasMethod<String>(createDistribution(),
+                new Random(1));
+        int[] counts = new int[4];
+        for (int i = 0; i < DRAWS; ++i) {
+            counts[proposer.getPotentialItem().charAt(0) - 'a']++;
+        }
+        Assert.assertEquals(1.0 / 8, counts[0] / (double) DRAWS, 0.01);
+        Assert.assertEquals(2.0 / 8, counts[1] / (double) DRAWS, 0.01);
+        Assert.assertEquals(0, counts[2]);
+        Assert.assertEquals(5.0 / 8, counts[3] / (double) DRAWS, 0.01);
+    }
+
+    @Test
+    public void testFilteredDraws() {
+        OfferedItemByAliasMethod<String> proposer = new OfferedItemByAliasMethod<String>(createDistribution(),
+                new Random(1));
+        Set<String> filter = new HashSet<String>();
+        filter.add("a");
+        filter.add("b");
+        int countA = 0;
+        for (int i = 0; i < DRAWS; ++i) {
+            String item = proposer.getPotentialItem(filter);
+            Assert.assertTrue(filter.contains(item));
+            if ("a".equals(item)) {
+                ++countA;
+            }
+        }
+        Assert.assertEquals(1.0 / 3, countA / (double) DRAWS, 0.01);
+
+        filter.clear();
+        filter.add("x");
+        Assert.assertNull(proposer.getPotentialItem(filter));
+    }
+
+    @Test
+    public void testCachedFilteredViews() {
+        OfferedItemByAliasMethod<String> proposer = new OfferedItemByAliasMethod<String>(createDistribution(),
+                new Random(1));
+        // "c" cannot be drawn from the complete table, i.e., the filtered view is
+        // created and cached
+        Set<String> filter = new HashSet<String>();
+        filter.add("c");
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals("c", proposer.getPotentialItem(filter));
+        }
+        // changing the filter must not reuse the view of the old filter
+        filter.clear();
+        filter.add("a");
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals("a", proposer.getPotentialItem(filter, true));
+        }
+        filter.clear();
+        filter.add("c");
+        Assert.assertEquals("c", proposer.getPotentialItem(filter, false));
+
+        proposer.clearFilteredViews();
+        Assert.assertEquals("c", proposer.getPotentialItem(filter));
+    }
+
+    @Test
+    public void testViews() {
+        OfferedItemByAliasMethod<String> proposer = new OfferedItemByAliasMethod<String>(createDistribution(), 1);
+        Set<String> filter = new HashSet<String>();
+        filter.add("b");
+        filter.add("c");
+        OfferedItemByAliasMethod<String> view = proposer.createFilteredView(filter);
+        Assert.assertEquals(2, view.size());
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals("b", view.getPotentialItem());
+        }
+
+        OfferedItemByAliasMethod<String> reweighted = view.createReweightedView(new double[] { 0, 1 });
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals("c", reweighted.getPotentialItem());
+        }
+    }
+}
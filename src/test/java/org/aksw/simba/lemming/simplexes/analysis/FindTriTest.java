@@ -0,0 +1,129 @@
+package org.aksw.simba.lemming.simplexes.analysis;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.colour.ColourPalette;
+import org.aksw.simba.lemming.colour.InMemoryPalette;
+import org.aksw.simba.lemming.simplexes.TriColos;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.carrotsearch.hppc.BitSet;
+
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+public class FindTriTest {
+
+    private static final double DELTA = 0.0000001;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static BitSet colour(int index) {
+        BitSet colour = new BitSet();
+        colour.set(index);
+        return colour;
+    }
+
+    @Test
+    public void testTriangleCounts() {
+        ColourPalette edgePalette = new InMemoryPalette();
+        edgePalette.addColour("http://example.org/p");
+        edgePalette.addColour(RDF.type.toString());
+        BitSet p = edgePalette.getColour("http://example.org/p");
+        BitSet type = edgePalette.getColour(RDF.type.toString());
+        ColouredGraph graph = new ColouredGraph(new InMemoryPalette(), edgePalette);
+
+        // connected triangle with two parallel edges between a and b
+        int a = graph.addVertex(colour(0));
+        int b = graph.addVertex(colour(0));
+        int c = graph.addVertex(colour(0));
+        int d = graph.addVertex(colour(1));
+        int ab1 = graph.addEdge(a, b, p);
+        int ab2 = graph.addEdge(a, b, p);
+        int bc = graph.addEdge(b, c, p);
+        int ca = graph.addEdge(c, a, p);
+        graph.addEdge(c, d, p);
+        // isolated triangle, g is only connected to a class vertex
+        int e = graph.addVertex(colour(0));
+        int f = graph.addVertex(colour(1));
+        int g = graph.addVertex(colour(1));
+        int k = graph.addVertex(colour(2));
+        graph.addEdge(e, f, p);
+        graph.addEdge(f, g, p);
+        graph.addEdge(g, e, p);
+        graph.addEdge(g, k, type);
+        // triangle with an RDF type edge is ignored
+        int h = graph.addVertex(colour(3));
+        int i = graph.addVertex(colour(3));
+        graph.addEdge(h, i, p);
+        graph.addEdge(i, k, type);
+        graph.addEdge(k, h, p);
+
+        FindTri findTri = new FindTri();
+        findTri.computeTriangles(graph);
+
+        Assert.assertEquals(1, findTri.getmTriColoEdgesTriCountDistAvg().size());
+        double[] counts = findTri.getmTriColoEdgesTriCountDistAvg().get(new TriColos(colour(0), colour(0), colour(0)));
+        Assert.assertEquals(1, counts[0], DELTA);
+        Assert.assertEquals(4, counts[1], DELTA);
+        Assert.assertEquals(1, counts[2], DELTA);
+        Assert.assertEquals(0.1, counts[3], DELTA);
+        IntSet edges = findTri.getmGraphsEdgesIdsConnectedTri().get(1);
+        Assert.assertEquals(4, edges.size());
+        for (int edge : new int[] { ab1, ab2, bc, ca }) {
+            Assert.assertTrue(edges.contains(edge));
+        }
+        IntSet vertices = findTri.getmGraphsVertIdsConnectedTri().get(1);
+        Assert.assertEquals(3, vertices.size());
+        Assert.assertTrue(vertices.contains(a) && vertices.contains(b) && vertices.contains(c));
+
+        Assert.assertEquals(1, findTri.getmIsolatedTriColoEdgesTriCountDistAvg().size());
+        counts = findTri.getmIsolatedTriColoEdgesTriCountDistAvg().get(new TriColos(colour(0), colour(1), colour(1)));
+        Assert.assertEquals(1, counts[0], DELTA);
+        Assert.assertEquals(3, counts[1], DELTA);
+        vertices = findTri.getmGraphsVertIdsIsolatedTri().get(1);
+        Assert.assertEquals(3, vertices.size());
+        Assert.assertTrue(vertices.contains(e) && vertices.contains(f) && vertices.contains(g));
+        Assert.assertEquals(3, findTri.getmGraphsEdgesIdsIsolatedTri().get(1).size());
+    }
+
+    @Test
+    public void testFile() throws IOException {
+        ColourPalette edgePalette = new InMemoryPalette();
+        edgePalette.addColour("http://example.org/p");
+        BitSet p = edgePalette.getColour("http://example.org/p");
+        ColouredGraph graph = new ColouredGraph(new InMemoryPalette(), edgePalette);
+        int a = graph.addVertex(colour(0));
+        int b = graph.addVertex(colour(1));
+        int c = graph.addVertex(colour(70));
+        graph.addEdge(a, b, p);
+        graph.addEdge(b, c, p);
+        graph.addEdge(c, a, p);
+        int d = graph.addVertex(colour(1));
+        graph.addEdge(c, d, p);
+
+        FindTri findTri = new FindTri();
+        findTri.computeTriangles(graph);
+        File file = new File(folder.getRoot(), "triangles.bin");
+        findTri.writeToFile(file);
+        FindTri readTri = FindTri.readFromFile(file);
+
+        Assert.assertEquals(1, readTri.getmTriColoEdgesTriCountDistAvg().size());
+        TriColos triColos = new TriColos(colour(0), colour(1), colour(70));
+        Assert.assertArrayEquals(findTri.getmTriColoEdgesTriCountDistAvg().get(triColos),
+                readTri.getmTriColoEdgesTriCountDistAvg().get(triColos), DELTA);
+        Assert.assertEquals(0, readTri.getmIsolatedTriColoEdgesTriCountDistAvg().size());
+        Assert.assertEquals(findTri.getmGraphsEdgesIdsConnectedTri().get(1),
+                readTri.getmGraphsEdgesIdsConnectedTri().get(1));
+        Assert.assertEquals(findTri.getmGraphsVertIdsConnectedTri().get(1),
+                readTri.getmGraphsVertIdsConnectedTri().get(1));
+        Assert.assertTrue(readTri.getmGraphsVertIdsIsolatedTri().get(1).isEmpty());
+        Assert.assertTrue(readTri.getmGraphsEdgesIdsIsolatedTri().get(1).isEmpty());
+    }
+}
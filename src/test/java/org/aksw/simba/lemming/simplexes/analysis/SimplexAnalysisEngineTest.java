@@ -0,0 +1,163 @@
+package org.aksw.simba.lemming.simplexes.analysis;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.colour.ColourPalette;
+import org.aksw.simba.lemming.colour.InMemoryPalette;
+import org.aksw.simba.lemming.simplexes.TriColos;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.carrotsearch.hppc.BitSet;
+
+import grph.DefaultIntSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+public class SimplexAnalysisEngineTest {
+
+    private static final double DELTA = 0.0000001;
+
+    private static BitSet colour(int index) {
+        BitSet colour = new BitSet();
+        colour.set(index);
+        return colour;
+    }
+
+    private static ColourPalette createEdgePalette() {
+        ColourPalette edgePalette = new InMemoryPalette();
+        edgePalette.addColour("http://example.org/p");
+        edgePalette.addColour(RDF.type.toString());
+        return edgePalette;
+    }
+
+    @Test
+    public void testStructure() {
+        ColourPalette edgePalette = createEdgePalette();
+        BitSet p = edgePalette.getColour("http://example.org/p");
+        BitSet type = edgePalette.getColour(RDF.type.toString());
+        ColouredGraph graph = new ColouredGraph(new InMemoryPalette(), edgePalette);
+
+        // isolated 1-simplex with a self loop at one end
+        int a = graph.addVertex(colour(0));
+        int b = graph.addVertex(colour(0));
+        int ab = graph.addEdge(a, b, p);
+        int aa = graph.addEdge(a, a, p);
+        // isolated self loop
+        int c = graph.addVertex(colour(1));
+        int cc = graph.addEdge(c, c, p);
+        // 0-simplex
+        int d = graph.addVertex(colour(1));
+        // vertex with a class
+        int e = graph.addVertex(colour(1));
+        int k = graph.addVertex(colour(2));
+        int ek = graph.addEdge(e, k, type);
+
+        SimplexGraphStructure structure = new SimplexGraphStructure(graph);
+        Assert.assertTrue(structure.isIsolated1Simplex(ab));
+        Assert.assertFalse(structure.isIsolated1Simplex(aa));
+        Assert.assertTrue(structure.isIsolatedSelfLoop(cc));
+        Assert.assertFalse(structure.isIsolatedSelfLoop(aa));
+        Assert.assertTrue(structure.isIsolatedVertex(d));
+        Assert.assertFalse(structure.isIsolatedVertex(c));
+        Assert.assertEquals(1, structure.getNumberOfSelfLoops(a));
+        Assert.assertEquals(aa, structure.getSelfLoopEdgeId(structure.getFirstSelfLoop(a)));
+        Assert.assertEquals(0, structure.getNumberOfSelfLoops(b));
+        Assert.assertTrue(structure.isClassVertex(k));
+        Assert.assertFalse(structure.isClassVertex(e));
+        Assert.assertTrue(structure.isRDFTypeEdge(ek));
+        Assert.assertFalse(structure.isRDFTypeEdge(ab));
+        Assert.assertTrue(structure.isIsolated1Simplex(ek));
+        Assert.assertFalse(structure.isOutdated());
+
+        // the engine recomputes the structure after the graph has been changed
+        SimplexAnalysisEngine engine = new SimplexAnalysisEngine(new ColouredGraph[] { graph });
+        Assert.assertFalse(engine.getStructure(1).isIsolatedVertex(e));
+        graph.removeEdge(ek);
+        Assert.assertTrue(structure.isOutdated());
+        Assert.assertTrue(engine.getStructures()[0].isIsolatedVertex(e));
+        Assert.assertFalse(engine.getStructure(1).isClassVertex(k));
+
+        // changes that keep the number of vertices and edges are detected as well
+        structure = engine.getStructure(1);
+        graph.setEdgeColour(ab, type);
+        Assert.assertTrue(structure.isOutdated());
+        Assert.assertTrue(engine.getStructure(1).isClassVertex(b));
+    }
+
+    @Test
+    public void testEdgeSets() {
+        ColourPalette edgePalette = createEdgePalette();
+        BitSet p = edgePalette.getColour("http://example.org/p");
+        ColouredGraph graph = new ColouredGraph(new InMemoryPalette(), edgePalette);
+        int a = graph.addVertex(colour(0));
+        int b = graph.addVertex(colour(0));
+        int c = graph.addVertex(colour(0));
+        int d = graph.addVertex(colour(0));
+        int ab1 = graph.addEdge(a, b, p);
+        int ab2 = graph.addEdge(b, a, p);
+        int bc = graph.addEdge(b, c, p);
+        int cd = graph.addEdge(c, d, p);
+        int aa = graph.addEdge(a, a, p);
+
+        SimplexGraphStructure structure = new SimplexGraphStructure(graph);
+        IntSet vertices = new DefaultIntSet(4);
+        vertices.add(a);
+        vertices.add(b);
+        vertices.add(c);
+        IntSet between = structure.getEdgesBetween(vertices);
+        Assert.assertEquals(3, between.size());
+        Assert.assertTrue(between.contains(ab1));
+        Assert.assertTrue(between.contains(ab2));
+        Assert.assertTrue(between.contains(bc));
+
+        IntSet excluded = new DefaultIntSet(4);
+        excluded.add(ab1);
+        excluded.add(cd);
+        IntSet remaining = structure.getEdgesNotIn(excluded);
+        Assert.assertEquals(3, remaining.size());
+        Assert.assertTrue(remaining.contains(ab2));
+        Assert.assertTrue(remaining.contains(bc));
+        Assert.assertTrue(remaining.contains(aa));
+    }
+
+    @Test
+    public void testTrianglesOfSeveralGraphs() {
+        ColourPalette edgePalette = createEdgePalette();
+        BitSet p = edgePalette.getColour("http://example.org/p");
+        ColouredGraph[] graphs = new ColouredGraph[3];
+        for (int i = 0; i < graphs.length; i += 2) {
+            ColouredGraph graph = new ColouredGraph(new InMemoryPalette(), edgePalette);
+            // triangle connected to a fourth vertex
+            int a = graph.addVertex(colour(0));
+            int b = graph.addVertex(colour(0));
+            int c = graph.addVertex(colour(i));
+            int d = graph.addVertex(colour(0));
+            graph.addEdge(a, b, p);
+            graph.addEdge(b, c, p);
+            graph.addEdge(c, a, p);
+            graph.addEdge(c, d, p);
+            graphs[i] = graph;
+        }
+
+        SimplexAnalysisEngine engine = new SimplexAnalysisEngine(graphs);
+        Assert.assertEquals(2, engine.getNumberOfGraphs());
+        FindTri triangles = engine.getTriangles();
+        Assert.assertSame(triangles, engine.getTriangles());
+
+        FindTri expected = new FindTri();
+        expected.computeTriangles(graphs[0]);
+        expected.computeTriangles(graphs[2]);
+        Assert.assertEquals(2, triangles.getmTriColoEdgesTriCountDistAvg().size());
+        for (TriColos triColos : new TriColos[] { new TriColos(colour(0), colour(0), colour(0)),
+                new TriColos(colour(0), colour(0), colour(2)) }) {
+            double[] counts = triangles.getmTriColoEdgesTriCountDistAvg().get(triColos);
+            double[] expectedCounts = expected.getmTriColoEdgesTriCountDistAvg().get(triColos);
+            Assert.assertArrayEquals(expectedCounts, counts, DELTA);
+        }
+        for (int graphId = 1; graphId <= 2; graphId++) {
+            Assert.assertEquals(3, triangles.getmGraphsVertIdsConnectedTri().get(graphId).size());
+            Assert.assertEquals(3, triangles.getmGraphsEdgesIdsConnectedTri().get(graphId).size());
+            Assert.assertEquals(0, triangles.getmGraphsVertIdsIsolatedTri().get(graphId).size());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.aksw.simba.lemming.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.aksw.simba.lemming.ColouredGraph;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testKey() throws IOException {
+        File input = folder.newFolder("input");
+        File file = new File(input, "a.nt");
+        Files.write(file.toPath(), "a".getBytes(StandardCharsets.UTF_8));
+        List<File> inputs = Arrays.asList(input, new File(folder.getRoot(), "missing"));
+
+        String key = ArtifactCache.createKey(inputs, "config");
+        Assert.assertEquals(key, ArtifactCache.createKey(inputs, "config"));
+        Assert.assertNotEquals(key, ArtifactCache.createKey(inputs, "other config"));
+
+        Files.write(file.toPath(), "b".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNotEquals(key, ArtifactCache.createKey(inputs, "config"));
+        key = ArtifactCache.createKey(inputs, "config");
+
+        Files.write(new File(input, "b.nt").toPath(), new byte[0]);
+        Assert.assertNotEquals(key, ArtifactCache.createKey(inputs, "config"));
+    }
+
+    @Test
+    public void testArtifacts() throws IOException {
+        File cacheFolder = folder.newFolder("cache");
+        ColouredGraph[] graphs = new ColouredGraph[2];
+        graphs[0] = IOHelper.readGraphFromResource(this.getClass().getClassLoader(), "graph1.n3", "N3");
+        graphs[1] = IOHelper.readGraphFromResource(this.getClass().getClassLoader(), "graph_loop_2.n3", "N3");
+
+        ArtifactCache cache = new ArtifactCache(cacheFolder, "test", "key1");
+        Assert.assertNull(cache.readGraphs());
+        Assert.assertNull(cache.readObject("values"));
+        cache.writeGraphs(graphs);
+        ArrayList<String> values = new ArrayList<String>(Arrays.asList("a", "b"));
+        cache.writeObject("values", values);
+
+        ColouredGraph[] cachedGraphs = cache.readGraphs();
+        Assert.assertEquals(graphs.length, cachedGraphs.length);
+        for (int i = 0; i < graphs.length; ++i) {
+            Assert.assertEquals(graphs[i], cachedGraphs[i]);
+            Assert.assertTrue(cachedGraphs[i].isFrozen());
+        }
+        Assert.assertEquals(values, cache.readObject("values"));
+
+        // a new key replaces the outdated entry
+        ArtifactCache newCache = new ArtifactCache(cacheFolder, "test", "key2");
+        Assert.assertNull(newCache.readGraphs());
+        newCache.writeGraphs(graphs);
+        Assert.assertFalse(cache.getEntryFolder().exists());
+        Assert.assertNotNull(newCache.readGraphs());
+    }
+}
@@ -0,0 +1,118 @@
+package org.aksw.simba.lemming.util;
+
+import org.aksw.simba.lemming.AddEdgeDecorator;
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.ColouredGraphDecorator;
+import org.aksw.simba.lemming.RemoveEdgeDecorator;
+import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
+import org.junit.Assert;
+import org.junit.Test;
+
+import grph.Grph;
+import grph.Grph.DIRECTION;
+import grph.in_memory.InMemoryGrph;
+
+public class DegreeHistogramTest {
+
+    private static final double DELTA = 0.0000001;
+
+    @Test
+    public void testUpdates() {
+        DegreeHistogram histogram = new DegreeHistogram(1);
+        for (int i = 0; i < 3; ++i) {
+            histogram.addVertex(i);
+        }
+        histogram.increment(0);
+        histogram.increment(0);
+        histogram.increment(1);
+        Assert.assertEquals(2, histogram.getMaxDegree());
+        Assert.assertEquals(1, histogram.getNumberOfVerticesWithDegree(0));
+        Assert.assertEquals(1, histogram.getNumberOfVerticesWithDegree(1));
+        Assert.assertEquals(1, histogram.getNumberOfVerticesWithDegree(2));
+        Assert.assertEquals(0, histogram.getNumberOfVerticesWithDegree(100));
+        Assert.assertEquals(1.0, histogram.getMean(), DELTA);
+        Assert.assertEquals(Math.sqrt(2.0 / 3), histogram.getStdDev(), DELTA);
+
+        histogram.decrement(0);
+        Assert.assertEquals(1, histogram.getMaxDegree());
+        Assert.assertEquals(2, histogram.getNumberOfVerticesWithDegree(1));
+        histogram.decrement(0);
+        histogram.decrement(1);
+        Assert.assertEquals(0, histogram.getMaxDegree());
+        Assert.assertEquals(3, histogram.getNumberOfVerticesWithDegree(0));
+        Assert.assertEquals(0.0, histogram.getStdDev(), DELTA);
+    }
+
+    @Test
+    public void testColouredGraph() {
+        ColouredGraph graph = new ColouredGraph();
+        int v0 = graph.addVertex();
+        int v1 = graph.addVertex();
+        int v2 = graph.addVertex();
+        graph.addEdge(v0, v1);
+        // the histograms are created lazily and updated afterwards
+        Assert.assertEquals(1.0, graph.getMaxInEdgeDegrees(), DELTA);
+        int edge = graph.addEdge(v0, v2);
+        graph.addEdge(v1, v2);
+        Assert.assertEquals(2.0, graph.getMaxInEdgeDegrees(), DELTA);
+        Assert.assertEquals(2.0, graph.getMaxOutEdgeDegrees(), DELTA);
+        assertHistogram(graph);
+
+        graph.removeEdge(edge);
+        Assert.assertEquals(1.0, graph.getMaxInEdgeDegrees(), DELTA);
+        Assert.assertEquals(2, graph.getNumberOfVerticesWithInDegree(1));
+        assertHistogram(graph);
+
+        // changes made directly on the Grph object are detected
+        graph.getGraph().addDirectedSimpleEdge(v2, v1);
+        Assert.assertEquals(2.0, graph.getMaxInEdgeDegrees(), DELTA);
+        assertHistogram(graph);
+    }
+
+    @Test
+    public void testDecorators() {
+        Grph grph = new InMemoryGrph();
+        int v0 = grph.addVertex();
+        int v1 = grph.addVertex();
+        int v2 = grph.addVertex();
+        grph.addDirectedSimpleEdge(v0, v1);
+        int edge = grph.addDirectedSimpleEdge(v0, v2);
+        grph.addDirectedSimpleEdge(v1, v2);
+        ColouredGraph graph = new ColouredGraph(grph, null, null);
+
+        ColouredGraphDecorator removeDecorator = new RemoveEdgeDecorator(graph, false);
+        removeDecorator.setTriple(new TripleBaseSingleID(v0, null, v2, null, edge, null));
+        ColouredGraph expected = new ColouredGraph(grph.clone(), null, null);
+        expected.getGraph().removeEdge(edge);
+        assertSameDegrees(expected, removeDecorator);
+
+        ColouredGraphDecorator addDecorator = new AddEdgeDecorator(graph, true);
+        addDecorator.setTriple(new TripleBaseSingleID(v2, null, v1, null, -1, null));
+        expected = new ColouredGraph(grph.clone(), null, null);
+        expected.getGraph().addDirectedSimpleEdge(v2, v1);
+        assertSameDegrees(expected, addDecorator);
+    }
+
+    private void assertHistogram(ColouredGraph graph) {
+        DegreeHistogram expected = DegreeHistogram.create(graph.getGraph(), DIRECTION.in);
+        DegreeHistogram histogram = graph.getDegreeHistogram(DIRECTION.in);
+        Assert.assertEquals(expected.getMaxDegree(), histogram.getMaxDegree());
+        Assert.assertEquals(expected.getSumOfSquaredDegrees(), histogram.getSumOfSquaredDegrees());
+        for (int d = 0; d <= expected.getMaxDegree(); ++d) {
+            Assert.assertEquals(expected.getNumberOfVerticesWithDegree(d), histogram.getNumberOfVerticesWithDegree(d));
+        }
+    }
+
+    private void assertSameDegrees(ColouredGraph expected, ColouredGraphDecorator decorator) {
+        Assert.assertEquals(expected.getMaxInEdgeDegrees(), decorator.getMaxInEdgeDegrees(), DELTA);
+        Assert.assertEquals(expected.getMaxOutEdgeDegrees(), decorator.getMaxOutEdgeDegrees(), DELTA);
+        Assert.assertEquals(expected.getStdDevInEdgeDegrees(), decorator.getStdDevInEdgeDegrees(), DELTA);
+        Assert.assertEquals(expected.getStdDevOutEdgeDegrees(), decorator.getStdDevOutEdgeDegrees(), DELTA);
+        for (int d = 0; d <= 3; ++d) {
+            Assert.assertEquals(expected.getNumberOfVerticesWithInDegree(d),
+                    decorator.getNumberOfVerticesWithInDegree(d));
+            Assert.assertEquals(expected.getNumberOfVerticesWithOutDegree(d),
+                    decorator.getNumberOfVerticesWithOutDegree(d));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.aksw.simba.lemming.util;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import grph.DefaultIntSet;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntSet;
+
+public class IndexedIntSetTest {
+
+    @Test
+    public void testAddRemove() {
+        IndexedIntSet set = new IndexedIntSet(2);
+        Assert.assertTrue(set.add(3));
+        Assert.assertTrue(set.add(17));
+        Assert.assertTrue(set.add(0));
+        Assert.assertFalse(set.add(17));
+        Assert.assertEquals(3, set.size());
+
+        Assert.assertTrue(set.remove(3));
+        Assert.assertFalse(set.remove(3));
+        Assert.assertFalse(set.contains(3));
+        Assert.assertTrue(set.contains(17));
+        Assert.assertTrue(set.contains(0));
+        Assert.assertFalse(set.contains(100));
+        Assert.assertEquals(2, set.size());
+
+        IntSet expected = new DefaultIntSet(Constants.DEFAULT_SIZE);
+        expected.add(0);
+        expected.add(17);
+        Assert.assertTrue(set.containsAll(expected));
+
+        set.clear();
+        Assert.assertTrue(set.isEmpty());
+        Assert.assertFalse(set.contains(17));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        IndexedIntSet set = new IndexedIntSet();
+        for (int i = 0; i < 10; ++i) {
+            set.add(i);
+        }
+        IntIterator iterator = set.iterator();
+        int count = 0;
+        while (iterator.hasNext()) {
+            int value = iterator.nextInt();
+            ++count;
+            if ((value % 2) == 0) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(10, count);
+        Assert.assertEquals(5, set.size());
+        for (int i = 0; i < 10; ++i) {
+            Assert.assertEquals((i % 2) == 1, set.contains(i));
+        }
+    }
+
+    @Test
+    public void testSample() {
+        IndexedIntSet set = new IndexedIntSet();
+        set.add(5);
+        set.add(8);
+        set.add(13);
+        set.remove(8);
+        Random random = new Random(1);
+        boolean[] seen = new boolean[14];
+        for (int i = 0; i < 100; ++i) {
+            int value = set.sample(random);
+            Assert.assertTrue(set.contains(value));
+            seen[value] = true;
+            Assert.assertTrue(set.contains(IntSetUtil.getRandomElement(set, random)));
+        }
+        Assert.assertTrue(seen[5]);
+        Assert.assertTrue(seen[13]);
+    }
+
+    @Test
+    public void testRandomElementOfOtherSets() {
+        IntSet set = new DefaultIntSet(Constants.DEFAULT_SIZE);
+        set.add(2);
+        set.add(4);
+        Random random = new Random(1);
+        for (int i = 0; i < 20; ++i) {
+            Assert.assertTrue(set.contains(IntSetUtil.getRandomElement(set, random)));
+        }
+    }
+}
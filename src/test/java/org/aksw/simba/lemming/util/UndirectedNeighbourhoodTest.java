@@ -0,0 +1,147 @@
+package org.aksw.simba.lemming.util;
+
+import org.aksw.simba.lemming.AddEdgeDecorator;
+import org.aksw.simba.lemming.ColouredGraph;
+import org.aksw.simba.lemming.ColouredGraphDecorator;
+import org.aksw.simba.lemming.RemoveEdgeDecorator;
+import org.aksw.simba.lemming.metrics.MetricUtils;
+import org.aksw.simba.lemming.mimicgraph.constraints.TripleBaseSingleID;
+import org.junit.Assert;
+import org.junit.Test;
+
+import grph.Grph;
+import grph.in_memory.InMemoryGrph;
+
+public class UndirectedNeighbourhoodTest {
+
+    @Test
+    public void testColouredGraph() {
+        ColouredGraph graph = new ColouredGraph();
+        int v0 = graph.addVertex();
+        int v1 = graph.addVertex();
+        int v2 = graph.addVertex();
+        int v3 = graph.addVertex();
+        graph.addEdge(v0, v1);
+        graph.addEdge(v1, v0);
+        graph.addEdge(v1, v2);
+        graph.addEdge(v2, v0);
+        graph.addEdge(v0, v0);
+        // the neighbourhood is created lazily and updated afterwards
+        Assert.assertEquals(1, graph.getNumberOfCommonNeighbours(v0, v1));
+        Assert.assertEquals(2, graph.getNumberOfCommonNeighbourEdgePairs(v1, v2));
+        Assert.assertEquals(2, graph.getNumberOfEdgesBetweenVertices(v1, v0));
+        int edge = graph.addEdge(v3, v1);
+        graph.addEdge(v3, v2);
+        graph.addEdge(v3, v2);
+        Assert.assertEquals(2, graph.getNumberOfCommonNeighbours(v1, v2));
+        Assert.assertEquals(2, graph.getNumberOfCommonNeighbourEdgePairs(v1, v3));
+        Assert.assertEquals(4, graph.getNumberOfCommonNeighbourEdgePairs(v0, v3));
+        graph.removeEdge(edge);
+        assertNeighbourhood(graph);
+        Assert.assertEquals(0, graph.getNumberOfEdgesBetweenVertices(v1, v3));
+
+        // changes made directly on the Grph object are detected
+        graph.getGraph().addDirectedSimpleEdge(v1, v3);
+        assertNeighbourhood(graph);
+        Assert.assertEquals(1, graph.getNumberOfEdgesBetweenVertices(v1, v3));
+
+        ColouredGraph clone = graph.clone();
+        clone.addEdge(v0, v3);
+        assertNeighbourhood(clone);
+        assertNeighbourhood(graph);
+    }
+
+    @Test
+    public void testDecorators() {
+        Grph grph = new InMemoryGrph();
+        for (int i = 0; i < 5; ++i) {
+            grph.addVertex();
+        }
+        grph.addDirectedSimpleEdge(0, 1);
+        grph.addDirectedSimpleEdge(1, 2);
+        int edge = grph.addDirectedSimpleEdge(2, 0);
+        grph.addDirectedSimpleEdge(2, 3);
+        grph.addDirectedSimpleEdge(3, 1);
+        grph.addDirectedSimpleEdge(4, 2);
+        ColouredGraph graph = new ColouredGraph(grph, null, null);
+
+        ColouredGraphDecorator removeDecorator = new RemoveEdgeDecorator(graph, false);
+        removeDecorator.setTriple(new TripleBaseSingleID(2, null, 0, null, edge, null));
+        ColouredGraph expected = new ColouredGraph(grph.clone(), null, null);
+        expected.getGraph().removeEdge(edge);
+        assertSameCommonNeighbours(expected, removeDecorator);
+
+        ColouredGraphDecorator addDecorator = new AddEdgeDecorator(graph, true);
+        addDecorator.setTriple(new TripleBaseSingleID(4, null, 1, null, -1, null));
+        expected = new ColouredGraph(grph.clone(), null, null);
+        expected.getGraph().addDirectedSimpleEdge(4, 1);
+        assertSameCommonNeighbours(expected, addDecorator);
+
+        addDecorator.setTriple(new TripleBaseSingleID(1, null, 0, null, -1, null));
+        expected = new ColouredGraph(grph.clone(), null, null);
+        expected.getGraph().addDirectedSimpleEdge(1, 0);
+        assertSameCommonNeighbours(expected, addDecorator);
+    }
+
+    @Test
+    public void testTriangleSupport() {
+        UndirectedNeighbourhood neighbourhood = new UndirectedNeighbourhood(4);
+        for (int i = 0; i < 4; ++i) {
+            neighbourhood.addVertex(i);
+        }
+        neighbourhood.addEdge(0, 2);
+        neighbourhood.addEdge(2, 0);
+        neighbourhood.addEdge(1, 2);
+        neighbourhood.addEdge(0, 1);
+        UndirectedNeighbourhood.TriangleSupport support = neighbourhood.getTriangleSupport(1, 0);
+        Assert.assertEquals(1, support.getMultiplicity());
+        Assert.assertEquals(1, support.getNumberOfCommonNeighbours());
+        Assert.assertEquals(2, support.getNumberOfEdgePairs());
+        // the support of the same pair is cached
+        Assert.assertSame(support, neighbourhood.getTriangleSupport(0, 1));
+
+        // a change of the neighbourhood invalidates the cached support
+        neighbourhood.addEdge(3, 0);
+        neighbourhood.addEdge(1, 3);
+        neighbourhood.addEdge(1, 3);
+        support = neighbourhood.getTriangleSupport(0, 1);
+        Assert.assertEquals(2, support.getNumberOfCommonNeighbours());
+        Assert.assertEquals(4, support.getNumberOfEdgePairs());
+        Assert.assertEquals(2, neighbourhood.countCommonNeighbours(0, 1));
+        Assert.assertEquals(4, neighbourhood.countCommonNeighbourEdgePairs(0, 1));
+        neighbourhood.removeEdge(0, 1);
+        Assert.assertEquals(0, neighbourhood.getTriangleSupport(0, 1).getMultiplicity());
+    }
+
+    private void assertNeighbourhood(ColouredGraph graph) {
+        UndirectedNeighbourhood expected = UndirectedNeighbourhood.create(graph.getGraph());
+        UndirectedNeighbourhood neighbourhood = graph.getNeighbourhood();
+        Assert.assertEquals(expected.getNumberOfEdges(), neighbourhood.getNumberOfEdges());
+        for (int v : graph.getVertices()) {
+            Assert.assertEquals(expected.getDegree(v), neighbourhood.getDegree(v));
+            for (int i = 0; i < expected.getDegree(v); ++i) {
+                Assert.assertEquals(expected.getNeighbours(v)[i], neighbourhood.getNeighbours(v)[i]);
+                Assert.assertEquals(expected.getMultiplicities(v)[i], neighbourhood.getMultiplicities(v)[i]);
+            }
+            for (int w : graph.getVertices()) {
+                if (v != w) {
+                    Assert.assertEquals(MetricUtils.getVerticesInCommon(graph, v, w).size(),
+                            graph.getNumberOfCommonNeighbours(v, w));
+                }
+            }
+        }
+    }
+
+    private void assertSameCommonNeighbours(ColouredGraph expected, ColouredGraphDecorator decorator) {
+        for (int v : expected.getVertices()) {
+            for (int w : expected.getVertices()) {
+                if (v != w) {
+                    Assert.assertEquals(expected.getNumberOfCommonNeighbours(v, w),
+                            decorator.getNumberOfCommonNeighbours(v, w));
+                    Assert.assertEquals(expected.getNumberOfCommonNeighbourEdgePairs(v, w),
+                            decorator.getNumberOfCommonNeighbourEdgePairs(v, w));
+                }
+            }
+        }
+    }
+}